@@ -4,26 +4,70 @@ import com.restaurantmanagement.controller.EmployeeController;
 import com.restaurantmanagement.controller.ShiftController;
 import com.restaurantmanagement.controller.InventoryController;
 import com.restaurantmanagement.controller.BookingController;
+import com.restaurantmanagement.io.CsvImporter;
+import com.restaurantmanagement.io.CsvImporters;
+import com.restaurantmanagement.io.ImportResult;
+import com.restaurantmanagement.io.TransactionExporter;
 import com.restaurantmanagement.model.Employee;
 import com.restaurantmanagement.model.Shift;
 import com.restaurantmanagement.model.InventoryItem;
 import com.restaurantmanagement.model.InventoryTransaction;
 import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.persistence.RestaurantDataStore;
+import com.restaurantmanagement.repository.BookingRepository;
+import com.restaurantmanagement.repository.EmployeeRepository;
+import com.restaurantmanagement.repository.InventoryRepository;
+import com.restaurantmanagement.repository.InventoryTransactionRepository;
+import com.restaurantmanagement.repository.RestaurantTableRepository;
+import com.restaurantmanagement.repository.ShiftRepository;
+import com.restaurantmanagement.repository.TransactionFilter;
+import com.restaurantmanagement.repository.jdbc.JdbcBookingRepository;
+import com.restaurantmanagement.repository.jdbc.JdbcDatabase;
+import com.restaurantmanagement.repository.jdbc.JdbcEmployeeRepository;
+import com.restaurantmanagement.repository.jdbc.JdbcInventoryRepository;
+import com.restaurantmanagement.repository.jdbc.JdbcInventoryTransactionRepository;
+import com.restaurantmanagement.repository.jdbc.JdbcRestaurantTableRepository;
+import com.restaurantmanagement.repository.jdbc.JdbcShiftRepository;
+import com.restaurantmanagement.persistence.SyncPolicy;
+import com.restaurantmanagement.service.BookingService;
 import com.restaurantmanagement.service.EmployeeService;
+import com.restaurantmanagement.service.InventoryService;
+import com.restaurantmanagement.service.LowStockListener;
+import com.restaurantmanagement.service.ShiftService;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.RowConstraints;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import java.io.File;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -36,6 +80,18 @@ import java.util.stream.Collectors;
  * Main JavaFX application entry point.
  */
 public class MainApp extends Application {
+    // Selects the storage backend: the journal (default) or "h2" for the embedded database
+    private static final String STORAGE_PROPERTY = "restaurant.storage";
+    private static final String STORAGE_H2 = "h2";
+
+    private Closeable storage;
+    private Stage primaryStage;
+    private BookingService bookingService;
+    private EmployeeService employeeService;
+    private ShiftService shiftService;
+    private InventoryService inventoryService;
+    private ProgressBar importProgressBar;
+    private Label importStatusLabel;
     private EmployeeController employeeController;
     private ShiftController shiftController;
     private InventoryController inventoryController;
@@ -63,19 +119,81 @@ public class MainApp extends Application {
     private VBox dashboardAlertsBox;
     private VBox dashboardRecentActivityBox;
     private VBox dashboardContent;
+    private int dashboardEmployeeCount;
+    private int dashboardItemCount;
+    private int dashboardConfirmedBookings;
+    private List<Shift> dashboardTodayShifts = Collections.emptyList();
+    private List<Booking> dashboardTodayBookings = Collections.emptyList();
 
     @Override
     public void start(Stage primaryStage) {
+        // Open persistent storage so data survives restarts
+        Path dataDirectory = RestaurantDataStore.defaultDirectory();
+        BookingRepository bookingRepository;
+        EmployeeRepository employeeRepository;
+        ShiftRepository shiftRepository;
+        InventoryRepository inventoryRepository;
+        InventoryTransactionRepository transactionRepository;
+        RestaurantTableRepository tableRepository;
+        if (STORAGE_H2.equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))) {
+            JdbcDatabase database = JdbcDatabase.open(dataDirectory.resolve("restaurant"));
+            storage = database;
+            bookingRepository = new JdbcBookingRepository(database);
+            employeeRepository = new JdbcEmployeeRepository(database);
+            shiftRepository = new JdbcShiftRepository(database);
+            inventoryRepository = new JdbcInventoryRepository(database);
+            transactionRepository = new JdbcInventoryTransactionRepository(database);
+            tableRepository = new JdbcRestaurantTableRepository(database);
+        } else {
+            RestaurantDataStore dataStore;
+            try {
+                LocalDateTime restoreTarget = RestaurantDataStore.restoreTarget();
+                if (restoreTarget != null) {
+                    // Roll the store back before anything opens it
+                    System.out.println(RestaurantDataStore.restoreTo(dataDirectory, restoreTarget));
+                }
+                dataStore = RestaurantDataStore.open(dataDirectory, SyncPolicy.GROUP_COMMIT);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open data directory", e);
+            }
+            storage = dataStore;
+            Period archiveAge = RestaurantDataStore.archiveAge();
+            if (archiveAge != null) {
+                dataStore.scheduleArchiving(archiveAge);
+            }
+            bookingRepository = dataStore.getBookingRepository();
+            employeeRepository = dataStore.getEmployeeRepository();
+            shiftRepository = dataStore.getShiftRepository();
+            inventoryRepository = dataStore.getInventoryRepository();
+            transactionRepository = dataStore.getTransactionRepository();
+            tableRepository = dataStore.getTableRepository();
+        }
+
         // Create shared EmployeeService instance so both controllers use the same data
-        EmployeeService sharedEmployeeService = new EmployeeService();
-        employeeController = new EmployeeController(sharedEmployeeService);
-        shiftController = new ShiftController(sharedEmployeeService);
-        inventoryController = new InventoryController();
-        bookingController = new BookingController();
+        employeeService = new EmployeeService(employeeRepository);
+        shiftService = new ShiftService(shiftRepository);
+        inventoryService = new InventoryService(inventoryRepository, transactionRepository);
+        bookingService = new BookingService(bookingRepository, tableRepository);
+        employeeController = new EmployeeController(employeeService);
+        shiftController = new ShiftController(shiftService, employeeService);
+        inventoryController = new InventoryController(inventoryService);
+        bookingController = new BookingController(bookingService);
+        inventoryController.addLowStockListener(new LowStockListener() {
+            @Override
+            public void onBelowThreshold(InventoryItem item) {
+                Platform.runLater(MainApp.this::refreshLowStockAlerts);
+            }
+
+            @Override
+            public void onRecovered(InventoryItem item) {
+                Platform.runLater(MainApp.this::refreshLowStockAlerts);
+            }
+        });
         
         // Initialize current week to start of current week
         currentWeekStart = LocalDate.now().with(java.time.DayOfWeek.MONDAY);
 
+        this.primaryStage = primaryStage;
         primaryStage.setTitle("Restaurant Management System");
         primaryStage.setWidth(1200);
         primaryStage.setHeight(700);
@@ -90,6 +208,14 @@ public class MainApp extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() throws IOException {
+        // Flush anything still queued to disk
+        if (storage != null) {
+            storage.close();
+        }
+    }
+
     /**
      * Create the main application layout with navigation tabs.
      */
@@ -122,10 +248,101 @@ public class MainApp extends Application {
         Label titleLabel = new Label("Restaurant Management System");
         titleLabel.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: white;");
         
-        titleBar.getChildren().add(titleLabel);
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        importProgressBar = new ProgressBar(0);
+        importProgressBar.setPrefWidth(200);
+        importProgressBar.setVisible(false);
+        importStatusLabel = new Label();
+        importStatusLabel.setStyle("-fx-text-fill: white;");
+
+        MenuButton importButton = new MenuButton("Import CSV");
+        MenuItem importBookings = new MenuItem("Bookings");
+        importBookings.setOnAction(e -> importCsv("Bookings", CsvImporters.bookings(bookingService)));
+        MenuItem importEmployees = new MenuItem("Employees");
+        importEmployees.setOnAction(e -> importCsv("Employees", CsvImporters.employees(employeeService)));
+        MenuItem importShifts = new MenuItem("Shifts");
+        importShifts.setOnAction(e -> importCsv("Shifts", CsvImporters.shifts(shiftService)));
+        MenuItem importInventory = new MenuItem("Inventory");
+        importInventory.setOnAction(e -> importCsv("Inventory", CsvImporters.inventoryItems(inventoryService)));
+        importButton.getItems().addAll(importBookings, importEmployees, importShifts, importInventory);
+
+        titleBar.setSpacing(10);
+        titleBar.getChildren().addAll(titleLabel, spacer, importStatusLabel, importProgressBar, importButton);
         return titleBar;
     }
 
+    /**
+     * Let the user pick a CSV file and import it in the background.
+     * Rejected rows are written next to the source file as name.rejects.csv.
+     */
+    private void importCsv(String title, CsvImporter<?> importer) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import " + title);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showOpenDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        Path source = file.toPath();
+        String fileName = source.getFileName().toString();
+        String baseName = fileName.endsWith(".csv") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        Path rejectFile = source.resolveSibling(baseName + ".rejects.csv");
+
+        Task<ImportResult> task = new Task<ImportResult>() {
+            @Override
+            protected ImportResult call() throws Exception {
+                return importer.importFile(source, rejectFile, (rowsRead, imported, rejected, fraction) -> {
+                    updateProgress(fraction, 1.0);
+                    updateMessage(String.format("%s: %,d imported, %,d rejected", title, imported, rejected));
+                });
+            }
+        };
+        importProgressBar.progressProperty().bind(task.progressProperty());
+        importStatusLabel.textProperty().bind(task.messageProperty());
+        importProgressBar.setVisible(true);
+
+        task.setOnSucceeded(e -> {
+            hideTaskProgress();
+            refreshDashboard();
+            ImportResult result = task.getValue();
+            StringBuilder message = new StringBuilder(String.format("Imported %,d of %,d rows in %.1f s.",
+                    result.getImported(), result.getRowsRead(), result.getElapsedMillis() / 1000.0));
+            if (result.getRejectFile() != null) {
+                message.append(String.format("%n%,d rows were rejected and written to:%n%s",
+                        result.getRejected(), result.getRejectFile()));
+            }
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Import " + title);
+            alert.setHeaderText(null);
+            alert.setContentText(message.toString());
+            alert.showAndWait();
+        });
+        task.setOnFailed(e -> {
+            hideTaskProgress();
+            refreshDashboard();
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Import " + title);
+            alert.setHeaderText(null);
+            // Chunks saved before the failure stay saved; the last progress message counts them
+            alert.setContentText("Import failed: " + task.getException().getMessage()
+                    + (task.getMessage().isEmpty() ? "" : "\nSaved before it stopped: " + task.getMessage()));
+            alert.showAndWait();
+        });
+
+        Thread thread = new Thread(task, "csv-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void hideTaskProgress() {
+        importProgressBar.progressProperty().unbind();
+        importStatusLabel.textProperty().unbind();
+        importProgressBar.setVisible(false);
+        importStatusLabel.setText("");
+    }
+
     /**
      * Create the tab pane with all navigation tabs.
      */
@@ -193,6 +410,7 @@ public class MainApp extends Application {
      */
     private void buildDashboardContent() {
         dashboardContent.getChildren().clear();
+        loadDashboardFigures();
         
         // Header with date
         HBox headerBox = new HBox();
@@ -249,21 +467,32 @@ public class MainApp extends Application {
         dashboardContent.getChildren().addAll(headerBox, dashboardMetricsRow, dashboardAlertsRow, mainContent);
     }
     
+    /**
+     * Read the dashboard figures once per refresh through the indexed lookups,
+     * so the sections share them instead of each querying again.
+     */
+    private void loadDashboardFigures() {
+        LocalDate today = LocalDate.now();
+        dashboardEmployeeCount = employeeController.getEmployeeList().size();
+        dashboardItemCount = inventoryController.getItemList().size();
+        // Includes last night's overnight shifts still running this morning, ordered by start
+        dashboardTodayShifts = shiftService.getShiftsByDate(today);
+        List<Booking> todayBookings = new ArrayList<>(bookingService.getBookingsByDate(today));
+        todayBookings.sort(Comparator.comparing(Booking::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        dashboardTodayBookings = todayBookings;
+        dashboardConfirmedBookings = bookingService.countBookingsByStatus(BookingStatus.CONFIRMED);
+    }
+
     /**
      * Update metrics row with current data.
      */
     private void updateMetricsRow() {
         dashboardMetricsRow.getChildren().clear();
         
-        // Calculate real statistics from current controller data
-        int totalEmployees = employeeController.getEmployeeList().size();
-        long todayShifts = shiftController.getShiftList().stream()
-                .filter(s -> s.getDate() != null && s.getDate().equals(LocalDate.now()))
-                .count();
-        int totalInventoryItems = inventoryController.getItemList().size();
-        long todayBookings = bookingController.getBookingList().stream()
-                .filter(b -> b.getDate() != null && b.getDate().equals(LocalDate.now()))
-                .count();
+        int totalEmployees = dashboardEmployeeCount;
+        int todayShifts = dashboardTodayShifts.size();
+        int totalInventoryItems = dashboardItemCount;
+        int todayBookings = dashboardTodayBookings.size();
         
         dashboardMetricsRow.getChildren().addAll(
             createInsightCard("Total Employees", String.valueOf(totalEmployees), "#3498db", "👥"),
@@ -279,12 +508,8 @@ public class MainApp extends Application {
     private void updateAlertsRow() {
         dashboardAlertsRow.getChildren().clear();
         
-        long pendingBookings = bookingController.getBookingList().stream()
-                .filter(b -> b.getStatus() != null && b.getStatus().equals("CONFIRMED"))
-                .count();
-        long lowStockItems = inventoryController.getItemList().stream()
-                .filter(InventoryItem::isLowStock)
-                .count();
+        int pendingBookings = dashboardConfirmedBookings;
+        int lowStockItems = inventoryController.getLowStockCount();
         
         dashboardAlertsRow.getChildren().addAll(
             createInsightCard("Pending Bookings", String.valueOf(pendingBookings), "#f39c12", "⏳"),
@@ -292,6 +517,21 @@ public class MainApp extends Application {
         );
     }
     
+    /**
+     * Refresh the low-stock cards after a pushed threshold change.
+     */
+    private void refreshLowStockAlerts() {
+        if (dashboardContent == null) return;
+        updateAlertsRow();
+        VBox rightColumn = (VBox) dashboardAlertsBox.getParent();
+        if (rightColumn != null) {
+            int index = rightColumn.getChildren().indexOf(dashboardAlertsBox);
+            dashboardAlertsBox = createAlertsSection();
+            rightColumn.getChildren().set(index, dashboardAlertsBox);
+            VBox.setVgrow(dashboardAlertsBox, Priority.SOMETIMES);
+        }
+    }
+
     /**
      * Refresh the entire dashboard with latest data.
      */
@@ -355,22 +595,17 @@ public class MainApp extends Application {
         shiftsList.setStyle("-fx-background-color: #fafafa; -fx-border-color: transparent;");
         
         // Get today's shifts
-        List<Shift> todayShifts = shiftController.getShiftList().stream()
-                .filter(s -> s.getDate() != null && s.getDate().equals(LocalDate.now()))
-                .sorted((s1, s2) -> {
-                    if (s1.getStartTime() == null || s2.getStartTime() == null) return 0;
-                    return s1.getStartTime().compareTo(s2.getStartTime());
-                })
-                .collect(Collectors.toList());
+        List<Shift> todayShifts = dashboardTodayShifts;
         
         if (todayShifts.isEmpty()) {
             shiftsList.getItems().add("No shifts scheduled for today");
         } else {
             for (Shift shift : todayShifts) {
                 String timeRange = shift.getStartTime() != null && shift.getEndTime() != null ?
-                    String.format("%02d:%02d - %02d:%02d", 
+                    String.format("%02d:%02d - %02d:%02d%s", 
                         shift.getStartTime().getHour(), shift.getStartTime().getMinute(),
-                        shift.getEndTime().getHour(), shift.getEndTime().getMinute()) : "TBD";
+                        shift.getEndTime().getHour(), shift.getEndTime().getMinute(),
+                        shift.isOvernight() ? " (+1)" : "") : "TBD";
                 String shiftInfo = String.format("%s | %s | %s", 
                     shift.getEmployeeName(), timeRange, shift.getShiftType() != null ? shift.getShiftType() : "");
                 shiftsList.getItems().add(shiftInfo);
@@ -400,13 +635,7 @@ public class MainApp extends Application {
         bookingsList.setStyle("-fx-background-color: #fafafa; -fx-border-color: transparent;");
         
         // Get today's bookings
-        List<Booking> todayBookings = bookingController.getBookingList().stream()
-                .filter(b -> b.getDate() != null && b.getDate().equals(LocalDate.now()))
-                .sorted((b1, b2) -> {
-                    if (b1.getStartTime() == null || b2.getStartTime() == null) return 0;
-                    return b1.getStartTime().compareTo(b2.getStartTime());
-                })
-                .collect(Collectors.toList());
+        List<Booking> todayBookings = dashboardTodayBookings;
         
         if (todayBookings.isEmpty()) {
             bookingsList.getItems().add("No bookings for today");
@@ -444,8 +673,7 @@ public class MainApp extends Application {
         alertsContainer.setPadding(new Insets(5, 0, 0, 0));
         
         // Low stock items
-        List<InventoryItem> lowStockItems = inventoryController.getItemList().stream()
-                .filter(InventoryItem::isLowStock)
+        List<InventoryItem> lowStockItems = inventoryController.getLowStockItems().stream()
                 .limit(5)
                 .collect(Collectors.toList());
         
@@ -715,6 +943,7 @@ public class MainApp extends Application {
         // Bind table to controller
         bookingController.setTableView(bookingTable);
         bookingTable.setItems(bookingController.getBookingList());
+        loadMoreOnScroll(bookingTable, bookingController::loadMoreBookings);
 
         // Handle row selection
         bookingTable.getSelectionModel().selectedItemProperty().addListener(
@@ -771,7 +1000,15 @@ public class MainApp extends Application {
         timeBox.getChildren().addAll(timeLabel, bookingHourComboBox, colon, bookingMinuteComboBox);
 
         bookingTableIdField = new TextField();
-        bookingTableIdField.setPromptText("Table ID *");
+        bookingTableIdField.setPromptText("Table ID (blank for best fit)");
+        HBox.setHgrow(bookingTableIdField, Priority.ALWAYS);
+
+        Button suggestTableButton = new Button("Suggest");
+        suggestTableButton.setPrefWidth(70);
+        suggestTableButton.setOnAction(e -> bookingController.handleSuggestTable());
+
+        HBox tableIdBox = new HBox(5);
+        tableIdBox.getChildren().addAll(bookingTableIdField, suggestTableButton);
 
         bookingStatusComboBox = new ComboBox<>();
         bookingStatusComboBox.setPromptText("Status *");
@@ -818,6 +1055,11 @@ public class MainApp extends Application {
 
         buttonBox.getChildren().addAll(addButton, updateButton, cancelButton, seatButton, clearButton);
 
+        Button planTablesButton = new Button("Plan Tables for Date");
+        planTablesButton.setMaxWidth(Double.MAX_VALUE);
+        planTablesButton.setStyle("-fx-background-color: #673AB7; -fx-text-fill: white;");
+        planTablesButton.setOnAction(e -> bookingController.handlePlanTables());
+
         // Set form fields in controller
         bookingController.setFormFields(bookingIdField, bookingCustomerNameField, bookingPhoneField,
                                        bookingGuestsField, bookingDatePicker,
@@ -838,10 +1080,11 @@ public class MainApp extends Application {
                 bookingDatePicker,
                 timeBox,
                 new Label("Table ID:"),
-                bookingTableIdField,
+                tableIdBox,
                 new Label("Status:"),
                 bookingStatusComboBox,
-                buttonBox
+                buttonBox,
+                planTablesButton
         );
 
         // Wrap in ScrollPane to allow scrolling when content exceeds available space
@@ -1114,14 +1357,40 @@ public class MainApp extends Application {
         HBox.setHgrow(weekLabel, Priority.ALWAYS);
         weekLabel.setAlignment(Pos.CENTER);
 
+        // Read the whole week once so every cell renders from the same view. Each
+        // shift becomes a block per day it covers, so an overnight shift shows
+        // up to midnight on its own day and from midnight on the next
+        Map<LocalDate, List<CalendarBlock>> blocksByDate = new HashMap<>();
+        for (Shift shift : shiftController.getShiftsByDateRange(currentWeekStart, currentWeekStart.plusDays(6))) {
+            if (shift.getStartAt() == null || shift.getEndAt() == null) {
+                continue;
+            }
+            for (LocalDate day = shift.getDate(); day.atStartOfDay().isBefore(shift.getEndAt()); day = day.plusDays(1)) {
+                LocalDateTime dayStart = day.atStartOfDay();
+                int startMinute = shift.getStartAt().isAfter(dayStart)
+                        ? (int) Duration.between(dayStart, shift.getStartAt()).toMinutes() : 0;
+                int endMinute = (int) Math.min(24 * 60, Duration.between(dayStart, shift.getEndAt()).toMinutes());
+                blocksByDate.computeIfAbsent(day, d -> new ArrayList<>())
+                        .add(new CalendarBlock(shift, startMinute, endMinute));
+            }
+        }
+
+        // Show from 6 AM, or earlier if a block starts before then
+        int firstHour = 6;
+        for (int day = 0; day < 7; day++) {
+            for (CalendarBlock block : blocksByDate.getOrDefault(currentWeekStart.plusDays(day), Collections.emptyList())) {
+                firstHour = Math.min(firstHour, block.startMinute / 60);
+            }
+        }
+
         // Calendar grid
         GridPane calendarGrid = new GridPane();
         calendarGrid.setHgap(1);
         calendarGrid.setVgap(1);
         calendarGrid.setStyle("-fx-background-color: #e0e0e0;");
         
-        // Initialize row constraints for all time slots (6 AM to 11 PM = 18 rows)
-        for (int i = 0; i < 19; i++) {
+        // Initialize row constraints for the header and all time slots (first hour to 11 PM)
+        for (int i = 0; i < 24 - firstHour + 1; i++) {
             RowConstraints rowConstraint = new RowConstraints();
             rowConstraint.setMinHeight(50);
             rowConstraint.setPrefHeight(50);
@@ -1150,46 +1419,35 @@ public class MainApp extends Application {
             calendarGrid.add(dayHeader, i + 1, 0);
         }
 
-        // Pre-calculate which hours are covered by spanning shifts for each day
+        // Pre-calculate which hours are covered by spanning blocks for each day
         Map<LocalDate, Set<Integer>> coveredHours = new HashMap<>();
         for (int day = 0; day < 7; day++) {
             LocalDate dayDate = currentWeekStart.plusDays(day);
-            List<Shift> allShiftsForDate = shiftController.getShiftsByDate(dayDate);
             Set<Integer> covered = new HashSet<>();
             
-            for (Shift shift : allShiftsForDate) {
-                if (shift.getStartTime() != null && shift.getEndTime() != null) {
-                    int startHour = shift.getStartTime().getHour();
-                    int startMinute = shift.getStartTime().getMinute();
-                    int endHour = shift.getEndTime().getHour();
-                    int endMinute = shift.getEndTime().getMinute();
-                    
-                    int startTotalMinutes = startHour * 60 + startMinute;
-                    int endTotalMinutes = endHour * 60 + endMinute;
-                    int durationMinutes = endTotalMinutes - startTotalMinutes;
-                    int rowSpan = Math.max(1, (int) Math.ceil(durationMinutes / 60.0));
-                    
-                    // Mark all hours covered by this shift (except the starting hour)
-                    for (int h = 1; h < rowSpan; h++) {
-                        int coveredHour = startHour + h;
-                        if (coveredHour < 24) {
-                            covered.add(coveredHour);
-                        }
+            for (CalendarBlock block : blocksByDate.getOrDefault(dayDate, Collections.emptyList())) {
+                int startHour = block.startMinute / 60;
+                
+                // Mark all hours covered by this block (except the starting hour)
+                for (int h = 1; h < block.rowSpan(); h++) {
+                    int coveredHour = startHour + h;
+                    if (coveredHour < 24) {
+                        covered.add(coveredHour);
                     }
                 }
             }
             coveredHours.put(dayDate, covered);
         }
 
-        // Time slots (6 AM to 11 PM) - ensure full week is visible
-        for (int hour = 6; hour < 24; hour++) {
+        // Time slots (first hour to 11 PM) - ensure full week is visible
+        for (int hour = firstHour; hour < 24; hour++) {
             // Time label column
             Label timeLabel = new Label(String.format("%02d:00", hour));
             timeLabel.setStyle("-fx-font-size: 11px; -fx-padding: 5px;");
             timeLabel.setPrefWidth(60);
             timeLabel.setMinWidth(60);
             timeLabel.setAlignment(Pos.CENTER_RIGHT);
-            calendarGrid.add(timeLabel, 0, hour - 5);
+            calendarGrid.add(timeLabel, 0, hour - firstHour + 1);
 
             // Day columns - ensure equal width
             for (int day = 0; day < 7; day++) {
@@ -1200,13 +1458,10 @@ public class MainApp extends Application {
                 Set<Integer> covered = coveredHours.getOrDefault(slotDate, Collections.emptySet());
                 boolean isCovered = covered.contains(hourSlot);
                 
-                // Get all shifts for this date
-                List<Shift> allShiftsForDate = shiftController.getShiftsByDate(slotDate);
-                
-                // Find shifts that START in this hour slot (always show shifts in their starting hour)
-                List<Shift> shiftsStartingInSlot = allShiftsForDate.stream()
-                        .filter(s -> s.getStartTime() != null && s.getEndTime() != null &&
-                                s.getStartTime().getHour() == hourSlot)
+                // Find blocks that START in this hour slot (always show blocks in their starting hour)
+                List<CalendarBlock> blocksStartingInSlot = blocksByDate.getOrDefault(slotDate, Collections.emptyList())
+                        .stream()
+                        .filter(block -> block.startMinute / 60 == hourSlot)
                         .collect(Collectors.toList());
                 
                 // Create time slot container
@@ -1224,24 +1479,13 @@ public class MainApp extends Application {
                 timeSlot.setPrefHeight(50);
                 timeSlot.setMinHeight(50);
 
-                // Only add shift content if shifts start here AND this hour is not covered
-                if (!shiftsStartingInSlot.isEmpty() && !isCovered) {
+                // Only add shift content if blocks start here AND this hour is not covered
+                if (!blocksStartingInSlot.isEmpty() && !isCovered) {
                     int maxRowSpan = 1;
                     
                     // Calculate max row span first
-                    for (Shift shift : shiftsStartingInSlot) {
-                        int startHour = shift.getStartTime().getHour();
-                        int startMinute = shift.getStartTime().getMinute();
-                        int endHour = shift.getEndTime().getHour();
-                        int endMinute = shift.getEndTime().getMinute();
-                        
-                        int startTotalMinutes = startHour * 60 + startMinute;
-                        int endTotalMinutes = endHour * 60 + endMinute;
-                        int durationMinutes = endTotalMinutes - startTotalMinutes;
-                        
-                        // Calculate how many hour slots to span (rounded up)
-                        int rowSpan = Math.max(1, (int) Math.ceil(durationMinutes / 60.0));
-                        maxRowSpan = Math.max(maxRowSpan, rowSpan);
+                    for (CalendarBlock block : blocksStartingInSlot) {
+                        maxRowSpan = Math.max(maxRowSpan, block.rowSpan());
                     }
                     
                     // Set container height BEFORE adding children
@@ -1256,7 +1500,7 @@ public class MainApp extends Application {
                     shiftsContainer.setStyle("-fx-cursor: hand;");
                     
                     // Store reference to first shift for container click (if multiple shifts)
-                    final Shift firstShift = shiftsStartingInSlot.get(0);
+                    final Shift firstShift = blocksStartingInSlot.get(0).shift;
                     
                     // Make the entire container clickable as fallback
                     shiftsContainer.setOnMouseClicked(e -> {
@@ -1271,26 +1515,17 @@ public class MainApp extends Application {
                         }
                     });
                     
-                    for (Shift shift : shiftsStartingInSlot) {
-                        // Calculate duration in hours (rounded up)
-                        int startHour = shift.getStartTime().getHour();
-                        int startMinute = shift.getStartTime().getMinute();
-                        int endHour = shift.getEndTime().getHour();
-                        int endMinute = shift.getEndTime().getMinute();
+                    for (CalendarBlock block : blocksStartingInSlot) {
+                        Shift shift = block.shift;
+                        // How many hour slots to span (minimum 1, rounded up)
+                        int rowSpan = block.rowSpan();
                         
-                        // Calculate total minutes
-                        int startTotalMinutes = startHour * 60 + startMinute;
-                        int endTotalMinutes = endHour * 60 + endMinute;
-                        int durationMinutes = endTotalMinutes - startTotalMinutes;
-                        
-                        // Calculate how many hour slots to span (minimum 1, rounded up)
-                        int rowSpan = Math.max(1, (int) Math.ceil(durationMinutes / 60.0));
-                        
-                        // Create shift label
+                        // Create shift label; both blocks of an overnight shift show its full times
                         Label shiftLabel = new Label(shift.getEmployeeName() + "\n" + 
-                            String.format("%02d:%02d-%02d:%02d", 
+                            String.format("%02d:%02d-%02d:%02d%s", 
                                 shift.getStartTime().getHour(), shift.getStartTime().getMinute(),
-                                shift.getEndTime().getHour(), shift.getEndTime().getMinute()));
+                                shift.getEndTime().getHour(), shift.getEndTime().getMinute(),
+                                shift.isOvernight() ? " (+1)" : ""));
                         shiftLabel.setStyle("-fx-font-size: 9px; -fx-padding: 2px; -fx-background-color: #4285f4; -fx-text-fill: white; -fx-background-radius: 3px; -fx-cursor: hand;");
                         shiftLabel.setMaxWidth(Double.MAX_VALUE);
                         shiftLabel.setWrapText(true);
@@ -1306,7 +1541,7 @@ public class MainApp extends Application {
                         
                         // Set height based on duration (each hour slot is 50px)
                         // If multiple shifts start at same time, stack them vertically
-                        double heightPerShift = (50 * rowSpan - 4) / shiftsStartingInSlot.size();
+                        double heightPerShift = (50 * rowSpan - 4) / blocksStartingInSlot.size();
                         shiftLabel.setPrefHeight(heightPerShift);
                         shiftLabel.setMinHeight(heightPerShift);
                         shiftLabel.setMaxHeight(heightPerShift);
@@ -1352,7 +1587,7 @@ public class MainApp extends Application {
                 GridPane.setHgrow(timeSlot, Priority.ALWAYS);
                 
                 // Add to grid
-                int gridRow = hour - 5;
+                int gridRow = hour - firstHour + 1;
                 calendarGrid.add(timeSlot, day + 1, gridRow);
             }
         }
@@ -1558,6 +1793,15 @@ public class MainApp extends Application {
 
         buttonBox.getChildren().addAll(addButton, updateButton, deleteButton, clearButton);
 
+        Button generateRotaButton = new Button("Generate Week from Previous");
+        generateRotaButton.setMaxWidth(Double.MAX_VALUE);
+        generateRotaButton.setStyle("-fx-background-color: #9C27B0; -fx-text-fill: white;");
+        generateRotaButton.setOnAction(e -> shiftController.handleGenerateRota(generateRotaButton, () -> {
+            if (calendarViewContainer != null) {
+                refreshCalendarView(calendarViewContainer);
+            }
+        }));
+
         // Set form fields in controller
         shiftController.setFormFields(shiftIdField, employeeComboBox, datePicker, 
                                      startHourComboBox, startMinuteComboBox, 
@@ -1575,7 +1819,8 @@ public class MainApp extends Application {
                 endTimeBox,
                 new Label("Shift Type:"),
                 shiftTypeComboBox,
-                buttonBox
+                buttonBox,
+                generateRotaButton
         );
 
         return formBox;
@@ -1951,13 +2196,160 @@ public class MainApp extends Application {
         // Bind table to controller
         inventoryController.setTransactionTableView(transactionTable);
         transactionTable.setItems(inventoryController.getTransactionList());
+        loadMoreOnScroll(transactionTable, inventoryController::loadMoreTransactions);
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        Button exportButton = new Button("Export...");
+        exportButton.setOnAction(e -> exportTransactions());
+        HBox transactionHeader = new HBox(10, transactionLabel, spacer, exportButton);
+        transactionHeader.setAlignment(Pos.CENTER_LEFT);
 
-        transactionBox.getChildren().addAll(transactionLabel, transactionTable);
+        transactionBox.getChildren().addAll(transactionHeader, transactionTable);
         return transactionBox;
     }
 
+    /**
+     * Ask for a date range and optional item/staff filter, then stream the matching
+     * transactions to a CSV or binary file in the background.
+     */
+    private void exportTransactions() {
+        DatePicker fromPicker = new DatePicker(LocalDate.now().withDayOfMonth(1));
+        DatePicker toPicker = new DatePicker(LocalDate.now());
+        ComboBox<String> itemBox = new ComboBox<>();
+        itemBox.getItems().add("All items");
+        Map<String, String> itemIdsByLabel = new HashMap<>();
+        for (InventoryItem item : inventoryService.getAllItems()) {
+            String label = item.getName() + " (" + item.getId() + ")";
+            itemIdsByLabel.put(label, item.getId());
+            itemBox.getItems().add(label);
+        }
+        itemBox.getSelectionModel().selectFirst();
+        TextField staffField = new TextField();
+        staffField.setPromptText("All staff");
+
+        GridPane form = new GridPane();
+        form.setHgap(10);
+        form.setVgap(10);
+        form.addRow(0, new Label("From:"), fromPicker);
+        form.addRow(1, new Label("To:"), toPicker);
+        form.addRow(2, new Label("Item:"), itemBox);
+        form.addRow(3, new Label("Staff ID:"), staffField);
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Export Transactions");
+        dialog.getDialogPane().setContent(form);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return;
+        }
+        TransactionFilter filter;
+        try {
+            String staffId = staffField.getText().trim();
+            filter = new TransactionFilter(fromPicker.getValue(), toPicker.getValue(),
+                    itemIdsByLabel.get(itemBox.getValue()), staffId.isEmpty() ? null : staffId);
+        } catch (IllegalArgumentException ex) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Export Transactions");
+            alert.setHeaderText(null);
+            alert.setContentText(ex.getMessage());
+            alert.showAndWait();
+            return;
+        }
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Transactions");
+        FileChooser.ExtensionFilter csvFormat = new FileChooser.ExtensionFilter("CSV files", "*.csv");
+        FileChooser.ExtensionFilter binaryFormat = new FileChooser.ExtensionFilter("Binary export", "*.rmtx");
+        chooser.getExtensionFilters().addAll(csvFormat, binaryFormat);
+        chooser.setInitialFileName("transactions.csv");
+        File file = chooser.showSaveDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        Path target = file.toPath();
+        boolean binary = chooser.getSelectedExtensionFilter() == binaryFormat || file.getName().endsWith(".rmtx");
+
+        Task<Long> task = new Task<Long>() {
+            @Override
+            protected Long call() throws Exception {
+                updateMessage("Exporting transactions...");
+                Iterator<InventoryTransaction> transactions = inventoryService.iterateTransactions(filter);
+                if (binary) {
+                    return TransactionExporter.exportBinary(transactions, Files.newOutputStream(target));
+                }
+                try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                    return TransactionExporter.exportCsv(transactions, out);
+                }
+            }
+        };
+        importProgressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        importProgressBar.setVisible(true);
+        importStatusLabel.textProperty().bind(task.messageProperty());
+        task.setOnSucceeded(e -> {
+            hideTaskProgress();
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Export Transactions");
+            alert.setHeaderText(null);
+            alert.setContentText(String.format("Exported %,d transactions to:%n%s", task.getValue(), target));
+            alert.showAndWait();
+        });
+        task.setOnFailed(e -> {
+            hideTaskProgress();
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Export Transactions");
+            alert.setHeaderText(null);
+            alert.setContentText("Export failed: " + task.getException().getMessage());
+            alert.showAndWait();
+        });
+
+        Thread thread = new Thread(task, "transaction-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Call loadMore whenever the table is scrolled near its last row, so paged
+     * tables fetch the next page on demand.
+     */
+    private static void loadMoreOnScroll(TableView<?> table, Runnable loadMore) {
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            for (Node node : table.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                    ScrollBar bar = (ScrollBar) node;
+                    bar.valueProperty().addListener((valueObs, oldValue, newValue) -> {
+                        if (newValue.doubleValue() >= bar.getMax() * 0.95) {
+                            loadMore.run();
+                        }
+                    });
+                }
+            }
+        });
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
-}
 
+    /**
+     * The part of a shift falling on one calendar day, in minutes from midnight.
+     */
+    private static final class CalendarBlock {
+        private final Shift shift;
+        private final int startMinute;
+        private final int endMinute;
+
+        private CalendarBlock(Shift shift, int startMinute, int endMinute) {
+            this.shift = shift;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+        }
+
+        /**
+         * Hour rows the block spans, rounded up.
+         */
+        int rowSpan() {
+            return Math.max(1, (int) Math.ceil((endMinute - startMinute) / 60.0));
+        }
+    }
+}
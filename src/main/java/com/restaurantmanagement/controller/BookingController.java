@@ -1,7 +1,10 @@
 package com.restaurantmanagement.controller;
 
 import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.repository.Page;
 import com.restaurantmanagement.service.BookingService;
+import com.restaurantmanagement.service.TablePlan;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.Alert;
@@ -12,14 +15,19 @@ import javafx.scene.control.TextField;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 /**
  * Controller for Booking management UI.
  * Handles user interactions and updates the view.
  */
 public class BookingController {
+    public static final int PAGE_SIZE = 100;
+
     private final BookingService bookingService;
     private final ObservableList<Booking> bookingList;
+    // Cursor of the next page to append, or null once every booking is loaded
+    private String nextCursor;
     private TableView<Booking> tableView;
 
     // UI Components (for form inputs)
@@ -34,7 +42,14 @@ public class BookingController {
     private ComboBox<String> statusComboBox;
 
     public BookingController() {
-        this.bookingService = new BookingService();
+        this(new BookingService());
+    }
+
+    /**
+     * Constructor with shared BookingService instance.
+     */
+    public BookingController(BookingService bookingService) {
+        this.bookingService = bookingService;
         this.bookingList = FXCollections.observableArrayList();
         loadBookings();
     }
@@ -79,16 +94,32 @@ public class BookingController {
         minuteComboBox.setValue(0);
 
         // Populate status combo box
-        statusComboBox.getItems().addAll("CONFIRMED", "SEATED", "CANCELLED");
-        statusComboBox.setValue("CONFIRMED");
+        for (BookingStatus status : BookingStatus.values()) {
+            statusComboBox.getItems().add(status.name());
+        }
+        statusComboBox.setValue(BookingStatus.CONFIRMED.name());
     }
 
     /**
-     * Load all bookings into the table.
+     * Load the first page of bookings into the table. A reload fetches as many
+     * rows as were already shown, so rows the user scrolled to stay in place.
      */
     public void loadBookings() {
-        bookingList.clear();
-        bookingList.addAll(bookingService.getAllBookings());
+        Page<Booking> page = bookingService.getBookingsPage(null, Math.max(PAGE_SIZE, bookingList.size()));
+        bookingList.setAll(page.getItems());
+        nextCursor = page.getNextCursor();
+    }
+
+    /**
+     * Append the next page of bookings, if there is one.
+     */
+    public void loadMoreBookings() {
+        if (nextCursor == null) {
+            return;
+        }
+        Page<Booking> page = bookingService.getBookingsPage(nextCursor, PAGE_SIZE);
+        bookingList.addAll(page.getItems());
+        nextCursor = page.getNextCursor();
     }
 
     /**
@@ -97,6 +128,13 @@ public class BookingController {
     public void handleAdd() {
         try {
             Booking booking = createBookingFromForm();
+            if (booking.getTableId().isEmpty()) {
+                Booking saved = bookingService.addBookingToBestTable(booking);
+                loadBookings();
+                clearForm();
+                showSuccessAlert("Booking added at table " + saved.getTableId() + "!");
+                return;
+            }
             bookingService.addBooking(booking);
             loadBookings();
             clearForm();
@@ -165,6 +203,41 @@ public class BookingController {
         }
     }
 
+    /**
+     * Handle suggest table button click: fill in the best free table for the party.
+     */
+    public void handleSuggestTable() {
+        try {
+            String tableId = bookingService.suggestTable(createBookingFromForm());
+            if (tableId == null) {
+                showErrorAlert("No table free", "No table seating the party is free at that time");
+                return;
+            }
+            tableIdField.setText(tableId);
+        } catch (IllegalArgumentException e) {
+            showErrorAlert("Error suggesting table", e.getMessage());
+        }
+    }
+
+    /**
+     * Handle plan tables button click: re-plan the tables of the confirmed bookings on the form's date.
+     */
+    public void handlePlanTables() {
+        try {
+            TablePlan plan = bookingService.planTables(datePicker.getValue());
+            if (!plan.isApplied()) {
+                showErrorAlert("Tables not changed", "No plan seats every confirmed booking on " + plan.getDate()
+                        + "; " + plan.getUnplaced().size() + " would be left without a table");
+                return;
+            }
+            loadBookings();
+            showSuccessAlert(String.format("Tables planned for %s: %d bookings moved, %d empty seats, %d tables used",
+                    plan.getDate(), plan.getMoved(), plan.getWastedSeats(), plan.getTablesUsed()));
+        } catch (IllegalArgumentException e) {
+            showErrorAlert("Error planning tables", e.getMessage());
+        }
+    }
+
     /**
      * Handle table row selection.
      */
@@ -236,7 +309,7 @@ public class BookingController {
         hourComboBox.setValue(18);
         minuteComboBox.setValue(0);
         tableIdField.clear();
-        statusComboBox.setValue("CONFIRMED");
+        statusComboBox.setValue(BookingStatus.CONFIRMED.name());
         if (tableView != null) {
             tableView.getSelectionModel().clearSelection();
         }
@@ -264,6 +337,20 @@ public class BookingController {
         alert.showAndWait();
     }
 
+    /**
+     * Get bookings for a specific date, ordered by start time.
+     */
+    public List<Booking> getBookingsByDate(LocalDate date) {
+        return bookingService.getBookingsByDate(date);
+    }
+
+    /**
+     * Count bookings with a status.
+     */
+    public int countBookingsByStatus(BookingStatus status) {
+        return bookingService.countBookingsByStatus(status);
+    }
+
     /**
      * Get observable list for binding.
      */
@@ -2,7 +2,9 @@ package com.restaurantmanagement.controller;
 
 import com.restaurantmanagement.model.InventoryItem;
 import com.restaurantmanagement.model.InventoryTransaction;
+import com.restaurantmanagement.repository.Page;
 import com.restaurantmanagement.service.InventoryService;
+import com.restaurantmanagement.service.LowStockListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -18,11 +20,15 @@ import java.util.List;
  * Handles user interactions and updates the view.
  */
 public class InventoryController {
+    public static final int TRANSACTION_PAGE_SIZE = 100;
+
     private final InventoryService inventoryService;
     private final ObservableList<InventoryItem> itemList;
     private final ObservableList<InventoryTransaction> transactionList;
     private TableView<InventoryItem> itemTableView;
     private TableView<InventoryTransaction> transactionTableView;
+    // Cursor of the next (older) transaction page, or null once the whole history is loaded
+    private String nextTransactionCursor;
 
     // UI Components (for form inputs)
     private TextField idField;
@@ -41,7 +47,14 @@ public class InventoryController {
     private ComboBox<String> stockTypeComboBox;
 
     public InventoryController() {
-        this.inventoryService = new InventoryService();
+        this(new InventoryService());
+    }
+
+    /**
+     * Constructor with shared InventoryService instance.
+     */
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
         this.itemList = FXCollections.observableArrayList();
         this.transactionList = FXCollections.observableArrayList();
         loadItems();
@@ -128,11 +141,27 @@ public class InventoryController {
     }
 
     /**
-     * Load all transactions into the table.
+     * Load the most recent page of transactions into the table, newest first. A reload
+     * fetches as many rows as were already shown.
      */
     public void loadTransactions() {
-        transactionList.clear();
-        transactionList.addAll(inventoryService.getAllTransactions());
+        Page<InventoryTransaction> page = inventoryService.getTransactionsPage(null,
+                Math.max(TRANSACTION_PAGE_SIZE, transactionList.size()));
+        transactionList.setAll(page.getItems());
+        nextTransactionCursor = page.getNextCursor();
+    }
+
+    /**
+     * Append the next page of older transactions, if there is one.
+     */
+    public void loadMoreTransactions() {
+        if (nextTransactionCursor == null) {
+            return;
+        }
+        Page<InventoryTransaction> page = inventoryService.getTransactionsPage(nextTransactionCursor,
+                TRANSACTION_PAGE_SIZE);
+        transactionList.addAll(page.getItems());
+        nextTransactionCursor = page.getNextCursor();
     }
 
     /**
@@ -312,7 +341,11 @@ public class InventoryController {
      * Filter items by search criteria.
      */
     public FilteredList<InventoryItem> filterItems(String searchText, String categoryFilter, boolean lowStockOnly) {
-        FilteredList<InventoryItem> filtered = new FilteredList<>(itemList);
+        // The service keeps the low-stock set current, so start from it instead of checking every item
+        ObservableList<InventoryItem> source = lowStockOnly
+                ? FXCollections.observableArrayList(inventoryService.getLowStockItems())
+                : itemList;
+        FilteredList<InventoryItem> filtered = new FilteredList<>(source);
         
         filtered.setPredicate(item -> {
             boolean matchesSearch = searchText == null || searchText.isEmpty() ||
@@ -322,9 +355,7 @@ public class InventoryController {
             boolean matchesCategory = categoryFilter == null || categoryFilter.isEmpty() ||
                     item.getCategory().equals(categoryFilter);
             
-            boolean matchesLowStock = !lowStockOnly || item.isLowStock();
-            
-            return matchesSearch && matchesCategory && matchesLowStock;
+            return matchesSearch && matchesCategory;
         });
         
         return filtered;
@@ -352,6 +383,27 @@ public class InventoryController {
         alert.showAndWait();
     }
 
+    /**
+     * Get items that are low in stock.
+     */
+    public List<InventoryItem> getLowStockItems() {
+        return inventoryService.getLowStockItems();
+    }
+
+    /**
+     * Count items that are low in stock.
+     */
+    public int getLowStockCount() {
+        return inventoryService.getLowStockCount();
+    }
+
+    /**
+     * Register a listener for low-stock transitions.
+     */
+    public void addLowStockListener(LowStockListener listener) {
+        inventoryService.addLowStockListener(listener);
+    }
+
     /**
      * Get observable list for binding.
      */
@@ -3,25 +3,35 @@ package com.restaurantmanagement.controller;
 import com.restaurantmanagement.model.Employee;
 import com.restaurantmanagement.model.Shift;
 import com.restaurantmanagement.service.EmployeeService;
+import com.restaurantmanagement.service.RotaPlan;
+import com.restaurantmanagement.service.RotaRequest;
 import com.restaurantmanagement.service.ShiftService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Controller for Shift management UI.
  * Handles user interactions and updates the view.
  */
 public class ShiftController {
+    // A week settles well within this, searched off the UI thread
+    private static final Duration ROTA_TIME_BUDGET = Duration.ofSeconds(1);
+
     private final ShiftService shiftService;
     private final EmployeeService employeeService;
     private final ObservableList<Shift> shiftList;
@@ -48,7 +58,14 @@ public class ShiftController {
      * Constructor with shared EmployeeService instance.
      */
     public ShiftController(com.restaurantmanagement.service.EmployeeService employeeService) {
-        this.shiftService = new ShiftService();
+        this(new ShiftService(), employeeService);
+    }
+
+    /**
+     * Constructor with shared service instances.
+     */
+    public ShiftController(ShiftService shiftService, EmployeeService employeeService) {
+        this.shiftService = shiftService;
         this.employeeService = employeeService;
         this.shiftList = FXCollections.observableArrayList();
         loadShifts();
@@ -189,6 +206,79 @@ public class ShiftController {
         }
     }
 
+    /**
+     * Handle generate rota button click: staff the week from the selected date
+     * like the week before it, with the shifts spread fairly over employees.
+     * The search runs in the background with {@code trigger} disabled, and the
+     * rota is applied back on the UI thread, after which {@code onApplied} runs.
+     */
+    public void handleGenerateRota(Node trigger, Runnable onApplied) {
+        LocalDate start = datePicker.getValue();
+        if (start == null) {
+            showErrorAlert("Error", "Please select the first date of the week");
+            return;
+        }
+        LocalDate sampleStart = start.minusDays(7);
+        List<Shift> lastWeek = new ArrayList<>();
+        for (Shift shift : shiftService.getShiftsByDateRange(sampleStart, start.minusDays(1))) {
+            // Skip the overnight shift running into the week before
+            if (!shift.getDate().isBefore(sampleStart)) {
+                lastWeek.add(shift);
+            }
+        }
+        if (lastWeek.isEmpty()) {
+            showErrorAlert("Error generating rota", "No shifts between " + sampleStart + " and "
+                    + start.minusDays(1) + " to copy the staffing from");
+            return;
+        }
+        List<Employee> employees = employeeService.getAllEmployees();
+        Map<String, String> positions = new HashMap<>();
+        for (Employee employee : employees) {
+            positions.put(employee.getId(), employee.getPosition());
+        }
+        RotaRequest request = new RotaRequest(start, 7);
+        try {
+            request.copyStaffingFrom(lastWeek, positions);
+        } catch (IllegalArgumentException e) {
+            showErrorAlert("Error generating rota", e.getMessage());
+            return;
+        }
+        request.setTimeBudget(ROTA_TIME_BUDGET);
+
+        Task<RotaPlan> task = new Task<RotaPlan>() {
+            @Override
+            protected RotaPlan call() {
+                return shiftService.planRota(request, employees);
+            }
+        };
+        trigger.setDisable(true);
+        task.setOnSucceeded(e -> {
+            trigger.setDisable(false);
+            RotaPlan plan = task.getValue();
+            try {
+                shiftService.applyRota(plan);
+            } catch (IllegalArgumentException ex) {
+                // Shifts saved while the search ran can clash with the plan
+                showErrorAlert("Error generating rota", ex.getMessage());
+                return;
+            }
+            loadShifts();
+            onApplied.run();
+            showSuccessAlert(String.format("Rota for %s to %s: %d shifts added, %.1f staff-hours uncovered, "
+                            + "weekend shifts within %d of each other per position",
+                    plan.getStartDate(), plan.getEndDate(), plan.getShifts().size(),
+                    plan.getTotalUncoveredMinutes() / 60.0, plan.getWeekendShiftSpread()));
+        });
+        task.setOnFailed(e -> {
+            trigger.setDisable(false);
+            showErrorAlert("Error generating rota", task.getException().getMessage());
+        });
+
+        Thread thread = new Thread(task, "rota-generation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * Handle table row selection.
      */
@@ -248,9 +338,14 @@ public class ShiftController {
      * Get shifts for a specific date.
      */
     public List<Shift> getShiftsByDate(LocalDate date) {
-        return shiftList.stream()
-                .filter(shift -> shift.getDate() != null && shift.getDate().equals(date))
-                .collect(Collectors.toList());
+        return shiftService.getShiftsByDate(date);
+    }
+
+    /**
+     * Get shifts between two dates (inclusive) in one consistent read, ordered by start.
+     */
+    public List<Shift> getShiftsByDateRange(LocalDate startDate, LocalDate endDate) {
+        return shiftService.getShiftsByDateRange(startDate, endDate);
     }
 
     /**
@@ -0,0 +1,362 @@
+package com.restaurantmanagement.io;
+
+import com.restaurantmanagement.service.BatchResult;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streaming CSV importer. The calling thread reads the file in chunks, worker
+ * threads map and validate each chunk, and valid rows are handed to the sink
+ * (a service batch method) in file order. Only a bounded number of chunks is in
+ * memory at once. Rows that fail mapping or validation are written, with their
+ * line number and reason, to a reject file that can be fixed and re-imported.
+ * Rows the sink refuses are rejected the same way. If the sink fails a chunk
+ * outright, its rows are saved one at a time instead, so only the failing rows
+ * are rejected and the import carries on.
+ */
+public class CsvImporter<T> {
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+    public static final String REJECT_LINE_COLUMN = "rejectLine";
+    public static final String REJECT_REASON_COLUMN = "rejectReason";
+
+    private final List<String> requiredColumns;
+    private final Function<CsvRow, T> mapper;
+    private final Consumer<T> validator;
+    private final Function<List<T>, BatchResult<T>> sink;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * @param requiredColumns header names that must be present
+     * @param mapper builds an entity from a row; throws IllegalArgumentException for malformed values
+     * @param validator business validation; throws IllegalArgumentException for invalid entities
+     * @param sink saves one chunk of valid entities and reports those it refused,
+     *             or throws if it saves none of them
+     */
+    public CsvImporter(List<String> requiredColumns, Function<CsvRow, T> mapper, Consumer<T> validator,
+                       Function<List<T>, BatchResult<T>> sink) {
+        this(requiredColumns, mapper, validator, sink,
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1), DEFAULT_CHUNK_SIZE);
+    }
+
+    public CsvImporter(List<String> requiredColumns, Function<CsvRow, T> mapper, Consumer<T> validator,
+                       Function<List<T>, BatchResult<T>> sink, int parallelism, int chunkSize) {
+        if (parallelism <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        this.requiredColumns = requiredColumns;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.sink = sink;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import a CSV file whose first record is the header.
+     * Interrupting the calling thread stops the import; chunks already saved stay saved.
+     *
+     * @param rejectFile where to write rejected rows; only created if a row is rejected
+     * @param listener progress callback, may be null
+     */
+    public ImportResult importFile(Path source, Path rejectFile, ImportProgressListener listener) throws IOException {
+        long started = System.currentTimeMillis();
+        long totalBytes = Math.max(1, Files.size(source));
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, daemonThreads());
+        try (CountingInputStream counting = new CountingInputStream(Files.newInputStream(source));
+             CsvReader reader = new CsvReader(new InputStreamReader(counting, StandardCharsets.UTF_8));
+             RejectWriter rejects = new RejectWriter(rejectFile)) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                return new ImportResult(0, 0, 0, System.currentTimeMillis() - started, null);
+            }
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                // Byte order mark written by spreadsheet exports
+                header.set(0, header.get(0).substring(1));
+            }
+            Map<String, Integer> columns = indexHeader(header);
+            rejects.setHeader(header);
+
+            Progress progress = new Progress();
+            Deque<Future<Chunk<T>>> inFlight = new ArrayDeque<>();
+            List<String> values;
+            List<RawRow> rows = new ArrayList<>(chunkSize);
+            while ((values = reader.readRecord()) != null) {
+                rows.add(new RawRow(reader.getRecordLine(), values));
+                if (rows.size() == chunkSize) {
+                    List<RawRow> chunk = rows;
+                    inFlight.add(workers.submit(() -> process(chunk, columns, header.size())));
+                    progress.rowsRead += chunk.size();
+                    rows = new ArrayList<>(chunkSize);
+                    if (inFlight.size() >= parallelism * 2) {
+                        complete(inFlight.poll(), rejects, progress);
+                        report(listener, progress, (double) counting.count / totalBytes);
+                    }
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Import cancelled");
+                }
+            }
+            if (!rows.isEmpty()) {
+                List<RawRow> chunk = rows;
+                inFlight.add(workers.submit(() -> process(chunk, columns, header.size())));
+                progress.rowsRead += chunk.size();
+            }
+            while (!inFlight.isEmpty()) {
+                complete(inFlight.poll(), rejects, progress);
+                report(listener, progress, (double) counting.count / totalBytes);
+            }
+            report(listener, progress, 1.0);
+            return new ImportResult(progress.rowsRead, progress.imported, progress.rejected,
+                    System.currentTimeMillis() - started, rejects.path());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Map<String, Integer> indexHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String required : requiredColumns) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private Chunk<T> process(List<RawRow> rows, Map<String, Integer> columns, int width) {
+        Chunk<T> chunk = new Chunk<>(rows.size());
+        for (RawRow row : rows) {
+            try {
+                if (row.values.size() > width) {
+                    throw new IllegalArgumentException(
+                            "Expected " + width + " fields but found " + row.values.size());
+                }
+                T entity = mapper.apply(new CsvRow(columns, row.values));
+                validator.accept(entity);
+                chunk.valid.add(entity);
+                chunk.validRows.add(row);
+            } catch (IllegalArgumentException e) {
+                chunk.rejects.add(new Reject(row, e.getMessage()));
+            }
+        }
+        return chunk;
+    }
+
+    private void complete(Future<Chunk<T>> future, RejectWriter rejects, Progress progress) throws IOException {
+        Chunk<T> chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        if (!chunk.valid.isEmpty()) {
+            save(chunk, rejects, progress);
+        }
+        for (Reject reject : chunk.rejects) {
+            rejects.write(reject);
+        }
+        progress.rejected += chunk.rejects.size();
+    }
+
+    /**
+     * Hand a chunk's valid rows to the sink and reject those it refuses, falling
+     * back to one row at a time if it fails the chunk, so a single bad row
+     * cannot lose the rest.
+     */
+    private void save(Chunk<T> chunk, RejectWriter rejects, Progress progress) throws IOException {
+        BatchResult<T> result;
+        try {
+            result = sink.apply(chunk.valid);
+        } catch (RuntimeException e) {
+            result = null;
+        }
+        if (result != null) {
+            progress.imported += result.getSaved().size();
+            for (Map.Entry<Integer, String> refused : result.getRejected().entrySet()) {
+                rejects.write(new Reject(chunk.validRows.get(refused.getKey()), refused.getValue()));
+                progress.rejected++;
+            }
+            return;
+        }
+        for (int i = 0; i < chunk.valid.size(); i++) {
+            try {
+                BatchResult<T> row = sink.apply(Collections.singletonList(chunk.valid.get(i)));
+                if (row.isComplete()) {
+                    progress.imported++;
+                } else {
+                    rejects.write(new Reject(chunk.validRows.get(i), row.getRejected().get(0)));
+                    progress.rejected++;
+                }
+            } catch (RuntimeException e) {
+                rejects.write(new Reject(chunk.validRows.get(i), reasonOf(e)));
+                progress.rejected++;
+            }
+        }
+    }
+
+    private static String reasonOf(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static void report(ImportProgressListener listener, Progress progress, double fraction) {
+        if (listener != null) {
+            listener.onProgress(progress.rowsRead, progress.imported, progress.rejected, Math.min(1.0, fraction));
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "csv-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class RawRow {
+        private final long line;
+        private final List<String> values;
+
+        private RawRow(long line, List<String> values) {
+            this.line = line;
+            this.values = values;
+        }
+    }
+
+    private static final class Reject {
+        private final RawRow row;
+        private final String reason;
+
+        private Reject(RawRow row, String reason) {
+            this.row = row;
+            this.reason = reason;
+        }
+    }
+
+    private static final class Chunk<T> {
+        private final List<T> valid;
+        // The row each valid entity came from, by position
+        private final List<RawRow> validRows;
+        private final List<Reject> rejects;
+
+        private Chunk(int size) {
+            this.valid = new ArrayList<>(size);
+            this.validRows = new ArrayList<>(size);
+            this.rejects = new ArrayList<>();
+        }
+    }
+
+    private static final class Progress {
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+    }
+
+    /**
+     * Writes rejected rows, creating the file on the first reject.
+     */
+    private static final class RejectWriter implements AutoCloseable {
+        private final Path file;
+        private List<String> header;
+        private CsvWriter writer;
+
+        private RejectWriter(Path file) {
+            this.file = file;
+        }
+
+        private void setHeader(List<String> header) {
+            this.header = header;
+        }
+
+        private void write(Reject reject) throws IOException {
+            if (file == null) {
+                return;
+            }
+            if (writer == null) {
+                writer = new CsvWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+                List<String> columns = new ArrayList<>(header);
+                columns.add(REJECT_LINE_COLUMN);
+                columns.add(REJECT_REASON_COLUMN);
+                writer.writeRecord(columns);
+            }
+            List<String> fields = new ArrayList<>(reject.row.values);
+            while (fields.size() < header.size()) {
+                fields.add("");
+            }
+            fields.add(String.valueOf(reject.row.line));
+            fields.add(reject.reason);
+            writer.writeRecord(fields);
+        }
+
+        private Path path() {
+            return writer != null ? file : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Counts bytes consumed from the file, for progress reporting.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
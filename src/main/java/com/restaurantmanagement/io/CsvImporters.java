@@ -0,0 +1,64 @@
+package com.restaurantmanagement.io;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.Employee;
+import com.restaurantmanagement.model.InventoryItem;
+import com.restaurantmanagement.model.Shift;
+import com.restaurantmanagement.service.BatchResult;
+import com.restaurantmanagement.service.BookingService;
+import com.restaurantmanagement.service.EmployeeService;
+import com.restaurantmanagement.service.InventoryService;
+import com.restaurantmanagement.service.ShiftService;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CSV importers for each entity, wired to the service validation rules and batch inserts.
+ * Bookings and shifts their service refuses, such as two rows holding one table
+ * at once or one employee's shifts overlapping, are rejected row by row.
+ * The id column is optional; rows without one get a newly assigned ID.
+ */
+public final class CsvImporters {
+    public static final List<String> BOOKING_COLUMNS = Arrays.asList(
+            "customerName", "phoneNumber", "numberOfGuests", "date", "startTime", "tableId", "status");
+    public static final List<String> EMPLOYEE_COLUMNS = Arrays.asList(
+            "name", "position", "phoneNumber", "email");
+    public static final List<String> SHIFT_COLUMNS = Arrays.asList(
+            "employeeId", "employeeName", "date", "startTime", "endTime", "shiftType");
+    public static final List<String> INVENTORY_COLUMNS = Arrays.asList(
+            "name", "category", "unit", "quantity", "minimumThreshold", "supplierName", "storageLocation");
+
+    private CsvImporters() {
+    }
+
+    public static CsvImporter<Booking> bookings(BookingService service) {
+        return new CsvImporter<>(BOOKING_COLUMNS,
+                row -> new Booking(row.get("id"), row.get("customerName"), row.get("phoneNumber"),
+                        row.getInt("numberOfGuests", 0), row.getDate("date"), row.getTime("startTime"),
+                        row.get("tableId"), row.get("status")),
+                service::validateBooking, service::addBookings);
+    }
+
+    public static CsvImporter<Employee> employees(EmployeeService service) {
+        return new CsvImporter<>(EMPLOYEE_COLUMNS,
+                row -> new Employee(row.get("id"), row.get("name"), row.get("position"),
+                        row.get("phoneNumber"), row.get("email")),
+                service::validateEmployee, employees -> BatchResult.allSaved(service.addEmployees(employees)));
+    }
+
+    public static CsvImporter<Shift> shifts(ShiftService service) {
+        return new CsvImporter<>(SHIFT_COLUMNS,
+                row -> new Shift(row.get("id"), row.get("employeeId"), row.get("employeeName"),
+                        row.getDate("date"), row.getTime("startTime"), row.getTime("endTime"),
+                        row.get("shiftType")),
+                service::validateShift, service::addShifts);
+    }
+
+    public static CsvImporter<InventoryItem> inventoryItems(InventoryService service) {
+        return new CsvImporter<>(INVENTORY_COLUMNS,
+                row -> new InventoryItem(row.get("id"), row.get("name"), row.get("category"),
+                        row.get("unit"), row.getDouble("quantity", 0), row.getDouble("minimumThreshold", 0),
+                        row.get("supplierName"), row.get("storageLocation")),
+                service::validateItem, items -> BatchResult.allSaved(service.addItems(items)));
+    }
+}
@@ -0,0 +1,128 @@
+package com.restaurantmanagement.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader. Handles quoted fields with embedded commas,
+ * doubled quotes and line breaks; accepts both LF and CRLF line endings.
+ * Only one record is held in memory at a time.
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder field;
+    private int position;
+    private int limit;
+    private long lineNumber;
+    private long recordLine;
+    private boolean eof;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.field = new StringBuilder();
+        this.lineNumber = 1;
+    }
+
+    /**
+     * Read the next record, or null at end of input. Blank lines are skipped.
+     */
+    public List<String> readRecord() throws IOException {
+        while (true) {
+            if (!fill()) {
+                return null;
+            }
+            char first = buffer[position];
+            if (first == '\n' || first == '\r') {
+                consumeLineBreak();
+                continue;
+            }
+            break;
+        }
+        recordLine = lineNumber;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (fill()) {
+            char c = buffer[position];
+            if (quoted) {
+                position++;
+                if (c == '"') {
+                    if (fill() && buffer[position] == '"') {
+                        field.append('"');
+                        position++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(c);
+                }
+            } else if (c == ',') {
+                position++;
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            } else if (c == '\n' || c == '\r') {
+                consumeLineBreak();
+                break;
+            } else if (c == '"' && fieldStart) {
+                position++;
+                quoted = true;
+            } else {
+                position++;
+                field.append(c);
+            }
+            fieldStart = false;
+        }
+        record.add(field.toString());
+        return record;
+    }
+
+    /**
+     * Line on which the last record returned by {@link #readRecord()} started (1-based).
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void consumeLineBreak() throws IOException {
+        char c = buffer[position++];
+        if (c == '\r' && fill() && buffer[position] == '\n') {
+            position++;
+        }
+        lineNumber++;
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+}
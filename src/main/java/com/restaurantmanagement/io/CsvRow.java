@@ -0,0 +1,103 @@
+package com.restaurantmanagement.io;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One CSV record with access to its fields by header name.
+ * Blank fields read as null; malformed values throw IllegalArgumentException
+ * naming the column, so the row can be rejected with a useful reason.
+ */
+public class CsvRow {
+    private final Map<String, Integer> columns;
+    private final List<String> values;
+
+    CsvRow(Map<String, Integer> columns, List<String> values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Trimmed value of a column, or null if the column is absent or blank.
+     */
+    public String get(String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    public int getInt(String column, int defaultValue) {
+        String value = get(column);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw invalid(column, value);
+        }
+    }
+
+    public double getDouble(String column, double defaultValue) {
+        String value = get(column);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw invalid(column, value);
+        }
+    }
+
+    /**
+     * ISO date (yyyy-MM-dd), or null if blank.
+     */
+    public LocalDate getDate(String column) {
+        String value = get(column);
+        try {
+            return value != null ? LocalDate.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw invalid(column, value);
+        }
+    }
+
+    /**
+     * ISO time (HH:mm or HH:mm:ss), or null if blank.
+     */
+    public LocalTime getTime(String column) {
+        String value = get(column);
+        try {
+            return value != null ? LocalTime.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw invalid(column, value);
+        }
+    }
+
+    /**
+     * ISO date-time (yyyy-MM-ddTHH:mm[:ss]), or null if blank.
+     */
+    public LocalDateTime getDateTime(String column) {
+        String value = get(column);
+        try {
+            return value != null ? LocalDateTime.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw invalid(column, value);
+        }
+    }
+
+    List<String> values() {
+        return values;
+    }
+
+    private static IllegalArgumentException invalid(String column, String value) {
+        return new IllegalArgumentException("Invalid " + column + ": '" + value + "'");
+    }
+}
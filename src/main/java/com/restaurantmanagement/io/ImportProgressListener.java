@@ -0,0 +1,12 @@
+package com.restaurantmanagement.io;
+
+/**
+ * Receives progress updates from a running import, on the importing thread.
+ */
+public interface ImportProgressListener {
+
+    /**
+     * @param fraction share of the input consumed so far, from 0 to 1
+     */
+    void onProgress(long rowsRead, long imported, long rejected, double fraction);
+}
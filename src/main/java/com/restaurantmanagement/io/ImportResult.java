@@ -0,0 +1,55 @@
+package com.restaurantmanagement.io;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of a CSV import.
+ */
+public class ImportResult {
+    private final long rowsRead;
+    private final long imported;
+    private final long rejected;
+    private final long elapsedMillis;
+    private final Path rejectFile;
+
+    ImportResult(long rowsRead, long imported, long rejected, long elapsedMillis, Path rejectFile) {
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.rejectFile = rejectFile;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * File holding the rejected rows, or null if every row was imported.
+     */
+    public Path getRejectFile() {
+        return rejectFile;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "rowsRead=" + rowsRead +
+                ", imported=" + imported +
+                ", rejected=" + rejected +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
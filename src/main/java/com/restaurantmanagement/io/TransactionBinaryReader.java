@@ -0,0 +1,113 @@
+package com.restaurantmanagement.io;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads files written by TransactionBinaryWriter, one transaction at a time.
+ */
+public class TransactionBinaryReader implements Closeable {
+    private final DataInputStream in;
+    private final List<String> dictionary = new ArrayList<>();
+    private long previousSecond;
+    private long count;
+    private boolean finished;
+
+    public TransactionBinaryReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (this.in.readInt() != TransactionBinaryWriter.MAGIC) {
+            throw new IOException("Not a transaction export file");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != TransactionBinaryWriter.VERSION) {
+            throw new IOException("Unsupported export version: " + version);
+        }
+    }
+
+    /**
+     * Read the next transaction, or return null at the end of the file.
+     */
+    public InventoryTransaction read() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int marker;
+        try {
+            marker = in.readUnsignedByte();
+        } catch (EOFException e) {
+            throw new IOException("Export file is truncated after " + count + " transactions", e);
+        }
+        if (marker == TransactionBinaryWriter.END) {
+            long expected = in.readLong();
+            if (expected != count) {
+                throw new IOException("Export file declares " + expected + " transactions but holds " + count);
+            }
+            finished = true;
+            return null;
+        }
+        if (marker != TransactionBinaryWriter.RECORD) {
+            throw new IOException("Corrupt export file at transaction " + count);
+        }
+        InventoryTransaction transaction = new InventoryTransaction(readString(), readString(), readString(),
+                in.readDouble(), readString(), readString(), readString(), readString());
+        if ((in.readUnsignedByte() & TransactionBinaryWriter.HAS_TIMESTAMP) != 0) {
+            long second = previousSecond + unZigZag(readVarLong());
+            transaction.setTimestamp(LocalDateTime.ofEpochSecond(second, (int) readVarLong(), ZoneOffset.UTC));
+            previousSecond = second;
+        } else {
+            transaction.setTimestamp(null);
+        }
+        count++;
+        return transaction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String readString() throws IOException {
+        long code = readVarLong();
+        if (code == TransactionBinaryWriter.NULL_STRING) {
+            return null;
+        }
+        if (code == TransactionBinaryWriter.INLINE_STRING) {
+            return in.readUTF();
+        }
+        if (code == TransactionBinaryWriter.NEW_ENTRY) {
+            String value = in.readUTF();
+            dictionary.add(value);
+            return value;
+        }
+        long entry = code - TransactionBinaryWriter.FIRST_ENTRY;
+        if (entry >= dictionary.size()) {
+            throw new IOException("Corrupt export file at transaction " + count);
+        }
+        return dictionary.get((int) entry);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt export file at transaction " + count);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.restaurantmanagement.io;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes transactions in a compact binary export format.
+ *
+ * <p>Layout: the magic number and a version byte, then one record per transaction,
+ * then an end marker and the record count. Repeated strings (item, staff, type,
+ * reason) are written once and referenced by number afterwards; numbers and
+ * timestamp deltas are variable-length. Memory use is bounded by the dictionary
+ * size, not by the number of rows.
+ */
+public class TransactionBinaryWriter implements Closeable {
+    static final int MAGIC = 0x524D5458; // "RMTX"
+    static final int VERSION = 1;
+    static final int RECORD = 1;
+    static final int END = 0;
+
+    // String reference codes; larger codes point at dictionary entry (code - FIRST_ENTRY)
+    static final int NULL_STRING = 0;
+    static final int INLINE_STRING = 1;
+    static final int NEW_ENTRY = 2;
+    static final int FIRST_ENTRY = 3;
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    static final int HAS_TIMESTAMP = 1;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private long previousSecond;
+    private long count;
+    private boolean closed;
+
+    public TransactionBinaryWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    public void write(InventoryTransaction transaction) throws IOException {
+        out.writeByte(RECORD);
+        // IDs are unique, so a dictionary would only grow
+        writeInline(transaction.getId());
+        writeShared(transaction.getItemId());
+        writeShared(transaction.getItemName());
+        out.writeDouble(transaction.getQuantity());
+        writeShared(transaction.getType());
+        writeShared(transaction.getReason());
+        writeShared(transaction.getStaffId());
+        writeShared(transaction.getStaffName());
+        LocalDateTime timestamp = transaction.getTimestamp();
+        if (timestamp == null) {
+            out.writeByte(0);
+        } else {
+            out.writeByte(HAS_TIMESTAMP);
+            long second = timestamp.toEpochSecond(ZoneOffset.UTC);
+            writeVarLong(zigZag(second - previousSecond));
+            writeVarLong(timestamp.getNano());
+            previousSecond = second;
+        }
+        count++;
+    }
+
+    /**
+     * Number of transactions written so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Write the end marker and close the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.writeByte(END);
+        out.writeLong(count);
+        out.close();
+    }
+
+    private void writeInline(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(NULL_STRING);
+        } else {
+            writeVarLong(INLINE_STRING);
+            out.writeUTF(value);
+        }
+    }
+
+    private void writeShared(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(NULL_STRING);
+            return;
+        }
+        Integer entry = dictionary.get(value);
+        if (entry != null) {
+            writeVarLong(FIRST_ENTRY + entry);
+        } else if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            dictionary.put(value, dictionary.size());
+            writeVarLong(NEW_ENTRY);
+            out.writeUTF(value);
+        } else {
+            writeVarLong(INLINE_STRING);
+            out.writeUTF(value);
+        }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
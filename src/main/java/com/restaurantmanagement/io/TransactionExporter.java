@@ -0,0 +1,66 @@
+package com.restaurantmanagement.io;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams transactions from a repository cursor to CSV or the binary export format.
+ * Rows are written as they are read, so memory use does not depend on the row count.
+ */
+public final class TransactionExporter {
+    public static final List<String> CSV_COLUMNS = Arrays.asList(
+            "id", "itemId", "itemName", "quantity", "type", "reason", "timestamp", "staffId", "staffName");
+
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private TransactionExporter() {
+    }
+
+    /**
+     * Write transactions as CSV with a header row. The writer is flushed, not closed.
+     *
+     * @return the number of transactions written
+     */
+    public static long exportCsv(Iterator<InventoryTransaction> transactions, Writer out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRecord(CSV_COLUMNS);
+        long count = 0;
+        while (transactions.hasNext()) {
+            InventoryTransaction transaction = transactions.next();
+            csv.writeRecord(transaction.getId(), transaction.getItemId(), transaction.getItemName(),
+                    Double.toString(transaction.getQuantity()), transaction.getType(), transaction.getReason(),
+                    transaction.getTimestamp() != null ? transaction.getTimestamp().toString() : null,
+                    transaction.getStaffId(), transaction.getStaffName());
+            checkCancelled(++count);
+        }
+        csv.flush();
+        return count;
+    }
+
+    /**
+     * Write transactions in the binary export format. The stream is closed when done.
+     *
+     * @return the number of transactions written
+     */
+    public static long exportBinary(Iterator<InventoryTransaction> transactions, OutputStream out) throws IOException {
+        try (TransactionBinaryWriter writer = new TransactionBinaryWriter(out)) {
+            while (transactions.hasNext()) {
+                writer.write(transactions.next());
+                checkCancelled(writer.getCount());
+            }
+            return writer.getCount();
+        }
+    }
+
+    private static void checkCancelled(long count) throws InterruptedIOException {
+        if (count % CANCEL_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Export cancelled");
+        }
+    }
+}
@@ -31,6 +31,14 @@ public class Booking {
         this.status = status;
     }
 
+    /**
+     * Copy constructor.
+     */
+    public Booking(Booking other) {
+        this(other.id, other.customerName, other.phoneNumber, other.numberOfGuests,
+                other.date, other.startTime, other.tableId, other.status);
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -96,18 +104,30 @@ public class Booking {
         this.status = status;
     }
 
+    /**
+     * Get the typed status, or null if the status is missing or unknown.
+     */
+    public BookingStatus getStatusType() {
+        return BookingStatus.fromString(status);
+    }
+
+    public void setStatusType(BookingStatus status) {
+        this.status = status != null ? status.name() : null;
+    }
+
     /**
      * Check if booking can be cancelled.
      */
     public boolean canCancel() {
-        return !"CANCELLED".equals(status) && !"SEATED".equals(status);
+        BookingStatus current = getStatusType();
+        return current != BookingStatus.CANCELLED && current != BookingStatus.SEATED;
     }
 
     /**
      * Check if booking can be seated.
      */
     public boolean canSeat() {
-        return "CONFIRMED".equals(status);
+        return getStatusType() == BookingStatus.CONFIRMED;
     }
 
     @Override
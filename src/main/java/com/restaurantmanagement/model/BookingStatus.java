@@ -0,0 +1,25 @@
+package com.restaurantmanagement.model;
+
+/**
+ * Lifecycle status of a booking.
+ */
+public enum BookingStatus {
+    CONFIRMED,
+    SEATED,
+    CANCELLED;
+
+    /**
+     * Parse a status name, returning null for unknown or missing values.
+     */
+    public static BookingStatus fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (BookingStatus status : values()) {
+            if (status.name().equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
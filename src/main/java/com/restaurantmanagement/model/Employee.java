@@ -21,6 +21,13 @@ public class Employee {
         this.email = email;
     }
 
+    /**
+     * Copy constructor.
+     */
+    public Employee(Employee other) {
+        this(other.id, other.name, other.position, other.phoneNumber, other.email);
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
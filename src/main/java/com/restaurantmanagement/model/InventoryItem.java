@@ -34,6 +34,15 @@ public class InventoryItem {
         this.lastUpdated = LocalDate.now();
     }
 
+    /**
+     * Copy constructor.
+     */
+    public InventoryItem(InventoryItem other) {
+        this(other.id, other.name, other.category, other.unit, other.quantity,
+                other.minimumThreshold, other.supplierName, other.storageLocation);
+        this.lastUpdated = other.lastUpdated;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
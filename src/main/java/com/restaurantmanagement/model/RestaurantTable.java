@@ -0,0 +1,60 @@
+package com.restaurantmanagement.model;
+
+/**
+ * RestaurantTable entity representing a table on the floor plan.
+ */
+public class RestaurantTable {
+    private String id;
+    private int capacity;
+    private String area; // e.g. Main, Terrace, Bar
+
+    public RestaurantTable() {
+    }
+
+    public RestaurantTable(String id, int capacity, String area) {
+        this.id = id;
+        this.capacity = capacity;
+        this.area = area;
+    }
+
+    /**
+     * Copy constructor.
+     */
+    public RestaurantTable(RestaurantTable other) {
+        this(other.id, other.capacity, other.area);
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    @Override
+    public String toString() {
+        return "RestaurantTable{" +
+                "id='" + id + '\'' +
+                ", capacity=" + capacity +
+                ", area='" + area + '\'' +
+                '}';
+    }
+}
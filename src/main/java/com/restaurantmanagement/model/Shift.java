@@ -1,10 +1,12 @@
 package com.restaurantmanagement.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 /**
  * Shift entity representing a work shift assignment.
+ * A shift whose end time is before its start time runs overnight and ends on the next day.
  */
 public class Shift {
     private String id;
@@ -29,6 +31,14 @@ public class Shift {
         this.shiftType = shiftType;
     }
 
+    /**
+     * Copy constructor.
+     */
+    public Shift(Shift other) {
+        this(other.id, other.employeeId, other.employeeName, other.date,
+                other.startTime, other.endTime, other.shiftType);
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -86,6 +96,30 @@ public class Shift {
         this.shiftType = shiftType;
     }
 
+    /**
+     * Check if the shift runs past midnight into the next day.
+     */
+    public boolean isOvernight() {
+        return startTime != null && endTime != null && endTime.isBefore(startTime);
+    }
+
+    /**
+     * When the shift starts, or null without a date and start time.
+     */
+    public LocalDateTime getStartAt() {
+        return date != null && startTime != null ? date.atTime(startTime) : null;
+    }
+
+    /**
+     * When the shift ends, on the next day for an overnight shift, or null without a date and end time.
+     */
+    public LocalDateTime getEndAt() {
+        if (date == null || endTime == null) {
+            return null;
+        }
+        return (isOvernight() ? date.plusDays(1) : date).atTime(endTime);
+    }
+
     @Override
     public String toString() {
         return "Shift{" +
@@ -0,0 +1,15 @@
+package com.restaurantmanagement.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary encoding of one entity type for the journal and snapshots.
+ */
+public interface EntityCodec<T> {
+
+    void write(DataOutput out, T entity) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,237 @@
+package com.restaurantmanagement.persistence;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.Employee;
+import com.restaurantmanagement.model.InventoryItem;
+import com.restaurantmanagement.model.InventoryTransaction;
+import com.restaurantmanagement.model.RestaurantTable;
+import com.restaurantmanagement.model.Shift;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary codecs for the restaurant entities. Every nullable field is written
+ * as a presence flag followed by its value.
+ */
+public final class EntityCodecs {
+
+    public static final EntityCodec<Booking> BOOKING = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Booking booking) throws IOException {
+            writeString(out, booking.getId());
+            writeString(out, booking.getCustomerName());
+            writeString(out, booking.getPhoneNumber());
+            out.writeInt(booking.getNumberOfGuests());
+            writeDate(out, booking.getDate());
+            writeTime(out, booking.getStartTime());
+            writeString(out, booking.getTableId());
+            writeString(out, booking.getStatus());
+        }
+
+        @Override
+        public Booking read(DataInput in) throws IOException {
+            return new Booking(readString(in), readString(in), readString(in), in.readInt(),
+                    readDate(in), readTime(in), readString(in), readString(in));
+        }
+    };
+
+    public static final EntityCodec<Employee> EMPLOYEE = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Employee employee) throws IOException {
+            writeString(out, employee.getId());
+            writeString(out, employee.getName());
+            writeString(out, employee.getPosition());
+            writeString(out, employee.getPhoneNumber());
+            writeString(out, employee.getEmail());
+        }
+
+        @Override
+        public Employee read(DataInput in) throws IOException {
+            return new Employee(readString(in), readString(in), readString(in), readString(in), readString(in));
+        }
+    };
+
+    public static final EntityCodec<Shift> SHIFT = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Shift shift) throws IOException {
+            writeString(out, shift.getId());
+            writeString(out, shift.getEmployeeId());
+            writeString(out, shift.getEmployeeName());
+            writeDate(out, shift.getDate());
+            writeTime(out, shift.getStartTime());
+            writeTime(out, shift.getEndTime());
+            writeString(out, shift.getShiftType());
+        }
+
+        @Override
+        public Shift read(DataInput in) throws IOException {
+            return new Shift(readString(in), readString(in), readString(in), readDate(in),
+                    readTime(in), readTime(in), readString(in));
+        }
+    };
+
+    public static final EntityCodec<InventoryItem> INVENTORY_ITEM = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, InventoryItem item) throws IOException {
+            writeString(out, item.getId());
+            writeString(out, item.getName());
+            writeString(out, item.getCategory());
+            writeString(out, item.getUnit());
+            out.writeDouble(item.getQuantity());
+            out.writeDouble(item.getMinimumThreshold());
+            writeString(out, item.getSupplierName());
+            writeString(out, item.getStorageLocation());
+            writeDate(out, item.getLastUpdated());
+        }
+
+        @Override
+        public InventoryItem read(DataInput in) throws IOException {
+            InventoryItem item = new InventoryItem(readString(in), readString(in), readString(in), readString(in),
+                    in.readDouble(), in.readDouble(), readString(in), readString(in));
+            item.setLastUpdated(readDate(in));
+            return item;
+        }
+    };
+
+    public static final EntityCodec<InventoryTransaction> INVENTORY_TRANSACTION = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, InventoryTransaction transaction) throws IOException {
+            writeString(out, transaction.getId());
+            writeString(out, transaction.getItemId());
+            writeString(out, transaction.getItemName());
+            out.writeDouble(transaction.getQuantity());
+            writeString(out, transaction.getType());
+            writeString(out, transaction.getReason());
+            writeString(out, transaction.getStaffId());
+            writeString(out, transaction.getStaffName());
+            writeDateTime(out, transaction.getTimestamp());
+        }
+
+        @Override
+        public InventoryTransaction read(DataInput in) throws IOException {
+            InventoryTransaction transaction = new InventoryTransaction(readString(in), readString(in), readString(in),
+                    in.readDouble(), readString(in), readString(in), readString(in), readString(in));
+            transaction.setTimestamp(readDateTime(in));
+            return transaction;
+        }
+    };
+
+    public static final EntityCodec<RestaurantTable> RESTAURANT_TABLE = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, RestaurantTable table) throws IOException {
+            writeString(out, table.getId());
+            out.writeInt(table.getCapacity());
+            writeString(out, table.getArea());
+        }
+
+        @Override
+        public RestaurantTable read(DataInput in) throws IOException {
+            return new RestaurantTable(readString(in), in.readInt(), readString(in));
+        }
+    };
+
+    private EntityCodecs() {
+    }
+
+    /**
+     * Codec for the entities stored in a repository.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityCodec<T> forStore(StoreType store) {
+        switch (store) {
+            case BOOKING:
+                return (EntityCodec<T>) BOOKING;
+            case EMPLOYEE:
+                return (EntityCodec<T>) EMPLOYEE;
+            case SHIFT:
+                return (EntityCodec<T>) SHIFT;
+            case INVENTORY_ITEM:
+                return (EntityCodec<T>) INVENTORY_ITEM;
+            case INVENTORY_TRANSACTION:
+                return (EntityCodec<T>) INVENTORY_TRANSACTION;
+            case RESTAURANT_TABLE:
+                return (EntityCodec<T>) RESTAURANT_TABLE;
+            default:
+                throw new IllegalArgumentException("No codec for " + store);
+        }
+    }
+
+    /**
+     * Encode an entity to a standalone byte array.
+     */
+    public static <T> byte[] encode(EntityCodec<T> codec, T entity) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.write(out, entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode a bare entity ID, as recorded for deletes.
+     */
+    public static byte[] encodeId(String id) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.toEpochDay());
+        }
+    }
+
+    private static LocalDate readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+
+    private static void writeTime(DataOutput out, LocalTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toNanoOfDay());
+        }
+    }
+
+    private static LocalTime readTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalTime.ofNanoOfDay(in.readLong()) : null;
+    }
+
+    private static void writeDateTime(DataOutput out, LocalDateTime dateTime) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
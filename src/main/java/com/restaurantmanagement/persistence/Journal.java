@@ -0,0 +1,468 @@
+package com.restaurantmanagement.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of repository mutations.
+ * <p>
+ * Records are framed as {@code [int length][int crc32][body]} where the body is
+ * {@code [long lsn][long timestampMillis][byte store][byte op][payload]}.
+ * A single writer thread drains queued records in batches and forces them to
+ * disk according to the {@link SyncPolicy}. On open, existing segments are
+ * replayed and a torn or corrupt tail left by a crash is truncated.
+ * <p>
+ * The journal is split into segment files named after their first LSN. Rotating
+ * starts a new segment so that segments wholly covered by a snapshot can be deleted.
+ */
+public class Journal implements Closeable {
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int HEADER_BYTES = 8;
+    private static final int BODY_HEADER_BYTES = 18;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_BATCH = 1024;
+    private static final long PERIODIC_SYNC_MILLIS = 1000;
+    private static final Pending SHUTDOWN = new Pending(-1, null);
+    private static final byte[] ROTATE = new byte[0];
+
+    private final Path directory;
+    private final SyncPolicy policy;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private final Object durability;
+    private FileChannel channel;
+    private long segmentFirstLsn;
+    private long nextLsn;
+    private long durableLsn;
+    private IOException failure;
+    private volatile boolean closed;
+
+    private Journal(Path directory, SyncPolicy policy, long nextLsn) throws IOException {
+        this.directory = directory;
+        this.policy = policy;
+        this.queue = new LinkedBlockingQueue<>();
+        this.durability = new Object();
+        this.nextLsn = nextLsn;
+        this.durableLsn = nextLsn - 1;
+        openActiveSegment(nextLsn);
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Open the journal in a directory, passing every intact record to the visitor
+     * in LSN order before accepting new appends.
+     */
+    public static Journal open(Path directory, SyncPolicy policy, Consumer<JournalRecord> visitor) throws IOException {
+        return open(directory, policy, 0, visitor);
+    }
+
+    /**
+     * Open the journal, replaying only records after {@code afterLsn}, e.g. the
+     * last LSN covered by a snapshot. Segments wholly at or below it are not read.
+     */
+    public static Journal open(Path directory, SyncPolicy policy, long afterLsn,
+                               Consumer<JournalRecord> visitor) throws IOException {
+        Files.createDirectories(directory);
+        long lastLsn = Math.max(afterLsn, replay(directory, afterLsn, visitor));
+        return new Journal(directory, policy, lastLsn + 1);
+    }
+
+    /**
+     * Queue a record for writing and return its LSN. Encoding and checksumming
+     * happen on the calling thread so the writer only copies bytes.
+     */
+    public long append(StoreType store, JournalOp op, byte[] payload) {
+        int bodyLength = BODY_HEADER_BYTES + payload.length;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bodyLength);
+        long lsn;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            lsn = nextLsn++;
+            record.putInt(bodyLength).putInt(0)
+                    .putLong(lsn).putLong(System.currentTimeMillis())
+                    .put(store.getCode()).put(op.getCode()).put(payload);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), HEADER_BYTES, bodyLength);
+            record.putInt(4, (int) crc.getValue());
+            // Enqueue under the same monitor so the queue stays in LSN order
+            queue.add(new Pending(lsn, record.array()));
+        }
+        return lsn;
+    }
+
+    /**
+     * Block until the record with the given LSN is on disk. Returns immediately
+     * for policies that do not make writers wait.
+     */
+    public void awaitDurable(long lsn) {
+        if (policy == SyncPolicy.PERIODIC || policy == SyncPolicy.NONE) {
+            return;
+        }
+        synchronized (durability) {
+            boolean interrupted = false;
+            while (durableLsn < lsn && failure == null) {
+                try {
+                    durability.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null && durableLsn < lsn) {
+                throw new UncheckedIOException("Journal write failed", failure);
+            }
+        }
+    }
+
+    /**
+     * LSN the next appended record will get.
+     */
+    public synchronized long getNextLsn() {
+        return nextLsn;
+    }
+
+    /**
+     * Start a new segment at the current end of the journal and return its first
+     * LSN. Every record with a lower LSN is in an older segment. The switch itself
+     * happens on the writer thread, in order with queued records.
+     */
+    public synchronized long rotate() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        queue.add(new Pending(nextLsn, ROTATE));
+        return nextLsn;
+    }
+
+    /**
+     * Delete segments whose records all have an LSN at or below {@code lsn}.
+     * The active segment is never deleted.
+     */
+    public void deleteSegmentsThrough(long lsn) throws IOException {
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            long nextFirst = firstLsn(segments.get(i + 1));
+            if (nextFirst - 1 > lsn) {
+                break;
+            }
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    public SyncPolicy getPolicy() {
+        return policy;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Flush queued records, force them to disk and stop the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(SHUTDOWN);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (durability) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        long lastSync = System.currentTimeMillis();
+        boolean dirty = false;
+        try {
+            while (true) {
+                Pending first = policy == SyncPolicy.PERIODIC
+                        ? queue.poll(PERIODIC_SYNC_MILLIS, TimeUnit.MILLISECONDS)
+                        : queue.take();
+                boolean shutdown = false;
+                if (first != null) {
+                    batch.add(first);
+                    if (policy != SyncPolicy.ALWAYS) {
+                        queue.drainTo(batch, MAX_BATCH - 1);
+                    }
+                    shutdown = write(batch);
+                    dirty = true;
+                }
+                if (shutdown || policy == SyncPolicy.ALWAYS || policy == SyncPolicy.GROUP_COMMIT
+                        || (policy == SyncPolicy.PERIODIC && dirty
+                            && System.currentTimeMillis() - lastSync >= PERIODIC_SYNC_MILLIS)) {
+                    if (dirty) {
+                        channel.force(false);
+                        lastSync = System.currentTimeMillis();
+                        dirty = false;
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    markDurable(lastLsn(batch));
+                    batch.clear();
+                }
+                if (shutdown) {
+                    channel.close();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            fail(new IOException("Journal writer interrupted", e));
+        }
+    }
+
+    /**
+     * Write a batch with gathering writes, switching segments at rotate markers.
+     * Returns true if the batch contained the shutdown marker.
+     */
+    private boolean write(List<Pending> batch) throws IOException {
+        boolean shutdown = false;
+        List<ByteBuffer> buffers = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            if (pending == SHUTDOWN) {
+                shutdown = true;
+            } else if (pending.bytes == ROTATE) {
+                writeFully(buffers);
+                if (pending.lsn != segmentFirstLsn) {
+                    channel.force(false);
+                    channel.close();
+                    openActiveSegment(pending.lsn);
+                }
+            } else {
+                buffers.add(ByteBuffer.wrap(pending.bytes));
+            }
+        }
+        writeFully(buffers);
+        return shutdown;
+    }
+
+    private void writeFully(List<ByteBuffer> buffers) throws IOException {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : array) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(array);
+        }
+        buffers.clear();
+    }
+
+    private static long lastLsn(List<Pending> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            Pending pending = batch.get(i);
+            if (pending != SHUTDOWN && pending.bytes != ROTATE) {
+                return pending.lsn;
+            }
+        }
+        return -1;
+    }
+
+    private void markDurable(long lsn) {
+        synchronized (durability) {
+            if (lsn > durableLsn) {
+                durableLsn = lsn;
+            }
+            durability.notifyAll();
+        }
+    }
+
+    private void fail(IOException e) {
+        synchronized (durability) {
+            failure = e;
+            durability.notifyAll();
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Already failing
+        }
+    }
+
+    /**
+     * Start a segment at {@code firstLsn}. At startup the newest existing segment is reused instead.
+     */
+    private void openActiveSegment(long firstLsn) throws IOException {
+        Path segment = directory.resolve(segmentName(firstLsn));
+        if (channel == null) {
+            List<Path> segments = listSegments(directory);
+            if (!segments.isEmpty()) {
+                segment = segments.get(segments.size() - 1);
+            }
+        }
+        channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentFirstLsn = firstLsn(segment);
+    }
+
+    static String segmentName(long firstLsn) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX);
+    }
+
+    static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Segment files in the directory, ordered by their first LSN.
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Read every intact record after {@code afterLsn} in LSN order. A torn or
+     * corrupt tail in the last segment is truncated; damage in an earlier segment
+     * is an error.
+     *
+     * @return the last LSN read, or 0 if no record was read
+     */
+    static long replay(Path directory, long afterLsn, Consumer<JournalRecord> visitor) throws IOException {
+        List<Path> segments = listSegments(directory);
+        long lastLsn = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            boolean tail = i == segments.size() - 1;
+            if (!tail && firstLsn(segments.get(i + 1)) - 1 <= afterLsn) {
+                // Wholly covered by the snapshot
+                continue;
+            }
+            long validBytes = 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+                while (true) {
+                    JournalRecord record = readRecord(in);
+                    if (record == null) {
+                        break;
+                    }
+                    if (record.getLsn() <= lastLsn) {
+                        throw new IOException("Out-of-order LSN " + record.getLsn() + " in " + segment);
+                    }
+                    lastLsn = record.getLsn();
+                    validBytes += HEADER_BYTES + BODY_HEADER_BYTES + record.getPayload().length;
+                    if (record.getLsn() > afterLsn) {
+                        visitor.accept(record);
+                    }
+                }
+            }
+            long size = Files.size(segment);
+            if (validBytes < size) {
+                if (!tail) {
+                    throw new IOException("Corrupt journal segment " + segment + " at offset " + validBytes);
+                }
+                try (FileChannel truncating = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    truncating.truncate(validBytes);
+                    truncating.force(true);
+                }
+            }
+        }
+        return lastLsn;
+    }
+
+    /**
+     * Read the intact records of one segment in LSN order, stopping at a torn or
+     * corrupt tail without repairing it, so segments can be read while another
+     * process owns the journal or several at once.
+     */
+    static void readSegment(Path segment, Consumer<JournalRecord> visitor) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+            JournalRecord record;
+            while ((record = readRecord(in)) != null) {
+                visitor.accept(record);
+            }
+        }
+    }
+
+    /**
+     * Read one record, or null at end of data or at the first torn or corrupt record.
+     */
+    private static JournalRecord readRecord(DataInputStream in) throws IOException {
+        try {
+            int bodyLength = in.readInt();
+            if (bodyLength < BODY_HEADER_BYTES || bodyLength > MAX_RECORD_BYTES) {
+                return null;
+            }
+            int checksum = in.readInt();
+            byte[] body = new byte[bodyLength];
+            in.readFully(body);
+            CRC32 crc = new CRC32();
+            crc.update(body, 0, bodyLength);
+            if ((int) crc.getValue() != checksum) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            long lsn = buffer.getLong();
+            long timestamp = buffer.getLong();
+            StoreType store = StoreType.fromCode(buffer.get());
+            JournalOp op = JournalOp.fromCode(buffer.get());
+            byte[] payload = new byte[buffer.remaining()];
+            buffer.get(payload);
+            return new JournalRecord(lsn, timestamp, store, op, payload);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static final class Pending {
+        private final long lsn;
+        private final byte[] bytes;
+
+        private Pending(long lsn, byte[] bytes) {
+            this.lsn = lsn;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.restaurantmanagement.persistence;
+
+/**
+ * Kind of mutation recorded in a journal record.
+ */
+public enum JournalOp {
+    SAVE(1),
+    DELETE(2);
+
+    private final byte code;
+
+    JournalOp(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static JournalOp fromCode(byte code) {
+        for (JournalOp op : values()) {
+            if (op.code == code) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown journal op: " + code);
+    }
+}
@@ -0,0 +1,40 @@
+package com.restaurantmanagement.persistence;
+
+/**
+ * One mutation read back from the journal.
+ */
+public final class JournalRecord {
+    private final long lsn;
+    private final long timestampMillis;
+    private final StoreType store;
+    private final JournalOp op;
+    private final byte[] payload;
+
+    JournalRecord(long lsn, long timestampMillis, StoreType store, JournalOp op, byte[] payload) {
+        this.lsn = lsn;
+        this.timestampMillis = timestampMillis;
+        this.store = store;
+        this.op = op;
+        this.payload = payload;
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public StoreType getStore() {
+        return store;
+    }
+
+    public JournalOp getOp() {
+        return op;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
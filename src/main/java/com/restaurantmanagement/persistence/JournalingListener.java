@@ -0,0 +1,43 @@
+package com.restaurantmanagement.persistence;
+
+import com.restaurantmanagement.repository.MutationListener;
+
+/**
+ * Records a repository's mutations in the journal. Records are queued while the
+ * repository's write lock is held, so journal order matches apply order; the
+ * wait for durability happens in {@link #afterCommit()}, outside the lock, so
+ * concurrent writers share one fsync.
+ */
+class JournalingListener<T> implements MutationListener<T> {
+    private final Journal journal;
+    private final StoreType store;
+    private final EntityCodec<T> codec;
+    private final ThreadLocal<long[]> pendingLsn;
+
+    JournalingListener(Journal journal, StoreType store, EntityCodec<T> codec) {
+        this.journal = journal;
+        this.store = store;
+        this.codec = codec;
+        this.pendingLsn = ThreadLocal.withInitial(() -> new long[1]);
+    }
+
+    @Override
+    public void onSave(T entity) {
+        pendingLsn.get()[0] = journal.append(store, JournalOp.SAVE, EntityCodecs.encode(codec, entity));
+    }
+
+    @Override
+    public void onDelete(String id) {
+        pendingLsn.get()[0] = journal.append(store, JournalOp.DELETE, EntityCodecs.encodeId(id));
+    }
+
+    @Override
+    public void afterCommit() {
+        long[] pending = pendingLsn.get();
+        if (pending[0] > 0) {
+            long lsn = pending[0];
+            pending[0] = 0;
+            journal.awaitDurable(lsn);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.restaurantmanagement.persistence;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds a closed data store as it was at an earlier moment.
+ * <p>
+ * The newest snapshot completed by the target is loaded while the journal
+ * segments after it are scanned in parallel. Each scan folds its segment into
+ * the last record per entity, stopping at the first record written after the
+ * target, so the restored state is always a prefix of the journal even if the
+ * clock stepped back. Only that last record per entity is decoded and applied,
+ * each store on its own chain of batches, and the result is written as a new
+ * snapshot with an LSN above everything already on disk.
+ */
+final class PointInTimeRecovery {
+    private static final int APPLY_CHUNK_SIZE = 1000;
+
+    private PointInTimeRecovery() {
+    }
+
+    static RecoveryReport restore(Path directory, LocalDateTime target) throws IOException {
+        long started = System.nanoTime();
+        long targetMillis = target.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Path snapshotDirectory = directory.resolve(RestaurantDataStore.SNAPSHOT_DIRECTORY);
+        Path base = SnapshotFile.newestCompletedBy(snapshotDirectory, targetMillis);
+        long baseLsn = base != null ? SnapshotFile.lsnOf(base) : 0;
+        List<Path> segments = segmentsAfter(directory.resolve(RestaurantDataStore.JOURNAL_DIRECTORY), baseLsn, target);
+
+        RepositorySet repositories = new RepositorySet();
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, daemonThreads());
+        try {
+            Future<Long> loading = workers.submit(() -> {
+                long loadStarted = System.nanoTime();
+                if (base != null) {
+                    SnapshotFile.load(base, repositories::load);
+                }
+                return millisSince(loadStarted);
+            });
+            List<Future<SegmentChanges>> scans = new ArrayList<>();
+            for (Path segment : segments) {
+                scans.add(workers.submit(() -> SegmentChanges.scan(segment, baseLsn, targetMillis)));
+            }
+
+            // Segments are merged in order up to the one holding the first record past the target
+            Map<StoreType, Map<String, JournalRecord>> changes = new EnumMap<>(StoreType.class);
+            long lastLsn = baseLsn;
+            long scanned = 0;
+            long replayed = 0;
+            boolean cut = false;
+            for (Future<SegmentChanges> scan : scans) {
+                SegmentChanges segment = await(scan);
+                lastLsn = Math.max(lastLsn, segment.lastLsn);
+                scanned += segment.scanned;
+                if (cut) {
+                    continue;
+                }
+                for (Map.Entry<StoreType, Map<String, JournalRecord>> store : segment.changes.entrySet()) {
+                    changes.computeIfAbsent(store.getKey(), key -> new LinkedHashMap<>()).putAll(store.getValue());
+                }
+                replayed += segment.replayed;
+                cut = segment.cut;
+            }
+            long scanMillis = millisSince(started);
+            long loadMillis = await(loading);
+
+            long applyStarted = System.nanoTime();
+            List<CompletableFuture<Void>> stores = new ArrayList<>();
+            for (Map.Entry<StoreType, Map<String, JournalRecord>> store : changes.entrySet()) {
+                stores.add(apply(repositories, store.getKey(), store.getValue(), workers));
+            }
+            try {
+                CompletableFuture.allOf(stores.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                throw unwrap(e.getCause());
+            }
+            long applyMillis = millisSince(applyStarted);
+
+            long writeStarted = System.nanoTime();
+            // Above every LSN on disk, so the next open starts here and skips the rolled-back records
+            Path latest = SnapshotFile.latest(snapshotDirectory);
+            long restoredLsn = Math.max(lastLsn, latest != null ? SnapshotFile.lsnOf(latest) : 0) + 1;
+            repositories.writeSnapshot(snapshotDirectory, restoredLsn);
+            long writeMillis = millisSince(writeStarted);
+
+            long entitiesChanged = 0;
+            for (Map<String, JournalRecord> store : changes.values()) {
+                entitiesChanged += store.size();
+            }
+            return new RecoveryReport(target, baseLsn, scanned, replayed, entitiesChanged, restoredLsn,
+                    loadMillis, scanMillis, applyMillis, writeMillis, millisSince(started));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Journal segments holding records after {@code baseLsn}, checking that
+     * nothing between the base and the oldest kept segment has been deleted.
+     */
+    private static List<Path> segmentsAfter(Path journalDirectory, long baseLsn, LocalDateTime target)
+            throws IOException {
+        List<Path> segments = Journal.listSegments(journalDirectory);
+        boolean reachable = segments.isEmpty() ? baseLsn > 0 : Journal.firstLsn(segments.get(0)) <= baseLsn + 1;
+        if (!reachable) {
+            throw new IllegalArgumentException("History before " + target + " is no longer kept");
+        }
+        List<Path> after = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            if (i == segments.size() - 1 || Journal.firstLsn(segments.get(i + 1)) - 1 > baseLsn) {
+                after.add(segments.get(i));
+            }
+        }
+        return after;
+    }
+
+    /**
+     * Decode a store's changes in parallel batches and save them in journal
+     * order, then apply its deletes. Saves are chained so only one batch at a
+     * time writes to the repository and no worker waits on another.
+     */
+    private static CompletableFuture<Void> apply(RepositorySet repositories, StoreType store,
+                                                 Map<String, JournalRecord> changes, ExecutorService workers) {
+        List<JournalRecord> saves = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (Map.Entry<String, JournalRecord> change : changes.entrySet()) {
+            if (change.getValue().getOp() == JournalOp.DELETE) {
+                deletes.add(change.getKey());
+            } else {
+                saves.add(change.getValue());
+            }
+        }
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < saves.size(); from += APPLY_CHUNK_SIZE) {
+            List<JournalRecord> chunk = saves.subList(from, Math.min(from + APPLY_CHUNK_SIZE, saves.size()));
+            CompletableFuture<List<Object>> decoded = CompletableFuture.supplyAsync(
+                    () -> chunk.stream().map(RepositorySet::decode).collect(Collectors.toList()), workers);
+            chain = chain.thenAcceptBoth(decoded, (done, entities) -> repositories.loadAll(store, entities));
+        }
+        return chain.thenRun(() -> deletes.forEach(id -> repositories.delete(store, id)));
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Restore cancelled");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof UncheckedIOException) {
+            return ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "recovery-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The last record per entity in one journal segment, in order of each
+     * entity's first change, up to the first record written after the target.
+     */
+    private static final class SegmentChanges {
+        private final Map<StoreType, Map<String, JournalRecord>> changes = new EnumMap<>(StoreType.class);
+        private long lastLsn;
+        private long scanned;
+        private long replayed;
+        private boolean cut;
+
+        static SegmentChanges scan(Path segment, long baseLsn, long targetMillis) throws IOException {
+            SegmentChanges segmentChanges = new SegmentChanges();
+            Journal.readSegment(segment, record -> segmentChanges.add(record, baseLsn, targetMillis));
+            return segmentChanges;
+        }
+
+        private void add(JournalRecord record, long baseLsn, long targetMillis) {
+            lastLsn = Math.max(lastLsn, record.getLsn());
+            if (record.getLsn() <= baseLsn) {
+                return;
+            }
+            scanned++;
+            if (cut || record.getTimestampMillis() > targetMillis) {
+                cut = true;
+                return;
+            }
+            replayed++;
+            // Re-putting a key keeps its place, so entities stay in order of their first change
+            changes.computeIfAbsent(record.getStore(), store -> new LinkedHashMap<>())
+                    .put(RepositorySet.idOf(record), record);
+        }
+    }
+}
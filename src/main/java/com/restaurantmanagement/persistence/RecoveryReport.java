@@ -0,0 +1,112 @@
+package com.restaurantmanagement.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a point-in-time restore.
+ */
+public class RecoveryReport {
+    private final LocalDateTime target;
+    private final long baseSnapshotLsn;
+    private final long recordsScanned;
+    private final long recordsReplayed;
+    private final long entitiesChanged;
+    private final long restoredLsn;
+    private final long loadMillis;
+    private final long scanMillis;
+    private final long applyMillis;
+    private final long writeMillis;
+    private final long elapsedMillis;
+
+    RecoveryReport(LocalDateTime target, long baseSnapshotLsn, long recordsScanned, long recordsReplayed,
+                   long entitiesChanged, long restoredLsn, long loadMillis, long scanMillis, long applyMillis,
+                   long writeMillis, long elapsedMillis) {
+        this.target = target;
+        this.baseSnapshotLsn = baseSnapshotLsn;
+        this.recordsScanned = recordsScanned;
+        this.recordsReplayed = recordsReplayed;
+        this.entitiesChanged = entitiesChanged;
+        this.restoredLsn = restoredLsn;
+        this.loadMillis = loadMillis;
+        this.scanMillis = scanMillis;
+        this.applyMillis = applyMillis;
+        this.writeMillis = writeMillis;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public LocalDateTime getTarget() {
+        return target;
+    }
+
+    /**
+     * Last LSN covered by the snapshot the restore started from, or 0 if it replayed the whole journal.
+     */
+    public long getBaseSnapshotLsn() {
+        return baseSnapshotLsn;
+    }
+
+    /**
+     * Journal records read after the base snapshot, including ones past the target.
+     */
+    public long getRecordsScanned() {
+        return recordsScanned;
+    }
+
+    /**
+     * Journal records written up to the target and folded into the restored state.
+     */
+    public long getRecordsReplayed() {
+        return recordsReplayed;
+    }
+
+    /**
+     * Distinct entities saved or deleted by the replayed records.
+     */
+    public long getEntitiesChanged() {
+        return entitiesChanged;
+    }
+
+    /**
+     * LSN of the snapshot the restore wrote; the next open starts from it.
+     */
+    public long getRestoredLsn() {
+        return restoredLsn;
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    public long getScanMillis() {
+        return scanMillis;
+    }
+
+    public long getApplyMillis() {
+        return applyMillis;
+    }
+
+    public long getWriteMillis() {
+        return writeMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "RecoveryReport{" +
+                "target=" + target +
+                ", baseSnapshotLsn=" + baseSnapshotLsn +
+                ", recordsScanned=" + recordsScanned +
+                ", recordsReplayed=" + recordsReplayed +
+                ", entitiesChanged=" + entitiesChanged +
+                ", restoredLsn=" + restoredLsn +
+                ", loadMillis=" + loadMillis +
+                ", scanMillis=" + scanMillis +
+                ", applyMillis=" + applyMillis +
+                ", writeMillis=" + writeMillis +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
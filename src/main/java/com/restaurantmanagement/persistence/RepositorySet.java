@@ -0,0 +1,285 @@
+package com.restaurantmanagement.persistence;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.Employee;
+import com.restaurantmanagement.model.InventoryItem;
+import com.restaurantmanagement.model.InventoryTransaction;
+import com.restaurantmanagement.model.RestaurantTable;
+import com.restaurantmanagement.model.Shift;
+import com.restaurantmanagement.repository.InMemoryBookingRepository;
+import com.restaurantmanagement.repository.InMemoryEmployeeRepository;
+import com.restaurantmanagement.repository.InMemoryInventoryRepository;
+import com.restaurantmanagement.repository.InMemoryInventoryTransactionRepository;
+import com.restaurantmanagement.repository.InMemoryRestaurantTableRepository;
+import com.restaurantmanagement.repository.InMemoryShiftRepository;
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import com.restaurantmanagement.repository.TransactionFilter;
+import com.restaurantmanagement.repository.TransactionStorageMode;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The in-memory repositories a data store persists, with the code that puts
+ * snapshotted entities and journaled mutations into them and streams them back
+ * out as a snapshot.
+ */
+final class RepositorySet {
+    private static final int SNAPSHOT_CHUNK_SIZE = 1000;
+
+    private final InMemoryBookingRepository bookingRepository;
+    private final InMemoryEmployeeRepository employeeRepository;
+    private final InMemoryShiftRepository shiftRepository;
+    private final InMemoryInventoryRepository inventoryRepository;
+    private final InMemoryInventoryTransactionRepository transactionRepository;
+    private final InMemoryRestaurantTableRepository tableRepository;
+
+    RepositorySet() {
+        this.bookingRepository = new InMemoryBookingRepository();
+        this.employeeRepository = new InMemoryEmployeeRepository();
+        this.shiftRepository = new InMemoryShiftRepository();
+        this.inventoryRepository = new InMemoryInventoryRepository();
+        this.transactionRepository = new InMemoryInventoryTransactionRepository(TransactionStorageMode.COLUMNAR);
+        this.tableRepository = new InMemoryRestaurantTableRepository();
+    }
+
+    InMemoryBookingRepository getBookingRepository() {
+        return bookingRepository;
+    }
+
+    InMemoryEmployeeRepository getEmployeeRepository() {
+        return employeeRepository;
+    }
+
+    InMemoryShiftRepository getShiftRepository() {
+        return shiftRepository;
+    }
+
+    InMemoryInventoryRepository getInventoryRepository() {
+        return inventoryRepository;
+    }
+
+    InMemoryInventoryTransactionRepository getTransactionRepository() {
+        return transactionRepository;
+    }
+
+    InMemoryRestaurantTableRepository getTableRepository() {
+        return tableRepository;
+    }
+
+    /**
+     * Put one snapshotted entity into its repository.
+     */
+    void load(StoreType store, Object entity) {
+        switch (store) {
+            case BOOKING:
+                bookingRepository.save((Booking) entity);
+                break;
+            case EMPLOYEE:
+                employeeRepository.save((Employee) entity);
+                break;
+            case SHIFT:
+                shiftRepository.save((Shift) entity);
+                break;
+            case INVENTORY_ITEM:
+                inventoryRepository.save((InventoryItem) entity);
+                break;
+            case INVENTORY_TRANSACTION:
+                transactionRepository.save((InventoryTransaction) entity);
+                break;
+            case RESTAURANT_TABLE:
+                tableRepository.save((RestaurantTable) entity);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown store: " + store);
+        }
+    }
+
+    /**
+     * Put entities of one store into its repository as a single batch.
+     */
+    @SuppressWarnings("unchecked")
+    void loadAll(StoreType store, List<?> entities) {
+        switch (store) {
+            case BOOKING:
+                bookingRepository.saveAll((List<Booking>) entities);
+                break;
+            case EMPLOYEE:
+                employeeRepository.saveAll((List<Employee>) entities);
+                break;
+            case SHIFT:
+                shiftRepository.saveAll((List<Shift>) entities);
+                break;
+            case INVENTORY_ITEM:
+                inventoryRepository.saveAll((List<InventoryItem>) entities);
+                break;
+            case INVENTORY_TRANSACTION:
+                transactionRepository.saveAll((List<InventoryTransaction>) entities);
+                break;
+            case RESTAURANT_TABLE:
+                tableRepository.saveAll((List<RestaurantTable>) entities);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown store: " + store);
+        }
+    }
+
+    /**
+     * Re-apply one journaled mutation. Saves overwrite by ID, so replaying a record twice is harmless.
+     */
+    void apply(JournalRecord record) {
+        if (record.getOp() == JournalOp.DELETE) {
+            delete(record.getStore(), idOf(record));
+        } else {
+            load(record.getStore(), decode(record));
+        }
+    }
+
+    void delete(StoreType store, String id) {
+        switch (store) {
+            case BOOKING:
+                bookingRepository.deleteById(id);
+                break;
+            case EMPLOYEE:
+                employeeRepository.deleteById(id);
+                break;
+            case SHIFT:
+                shiftRepository.deleteById(id);
+                break;
+            case INVENTORY_ITEM:
+                inventoryRepository.deleteById(id);
+                break;
+            case RESTAURANT_TABLE:
+                tableRepository.deleteById(id);
+                break;
+            default:
+                throw new IllegalArgumentException("Deletes are not journaled for " + store);
+        }
+    }
+
+    /**
+     * The entity a save record holds.
+     */
+    static Object decode(JournalRecord record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.getPayload()))) {
+            return EntityCodecs.forStore(record.getStore()).read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode journal record " + record.getLsn(), e);
+        }
+    }
+
+    /**
+     * ID of the entity a record saves or deletes; every codec writes the ID first.
+     */
+    static String idOf(JournalRecord record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.getPayload()))) {
+            return EntityCodecs.readString(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode journal record " + record.getLsn(), e);
+        }
+    }
+
+    /**
+     * Write a snapshot of every repository covering the journal through {@code lsn}.
+     * Nothing may change the repositories meanwhile, as while recovering.
+     */
+    Path writeSnapshot(Path directory, long lsn) throws IOException {
+        try (Views views = openViews()) {
+            return views.write(directory, lsn);
+        }
+    }
+
+    /**
+     * Rotate the journal and write a snapshot covering every record before the
+     * rotation, unless none came after {@code coveredLsn}. Returns the last LSN
+     * the newest snapshot covers.
+     * <p>
+     * The rotation and the point-in-time views happen with writes paused in
+     * every repository. Records are journaled and committed under the same
+     * lock, so the views hold every record before the rotation and none after
+     * it. Writers wait only for the views to open, not for the snapshot to be
+     * written.
+     */
+    long writeSnapshot(Path directory, Journal journal, long coveredLsn) throws IOException {
+        long[] lsn = new long[1];
+        try (Views views = whileWritesPaused(() -> {
+            lsn[0] = journal.rotate() - 1;
+            return openViews();
+        })) {
+            if (lsn[0] <= coveredLsn) {
+                return coveredLsn;
+            }
+            views.write(directory, lsn[0]);
+            return lsn[0];
+        }
+    }
+
+    private <T> T whileWritesPaused(Supplier<T> action) {
+        return bookingRepository.whileWritesPaused(() -> employeeRepository.whileWritesPaused(
+                () -> shiftRepository.whileWritesPaused(() -> inventoryRepository.whileWritesPaused(
+                        () -> transactionRepository.whileWritesPaused(
+                                () -> tableRepository.whileWritesPaused(action))))));
+    }
+
+    private Views openViews() {
+        return new Views(employeeRepository.snapshot(), shiftRepository.snapshot(), inventoryRepository.snapshot(),
+                tableRepository.snapshot(), transactionRepository.count(), bookingRepository.snapshot());
+    }
+
+    private static <T> SnapshotFile.Section<T> section(StoreType store, RepositorySnapshot<T> snapshot) {
+        return new SnapshotFile.Section<>(store, Math.toIntExact(snapshot.stream().count()), snapshot.stream().iterator());
+    }
+
+    /**
+     * Point-in-time views of every repository. Each entity repository is
+     * streamed from its snapshot and transactions in chunks, so archived
+     * records are decoded a few at a time rather than copied onto the heap.
+     */
+    private final class Views implements Closeable {
+        private final RepositorySnapshot<Employee> employees;
+        private final RepositorySnapshot<Shift> shifts;
+        private final RepositorySnapshot<InventoryItem> items;
+        private final RepositorySnapshot<RestaurantTable> tables;
+        // The history is append-only, so its first rows are the ones there when the views opened
+        private final int transactionCount;
+        private final RepositorySnapshot<Booking> bookings;
+
+        private Views(RepositorySnapshot<Employee> employees, RepositorySnapshot<Shift> shifts,
+                      RepositorySnapshot<InventoryItem> items, RepositorySnapshot<RestaurantTable> tables,
+                      int transactionCount, RepositorySnapshot<Booking> bookings) {
+            this.employees = employees;
+            this.shifts = shifts;
+            this.items = items;
+            this.tables = tables;
+            this.transactionCount = transactionCount;
+            this.bookings = bookings;
+        }
+
+        private Path write(Path directory, long lsn) throws IOException {
+            List<SnapshotFile.Section<?>> sections = new ArrayList<>();
+            sections.add(section(StoreType.EMPLOYEE, employees));
+            sections.add(section(StoreType.SHIFT, shifts));
+            sections.add(section(StoreType.INVENTORY_ITEM, items));
+            sections.add(section(StoreType.RESTAURANT_TABLE, tables));
+            sections.add(new SnapshotFile.Section<>(StoreType.INVENTORY_TRANSACTION, transactionCount,
+                    transactionRepository.iterate(TransactionFilter.all(), SNAPSHOT_CHUNK_SIZE)));
+            sections.add(section(StoreType.BOOKING, bookings));
+            return SnapshotFile.write(directory, lsn, sections);
+        }
+
+        @Override
+        public void close() {
+            employees.close();
+            shifts.close();
+            items.close();
+            tables.close();
+            bookings.close();
+        }
+    }
+}
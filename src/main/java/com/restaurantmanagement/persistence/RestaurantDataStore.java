@@ -0,0 +1,321 @@
+package com.restaurantmanagement.persistence;
+
+import com.restaurantmanagement.repository.InMemoryBookingRepository;
+import com.restaurantmanagement.repository.InMemoryEmployeeRepository;
+import com.restaurantmanagement.repository.InMemoryInventoryRepository;
+import com.restaurantmanagement.repository.InMemoryInventoryTransactionRepository;
+import com.restaurantmanagement.repository.InMemoryRestaurantTableRepository;
+import com.restaurantmanagement.repository.InMemoryShiftRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Journal-backed set of repositories. Opening loads the latest snapshot, replays
+ * the journal tail behind it into fresh in-memory repositories and then attaches
+ * listeners so every later mutation is journaled before the saving call returns.
+ * A background thread snapshots the repositories once enough records have
+ * accumulated. Snapshots and journal segments are kept for a recovery window, so
+ * a closed store can be rolled back to any moment within it with
+ * {@link #restoreTo}. The thread can also move old bookings and transactions to
+ * the repositories' off-heap archive tier; archive files are scratch space,
+ * rebuilt from the snapshot and journal on open.
+ */
+public class RestaurantDataStore implements Closeable {
+    public static final String DATA_DIR_PROPERTY = "restaurant.data.dir";
+    public static final String ARCHIVE_DAYS_PROPERTY = "restaurant.archive.days";
+    public static final String RECOVERY_DAYS_PROPERTY = "restaurant.recovery.days";
+    public static final String RESTORE_TO_PROPERTY = "restaurant.restore.to";
+    public static final long DEFAULT_SNAPSHOT_INTERVAL = 100_000;
+    public static final int DEFAULT_ARCHIVE_DAYS = 365;
+    public static final int DEFAULT_RECOVERY_DAYS = 7;
+    static final String SNAPSHOT_DIRECTORY = "snapshots";
+    static final String JOURNAL_DIRECTORY = "journal";
+    private static final long SNAPSHOT_CHECK_SECONDS = 60;
+
+    private final RepositorySet repositories;
+    private final Journal journal;
+    private final Path snapshotDirectory;
+    private final long snapshotInterval;
+    private final Period recoveryWindow;
+    private final ScheduledExecutorService snapshotScheduler;
+    private volatile long snapshotLsn;
+
+    private RestaurantDataStore(Path directory, SyncPolicy policy, long snapshotInterval,
+                                Period recoveryWindow) throws IOException {
+        this.repositories = new RepositorySet();
+        this.snapshotDirectory = directory.resolve(SNAPSHOT_DIRECTORY);
+        this.snapshotInterval = snapshotInterval;
+        this.recoveryWindow = recoveryWindow;
+        Path archiveDirectory = directory.resolve("archive");
+        deleteFiles(archiveDirectory);
+        repositories.getBookingRepository().setArchiveDirectory(archiveDirectory);
+        repositories.getTransactionRepository().setArchiveDirectory(archiveDirectory);
+
+        Path snapshot = SnapshotFile.latest(snapshotDirectory);
+        this.snapshotLsn = snapshot != null ? SnapshotFile.load(snapshot, repositories::load) : 0;
+        this.journal = Journal.open(directory.resolve(JOURNAL_DIRECTORY), policy, snapshotLsn, repositories::apply);
+
+        repositories.getBookingRepository().setMutationListener(
+                new JournalingListener<>(journal, StoreType.BOOKING, EntityCodecs.BOOKING));
+        repositories.getEmployeeRepository().setMutationListener(
+                new JournalingListener<>(journal, StoreType.EMPLOYEE, EntityCodecs.EMPLOYEE));
+        repositories.getShiftRepository().setMutationListener(
+                new JournalingListener<>(journal, StoreType.SHIFT, EntityCodecs.SHIFT));
+        repositories.getInventoryRepository().setMutationListener(
+                new JournalingListener<>(journal, StoreType.INVENTORY_ITEM, EntityCodecs.INVENTORY_ITEM));
+        repositories.getTransactionRepository().setMutationListener(
+                new JournalingListener<>(journal, StoreType.INVENTORY_TRANSACTION, EntityCodecs.INVENTORY_TRANSACTION));
+        repositories.getTableRepository().setMutationListener(
+                new JournalingListener<>(journal, StoreType.RESTAURANT_TABLE, EntityCodecs.RESTAURANT_TABLE));
+
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshotIfDue,
+                SNAPSHOT_CHECK_SECONDS, SNAPSHOT_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Open the data store in a directory, creating it if needed.
+     */
+    public static RestaurantDataStore open(Path directory, SyncPolicy policy) throws IOException {
+        return open(directory, policy, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Open the data store, snapshotting whenever at least {@code snapshotInterval}
+     * records have been journaled since the last snapshot.
+     */
+    public static RestaurantDataStore open(Path directory, SyncPolicy policy, long snapshotInterval) throws IOException {
+        return open(directory, policy, snapshotInterval, recoveryWindow());
+    }
+
+    /**
+     * Open the data store, keeping enough snapshots and journal to restore any
+     * moment within {@code recoveryWindow}; {@link Period#ZERO} keeps only what
+     * opening needs.
+     */
+    public static RestaurantDataStore open(Path directory, SyncPolicy policy, long snapshotInterval,
+                                           Period recoveryWindow) throws IOException {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        if (recoveryWindow.isNegative()) {
+            throw new IllegalArgumentException("Recovery window must not be negative");
+        }
+        return new RestaurantDataStore(directory, policy, snapshotInterval, recoveryWindow);
+    }
+
+    /**
+     * Rebuild the store in a directory as it was at {@code target}, from the
+     * newest snapshot completed by then and the journal records written up to it,
+     * and record the result as a new snapshot that the next {@link #open} starts
+     * from. Later history is left on disk, so another restore can still reach it
+     * until the recovery window drops it. The store must not be open.
+     *
+     * @throws IllegalArgumentException if the snapshots and journal no longer reach back to {@code target}
+     */
+    public static RecoveryReport restoreTo(Path directory, LocalDateTime target) throws IOException {
+        return PointInTimeRecovery.restore(directory, target);
+    }
+
+    /**
+     * Data directory from the {@value #DATA_DIR_PROPERTY} system property,
+     * defaulting to ~/.restaurant-manager.
+     */
+    public static Path defaultDirectory() {
+        String configured = System.getProperty(DATA_DIR_PROPERTY);
+        if (configured != null && !configured.trim().isEmpty()) {
+            return Paths.get(configured.trim());
+        }
+        return Paths.get(System.getProperty("user.home"), ".restaurant-manager");
+    }
+
+    /**
+     * Archive age from the {@value #ARCHIVE_DAYS_PROPERTY} system property in days,
+     * defaulting to {@value #DEFAULT_ARCHIVE_DAYS}; null if archiving is turned off
+     * with a value of 0 or less.
+     */
+    public static Period archiveAge() {
+        String configured = System.getProperty(ARCHIVE_DAYS_PROPERTY);
+        int days = DEFAULT_ARCHIVE_DAYS;
+        if (configured != null && !configured.trim().isEmpty()) {
+            try {
+                days = Integer.parseInt(configured.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + ARCHIVE_DAYS_PROPERTY + ": " + configured, e);
+            }
+        }
+        return days > 0 ? Period.ofDays(days) : null;
+    }
+
+    /**
+     * Recovery window from the {@value #RECOVERY_DAYS_PROPERTY} system property in
+     * days, defaulting to {@value #DEFAULT_RECOVERY_DAYS}; 0 keeps no history.
+     */
+    public static Period recoveryWindow() {
+        String configured = System.getProperty(RECOVERY_DAYS_PROPERTY);
+        int days = DEFAULT_RECOVERY_DAYS;
+        if (configured != null && !configured.trim().isEmpty()) {
+            try {
+                days = Integer.parseInt(configured.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + RECOVERY_DAYS_PROPERTY + ": " + configured, e);
+            }
+        }
+        return Period.ofDays(Math.max(days, 0));
+    }
+
+    /**
+     * Moment to restore to before opening, from the {@value #RESTORE_TO_PROPERTY}
+     * system property as an ISO local date-time (e.g. 2024-03-14T18:42), or null if unset.
+     */
+    public static LocalDateTime restoreTarget() {
+        String configured = System.getProperty(RESTORE_TO_PROPERTY);
+        if (configured == null || configured.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(configured.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + RESTORE_TO_PROPERTY + ": " + configured, e);
+        }
+    }
+
+    /**
+     * Move bookings dated, and transactions recorded, more than {@code age} ago
+     * to the off-heap archive tier. Queries keep returning them.
+     */
+    public void archiveOlderThan(Period age) {
+        LocalDate cutoff = LocalDate.now().minus(age);
+        repositories.getBookingRepository().archiveBefore(cutoff);
+        repositories.getTransactionRepository().archiveBefore(cutoff.atStartOfDay());
+    }
+
+    /**
+     * Archive records older than {@code age} now and then once a day, on the
+     * background snapshot thread.
+     */
+    public void scheduleArchiving(Period age) {
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archiveOlderThan(age);
+            } catch (RuntimeException e) {
+                // Everything stays on the heap; the next run retries
+                System.err.println("Archiving failed: " + e.getMessage());
+            }
+        }, 0, 1, TimeUnit.DAYS);
+    }
+
+    public InMemoryBookingRepository getBookingRepository() {
+        return repositories.getBookingRepository();
+    }
+
+    public InMemoryEmployeeRepository getEmployeeRepository() {
+        return repositories.getEmployeeRepository();
+    }
+
+    public InMemoryShiftRepository getShiftRepository() {
+        return repositories.getShiftRepository();
+    }
+
+    public InMemoryInventoryRepository getInventoryRepository() {
+        return repositories.getInventoryRepository();
+    }
+
+    public InMemoryInventoryTransactionRepository getTransactionRepository() {
+        return repositories.getTransactionRepository();
+    }
+
+    public InMemoryRestaurantTableRepository getTableRepository() {
+        return repositories.getTableRepository();
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Last journal LSN covered by the newest snapshot, or 0 if there is none.
+     */
+    public long getSnapshotLsn() {
+        return snapshotLsn;
+    }
+
+    /**
+     * Write a snapshot of every repository, then delete the snapshots and journal
+     * segments that fall out of the recovery window.
+     * <p>
+     * Writes pause only while the journal is rotated and point-in-time views of
+     * the repositories are opened, so the views hold exactly the records before
+     * the rotation; the snapshot is then streamed from them as writers carry on.
+     */
+    public synchronized void snapshot() throws IOException {
+        long lsn = repositories.writeSnapshot(snapshotDirectory, journal, snapshotLsn);
+        if (lsn == snapshotLsn) {
+            return;
+        }
+        snapshotLsn = lsn;
+        // The oldest snapshot still needed is the newest one completed before the window
+        long windowStart = LocalDateTime.now().minus(recoveryWindow)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Path oldestKept = SnapshotFile.newestCompletedBy(snapshotDirectory, windowStart);
+        SnapshotFile.deleteOlderThan(snapshotDirectory, oldestKept);
+        if (oldestKept != null) {
+            journal.deleteSegmentsThrough(SnapshotFile.lsnOf(oldestKept));
+        }
+    }
+
+    /**
+     * Stop background snapshots, then flush and close the journal.
+     */
+    @Override
+    public void close() throws IOException {
+        snapshotScheduler.shutdown();
+        try {
+            snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    private static void deleteFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void snapshotIfDue() {
+        if (journal.getNextLsn() - 1 - snapshotLsn < snapshotInterval) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // Keep journaling; the next check retries
+            System.err.println("Snapshot failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.restaurantmanagement.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact snapshot of every repository, tagged with the last journal LSN it covers.
+ * <p>
+ * Layout: {@code [int magic][int version][long lsn][int sections]}, then per
+ * store {@code [byte store][int count][entities...]}, then the
+ * {@code [long completedMillis]} the snapshot was finished at (from version 2)
+ * and a trailing CRC32 of everything before it. Snapshots are written to a
+ * temporary file, forced and renamed into place, so a crash never leaves a
+ * half-written snapshot visible.
+ */
+final class SnapshotFile {
+    private static final int MAGIC = 0x524D5353; // "RMSS"
+    private static final int VERSION = 2;
+    // Version 1 files have no completion time; their modification time stands in
+    private static final int VERSION_WITHOUT_TIME = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Entities of one store, written in order. The entities are pulled from the
+     * iterator while the section is written, so they need not all be in memory.
+     */
+    static final class Section<T> {
+        private final StoreType store;
+        private final int count;
+        private final Iterator<T> entities;
+
+        Section(StoreType store, List<T> entities) {
+            this(store, entities.size(), entities.iterator());
+        }
+
+        /**
+         * A section of exactly {@code count} entities; the iterator must yield at least that many.
+         */
+        Section(StoreType store, int count, Iterator<T> entities) {
+            this.store = store;
+            this.count = count;
+            this.entities = entities;
+        }
+    }
+
+    /**
+     * Receives decoded entities while a snapshot is loaded.
+     */
+    interface Loader {
+        void load(StoreType store, Object entity);
+    }
+
+    /**
+     * Write a snapshot covering the journal through {@code lsn} and return its path.
+     */
+    static Path write(Path directory, long lsn, List<Section<?>> sections) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(
+                     new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lsn);
+            out.writeInt(sections.size());
+            for (Section<?> section : sections) {
+                writeSection(out, section);
+            }
+            out.writeLong(System.currentTimeMillis());
+            out.flush();
+            out.writeLong(crc.getValue());
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    private static <T> void writeSection(DataOutputStream out, Section<T> section) throws IOException {
+        EntityCodec<T> codec = EntityCodecs.forStore(section.store);
+        out.writeByte(section.store.getCode());
+        out.writeInt(section.count);
+        for (int i = 0; i < section.count; i++) {
+            if (!section.entities.hasNext()) {
+                throw new IOException(section.store + " ended after " + i + " of " + section.count + " entities");
+            }
+            codec.write(out, section.entities.next());
+        }
+    }
+
+    /**
+     * Newest complete snapshot in the directory, or null if there is none.
+     */
+    static Path latest(Path directory) throws IOException {
+        List<Path> snapshots = list(directory);
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    /**
+     * Newest snapshot completed at or before {@code millis}, or null if there is none.
+     */
+    static Path newestCompletedBy(Path directory, long millis) throws IOException {
+        List<Path> snapshots = list(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            if (completedMillis(snapshots.get(i)) <= millis) {
+                return snapshots.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Last journal LSN a snapshot covers, from its file name.
+     */
+    static long lsnOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * When a snapshot was finished, read from its trailer without loading it.
+     */
+    static long completedMillis(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+            ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES);
+            if (channel.read(header, 0) < header.capacity() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a snapshot file: " + snapshot);
+            }
+            if (header.getInt(Integer.BYTES) == VERSION_WITHOUT_TIME) {
+                return Files.getLastModifiedTime(snapshot).toMillis();
+            }
+            if (channel.read(trailer, channel.size() - 2 * Long.BYTES) < trailer.capacity()) {
+                throw new IOException("Truncated snapshot: " + snapshot);
+            }
+            return trailer.getLong(0);
+        }
+    }
+
+    /**
+     * Delete snapshots older than {@code keep}, if given, and leftover temporary files.
+     */
+    static void deleteOlderThan(Path directory, Path keep) throws IOException {
+        if (keep == null && !Files.isDirectory(directory)) {
+            return;
+        }
+        for (Path snapshot : list(directory)) {
+            if (keep != null && snapshot.getFileName().toString().compareTo(keep.getFileName().toString()) < 0) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(p -> p.getFileName().toString().endsWith(SUFFIX + ".tmp"))
+                    .collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Memory-map a snapshot, verify its checksum and pass every entity to the loader.
+     *
+     * @return the last journal LSN the snapshot covers
+     */
+    static long load(Path snapshot, Loader loader) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 28 || size > Integer.MAX_VALUE) {
+                throw new IOException("Unsupported snapshot size " + size + ": " + snapshot);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodyLength = (int) size - Long.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(mapped.duplicate().limit(bodyLength));
+            if (crc.getValue() != mapped.getLong(bodyLength)) {
+                throw new IOException("Snapshot checksum mismatch: " + snapshot);
+            }
+            ByteBufferDataInput in = new ByteBufferDataInput(mapped.limit(bodyLength));
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || (version != VERSION && version != VERSION_WITHOUT_TIME)) {
+                throw new IOException("Not a snapshot file: " + snapshot);
+            }
+            long lsn = in.readLong();
+            int sectionCount = in.readInt();
+            for (int s = 0; s < sectionCount; s++) {
+                StoreType store = StoreType.fromCode(in.readByte());
+                EntityCodec<Object> codec = EntityCodecs.forStore(store);
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    loader.load(store, codec.read(in));
+                }
+            }
+            return lsn;
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
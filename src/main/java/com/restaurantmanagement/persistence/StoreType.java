@@ -0,0 +1,32 @@
+package com.restaurantmanagement.persistence;
+
+/**
+ * Repositories whose mutations are recorded in the journal.
+ */
+public enum StoreType {
+    BOOKING(1),
+    EMPLOYEE(2),
+    SHIFT(3),
+    INVENTORY_ITEM(4),
+    INVENTORY_TRANSACTION(5),
+    RESTAURANT_TABLE(6);
+
+    private final byte code;
+
+    StoreType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static StoreType fromCode(byte code) {
+        for (StoreType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown store code: " + code);
+    }
+}
@@ -0,0 +1,15 @@
+package com.restaurantmanagement.persistence;
+
+/**
+ * When the journal forces written records to disk.
+ */
+public enum SyncPolicy {
+    /** fsync after every record; writers wait for it. */
+    ALWAYS,
+    /** fsync once per batch of queued records; writers wait for their batch. */
+    GROUP_COMMIT,
+    /** fsync on a timer; writers do not wait, so a crash may lose the last interval. */
+    PERIODIC,
+    /** Never fsync; the OS decides when data reaches disk. */
+    NONE
+}
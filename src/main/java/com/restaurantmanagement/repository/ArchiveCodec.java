@@ -0,0 +1,31 @@
+package com.restaurantmanagement.repository;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of one entity type inside archive segments, plus the ID, key
+ * and tags segments index records by.
+ */
+interface ArchiveCodec<T> {
+
+    void write(DataOutput out, T entity) throws IOException;
+
+    /**
+     * Decode the record starting at the buffer's position.
+     */
+    T read(ByteBuffer in);
+
+    String idOf(T entity);
+
+    /**
+     * Key summarised by each block's min/max statistics, such as an epoch day.
+     */
+    long keyOf(T entity);
+
+    /**
+     * Bits each block ORs into a mask, such as one per status, or 0.
+     */
+    long tagsOf(T entity);
+}
@@ -0,0 +1,147 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Archive codecs for the entities that are tiered off the heap. Strings are a
+ * length (-1 for null) followed by UTF-8 bytes; missing dates and times use
+ * sentinel values. Bookings are keyed by epoch day and transactions by epoch
+ * second, with missing values ordered first; booking blocks are tagged with the
+ * statuses they hold.
+ */
+final class ArchiveCodecs {
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    static final ArchiveCodec<Booking> BOOKING = new ArchiveCodec<>() {
+        @Override
+        public void write(DataOutput out, Booking booking) throws IOException {
+            writeString(out, booking.getId());
+            writeString(out, booking.getCustomerName());
+            writeString(out, booking.getPhoneNumber());
+            out.writeInt(booking.getNumberOfGuests());
+            out.writeLong(booking.getDate() != null ? booking.getDate().toEpochDay() : NO_VALUE);
+            out.writeLong(booking.getStartTime() != null ? booking.getStartTime().toNanoOfDay() : NO_VALUE);
+            writeString(out, booking.getTableId());
+            writeString(out, booking.getStatus());
+        }
+
+        @Override
+        public Booking read(ByteBuffer in) {
+            String id = readString(in);
+            String customerName = readString(in);
+            String phoneNumber = readString(in);
+            int guests = in.getInt();
+            long epochDay = in.getLong();
+            long nanoOfDay = in.getLong();
+            return new Booking(id, customerName, phoneNumber, guests,
+                    epochDay != NO_VALUE ? LocalDate.ofEpochDay(epochDay) : null,
+                    nanoOfDay != NO_VALUE ? LocalTime.ofNanoOfDay(nanoOfDay) : null,
+                    readString(in), readString(in));
+        }
+
+        @Override
+        public String idOf(Booking booking) {
+            return booking.getId();
+        }
+
+        @Override
+        public long keyOf(Booking booking) {
+            return booking.getDate() != null ? booking.getDate().toEpochDay() : NO_VALUE;
+        }
+
+        @Override
+        public long tagsOf(Booking booking) {
+            return statusTag(booking.getStatusType());
+        }
+    };
+
+    static final ArchiveCodec<InventoryTransaction> TRANSACTION = new ArchiveCodec<>() {
+        @Override
+        public void write(DataOutput out, InventoryTransaction transaction) throws IOException {
+            writeString(out, transaction.getId());
+            writeString(out, transaction.getItemId());
+            writeString(out, transaction.getItemName());
+            out.writeDouble(transaction.getQuantity());
+            writeString(out, transaction.getType());
+            writeString(out, transaction.getReason());
+            writeString(out, transaction.getStaffId());
+            writeString(out, transaction.getStaffName());
+            LocalDateTime timestamp = transaction.getTimestamp();
+            out.writeLong(epochSecond(timestamp));
+            out.writeInt(timestamp != null ? timestamp.getNano() : 0);
+        }
+
+        @Override
+        public InventoryTransaction read(ByteBuffer in) {
+            InventoryTransaction transaction = new InventoryTransaction(readString(in), readString(in),
+                    readString(in), in.getDouble(), readString(in), readString(in), readString(in), readString(in));
+            long epochSecond = in.getLong();
+            int nano = in.getInt();
+            transaction.setTimestamp(epochSecond != NO_VALUE
+                    ? LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC) : null);
+            return transaction;
+        }
+
+        @Override
+        public String idOf(InventoryTransaction transaction) {
+            return transaction.getId();
+        }
+
+        @Override
+        public long keyOf(InventoryTransaction transaction) {
+            return epochSecond(transaction.getTimestamp());
+        }
+
+        @Override
+        public long tagsOf(InventoryTransaction transaction) {
+            return 0;
+        }
+    };
+
+    private ArchiveCodecs() {
+    }
+
+    /**
+     * Block tag for a booking status; statuses outside BookingStatus share one bit.
+     */
+    static long statusTag(BookingStatus status) {
+        return status != null ? 1L << status.ordinal() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Seconds since the epoch of a timestamp read as UTC, or the missing-value sentinel.
+     */
+    static long epochSecond(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toEpochSecond(ZoneOffset.UTC) : NO_VALUE;
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,485 @@
+package com.restaurantmanagement.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable run of encoded records in a memory-mapped file, outside the Java heap.
+ * Records are grouped into blocks of about {@link #BLOCK_BYTES} that are deflated
+ * independently and followed by an ID index, itself in deflated blocks, that maps
+ * IDs to record indexes. The heap keeps only a sparse index: each block's offset,
+ * first record, min/max key and tag mask, and the first ID of each ID index block. Reads
+ * inflate one block and keep it, so a scan in record order inflates every block once.
+ * The file is unlinked as soon as it is mapped (where the OS allows), so the
+ * mapping lives exactly as long as the segment.
+ */
+final class ArchiveSegment<T> {
+    static final int BLOCK_BYTES = 4 * 1024;
+    private static final int ID_BLOCK_ENTRIES = 256;
+    private static final String PREFIX = "archive-";
+    private static final String SUFFIX = ".seg";
+
+    private final ArchiveCodec<T> codec;
+    private final ByteBuffer data;
+    private final int size;
+    // Record blocks; offsets and starts carry a trailing end entry
+    private final int[] blockOffsets;
+    private final int[] blockRawLengths;
+    private final int[] blockStarts;
+    private final long[] minKeys;
+    private final long[] maxKeys;
+    private final long[] tags;
+    // ID index blocks; offsets carry a trailing end entry
+    private final int[] idBlockOffsets;
+    private final int[] idBlockRawLengths;
+    private final String[] idBlockFirstIds;
+    private final String lastId;
+    private volatile RecordBlock lastBlock;
+    private volatile IdBlock lastIdBlock;
+
+    private ArchiveSegment(ArchiveCodec<T> codec, ByteBuffer data, int size, int[] blockOffsets,
+                           int[] blockRawLengths, int[] blockStarts, long[] minKeys, long[] maxKeys, long[] tags,
+                           int[] idBlockOffsets, int[] idBlockRawLengths, String[] idBlockFirstIds, String lastId) {
+        this.codec = codec;
+        this.data = data;
+        this.size = size;
+        this.blockOffsets = blockOffsets;
+        this.blockRawLengths = blockRawLengths;
+        this.blockStarts = blockStarts;
+        this.minKeys = minKeys;
+        this.maxKeys = maxKeys;
+        this.tags = tags;
+        this.idBlockOffsets = idBlockOffsets;
+        this.idBlockRawLengths = idBlockRawLengths;
+        this.idBlockFirstIds = idBlockFirstIds;
+        this.lastId = lastId;
+    }
+
+    static <T> ArchiveSegment<T> empty(ArchiveCodec<T> codec) {
+        return new ArchiveSegment<>(codec, ByteBuffer.allocate(0), 0, new int[1], new int[0], new int[1],
+                new long[0], new long[0], new long[0], new int[1], new int[0], new String[0], null);
+    }
+
+    /**
+     * Start writing a segment into a new file in the directory.
+     */
+    static <T> Writer<T> writer(Path directory, ArchiveCodec<T> codec) throws IOException {
+        Files.createDirectories(directory);
+        return new Writer<>(Files.createTempFile(directory, PREFIX, SUFFIX), codec);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Compressed bytes held off the heap.
+     */
+    long sizeInBytes() {
+        return data.capacity();
+    }
+
+    int blockCount() {
+        return minKeys.length;
+    }
+
+    /**
+     * Index of the first record in a block.
+     */
+    int blockStart(int block) {
+        return blockStarts[block];
+    }
+
+    /**
+     * Index just past the last record in a block.
+     */
+    int blockEnd(int block) {
+        return blockStarts[block + 1];
+    }
+
+    /**
+     * Block holding a record.
+     */
+    int blockOf(int index) {
+        int block = Arrays.binarySearch(blockStarts, 0, blockCount(), index);
+        return block >= 0 ? block : -block - 2;
+    }
+
+    /**
+     * Whether any record in the block may have a key within [from, to].
+     */
+    boolean blockOverlaps(int block, long from, long to) {
+        return minKeys[block] <= to && maxKeys[block] >= from;
+    }
+
+    /**
+     * Add to the list, offset by {@code base}, every block that may hold a record
+     * with a key within [from, to] and one of the given tags.
+     */
+    void addMatchingBlocks(IntList blocks, int base, long from, long to, long tagMask) {
+        for (int block = 0; block < minKeys.length; block++) {
+            if (minKeys[block] <= to && maxKeys[block] >= from && (tags[block] & tagMask) != 0) {
+                blocks.add(base + block);
+            }
+        }
+    }
+
+    T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size);
+        }
+        int block = blockOf(index);
+        return codec.read(recordBlock(block).record(index - blockStarts[block]));
+    }
+
+    /**
+     * Index of the record with an ID, or -1.
+     */
+    int indexOf(String id) {
+        int block = idBlockFor(id);
+        if (block < 0 || id.compareTo(lastId) > 0) {
+            return -1;
+        }
+        IdBlock ids = idBlock(block);
+        int entry = Arrays.binarySearch(ids.ids, id);
+        return entry >= 0 ? ids.indexes[entry] : -1;
+    }
+
+    /**
+     * Cursor over the records in ascending ID order, starting after the given ID,
+     * or from the first when it is null.
+     */
+    IdCursor idCursor(String afterId) {
+        IdCursor cursor = new IdCursor();
+        if (afterId != null) {
+            cursor.block = Math.max(idBlockFor(afterId), 0);
+            if (cursor.block < idBlockFirstIds.length) {
+                int entry = Arrays.binarySearch(idBlock(cursor.block).ids, afterId);
+                cursor.entry = entry >= 0 ? entry + 1 : -entry - 1;
+            }
+        }
+        cursor.entry--;
+        return cursor;
+    }
+
+    /**
+     * The last ID index block whose first ID is not after the given one, or -1.
+     */
+    private int idBlockFor(String id) {
+        int block = Arrays.binarySearch(idBlockFirstIds, id);
+        return block >= 0 ? block : -block - 2;
+    }
+
+    private RecordBlock recordBlock(int block) {
+        RecordBlock cached = lastBlock;
+        if (cached != null && cached.number == block) {
+            return cached;
+        }
+        ByteBuffer raw = ByteBuffer.wrap(inflate(blockOffsets[block], blockOffsets[block + 1], blockRawLengths[block]));
+        int[] offsets = new int[blockStarts[block + 1] - blockStarts[block]];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = raw.getInt();
+        }
+        RecordBlock decoded = new RecordBlock(block, raw, offsets);
+        lastBlock = decoded;
+        return decoded;
+    }
+
+    private IdBlock idBlock(int block) {
+        IdBlock cached = lastIdBlock;
+        if (cached != null && cached.number == block) {
+            return cached;
+        }
+        ByteBuffer raw = ByteBuffer.wrap(inflate(idBlockOffsets[block], idBlockOffsets[block + 1],
+                idBlockRawLengths[block]));
+        int entries = raw.getInt();
+        String[] ids = new String[entries];
+        int[] indexes = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            ids[i] = ArchiveCodecs.readString(raw);
+            indexes[i] = raw.getInt();
+        }
+        IdBlock decoded = new IdBlock(block, ids, indexes);
+        lastIdBlock = decoded;
+        return decoded;
+    }
+
+    private byte[] inflate(int offset, int end, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.duplicate().position(offset).limit(end));
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength) {
+                int read = inflater.inflate(raw, length, rawLength - length);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Archive block at " + offset + " is truncated");
+                }
+                length += read;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Archive block at " + offset + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Position in the ID index; {@link #next} must be called before the first read.
+     */
+    final class IdCursor {
+        private int block;
+        private int entry;
+        private IdBlock current;
+
+        /**
+         * Move to the next ID; false once past the last.
+         */
+        boolean next() {
+            entry++;
+            while (block < idBlockFirstIds.length && entry >= (current = idBlock(block)).ids.length) {
+                block++;
+                entry = 0;
+            }
+            return block < idBlockFirstIds.length;
+        }
+
+        String id() {
+            return current.ids[entry];
+        }
+
+        int index() {
+            return current.indexes[entry];
+        }
+    }
+
+    /**
+     * An inflated record block: record offsets followed by the records.
+     */
+    private static final class RecordBlock {
+        private final int number;
+        private final ByteBuffer raw;
+        private final int[] offsets;
+
+        private RecordBlock(int number, ByteBuffer raw, int[] offsets) {
+            this.number = number;
+            this.raw = raw;
+            this.offsets = offsets;
+        }
+
+        private ByteBuffer record(int i) {
+            return raw.duplicate().position(offsets[i]);
+        }
+    }
+
+    /**
+     * An inflated ID index block: IDs in ascending order and their record indexes.
+     */
+    private static final class IdBlock {
+        private final int number;
+        private final String[] ids;
+        private final int[] indexes;
+
+        private IdBlock(int number, String[] ids, int[] indexes) {
+            this.number = number;
+            this.ids = ids;
+            this.indexes = indexes;
+        }
+    }
+
+    /**
+     * Appends records to a segment file in blocks; {@link #finish} writes the ID
+     * index and maps the file.
+     */
+    static final class Writer<T> implements Closeable {
+        private final Path file;
+        private final ArchiveCodec<T> codec;
+        private final OutputStream out;
+        private final Deflater deflater;
+        private final byte[] deflated;
+        private final ByteArrayOutputStream pending;
+        private final DataOutputStream pendingOut;
+        private final IntList pendingOffsets;
+        private final List<String> ids;
+        private final IntList blockOffsets;
+        private final IntList blockRawLengths;
+        private final IntList blockStarts;
+        private long[] minKeys;
+        private long[] maxKeys;
+        private long[] tags;
+        private long written;
+        private boolean finished;
+
+        private Writer(Path file, ArchiveCodec<T> codec) throws IOException {
+            this.file = file;
+            this.codec = codec;
+            this.out = new BufferedOutputStream(new FileOutputStream(file.toFile()), 1 << 16);
+            this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            this.deflated = new byte[BLOCK_BYTES];
+            this.pending = new ByteArrayOutputStream(BLOCK_BYTES * 2);
+            this.pendingOut = new DataOutputStream(pending);
+            this.pendingOffsets = new IntList();
+            this.ids = new ArrayList<>();
+            this.blockOffsets = new IntList();
+            this.blockRawLengths = new IntList();
+            this.blockStarts = new IntList();
+            this.minKeys = new long[16];
+            this.maxKeys = new long[16];
+            this.tags = new long[16];
+        }
+
+        /**
+         * Append a record and return its index.
+         */
+        int add(T entity) throws IOException {
+            int block = blockStarts.size();
+            long key = codec.keyOf(entity);
+            if (pendingOffsets.size() == 0) {
+                if (block == minKeys.length) {
+                    minKeys = Arrays.copyOf(minKeys, block * 2);
+                    maxKeys = Arrays.copyOf(maxKeys, block * 2);
+                    tags = Arrays.copyOf(tags, block * 2);
+                }
+                minKeys[block] = key;
+                maxKeys[block] = key;
+                tags[block] = 0;
+            } else {
+                minKeys[block] = Math.min(minKeys[block], key);
+                maxKeys[block] = Math.max(maxKeys[block], key);
+            }
+            tags[block] |= codec.tagsOf(entity);
+            pendingOffsets.add(pending.size());
+            codec.write(pendingOut, entity);
+            ids.add(codec.idOf(entity));
+            if (pending.size() >= BLOCK_BYTES) {
+                flushBlock();
+            }
+            return ids.size() - 1;
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        /**
+         * Write the ID index and map the finished segment.
+         */
+        ArchiveSegment<T> finish() throws IOException {
+            flushBlock();
+            int blocks = blockStarts.size();
+            blockOffsets.add(Math.toIntExact(written));
+            blockStarts.add(ids.size());
+
+            Integer[] byId = new Integer[ids.size()];
+            for (int i = 0; i < byId.length; i++) {
+                byId[i] = i;
+            }
+            Arrays.sort(byId, Comparator.comparing(ids::get));
+            IntList idBlockOffsets = new IntList();
+            IntList idBlockRawLengths = new IntList();
+            List<String> idBlockFirstIds = new ArrayList<>();
+            for (int start = 0; start < byId.length; start += ID_BLOCK_ENTRIES) {
+                int end = Math.min(start + ID_BLOCK_ENTRIES, byId.length);
+                pending.reset();
+                pendingOut.writeInt(end - start);
+                for (int i = start; i < end; i++) {
+                    ArchiveCodecs.writeString(pendingOut, ids.get(byId[i]));
+                    pendingOut.writeInt(byId[i]);
+                }
+                idBlockOffsets.add(Math.toIntExact(written));
+                idBlockRawLengths.add(pending.size());
+                idBlockFirstIds.add(ids.get(byId[start]));
+                writeDeflated(pending.toByteArray());
+            }
+            idBlockOffsets.add(Math.toIntExact(written));
+            out.close();
+            deflater.end();
+
+            ByteBuffer data;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            finished = true;
+            delete();
+            return new ArchiveSegment<>(codec, data, ids.size(), blockOffsets.toArray(), blockRawLengths.toArray(),
+                    blockStarts.toArray(), Arrays.copyOf(minKeys, blocks), Arrays.copyOf(maxKeys, blocks),
+                    Arrays.copyOf(tags, blocks), idBlockOffsets.toArray(), idBlockRawLengths.toArray(),
+                    idBlockFirstIds.toArray(new String[0]), byId.length > 0 ? ids.get(byId[byId.length - 1]) : null);
+        }
+
+        /**
+         * Discard the segment unless it was finished.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                out.close();
+                deflater.end();
+                delete();
+            }
+        }
+
+        /**
+         * Deflate the pending records, prefixed with their offsets, as one block.
+         */
+        private void flushBlock() throws IOException {
+            int count = pendingOffsets.size();
+            if (count == 0) {
+                return;
+            }
+            int header = count * Integer.BYTES;
+            ByteBuffer raw = ByteBuffer.allocate(header + pending.size());
+            for (int i = 0; i < count; i++) {
+                raw.putInt(header + pendingOffsets.get(i));
+            }
+            raw.put(pending.toByteArray());
+            blockOffsets.add(Math.toIntExact(written));
+            blockRawLengths.add(raw.capacity());
+            blockStarts.add(ids.size() - count);
+            writeDeflated(raw.array());
+            pending.reset();
+            pendingOffsets.clear();
+        }
+
+        private void writeDeflated(byte[] raw) throws IOException {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int length = deflater.deflate(deflated);
+                out.write(deflated, 0, length);
+                written += length;
+            }
+            if (written > Integer.MAX_VALUE) {
+                throw new IOException("Archive segment exceeds 2 GB");
+            }
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Mapped files cannot be deleted on some platforms
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Immutable cold tier of bookings kept off the heap in compressed archive
+ * segments ({@link SegmentedArchive}). Each segment stores its records in date,
+ * start time and ID order and keys blocks by epoch day and status, so a date or
+ * status query inflates only the blocks that can match. Beyond the segments'
+ * sparse indexes, only status counts and a bitmap of removed records stay on the
+ * heap. Every change returns a new archive, which lets snapshots keep reading
+ * the one they started with.
+ */
+final class BookingArchive implements VersionedEntities.Base<Booking> {
+    static final Comparator<Booking> ARCHIVE_ORDER = Comparator
+            .comparing(Booking::getDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparing(Booking::getStartTime, Comparator.nullsFirst(Comparator.<LocalTime>naturalOrder()))
+            .thenComparing(Booking::getId);
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final long ANY_TAG = -1L;
+
+    private final SegmentedArchive<Booking> segments;
+    // Records deleted or moved back to the hot tier since their segment was written
+    private final BitSet removed;
+    private final int[] statusCounts;
+    private final int size;
+
+    private BookingArchive(SegmentedArchive<Booking> segments, BitSet removed, int[] statusCounts, int size) {
+        this.segments = segments;
+        this.removed = removed;
+        this.statusCounts = statusCounts;
+        this.size = size;
+    }
+
+    static BookingArchive empty() {
+        return new BookingArchive(SegmentedArchive.empty(), new BitSet(), new int[STATUSES.length], 0);
+    }
+
+    /**
+     * Live archived bookings.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Compressed bytes held off the heap.
+     */
+    long sizeInBytes() {
+        return segments.sizeInBytes();
+    }
+
+    @Override
+    public Optional<Booking> findById(String id) {
+        int index = indexOf(id);
+        return index >= 0 ? Optional.of(segments.get(index)) : Optional.empty();
+    }
+
+    boolean contains(String id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Live bookings segment by segment, each in date and start time order.
+     */
+    @Override
+    public Iterator<Booking> iterator() {
+        return liveRange(0, segments.size());
+    }
+
+    /**
+     * Live bookings with IDs after the given one (or all, for null), in ascending ID order.
+     */
+    Iterator<Booking> iteratorAfter(String afterId) {
+        PrimitiveIterator.OfInt indexes = segments.indexesAfter(afterId);
+        return new Iterator<Booking>() {
+            private int index = nextIndex();
+
+            @Override
+            public boolean hasNext() {
+                return index >= 0;
+            }
+
+            @Override
+            public Booking next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Booking booking = segments.get(index);
+                index = nextIndex();
+                return booking;
+            }
+
+            private int nextIndex() {
+                while (indexes.hasNext()) {
+                    int next = indexes.nextInt();
+                    if (!removed.get(next)) {
+                        return next;
+                    }
+                }
+                return -1;
+            }
+        };
+    }
+
+    /**
+     * A copy without one booking, or this archive if it does not hold the ID.
+     */
+    BookingArchive without(String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return this;
+        }
+        BitSet nowRemoved = (BitSet) removed.clone();
+        nowRemoved.set(index);
+        int[] counts = statusCounts.clone();
+        BookingStatus status = segments.get(index).getStatusType();
+        if (status != null) {
+            counts[status.ordinal()]--;
+        }
+        return new BookingArchive(segments, nowRemoved, counts, size - 1);
+    }
+
+    /**
+     * Bookings between two dates (inclusive), ordered by date and start time.
+     */
+    List<Booking> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        return scan(startDate.toEpochDay(), endDate.toEpochDay(), ANY_TAG, booking -> true);
+    }
+
+    /**
+     * Bookings on a date starting within [fromTime, toTime), ordered by start time.
+     */
+    List<Booking> findByDateAndTime(LocalDate date, LocalTime fromTime, LocalTime toTime) {
+        return scan(date.toEpochDay(), date.toEpochDay(), ANY_TAG, booking -> booking.getStartTime() != null
+                && !booking.getStartTime().isBefore(fromTime) && booking.getStartTime().isBefore(toTime));
+    }
+
+    List<Booking> findByStatus(BookingStatus status) {
+        return scan(Long.MIN_VALUE, Long.MAX_VALUE, ArchiveCodecs.statusTag(status),
+                booking -> booking.getStatusType() == status);
+    }
+
+    /**
+     * Bookings whose raw status is not a known BookingStatus but equals the given text.
+     */
+    List<Booking> findByUnknownStatus(String status) {
+        return scan(Long.MIN_VALUE, Long.MAX_VALUE, ArchiveCodecs.statusTag(null),
+                booking -> booking.getStatusType() == null && status.equals(booking.getStatus()));
+    }
+
+    int countByStatus(BookingStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    int countByDateAndStatus(LocalDate date, BookingStatus status) {
+        return scan(date.toEpochDay(), date.toEpochDay(), ArchiveCodecs.statusTag(status),
+                booking -> booking.getStatusType() == status).size();
+    }
+
+    /**
+     * Case-insensitive partial match on customer name. Archived names are not
+     * indexed, so this inflates every block.
+     */
+    List<Booking> findByCustomerName(String name) {
+        String lowered = name.toLowerCase();
+        return scan(Long.MIN_VALUE, Long.MAX_VALUE, ANY_TAG, booking -> booking.getCustomerName() != null
+                && booking.getCustomerName().toLowerCase().contains(lowered));
+    }
+
+    /**
+     * Every live booking, in date and start time order.
+     */
+    List<Booking> findAll() {
+        return scan(Long.MIN_VALUE, Long.MAX_VALUE, ANY_TAG, booking -> true);
+    }
+
+    /**
+     * Add bookings, which must not already be archived, as a new segment merged
+     * with whichever trailing segments {@link SegmentedArchive#compactionStart}
+     * picks. The inputs are merged in archive order, so only the moved bookings
+     * are ever on the heap at once.
+     */
+    BookingArchive merge(List<Booking> moved, Path directory) throws IOException {
+        int first = segments.compactionStart(moved.size());
+        int from = segments.segmentStart(first);
+        List<Booking> incoming = new ArrayList<>(moved);
+        incoming.sort(ARCHIVE_ORDER);
+        PriorityQueue<Source> sources = new PriorityQueue<>(
+                Comparator.comparing(source -> source.current, ARCHIVE_ORDER));
+        Source.addTo(sources, incoming.iterator());
+        for (int segment = first; segment < segments.segmentCount(); segment++) {
+            Source.addTo(sources, liveRange(segments.segmentStart(segment), segments.segmentStart(segment + 1)));
+        }
+        int[] counts = statusCounts.clone();
+        for (Booking booking : moved) {
+            if (booking.getStatusType() != null) {
+                counts[booking.getStatusType().ordinal()]++;
+            }
+        }
+        try (ArchiveSegment.Writer<Booking> writer = ArchiveSegment.writer(directory, ArchiveCodecs.BOOKING)) {
+            while (!sources.isEmpty()) {
+                Source source = sources.poll();
+                writer.add(source.current);
+                Source.addTo(sources, source.rest);
+            }
+            return new BookingArchive(segments.replaceFrom(first, writer.finish()), removed.get(0, from),
+                    counts, size + moved.size());
+        }
+    }
+
+    private int indexOf(String id) {
+        int index = segments.indexOf(id);
+        return index >= 0 && !removed.get(index) ? index : -1;
+    }
+
+    /**
+     * Live bookings with record indexes in [from, to), in record order.
+     */
+    private Iterator<Booking> liveRange(int from, int to) {
+        return new Iterator<Booking>() {
+            private int index = nextLive(from);
+
+            @Override
+            public boolean hasNext() {
+                return index < to;
+            }
+
+            @Override
+            public Booking next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Booking booking = segments.get(index);
+                index = nextLive(index + 1);
+                return booking;
+            }
+
+            private int nextLive(int next) {
+                return Math.min(removed.nextClearBit(next), to);
+            }
+        };
+    }
+
+    /**
+     * Live bookings dated within [fromDay, toDay] (epoch days; undated bookings
+     * only for an unbounded range) that match the filter, in archive order. Only
+     * blocks whose date range overlaps and whose tags meet the mask are inflated.
+     */
+    private List<Booking> scan(long fromDay, long toDay, long tagMask, Predicate<Booking> filter) {
+        List<Booking> result = new ArrayList<>();
+        IntList blocks = segments.matchingBlocks(fromDay, toDay, tagMask);
+        for (int i = 0; i < blocks.size(); i++) {
+            int end = segments.blockEnd(blocks.get(i));
+            for (int index = segments.blockStart(blocks.get(i)); index < end; index++) {
+                if (removed.get(index)) {
+                    continue;
+                }
+                Booking booking = segments.get(index);
+                long day = ArchiveCodecs.BOOKING.keyOf(booking);
+                if (day >= fromDay && day <= toDay && filter.test(booking)) {
+                    result.add(booking);
+                }
+            }
+        }
+        // Each segment is in archive order; results from several need merging
+        if (!blocks.isEmpty()
+                && segments.segmentOfBlock(blocks.get(0)) != segments.segmentOfBlock(blocks.get(blocks.size() - 1))) {
+            result.sort(ARCHIVE_ORDER);
+        }
+        return result;
+    }
+
+    /**
+     * One sorted input to a merge, holding its next booking.
+     */
+    private static final class Source {
+        private final Booking current;
+        private final Iterator<Booking> rest;
+
+        private Source(Booking current, Iterator<Booking> rest) {
+            this.current = current;
+            this.rest = rest;
+        }
+
+        static void addTo(PriorityQueue<Source> sources, Iterator<Booking> bookings) {
+            if (bookings.hasNext()) {
+                sources.add(new Source(bookings.next(), bookings));
+            }
+        }
+    }
+}
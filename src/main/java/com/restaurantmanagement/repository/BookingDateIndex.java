@@ -0,0 +1,113 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Booking;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Secondary index of bookings bucketed by date and, inside each date, by start time.
+ * Query cost depends on the number of matching bookings, not on total history.
+ */
+class BookingDateIndex {
+    private final NavigableMap<LocalDate, NavigableMap<LocalTime, Map<String, Booking>>> byDate;
+    // Date/time each booking was indexed under, since entities are mutated in place before save
+    private final Map<String, Slot> slotsById;
+
+    BookingDateIndex() {
+        this.byDate = new TreeMap<>();
+        this.slotsById = new HashMap<>();
+    }
+
+    /**
+     * Index a booking, moving it if its date or time changed since it was last indexed.
+     */
+    void put(Booking booking) {
+        remove(booking.getId());
+        if (booking.getDate() == null) {
+            return;
+        }
+        Slot slot = new Slot(booking.getDate(), booking.getStartTime());
+        byDate.computeIfAbsent(slot.date, d -> new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder())))
+                .computeIfAbsent(slot.time, t -> new LinkedHashMap<>())
+                .put(booking.getId(), booking);
+        slotsById.put(booking.getId(), slot);
+    }
+
+    /**
+     * Remove a booking from the index.
+     */
+    void remove(String id) {
+        Slot slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        NavigableMap<LocalTime, Map<String, Booking>> day = byDate.get(slot.date);
+        Map<String, Booking> bucket = day.get(slot.time);
+        bucket.remove(id);
+        if (bucket.isEmpty()) {
+            day.remove(slot.time);
+            if (day.isEmpty()) {
+                byDate.remove(slot.date);
+            }
+        }
+    }
+
+    /**
+     * Bookings on a date, ordered by start time.
+     */
+    List<Booking> findByDate(LocalDate date) {
+        List<Booking> result = new ArrayList<>();
+        NavigableMap<LocalTime, Map<String, Booking>> day = byDate.get(date);
+        if (day != null) {
+            collect(day, result);
+        }
+        return result;
+    }
+
+    /**
+     * Bookings between two dates (inclusive), ordered by date and start time.
+     */
+    List<Booking> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        List<Booking> result = new ArrayList<>();
+        for (NavigableMap<LocalTime, Map<String, Booking>> day : byDate.subMap(startDate, true, endDate, true).values()) {
+            collect(day, result);
+        }
+        return result;
+    }
+
+    /**
+     * Bookings on a date starting within [fromTime, toTime), ordered by start time.
+     */
+    List<Booking> findByDateAndTime(LocalDate date, LocalTime fromTime, LocalTime toTime) {
+        List<Booking> result = new ArrayList<>();
+        NavigableMap<LocalTime, Map<String, Booking>> day = byDate.get(date);
+        if (day != null) {
+            collect(day.subMap(fromTime, true, toTime, false), result);
+        }
+        return result;
+    }
+
+    private void collect(NavigableMap<LocalTime, Map<String, Booking>> times, List<Booking> result) {
+        for (Map<String, Booking> bucket : times.values()) {
+            result.addAll(bucket.values());
+        }
+    }
+
+    private static final class Slot {
+        private final LocalDate date;
+        private final LocalTime time;
+
+        private Slot(LocalDate date, LocalTime time) {
+            this.date = date;
+            this.time = time;
+        }
+    }
+}
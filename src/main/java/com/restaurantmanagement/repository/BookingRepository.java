@@ -0,0 +1,73 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for Booking entities.
+ */
+public interface BookingRepository {
+
+    /**
+     * Save a new booking or update an existing one.
+     */
+    Booking save(Booking booking);
+
+    /**
+     * Save several bookings as one batch.
+     */
+    List<Booking> saveAll(Collection<Booking> bookings);
+
+    Optional<Booking> findById(String id);
+
+    List<Booking> findAll();
+
+    /**
+     * One page of bookings in ID order, following the cursor of the previous page
+     * (null for the first page).
+     */
+    Page<Booking> findPage(String cursor, int limit);
+
+    /**
+     * Open a consistent point-in-time view of all bookings without copying them.
+     * The caller must close it.
+     */
+    RepositorySnapshot<Booking> snapshot();
+
+    boolean deleteById(String id);
+
+    boolean existsById(String id);
+
+    /**
+     * Find bookings by date, ordered by start time.
+     */
+    List<Booking> findByDate(LocalDate date);
+
+    /**
+     * Find bookings between two dates (inclusive), ordered by date and start time.
+     */
+    List<Booking> findByDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Find bookings on a date starting within [fromTime, toTime), ordered by start time.
+     */
+    List<Booking> findByDateAndTime(LocalDate date, LocalTime fromTime, LocalTime toTime);
+
+    List<Booking> findByStatus(String status);
+
+    List<Booking> findByStatus(BookingStatus status);
+
+    int countByStatus(BookingStatus status);
+
+    int countByDateAndStatus(LocalDate date, BookingStatus status);
+
+    /**
+     * Find bookings by customer name (case-insensitive partial match).
+     */
+    List<Booking> findByCustomerName(String name);
+}
@@ -0,0 +1,107 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-status membership sets for bookings, plus per-date status counters.
+ * Bookings move between buckets as they are saved with a new status.
+ */
+class BookingStatusIndex {
+    private final Map<BookingStatus, Map<String, Booking>> byStatus;
+    private final Map<LocalDate, int[]> countsByDate;
+    // Status/date each booking was counted under, since entities are mutated in place before save
+    private final Map<String, Entry> entriesById;
+
+    BookingStatusIndex() {
+        this.byStatus = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            byStatus.put(status, new LinkedHashMap<>());
+        }
+        this.countsByDate = new HashMap<>();
+        this.entriesById = new HashMap<>();
+    }
+
+    /**
+     * Index a booking under its current status, moving it out of its previous bucket.
+     */
+    void put(Booking booking) {
+        BookingStatus status = booking.getStatusType();
+        Entry previous = entriesById.get(booking.getId());
+        if (previous != null && previous.status == status && Objects.equals(previous.date, booking.getDate())) {
+            // Same bucket - replace in place and keep its position
+            byStatus.get(status).put(booking.getId(), booking);
+            return;
+        }
+        remove(booking.getId());
+        if (status == null) {
+            return;
+        }
+        byStatus.get(status).put(booking.getId(), booking);
+        if (booking.getDate() != null) {
+            countsByDate.computeIfAbsent(booking.getDate(), d -> new int[BookingStatus.values().length])[status.ordinal()]++;
+        }
+        entriesById.put(booking.getId(), new Entry(status, booking.getDate()));
+    }
+
+    /**
+     * Remove a booking from the index.
+     */
+    void remove(String id) {
+        Entry entry = entriesById.remove(id);
+        if (entry == null) {
+            return;
+        }
+        byStatus.get(entry.status).remove(id);
+        if (entry.date != null) {
+            int[] counts = countsByDate.get(entry.date);
+            counts[entry.status.ordinal()]--;
+            if (isZero(counts)) {
+                countsByDate.remove(entry.date);
+            }
+        }
+    }
+
+    /**
+     * Bookings with a status, in the order they entered that status.
+     */
+    List<Booking> findByStatus(BookingStatus status) {
+        return new ArrayList<>(byStatus.get(status).values());
+    }
+
+    int count(BookingStatus status) {
+        return byStatus.get(status).size();
+    }
+
+    int count(LocalDate date, BookingStatus status) {
+        int[] counts = countsByDate.get(date);
+        return counts != null ? counts[status.ordinal()] : 0;
+    }
+
+    private static boolean isZero(int[] counts) {
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        private final BookingStatus status;
+        private final LocalDate date;
+
+        private Entry(BookingStatus status, LocalDate date) {
+            this.status = status;
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Columnar row storage for transactions. Quantities and timestamps live in primitive
+ * arrays and repeated strings are dictionary-encoded; entities are materialized on read.
+ */
+class ColumnarTransactionRows implements TransactionRows {
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final StringDictionary itemIds = new StringDictionary();
+    private final StringDictionary itemNames = new StringDictionary();
+    private final StringDictionary types = new StringDictionary();
+    private final StringDictionary reasons = new StringDictionary();
+    private final StringDictionary staffIds = new StringDictionary();
+    private final StringDictionary staffNames = new StringDictionary();
+
+    private String[] ids = new String[16];
+    private double[] quantities = new double[16];
+    private long[] epochSeconds = new long[16];
+    private int[] nanos = new int[16];
+    private int[] itemIdCodes = new int[16];
+    private int[] itemNameCodes = new int[16];
+    private int[] typeCodes = new int[16];
+    private int[] reasonCodes = new int[16];
+    private int[] staffIdCodes = new int[16];
+    private int[] staffNameCodes = new int[16];
+    private int size;
+
+    @Override
+    public int append(InventoryTransaction transaction) {
+        if (size == ids.length) {
+            grow();
+        }
+        write(size, transaction);
+        return size++;
+    }
+
+    @Override
+    public void set(int position, InventoryTransaction transaction) {
+        checkPosition(position);
+        write(position, transaction);
+    }
+
+    @Override
+    public InventoryTransaction get(int position) {
+        checkPosition(position);
+        InventoryTransaction transaction = new InventoryTransaction(ids[position],
+                itemIds.decode(itemIdCodes[position]), itemNames.decode(itemNameCodes[position]),
+                quantities[position], types.decode(typeCodes[position]), reasons.decode(reasonCodes[position]),
+                staffIds.decode(staffIdCodes[position]), staffNames.decode(staffNameCodes[position]));
+        transaction.setTimestamp(epochSeconds[position] == NO_TIMESTAMP ? null
+                : LocalDateTime.ofEpochSecond(epochSeconds[position], nanos[position], ZoneOffset.UTC));
+        return transaction;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String idAt(int position) {
+        checkPosition(position);
+        return ids[position];
+    }
+
+    @Override
+    public String itemIdAt(int position) {
+        checkPosition(position);
+        return itemIds.decode(itemIdCodes[position]);
+    }
+
+    @Override
+    public String staffIdAt(int position) {
+        checkPosition(position);
+        return staffIds.decode(staffIdCodes[position]);
+    }
+
+    @Override
+    public String typeAt(int position) {
+        checkPosition(position);
+        return types.decode(typeCodes[position]);
+    }
+
+    @Override
+    public LocalDateTime timestampAt(int position) {
+        checkPosition(position);
+        return epochSeconds[position] == NO_TIMESTAMP ? null
+                : LocalDateTime.ofEpochSecond(epochSeconds[position], nanos[position], ZoneOffset.UTC);
+    }
+
+    private void write(int position, InventoryTransaction transaction) {
+        ids[position] = transaction.getId();
+        quantities[position] = transaction.getQuantity();
+        LocalDateTime timestamp = transaction.getTimestamp();
+        epochSeconds[position] = timestamp != null ? timestamp.toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP;
+        nanos[position] = timestamp != null ? timestamp.getNano() : 0;
+        itemIdCodes[position] = itemIds.encode(transaction.getItemId());
+        itemNameCodes[position] = itemNames.encode(transaction.getItemName());
+        typeCodes[position] = types.encode(transaction.getType());
+        reasonCodes[position] = reasons.encode(transaction.getReason());
+        staffIdCodes[position] = staffIds.encode(transaction.getStaffId());
+        staffNameCodes[position] = staffNames.encode(transaction.getStaffName());
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+        nanos = Arrays.copyOf(nanos, capacity);
+        itemIdCodes = Arrays.copyOf(itemIdCodes, capacity);
+        itemNameCodes = Arrays.copyOf(itemNameCodes, capacity);
+        typeCodes = Arrays.copyOf(typeCodes, capacity);
+        reasonCodes = Arrays.copyOf(reasonCodes, capacity);
+        staffIdCodes = Arrays.copyOf(staffIdCodes, capacity);
+        staffNameCodes = Arrays.copyOf(staffNameCodes, capacity);
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of range 0.." + size);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Employee;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for Employee entities.
+ */
+public interface EmployeeRepository {
+
+    /**
+     * Save a new employee or update an existing one.
+     */
+    Employee save(Employee employee);
+
+    /**
+     * Save several employees as one batch.
+     */
+    List<Employee> saveAll(Collection<Employee> employees);
+
+    Optional<Employee> findById(String id);
+
+    List<Employee> findAll();
+
+    /**
+     * One page of employees in ID order, following the cursor of the previous page
+     * (null for the first page).
+     */
+    Page<Employee> findPage(String cursor, int limit);
+
+    /**
+     * Open a consistent point-in-time view of all employees without copying them.
+     * The caller must close it.
+     */
+    RepositorySnapshot<Employee> snapshot();
+
+    boolean deleteById(String id);
+
+    boolean existsById(String id);
+
+    /**
+     * Find employees by name (case-insensitive partial match).
+     */
+    List<Employee> findByName(String name);
+}
@@ -0,0 +1,48 @@
+package com.restaurantmanagement.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Block source backed by a counter file shared between app instances.
+ * Each reservation takes an exclusive file lock, so instances pointed at the
+ * same file never receive overlapping blocks.
+ */
+public class FileIdBlockSource implements IdBlockSource {
+    private final Path counterFile;
+
+    public FileIdBlockSource(Path counterFile) {
+        this.counterFile = counterFile;
+    }
+
+    @Override
+    public synchronized long reserve(long minimumStart, int blockSize) {
+        try (FileChannel channel = FileChannel.open(counterFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+                long next = 1;
+                if (channel.read(buffer, 0) == Long.BYTES) {
+                    buffer.flip();
+                    next = buffer.getLong();
+                }
+                long start = Math.max(next, minimumStart);
+                buffer.clear();
+                buffer.putLong(start + blockSize).flip();
+                channel.write(buffer, 0);
+                channel.force(false);
+                return start;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot reserve IDs from " + counterFile, e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.restaurantmanagement.repository;
+
+/**
+ * Allocates prefixed, zero-padded IDs such as BK00000042 from pre-reserved blocks.
+ * Handing out a number touches only primitive fields; a new block is reserved
+ * from the IdBlockSource when the current one is used up. The fixed width keeps
+ * string order equal to creation order.
+ */
+public class IdAllocator {
+    public static final int DEFAULT_WIDTH = 8;
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final String prefix;
+    private final int width;
+    private final IdBlockSource source;
+    private final int blockSize;
+    private long next;
+    private long limit;
+
+    public IdAllocator(String prefix) {
+        this(prefix, new InMemoryIdBlockSource());
+    }
+
+    public IdAllocator(String prefix, IdBlockSource source) {
+        this(prefix, DEFAULT_WIDTH, source, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdAllocator(String prefix, int width, IdBlockSource source, int blockSize) {
+        if (width <= 0 || width > 18) {
+            throw new IllegalArgumentException("ID width must be between 1 and 18");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than 0");
+        }
+        this.prefix = prefix;
+        this.width = width;
+        this.source = source;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Allocate the next numeric ID.
+     */
+    public synchronized long nextValue() {
+        if (next >= limit) {
+            reserve(next);
+        }
+        return next++;
+    }
+
+    /**
+     * Allocate the next ID in its prefixed string form. Entities hold their IDs
+     * as strings, so the string is built here, once per new entity, rather than
+     * deferred; callers that only need the number use {@link #nextValue}.
+     */
+    public String nextId() {
+        return format(nextValue());
+    }
+
+    /**
+     * Format a numeric ID as prefix plus zero-padded digits.
+     */
+    public String format(long value) {
+        char[] chars = new char[prefix.length() + Math.max(width, digits(value))];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        long remaining = value;
+        for (int i = chars.length - 1; i >= prefix.length(); i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Parse the numeric part of an ID with this allocator's prefix, or return -1.
+     * Any number of digits is accepted, so IDs from before the current width
+     * (BK0042) still move the counter past them.
+     */
+    public long parse(String id) {
+        if (id == null || !id.startsWith(prefix) || id.length() == prefix.length()
+                || id.length() - prefix.length() > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = prefix.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Record an ID saved from outside the allocator (updates, imports, replay)
+     * so that later allocations never reuse it.
+     */
+    public synchronized void observe(String id) {
+        long value = parse(id);
+        if (value < next) {
+            return;
+        }
+        if (value < limit) {
+            next = value + 1;
+        } else {
+            reserve(value + 1);
+        }
+    }
+
+    private void reserve(long minimumStart) {
+        next = source.reserve(minimumStart, blockSize);
+        limit = next + blockSize;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,13 @@
+package com.restaurantmanagement.repository;
+
+/**
+ * Source of numeric ID blocks for an IdAllocator.
+ */
+public interface IdBlockSource {
+
+    /**
+     * Reserve a block of IDs and return its first value. The block covers
+     * [start, start + blockSize) and start is never below minimumStart.
+     */
+    long reserve(long minimumStart, int blockSize);
+}
@@ -1,101 +1,368 @@
 package com.restaurantmanagement.repository;
 
 import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * In-memory repository implementation for Booking entities.
+ * Past bookings can be moved to an off-heap archive tier with
+ * {@link #archiveBefore}; every query spans both tiers.
  */
-public class InMemoryBookingRepository {
-    private final List<Booking> bookings;
-    private int nextId = 1;
+public class InMemoryBookingRepository implements BookingRepository {
+    private static final Comparator<Booking> BY_DATE_AND_TIME = Comparator
+            .comparing(Booking::getDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparing(Booking::getStartTime, Comparator.nullsFirst(Comparator.<LocalTime>naturalOrder()));
+
+    private final IndexedEntityStore<Booking> bookings;
+    private final NGramIndex<Booking> nameIndex;
+    private final BookingDateIndex dateIndex;
+    private final BookingStatusIndex statusIndex;
+    private final RepositoryLock lock;
+    private final IdAllocator idAllocator;
+    private final MutationNotifier<Booking> notifier;
+    private final VersionedEntities<Booking> versions;
+    private BookingArchive archive;
+    private Path archiveDirectory;
 
     public InMemoryBookingRepository() {
-        this.bookings = new ArrayList<>();
+        this(new IdAllocator("BK"));
+    }
+
+    public InMemoryBookingRepository(IdAllocator idAllocator) {
+        this.lock = new RepositoryLock();
+        this.idAllocator = idAllocator;
+        this.notifier = new MutationNotifier<>();
+        this.bookings = new IndexedEntityStore<>(Booking::getId);
+        this.versions = new VersionedEntities<>(Booking::new);
+        this.nameIndex = new NGramIndex<>(Booking::getCustomerName);
+        this.dateIndex = new BookingDateIndex();
+        this.statusIndex = new BookingStatusIndex();
+        this.archive = BookingArchive.empty();
+        this.archiveDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Set the listener notified of committed saves and deletes.
+     */
+    public void setMutationListener(MutationListener<Booking> listener) {
+        notifier.setListener(listener);
+    }
+
+    /**
+     * Set where archive segment files are created; defaults to the temp directory.
+     */
+    public void setArchiveDirectory(Path archiveDirectory) {
+        lock.write(() -> this.archiveDirectory = archiveDirectory);
+    }
+
+    /**
+     * Move bookings dated before the cutoff off the heap into the archive tier.
+     * They stay visible to every query; saving one again moves it back.
+     *
+     * @return the number of bookings moved
+     */
+    public int archiveBefore(LocalDate cutoff) {
+        return lock.write(() -> {
+            List<Booking> moved = dateIndex.findByDateRange(LocalDate.MIN, cutoff.minusDays(1));
+            if (moved.isEmpty()) {
+                return 0;
+            }
+            try {
+                archive = archive.merge(moved, archiveDirectory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write booking archive", e);
+            }
+            for (Booking booking : moved) {
+                bookings.remove(booking.getId());
+                dateIndex.remove(booking.getId());
+                statusIndex.remove(booking.getId());
+                nameIndex.remove(booking.getId());
+                versions.remove(booking.getId());
+            }
+            versions.setBase(archive);
+            versions.commit();
+            return moved.size();
+        });
+    }
+
+    /**
+     * Number of bookings in the archive tier.
+     */
+    public int getArchivedCount() {
+        return lock.read(() -> archive.size());
     }
 
     /**
      * Save a new booking or update an existing one.
      */
+    @Override
     public Booking save(Booking booking) {
+        Booking saved = lock.write(() -> {
+            Booking stored = store(booking);
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Save several bookings under one write lock.
+     */
+    @Override
+    public List<Booking> saveAll(Collection<Booking> batch) {
+        List<Booking> saved = lock.write(() -> {
+            List<Booking> stored = new ArrayList<>(batch.size());
+            for (Booking booking : batch) {
+                stored.add(store(booking));
+            }
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Insert or replace one booking. Caller holds the write lock.
+     */
+    private Booking store(Booking booking) {
         if (booking.getId() == null || booking.getId().isEmpty()) {
             // New booking - assign ID
-            booking.setId("BK" + String.format("%04d", nextId++));
-            bookings.add(booking);
-            return booking;
+            booking.setId(idAllocator.nextId());
         } else {
-            // Update existing booking
-            Optional<Booking> existing = findById(booking.getId());
-            if (existing.isPresent()) {
-                int index = bookings.indexOf(existing.get());
-                bookings.set(index, booking);
-                return booking;
-            } else {
-                bookings.add(booking);
-                return booking;
+            idAllocator.observe(booking.getId());
+            if (!archive.isEmpty() && !bookings.contains(booking.getId()) && archive.contains(booking.getId())) {
+                // Saved again after being archived - bring it back to the heap
+                archive = archive.without(booking.getId());
+                versions.setBase(archive);
             }
         }
+        // Insert, or replace the existing entry in place
+        bookings.put(booking);
+        nameIndex.put(booking.getId(), booking);
+        dateIndex.put(booking);
+        statusIndex.put(booking);
+        versions.put(booking.getId(), booking);
+        notifier.saved(booking);
+        return booking;
     }
 
     /**
      * Find booking by ID.
      */
+    @Override
     public Optional<Booking> findById(String id) {
-        return bookings.stream()
-                .filter(booking -> booking.getId().equals(id))
-                .findFirst();
+        return lock.read(() -> {
+            Optional<Booking> booking = bookings.get(id);
+            return booking.isPresent() ? booking : archive.findById(id);
+        });
     }
 
     /**
-     * Get all bookings.
+     * Get all bookings, archived ones first.
      */
+    @Override
     public List<Booking> findAll() {
-        return new ArrayList<>(bookings);
+        return lock.read(() -> {
+            if (archive.isEmpty()) {
+                return bookings.values();
+            }
+            List<Booking> all = archive.findAll();
+            all.addAll(bookings.values());
+            return all;
+        });
+    }
+
+    /**
+     * Open a point-in-time view of all bookings. Never blocks, and is never blocked by, writers.
+     */
+    @Override
+    public RepositorySnapshot<Booking> snapshot() {
+        return versions.snapshot();
+    }
+
+    /**
+     * Run {@code action} with saves and deletes held off. Every mutation is
+     * journaled and committed under the write lock, so none is half done meanwhile.
+     */
+    public <T> T whileWritesPaused(Supplier<T> action) {
+        return lock.read(action);
+    }
+
+    /**
+     * Get one page of bookings in ID order.
+     */
+    @Override
+    public Page<Booking> findPage(String cursor, int limit) {
+        return lock.read(() -> {
+            Page<Booking> hot = bookings.page(cursor, limit);
+            if (archive.isEmpty()) {
+                return hot;
+            }
+            // Merge the hot page with the archive's next IDs
+            List<Booking> items = new ArrayList<>(limit);
+            Iterator<Booking> archived = archive.iteratorAfter(cursor);
+            Booking nextArchived = archived.hasNext() ? archived.next() : null;
+            int hotIndex = 0;
+            while (items.size() < limit && (hotIndex < hot.getItems().size() || nextArchived != null)) {
+                if (nextArchived == null || (hotIndex < hot.getItems().size()
+                        && hot.getItems().get(hotIndex).getId().compareTo(nextArchived.getId()) < 0)) {
+                    items.add(hot.getItems().get(hotIndex++));
+                } else {
+                    items.add(nextArchived);
+                    nextArchived = archived.hasNext() ? archived.next() : null;
+                }
+            }
+            boolean more = hotIndex < hot.getItems().size() || hot.hasNext() || nextArchived != null;
+            return new Page<>(items, more ? items.get(items.size() - 1).getId() : null);
+        });
     }
 
     /**
      * Delete booking by ID.
      */
+    @Override
     public boolean deleteById(String id) {
-        return bookings.removeIf(booking -> booking.getId().equals(id));
+        boolean deleted = lock.write(() -> {
+            if (bookings.remove(id) == null) {
+                if (!archive.contains(id)) {
+                    return false;
+                }
+                archive = archive.without(id);
+                versions.setBase(archive);
+                versions.commit();
+                notifier.deleted(id);
+                return true;
+            }
+            dateIndex.remove(id);
+            statusIndex.remove(id);
+            nameIndex.remove(id);
+            versions.remove(id);
+            versions.commit();
+            notifier.deleted(id);
+            return true;
+        });
+        notifier.afterCommit();
+        return deleted;
     }
 
     /**
      * Check if booking exists by ID.
      */
+    @Override
     public boolean existsById(String id) {
-        return bookings.stream().anyMatch(booking -> booking.getId().equals(id));
+        return lock.read(() -> bookings.contains(id) || archive.contains(id));
     }
 
     /**
-     * Find bookings by date.
+     * Find bookings by date, ordered by start time.
      */
-    public List<Booking> findByDate(java.time.LocalDate date) {
-        return bookings.stream()
-                .filter(booking -> booking.getDate() != null && booking.getDate().equals(date))
-                .collect(Collectors.toList());
+    @Override
+    public List<Booking> findByDate(LocalDate date) {
+        return lock.read(() -> withArchived(archive.findByDateRange(date, date), dateIndex.findByDate(date)));
+    }
+
+    /**
+     * Find bookings between two dates (inclusive), ordered by date and start time.
+     */
+    @Override
+    public List<Booking> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        return lock.read(() -> withArchived(archive.findByDateRange(startDate, endDate),
+                dateIndex.findByDateRange(startDate, endDate)));
+    }
+
+    /**
+     * Find bookings on a date starting within [fromTime, toTime), ordered by start time.
+     */
+    @Override
+    public List<Booking> findByDateAndTime(LocalDate date, LocalTime fromTime, LocalTime toTime) {
+        return lock.read(() -> withArchived(archive.findByDateAndTime(date, fromTime, toTime),
+                dateIndex.findByDateAndTime(date, fromTime, toTime)));
     }
 
     /**
      * Find bookings by status.
      */
+    @Override
     public List<Booking> findByStatus(String status) {
-        return bookings.stream()
-                .filter(booking -> booking.getStatus().equals(status))
-                .collect(Collectors.toList());
+        return lock.read(() -> {
+            BookingStatus statusType = BookingStatus.fromString(status);
+            if (statusType != null) {
+                return concat(archive.findByStatus(statusType), statusIndex.findByStatus(statusType));
+            }
+            // Unknown status values are not bucketed
+            return concat(archive.findByUnknownStatus(status), bookings.stream()
+                    .filter(booking -> booking.getStatus().equals(status))
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    /**
+     * Find bookings by typed status.
+     */
+    @Override
+    public List<Booking> findByStatus(BookingStatus status) {
+        return lock.read(() -> concat(archive.findByStatus(status), statusIndex.findByStatus(status)));
+    }
+
+    /**
+     * Count bookings with a status.
+     */
+    @Override
+    public int countByStatus(BookingStatus status) {
+        return lock.read(() -> statusIndex.count(status) + archive.countByStatus(status));
+    }
+
+    /**
+     * Count bookings on a date with a status.
+     */
+    @Override
+    public int countByDateAndStatus(LocalDate date, BookingStatus status) {
+        return lock.read(() -> statusIndex.count(date, status) + archive.countByDateAndStatus(date, status));
     }
 
     /**
      * Find bookings by customer name (case-insensitive partial match).
      */
+    @Override
     public List<Booking> findByCustomerName(String name) {
-        String searchName = name.toLowerCase();
-        return bookings.stream()
-                .filter(booking -> booking.getCustomerName().toLowerCase().contains(searchName))
-                .collect(Collectors.toList());
+        return lock.read(() -> concat(archive.findByCustomerName(name), nameIndex.search(name)));
+    }
+
+    private static List<Booking> concat(List<Booking> archived, List<Booking> hot) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        archived.addAll(hot);
+        return archived;
+    }
+
+    /**
+     * Combine archived and hot date query results, keeping date and start time order.
+     */
+    private static List<Booking> withArchived(List<Booking> archived, List<Booking> hot) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<Booking> result = concat(archived, hot);
+        // Stable, so archived bookings stay ahead of hot ones in the same slot
+        result.sort(BY_DATE_AND_TIME);
+        return result;
     }
 }
 
@@ -2,82 +2,165 @@ package com.restaurantmanagement.repository;
 
 import com.restaurantmanagement.model.Employee;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * In-memory repository implementation for Employee entities.
- * Uses ArrayList for data storage.
+ * Uses a hash-indexed store for data storage.
  */
-public class InMemoryEmployeeRepository {
-    private final List<Employee> employees;
-    private int nextId = 1;
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    private final IndexedEntityStore<Employee> employees;
+    private final NGramIndex<Employee> nameIndex;
+    private final RepositoryLock lock;
+    private final IdAllocator idAllocator;
+    private final MutationNotifier<Employee> notifier;
+    private final VersionedEntities<Employee> versions;
 
     public InMemoryEmployeeRepository() {
-        this.employees = new ArrayList<>();
+        this(new IdAllocator("EMP"));
+    }
+
+    public InMemoryEmployeeRepository(IdAllocator idAllocator) {
+        this.lock = new RepositoryLock();
+        this.idAllocator = idAllocator;
+        this.notifier = new MutationNotifier<>();
+        this.employees = new IndexedEntityStore<>(Employee::getId);
+        this.versions = new VersionedEntities<>(Employee::new);
+        this.nameIndex = new NGramIndex<>(Employee::getName);
+    }
+
+    /**
+     * Set the listener notified of committed saves and deletes.
+     */
+    public void setMutationListener(MutationListener<Employee> listener) {
+        notifier.setListener(listener);
     }
 
     /**
      * Save a new employee or update an existing one.
      */
+    @Override
     public Employee save(Employee employee) {
+        Employee saved = lock.write(() -> {
+            Employee stored = store(employee);
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Save several employees under one write lock.
+     */
+    @Override
+    public List<Employee> saveAll(Collection<Employee> batch) {
+        List<Employee> saved = lock.write(() -> {
+            List<Employee> stored = new ArrayList<>(batch.size());
+            for (Employee employee : batch) {
+                stored.add(store(employee));
+            }
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Insert or replace one employee. Caller holds the write lock.
+     */
+    private Employee store(Employee employee) {
         if (employee.getId() == null || employee.getId().isEmpty()) {
             // New employee - assign ID
-            employee.setId("EMP" + String.format("%04d", nextId++));
-            employees.add(employee);
-            return employee;
+            employee.setId(idAllocator.nextId());
         } else {
-            // Update existing employee
-            Optional<Employee> existing = findById(employee.getId());
-            if (existing.isPresent()) {
-                int index = employees.indexOf(existing.get());
-                employees.set(index, employee);
-                return employee;
-            } else {
-                employees.add(employee);
-                return employee;
-            }
+            idAllocator.observe(employee.getId());
         }
+        // Insert, or replace the existing entry in place
+        employees.put(employee);
+        nameIndex.put(employee.getId(), employee);
+        versions.put(employee.getId(), employee);
+        notifier.saved(employee);
+        return employee;
     }
 
     /**
      * Find employee by ID.
      */
+    @Override
     public Optional<Employee> findById(String id) {
-        return employees.stream()
-                .filter(emp -> emp.getId().equals(id))
-                .findFirst();
+        return lock.read(() -> employees.get(id));
     }
 
     /**
      * Get all employees.
      */
+    @Override
     public List<Employee> findAll() {
-        return new ArrayList<>(employees);
+        return lock.read(() -> employees.values());
+    }
+
+    /**
+     * Open a point-in-time view of all employees. Never blocks, and is never blocked by, writers.
+     */
+    @Override
+    public RepositorySnapshot<Employee> snapshot() {
+        return versions.snapshot();
+    }
+
+    /**
+     * Run {@code action} with saves and deletes held off. Every mutation is
+     * journaled and committed under the write lock, so none is half done meanwhile.
+     */
+    public <T> T whileWritesPaused(Supplier<T> action) {
+        return lock.read(action);
+    }
+
+    /**
+     * Get one page of employees in ID order.
+     */
+    @Override
+    public Page<Employee> findPage(String cursor, int limit) {
+        return lock.read(() -> employees.page(cursor, limit));
     }
 
     /**
      * Delete employee by ID.
      */
+    @Override
     public boolean deleteById(String id) {
-        return employees.removeIf(emp -> emp.getId().equals(id));
+        boolean deleted = lock.write(() -> {
+            if (employees.remove(id) == null) {
+                return false;
+            }
+            nameIndex.remove(id);
+            versions.remove(id);
+            versions.commit();
+            notifier.deleted(id);
+            return true;
+        });
+        notifier.afterCommit();
+        return deleted;
     }
 
     /**
      * Check if employee exists by ID.
      */
+    @Override
     public boolean existsById(String id) {
-        return employees.stream().anyMatch(emp -> emp.getId().equals(id));
+        return lock.read(() -> employees.contains(id));
     }
 
     /**
      * Find employees by name (case-insensitive partial match).
      */
+    @Override
     public List<Employee> findByName(String name) {
-        return employees.stream()
-                .filter(emp -> emp.getName().toLowerCase().contains(name.toLowerCase()))
-                .collect(Collectors.toList());
+        return lock.read(() -> nameIndex.search(name));
     }
 }
 
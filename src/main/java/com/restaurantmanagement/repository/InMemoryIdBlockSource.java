@@ -0,0 +1,15 @@
+package com.restaurantmanagement.repository;
+
+/**
+ * Process-local block source backed by a counter.
+ */
+public class InMemoryIdBlockSource implements IdBlockSource {
+    private long next = 1;
+
+    @Override
+    public synchronized long reserve(long minimumStart, int blockSize) {
+        long start = Math.max(next, minimumStart);
+        next = start + blockSize;
+        return start;
+    }
+}
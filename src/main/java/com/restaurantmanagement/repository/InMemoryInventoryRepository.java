@@ -2,100 +2,189 @@ package com.restaurantmanagement.repository;
 
 import com.restaurantmanagement.model.InventoryItem;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * In-memory repository implementation for InventoryItem entities.
  */
-public class InMemoryInventoryRepository {
-    private final List<InventoryItem> items;
-    private int nextId = 1;
+public class InMemoryInventoryRepository implements InventoryRepository {
+    private final IndexedEntityStore<InventoryItem> items;
+    private final NGramIndex<InventoryItem> nameIndex;
+    private final RepositoryLock lock;
+    private final IdAllocator idAllocator;
+    private final MutationNotifier<InventoryItem> notifier;
+    private final VersionedEntities<InventoryItem> versions;
 
     public InMemoryInventoryRepository() {
-        this.items = new ArrayList<>();
+        this(new IdAllocator("INV"));
+    }
+
+    public InMemoryInventoryRepository(IdAllocator idAllocator) {
+        this.lock = new RepositoryLock();
+        this.idAllocator = idAllocator;
+        this.notifier = new MutationNotifier<>();
+        this.items = new IndexedEntityStore<>(InventoryItem::getId);
+        this.versions = new VersionedEntities<>(InventoryItem::new);
+        this.nameIndex = new NGramIndex<>(InventoryItem::getName);
+    }
+
+    /**
+     * Set the listener notified of committed saves and deletes.
+     */
+    public void setMutationListener(MutationListener<InventoryItem> listener) {
+        notifier.setListener(listener);
     }
 
     /**
      * Save a new inventory item or update an existing one.
      */
+    @Override
     public InventoryItem save(InventoryItem item) {
+        InventoryItem saved = lock.write(() -> {
+            InventoryItem stored = store(item);
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Save several items under one write lock.
+     */
+    @Override
+    public List<InventoryItem> saveAll(Collection<InventoryItem> batch) {
+        List<InventoryItem> saved = lock.write(() -> {
+            List<InventoryItem> stored = new ArrayList<>(batch.size());
+            for (InventoryItem item : batch) {
+                stored.add(store(item));
+            }
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Insert or replace one item. Caller holds the write lock.
+     */
+    private InventoryItem store(InventoryItem item) {
         if (item.getId() == null || item.getId().isEmpty()) {
             // New item - assign ID
-            item.setId("INV" + String.format("%04d", nextId++));
-            items.add(item);
-            return item;
+            item.setId(idAllocator.nextId());
         } else {
-            // Update existing item
-            Optional<InventoryItem> existing = findById(item.getId());
-            if (existing.isPresent()) {
-                int index = items.indexOf(existing.get());
-                items.set(index, item);
-                return item;
-            } else {
-                items.add(item);
-                return item;
-            }
+            idAllocator.observe(item.getId());
         }
+        // Insert, or replace the existing entry in place
+        items.put(item);
+        nameIndex.put(item.getId(), item);
+        versions.put(item.getId(), item);
+        notifier.saved(item);
+        return item;
     }
 
     /**
      * Find inventory item by ID.
      */
+    @Override
     public Optional<InventoryItem> findById(String id) {
-        return items.stream()
-                .filter(item -> item.getId().equals(id))
-                .findFirst();
+        return lock.read(() -> items.get(id));
     }
 
     /**
      * Get all inventory items.
      */
+    @Override
     public List<InventoryItem> findAll() {
-        return new ArrayList<>(items);
+        return lock.read(() -> items.values());
+    }
+
+    /**
+     * Open a point-in-time view of all inventory items. Never blocks, and is never blocked by, writers.
+     */
+    @Override
+    public RepositorySnapshot<InventoryItem> snapshot() {
+        return versions.snapshot();
+    }
+
+    /**
+     * Run {@code action} with saves and deletes held off. Every mutation is
+     * journaled and committed under the write lock, so none is half done meanwhile.
+     */
+    public <T> T whileWritesPaused(Supplier<T> action) {
+        return lock.read(action);
+    }
+
+    /**
+     * Get one page of items in ID order.
+     */
+    @Override
+    public Page<InventoryItem> findPage(String cursor, int limit) {
+        return lock.read(() -> items.page(cursor, limit));
     }
 
     /**
      * Delete inventory item by ID.
      */
+    @Override
     public boolean deleteById(String id) {
-        return items.removeIf(item -> item.getId().equals(id));
+        boolean deleted = lock.write(() -> {
+            if (items.remove(id) == null) {
+                return false;
+            }
+            nameIndex.remove(id);
+            versions.remove(id);
+            versions.commit();
+            notifier.deleted(id);
+            return true;
+        });
+        notifier.afterCommit();
+        return deleted;
     }
 
     /**
      * Check if inventory item exists by ID.
      */
+    @Override
     public boolean existsById(String id) {
-        return items.stream().anyMatch(item -> item.getId().equals(id));
+        return lock.read(() -> items.contains(id));
     }
 
     /**
      * Find items by name (case-insensitive partial match).
      */
+    @Override
     public List<InventoryItem> findByName(String name) {
-        String searchName = name.toLowerCase();
-        return items.stream()
-                .filter(item -> item.getName().toLowerCase().contains(searchName))
-                .collect(Collectors.toList());
+        return lock.read(() -> nameIndex.search(name));
     }
 
     /**
      * Find items by category.
      */
+    @Override
     public List<InventoryItem> findByCategory(String category) {
-        return items.stream()
-                .filter(item -> item.getCategory().equals(category))
-                .collect(Collectors.toList());
+        return lock.read(() -> {
+            return items.stream()
+                    .filter(item -> item.getCategory().equals(category))
+                    .collect(Collectors.toList());
+        });
     }
 
     /**
      * Find items that are low in stock.
      */
+    @Override
     public List<InventoryItem> findLowStockItems() {
-        return items.stream()
-                .filter(InventoryItem::isLowStock)
-                .collect(Collectors.toList());
+        return lock.read(() -> {
+            return items.stream()
+                    .filter(InventoryItem::isLowStock)
+                    .collect(Collectors.toList());
+        });
     }
 }
 
@@ -1,74 +1,399 @@
 package com.restaurantmanagement.repository;
 
 import com.restaurantmanagement.model.InventoryTransaction;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * In-memory repository implementation for InventoryTransaction entities.
+ * Transactions are kept in an append-only history; lookups by item, staff and
+ * type use posting lists of history positions, so results come back in
+ * chronological order. In COLUMNAR mode the history is stored column-wise and
+ * entities are materialized on read, so edits to returned objects are not stored
+ * until they are saved again. {@link #archiveBefore} moves the oldest part of the
+ * history into an off-heap archive tier that every query still reads.
  */
-public class InMemoryInventoryTransactionRepository {
-    private final List<InventoryTransaction> transactions;
-    private int nextId = 1;
+public class InMemoryInventoryTransactionRepository implements InventoryTransactionRepository {
+    private final TieredTransactionRows history;
+    private final Map<String, Integer> positionsById;
+    private final Map<String, IntList> positionsByItemId;
+    private final Map<String, IntList> positionsByStaffId;
+    private final Map<String, IntList> positionsByType;
+    private final RepositoryLock lock;
+    private final IdAllocator idAllocator;
+    private final MutationNotifier<InventoryTransaction> notifier;
+    private Path archiveDirectory;
 
     public InMemoryInventoryTransactionRepository() {
-        this.transactions = new ArrayList<>();
+        this(TransactionStorageMode.OBJECT);
+    }
+
+    public InMemoryInventoryTransactionRepository(TransactionStorageMode storageMode) {
+        this(storageMode, new IdAllocator("TXN"));
+    }
+
+    public InMemoryInventoryTransactionRepository(TransactionStorageMode storageMode, IdAllocator idAllocator) {
+        this.lock = new RepositoryLock();
+        this.idAllocator = idAllocator;
+        this.notifier = new MutationNotifier<>();
+        this.history = new TieredTransactionRows(storageMode);
+        this.positionsById = new HashMap<>();
+        this.positionsByItemId = new HashMap<>();
+        this.positionsByStaffId = new HashMap<>();
+        this.positionsByType = new HashMap<>();
+        this.archiveDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Set the listener notified of committed saves and deletes.
+     */
+    public void setMutationListener(MutationListener<InventoryTransaction> listener) {
+        notifier.setListener(listener);
+    }
+
+    /**
+     * Set where archive segment files are created; defaults to the temp directory.
+     */
+    public void setArchiveDirectory(Path archiveDirectory) {
+        lock.write(() -> this.archiveDirectory = archiveDirectory);
+    }
+
+    /**
+     * Move transactions recorded before the cutoff off the heap into the archive
+     * tier. Only a prefix of the history is archived: it stops at the first
+     * transaction that is not older than the cutoff, or has no timestamp.
+     *
+     * @return the number of transactions moved
+     */
+    public int archiveBefore(LocalDateTime cutoff) {
+        return lock.write(() -> {
+            int start = history.archivedSize();
+            int end = start;
+            while (end < history.size() && history.timestampAt(end) != null && history.timestampAt(end).isBefore(cutoff)) {
+                end++;
+            }
+            if (end == start) {
+                return 0;
+            }
+            List<String> movedIds = new ArrayList<>(end - start);
+            for (int position = start; position < end; position++) {
+                movedIds.add(history.idAt(position));
+            }
+            try {
+                history.archiveBefore(end, archiveDirectory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write transaction archive", e);
+            }
+            // Archived IDs are found by binary search in the segment instead
+            positionsById.keySet().removeAll(movedIds);
+            return end - start;
+        });
+    }
+
+    /**
+     * Number of transactions in the archive tier.
+     */
+    public int getArchivedCount() {
+        return lock.read(() -> history.archivedSize());
+    }
+
+    /**
+     * Number of recorded transactions, archived ones included.
+     */
+    public int count() {
+        return lock.read(() -> history.size());
+    }
+
+    /**
+     * Run {@code action} with saves and deletes held off. Every mutation is
+     * journaled and committed under the write lock, so none is half done meanwhile.
+     */
+    public <T> T whileWritesPaused(Supplier<T> action) {
+        return lock.read(action);
     }
 
     /**
      * Save a new transaction.
      */
+    @Override
     public InventoryTransaction save(InventoryTransaction transaction) {
+        InventoryTransaction saved = lock.write(() -> store(transaction));
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Save several transactions under one write lock.
+     */
+    @Override
+    public List<InventoryTransaction> saveAll(Collection<InventoryTransaction> batch) {
+        List<InventoryTransaction> saved = lock.write(() -> {
+            List<InventoryTransaction> stored = new ArrayList<>(batch.size());
+            for (InventoryTransaction transaction : batch) {
+                stored.add(store(transaction));
+            }
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Insert or replace one transaction. Caller holds the write lock.
+     */
+    private InventoryTransaction store(InventoryTransaction transaction) {
+        Integer existing = null;
         if (transaction.getId() == null || transaction.getId().isEmpty()) {
-            transaction.setId("TXN" + String.format("%04d", nextId++));
+            transaction.setId(idAllocator.nextId());
+        } else {
+            idAllocator.observe(transaction.getId());
+            existing = positionOf(transaction.getId());
+        }
+        if (existing != null) {
+            // Re-saved transaction - replace in place and make sure it is posted under its current keys
+            history.set(existing, transaction);
+            post(existing, transaction);
+            notifier.saved(transaction);
+            return transaction;
         }
-        transactions.add(transaction);
+        int position = history.append(transaction);
+        positionsById.put(transaction.getId(), position);
+        post(position, transaction);
+        notifier.saved(transaction);
         return transaction;
     }
 
     /**
      * Find transaction by ID.
      */
+    @Override
     public Optional<InventoryTransaction> findById(String id) {
-        return transactions.stream()
-                .filter(txn -> txn.getId().equals(id))
-                .findFirst();
+        return lock.read(() -> {
+            Integer position = positionOf(id);
+            return position != null ? Optional.of(history.get(position)) : Optional.empty();
+        });
+    }
+
+    /**
+     * History position of a transaction, hot or archived, or null. Caller holds the lock.
+     */
+    private Integer positionOf(String id) {
+        Integer position = positionsById.get(id);
+        if (position == null && history.archivedSize() > 0) {
+            int archived = history.archivedPosition(id);
+            return archived >= 0 ? archived : null;
+        }
+        return position;
     }
 
     /**
      * Get all transactions.
      */
+    @Override
     public List<InventoryTransaction> findAll() {
-        return new ArrayList<>(transactions);
+        return lock.read(() -> {
+            List<InventoryTransaction> result = new ArrayList<>(history.size());
+            for (int position = 0; position < history.size(); position++) {
+                result.add(history.get(position));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Get one page of transactions, newest first. The cursor is the history
+     * position the next page ends before.
+     */
+    @Override
+    public Page<InventoryTransaction> findPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        return lock.read(() -> {
+            int end = cursor != null ? parsePosition(cursor) : history.size();
+            int start = Math.max(0, end - limit);
+            List<InventoryTransaction> items = new ArrayList<>(end - start);
+            for (int position = end - 1; position >= start; position--) {
+                items.add(history.get(position));
+            }
+            return new Page<>(items, start > 0 ? Integer.toString(start) : null);
+        });
     }
 
     /**
      * Get transactions for a specific item.
      */
+    @Override
     public List<InventoryTransaction> findByItemId(String itemId) {
-        return transactions.stream()
-                .filter(txn -> txn.getItemId().equals(itemId))
-                .collect(Collectors.toList());
+        return lock.read(() -> collect(positionsByItemId.get(itemId), itemId, history::itemIdAt));
     }
 
     /**
      * Get transactions by type (IN or OUT).
      */
+    @Override
     public List<InventoryTransaction> findByType(String type) {
-        return transactions.stream()
-                .filter(txn -> txn.getType().equals(type))
-                .collect(Collectors.toList());
+        return lock.read(() -> collect(positionsByType.get(type), type, history::typeAt));
     }
 
     /**
      * Get transactions by staff ID.
      */
+    @Override
     public List<InventoryTransaction> findByStaffId(String staffId) {
-        return transactions.stream()
-                .filter(txn -> txn.getStaffId() != null && txn.getStaffId().equals(staffId))
-                .collect(Collectors.toList());
+        return lock.read(() -> collect(positionsByStaffId.get(staffId), staffId, history::staffIdAt));
+    }
+
+    /**
+     * Walk matching transactions by history position. Each chunk is collected under
+     * the read lock; positions are stable because the history is append-only.
+     */
+    @Override
+    public Iterator<InventoryTransaction> iterate(TransactionFilter filter, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0");
+        }
+        return new Iterator<InventoryTransaction>() {
+            private List<InventoryTransaction> chunk = new ArrayList<>();
+            private int index;
+            private int nextPosition;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (index == chunk.size() && !exhausted) {
+                    chunk = lock.read(() -> nextChunk(filter, chunkSize));
+                    index = 0;
+                }
+                return index < chunk.size();
+            }
+
+            @Override
+            public InventoryTransaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.get(index++);
+            }
+
+            /**
+             * Collect up to chunkSize matches from nextPosition on. Caller holds the read lock.
+             */
+            private List<InventoryTransaction> nextChunk(TransactionFilter filter, int chunkSize) {
+                List<InventoryTransaction> result = new ArrayList<>(Math.min(chunkSize, 1024));
+                IntList positions = narrowestPostings(filter);
+                if (positions != null) {
+                    int i = positions.lowerBound(nextPosition);
+                    for (; i < positions.size() && result.size() < chunkSize; i++) {
+                        addIfMatching(result, positions.get(i), filter);
+                    }
+                    nextPosition = i < positions.size() ? positions.get(i) : Integer.MAX_VALUE;
+                    exhausted = i >= positions.size();
+                } else {
+                    int position = nextPosition;
+                    // Bound the rows scanned per chunk so a selective date range cannot pin the lock
+                    int scanLimit = Math.max(chunkSize, 1024) * 8;
+                    for (; position < history.size() && result.size() < chunkSize && scanLimit-- > 0; position++) {
+                        if (filter.hasDateRange() && position < history.archivedSize()) {
+                            // Archived blocks outside the range are skipped without inflating them
+                            position = history.nextCandidate(position, filter.getFrom(), filter.getUntil());
+                            if (position >= history.size()) {
+                                break;
+                            }
+                        }
+                        addIfMatching(result, position, filter);
+                    }
+                    nextPosition = position;
+                    exhausted = position >= history.size();
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * The shorter posting list among the filter's item and staff keys, an empty list if
+     * a key has no postings, or null to scan the whole history. Caller holds the read lock.
+     */
+    private IntList narrowestPostings(TransactionFilter filter) {
+        IntList byItem = postings(positionsByItemId, filter.getItemId());
+        IntList byStaff = postings(positionsByStaffId, filter.getStaffId());
+        if (byItem == null || byStaff == null) {
+            return byItem != null ? byItem : byStaff;
+        }
+        return byItem.size() <= byStaff.size() ? byItem : byStaff;
+    }
+
+    private static IntList postings(Map<String, IntList> postings, String key) {
+        if (key == null) {
+            return null;
+        }
+        IntList positions = postings.get(key);
+        return positions != null ? positions : new IntList();
+    }
+
+    private void addIfMatching(List<InventoryTransaction> result, int position, TransactionFilter filter) {
+        // Check the stored keys first so rows that do not match are never materialized
+        if (filter.getItemId() != null && !filter.getItemId().equals(history.itemIdAt(position))) {
+            return;
+        }
+        if (filter.getStaffId() != null && !filter.getStaffId().equals(history.staffIdAt(position))) {
+            return;
+        }
+        if (filter.hasDateRange() && !filter.matchesTimestamp(history.timestampAt(position))) {
+            return;
+        }
+        result.add(history.get(position));
+    }
+
+    private int parsePosition(String cursor) {
+        try {
+            int position = Integer.parseInt(cursor);
+            if (position >= 0 && position <= history.size()) {
+                return position;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+
+    private void post(int position, InventoryTransaction transaction) {
+        post(positionsByItemId, transaction.getItemId(), position);
+        post(positionsByStaffId, transaction.getStaffId(), position);
+        post(positionsByType, transaction.getType(), position);
+    }
+
+    private static void post(Map<String, IntList> postings, String key, int position) {
+        if (key != null) {
+            postings.computeIfAbsent(key, k -> new IntList()).addSorted(position);
+        }
+    }
+
+    private List<InventoryTransaction> collect(IntList positions, String key, IntFunction<String> keyAt) {
+        if (positions == null) {
+            return new ArrayList<>();
+        }
+        List<InventoryTransaction> result = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            int position = positions.get(i);
+            // Skip stale postings left by a transaction edited in place before being re-saved
+            if (key.equals(keyAt.apply(position))) {
+                result.add(history.get(position));
+            }
+        }
+        return result;
     }
 }
 
@@ -0,0 +1,156 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.RestaurantTable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory repository implementation for RestaurantTable entities.
+ * Uses a hash-indexed store for data storage; a floor plan is small enough
+ * that area lookups simply scan it.
+ */
+public class InMemoryRestaurantTableRepository implements RestaurantTableRepository {
+    private final IndexedEntityStore<RestaurantTable> tables;
+    private final RepositoryLock lock;
+    private final IdAllocator idAllocator;
+    private final MutationNotifier<RestaurantTable> notifier;
+    private final VersionedEntities<RestaurantTable> versions;
+
+    public InMemoryRestaurantTableRepository() {
+        this(new IdAllocator("TBL"));
+    }
+
+    public InMemoryRestaurantTableRepository(IdAllocator idAllocator) {
+        this.lock = new RepositoryLock();
+        this.idAllocator = idAllocator;
+        this.notifier = new MutationNotifier<>();
+        this.tables = new IndexedEntityStore<>(RestaurantTable::getId);
+        this.versions = new VersionedEntities<>(RestaurantTable::new);
+    }
+
+    /**
+     * Set the listener notified of committed saves and deletes.
+     */
+    public void setMutationListener(MutationListener<RestaurantTable> listener) {
+        notifier.setListener(listener);
+    }
+
+    /**
+     * Save a new table or update an existing one.
+     */
+    @Override
+    public RestaurantTable save(RestaurantTable table) {
+        RestaurantTable saved = lock.write(() -> {
+            RestaurantTable stored = store(table);
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Save several tables under one write lock.
+     */
+    @Override
+    public List<RestaurantTable> saveAll(Collection<RestaurantTable> batch) {
+        List<RestaurantTable> saved = lock.write(() -> {
+            List<RestaurantTable> stored = new ArrayList<>(batch.size());
+            for (RestaurantTable table : batch) {
+                stored.add(store(table));
+            }
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Insert or replace one table. Caller holds the write lock.
+     */
+    private RestaurantTable store(RestaurantTable table) {
+        if (table.getId() == null || table.getId().isEmpty()) {
+            // New table - assign ID
+            table.setId(idAllocator.nextId());
+        } else {
+            idAllocator.observe(table.getId());
+        }
+        tables.put(table);
+        versions.put(table.getId(), table);
+        notifier.saved(table);
+        return table;
+    }
+
+    /**
+     * Find table by ID.
+     */
+    @Override
+    public Optional<RestaurantTable> findById(String id) {
+        return lock.read(() -> tables.get(id));
+    }
+
+    /**
+     * Get all tables.
+     */
+    @Override
+    public List<RestaurantTable> findAll() {
+        return lock.read(() -> tables.values());
+    }
+
+    /**
+     * Open a point-in-time view of all tables. Never blocks, and is never blocked by, writers.
+     */
+    @Override
+    public RepositorySnapshot<RestaurantTable> snapshot() {
+        return versions.snapshot();
+    }
+
+    /**
+     * Run {@code action} with saves and deletes held off. Every mutation is
+     * journaled and committed under the write lock, so none is half done meanwhile.
+     */
+    public <T> T whileWritesPaused(Supplier<T> action) {
+        return lock.read(action);
+    }
+
+    /**
+     * Delete table by ID.
+     */
+    @Override
+    public boolean deleteById(String id) {
+        boolean deleted = lock.write(() -> {
+            if (tables.remove(id) == null) {
+                return false;
+            }
+            versions.remove(id);
+            versions.commit();
+            notifier.deleted(id);
+            return true;
+        });
+        notifier.afterCommit();
+        return deleted;
+    }
+
+    /**
+     * Check if table exists by ID.
+     */
+    @Override
+    public boolean existsById(String id) {
+        return lock.read(() -> tables.contains(id));
+    }
+
+    /**
+     * Find tables in an area (case-insensitive exact match).
+     */
+    @Override
+    public List<RestaurantTable> findByArea(String area) {
+        return lock.read(() -> tables.stream()
+                .filter(table -> table.getArea() != null && table.getArea().equalsIgnoreCase(area))
+                .collect(Collectors.toList()));
+    }
+}
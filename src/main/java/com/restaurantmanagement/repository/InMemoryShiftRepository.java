@@ -2,101 +2,207 @@ package com.restaurantmanagement.repository;
 
 import com.restaurantmanagement.model.Shift;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * In-memory repository implementation for Shift entities.
- * Uses ArrayList for data storage.
+ * Uses a hash-indexed store for data storage.
  */
-public class InMemoryShiftRepository {
-    private final List<Shift> shifts;
-    private int nextId = 1;
+public class InMemoryShiftRepository implements ShiftRepository {
+    private final IndexedEntityStore<Shift> shifts;
+    private final ShiftIntervalIndex intervalIndex;
+    private final RepositoryLock lock;
+    private final IdAllocator idAllocator;
+    private final MutationNotifier<Shift> notifier;
+    private final VersionedEntities<Shift> versions;
 
     public InMemoryShiftRepository() {
-        this.shifts = new ArrayList<>();
+        this(new IdAllocator("SHF"));
+    }
+
+    public InMemoryShiftRepository(IdAllocator idAllocator) {
+        this.lock = new RepositoryLock();
+        this.idAllocator = idAllocator;
+        this.notifier = new MutationNotifier<>();
+        this.shifts = new IndexedEntityStore<>(Shift::getId);
+        this.versions = new VersionedEntities<>(Shift::new);
+        this.intervalIndex = new ShiftIntervalIndex();
+    }
+
+    /**
+     * Set the listener notified of committed saves and deletes.
+     */
+    public void setMutationListener(MutationListener<Shift> listener) {
+        notifier.setListener(listener);
     }
 
     /**
      * Save a new shift or update an existing one.
      */
+    @Override
     public Shift save(Shift shift) {
+        Shift saved = lock.write(() -> {
+            Shift stored = store(shift);
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Save several shifts under one write lock.
+     */
+    @Override
+    public List<Shift> saveAll(Collection<Shift> batch) {
+        List<Shift> saved = lock.write(() -> {
+            List<Shift> stored = new ArrayList<>(batch.size());
+            for (Shift shift : batch) {
+                stored.add(store(shift));
+            }
+            versions.commit();
+            return stored;
+        });
+        notifier.afterCommit();
+        return saved;
+    }
+
+    /**
+     * Insert or replace one shift. Caller holds the write lock.
+     */
+    private Shift store(Shift shift) {
         if (shift.getId() == null || shift.getId().isEmpty()) {
             // New shift - assign ID
-            shift.setId("SHF" + String.format("%04d", nextId++));
-            shifts.add(shift);
-            return shift;
+            shift.setId(idAllocator.nextId());
         } else {
-            // Update existing shift
-            Optional<Shift> existing = findById(shift.getId());
-            if (existing.isPresent()) {
-                int index = shifts.indexOf(existing.get());
-                shifts.set(index, shift);
-                return shift;
-            } else {
-                shifts.add(shift);
-                return shift;
-            }
+            idAllocator.observe(shift.getId());
         }
+        // Insert, or replace the existing entry in place
+        shifts.put(shift);
+        intervalIndex.put(shift);
+        versions.put(shift.getId(), shift);
+        notifier.saved(shift);
+        return shift;
     }
 
     /**
      * Find shift by ID.
      */
+    @Override
     public Optional<Shift> findById(String id) {
-        return shifts.stream()
-                .filter(shift -> shift.getId().equals(id))
-                .findFirst();
+        return lock.read(() -> shifts.get(id));
     }
 
     /**
      * Get all shifts.
      */
+    @Override
     public List<Shift> findAll() {
-        return new ArrayList<>(shifts);
+        return lock.read(() -> shifts.values());
+    }
+
+    /**
+     * Open a point-in-time view of all shifts. Never blocks, and is never blocked by, writers.
+     */
+    @Override
+    public RepositorySnapshot<Shift> snapshot() {
+        return versions.snapshot();
+    }
+
+    /**
+     * Run {@code action} with saves and deletes held off. Every mutation is
+     * journaled and committed under the write lock, so none is half done meanwhile.
+     */
+    public <T> T whileWritesPaused(Supplier<T> action) {
+        return lock.read(action);
+    }
+
+    /**
+     * Get one page of shifts in ID order.
+     */
+    @Override
+    public Page<Shift> findPage(String cursor, int limit) {
+        return lock.read(() -> shifts.page(cursor, limit));
     }
 
     /**
      * Delete shift by ID.
      */
+    @Override
     public boolean deleteById(String id) {
-        return shifts.removeIf(shift -> shift.getId().equals(id));
+        boolean deleted = lock.write(() -> {
+            if (shifts.remove(id) == null) {
+                return false;
+            }
+            intervalIndex.remove(id);
+            versions.remove(id);
+            versions.commit();
+            notifier.deleted(id);
+            return true;
+        });
+        notifier.afterCommit();
+        return deleted;
     }
 
     /**
      * Check if shift exists by ID.
      */
+    @Override
     public boolean existsById(String id) {
-        return shifts.stream().anyMatch(shift -> shift.getId().equals(id));
+        return lock.read(() -> shifts.contains(id));
     }
 
     /**
-     * Find shifts by employee ID.
+     * Find shifts by employee ID, ordered by start.
      */
+    @Override
     public List<Shift> findByEmployeeId(String employeeId) {
-        return shifts.stream()
-                .filter(shift -> shift.getEmployeeId().equals(employeeId))
-                .collect(Collectors.toList());
+        return lock.read(() -> intervalIndex.findByEmployeeId(employeeId));
     }
 
     /**
-     * Find shifts by date.
+     * Find shifts worked on a date, ordered by start.
      */
+    @Override
     public List<Shift> findByDate(LocalDate date) {
-        return shifts.stream()
-                .filter(shift -> shift.getDate().equals(date))
-                .collect(Collectors.toList());
+        return lock.read(() -> intervalIndex.findByDateRange(date, date));
     }
 
     /**
-     * Find shifts by date range.
+     * Find shifts worked on a date in the range, ordered by start.
      */
+    @Override
     public List<Shift> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        return shifts.stream()
-                .filter(shift -> !shift.getDate().isBefore(startDate) && !shift.getDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        return lock.read(() -> intervalIndex.findByDateRange(startDate, endDate));
+    }
+
+    /**
+     * Find shifts overlapping the window [from, to).
+     */
+    @Override
+    public List<Shift> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return lock.read(() -> intervalIndex.findOverlapping(from, to));
+    }
+
+    /**
+     * Find shifts of an employee overlapping the window [from, to).
+     */
+    @Override
+    public List<Shift> findByEmployeeOverlapping(String employeeId, LocalDateTime from, LocalDateTime to) {
+        return lock.read(() -> intervalIndex.findOverlapping(employeeId, from, to));
+    }
+
+    /**
+     * Find shifts in progress at the given instant.
+     */
+    @Override
+    public List<Shift> findActiveAt(LocalDateTime instant) {
+        return lock.read(() -> intervalIndex.findActiveAt(instant));
     }
 }
 
@@ -0,0 +1,96 @@
+package com.restaurantmanagement.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Hash-indexed entity storage shared by the in-memory repositories.
+ * Lookup, update and delete by ID are O(1) and iteration keeps insertion order.
+ * A sorted ID index serves keyset pages in O(log n + page size).
+ */
+class IndexedEntityStore<T> {
+    private final Map<String, T> entities;
+    private final NavigableMap<String, T> entitiesById;
+    private final Function<T, String> idExtractor;
+
+    IndexedEntityStore(Function<T, String> idExtractor) {
+        this.entities = new LinkedHashMap<>();
+        this.entitiesById = new TreeMap<>();
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * Insert a new entity or replace the one stored under the same ID.
+     * A replaced entity keeps its original position in iteration order.
+     */
+    T put(T entity) {
+        String id = idExtractor.apply(entity);
+        entitiesById.put(id, entity);
+        return entities.put(id, entity);
+    }
+
+    /**
+     * Find entity by ID.
+     */
+    Optional<T> get(String id) {
+        return Optional.ofNullable(entities.get(id));
+    }
+
+    /**
+     * Check if an entity is stored under the given ID.
+     */
+    boolean contains(String id) {
+        return entities.containsKey(id);
+    }
+
+    /**
+     * Remove entity by ID, returning the removed entity or null.
+     */
+    T remove(String id) {
+        entitiesById.remove(id);
+        return entities.remove(id);
+    }
+
+    int size() {
+        return entities.size();
+    }
+
+    /**
+     * Copy of all entities in insertion order.
+     */
+    List<T> values() {
+        return new ArrayList<>(entities.values());
+    }
+
+    /**
+     * Up to limit entities in ID order with IDs after the cursor (null for the first page).
+     * The cursor of the returned page is the last ID on it.
+     */
+    Page<T> page(String afterId, int limit) {
+        Page.checkLimit(limit);
+        Map<String, T> tail = afterId != null ? entitiesById.tailMap(afterId, false) : entitiesById;
+        List<T> items = new ArrayList<>(Math.min(limit, entities.size()));
+        String lastId = null;
+        boolean more = false;
+        for (Map.Entry<String, T> entry : tail.entrySet()) {
+            if (items.size() == limit) {
+                more = true;
+                break;
+            }
+            items.add(entry.getValue());
+            lastId = entry.getKey();
+        }
+        return new Page<>(items, more ? lastId : null);
+    }
+
+    Stream<T> stream() {
+        return entities.values().stream();
+    }
+}
@@ -0,0 +1,72 @@
+package com.restaurantmanagement.repository;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used for posting lists of row positions.
+ */
+class IntList {
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this.values = new int[4];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Index of the first value not less than the given one in a sorted list, or size() if none.
+     */
+    int lowerBound(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Insert a value keeping the list sorted; does nothing if it is already present.
+     * Appending a value larger than the current maximum is O(1).
+     */
+    void addSorted(int value) {
+        if (size == 0 || values[size - 1] < value) {
+            add(value);
+            return;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+    }
+}
@@ -0,0 +1,202 @@
+package com.restaurantmanagement.repository;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Interval tree over half-open [start, end) intervals, implemented as a treap
+ * ordered by (start, id) and augmented with the maximum end of each subtree.
+ * Insert, remove and overlap queries run in O(log n + k) expected time.
+ */
+class IntervalTree<T> {
+    private final Random priorities;
+    private Node<T> root;
+    private int size;
+
+    IntervalTree() {
+        this.priorities = new Random();
+    }
+
+    /**
+     * Insert an interval. The (start, id) pair must not already be present.
+     */
+    void insert(long start, long end, String id, T value) {
+        root = insert(root, new Node<>(start, end, id, value, priorities.nextInt()));
+        size++;
+    }
+
+    /**
+     * Remove the interval stored under (start, id).
+     */
+    boolean remove(long start, String id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Collect values whose interval overlaps [from, to), ordered by start.
+     */
+    void overlapping(long from, long to, List<T> out) {
+        overlapping(root, from, to, out);
+    }
+
+    /**
+     * Collect values whose interval starts within [from, to), ordered by start.
+     */
+    void startingWithin(long from, long to, List<T> out) {
+        startingWithin(root, from, to, out);
+    }
+
+    /**
+     * Collect all values ordered by start.
+     */
+    void all(List<T> out) {
+        startingWithin(root, Long.MIN_VALUE, Long.MAX_VALUE, out);
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, long start, String id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private void overlapping(Node<T> node, long from, long to, List<T> out) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        overlapping(node.left, from, to, out);
+        if (node.start >= to) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end > from) {
+            out.add(node.value);
+        }
+        overlapping(node.right, from, to, out);
+    }
+
+    private void startingWithin(Node<T> node, long from, long to, List<T> out) {
+        if (node == null) {
+            return;
+        }
+        if (node.start >= from) {
+            startingWithin(node.left, from, to, out);
+        }
+        if (node.start >= from && node.start < to) {
+            out.add(node.value);
+        }
+        if (node.start < to) {
+            startingWithin(node.right, from, to, out);
+        }
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> void update(Node<T> node) {
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(long start, String id, Node<?> node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : id.compareTo(node.id);
+    }
+
+    private static final class Node<T> {
+        private final long start;
+        private final long end;
+        private final String id;
+        private final T value;
+        private final int priority;
+        private long maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long start, long end, String id, T value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+}
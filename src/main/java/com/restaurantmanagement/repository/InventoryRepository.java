@@ -0,0 +1,54 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.InventoryItem;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for InventoryItem entities.
+ */
+public interface InventoryRepository {
+
+    /**
+     * Save a new inventory item or update an existing one.
+     */
+    InventoryItem save(InventoryItem item);
+
+    /**
+     * Save several items as one batch.
+     */
+    List<InventoryItem> saveAll(Collection<InventoryItem> items);
+
+    Optional<InventoryItem> findById(String id);
+
+    List<InventoryItem> findAll();
+
+    /**
+     * One page of items in ID order, following the cursor of the previous page
+     * (null for the first page).
+     */
+    Page<InventoryItem> findPage(String cursor, int limit);
+
+    /**
+     * Open a consistent point-in-time view of all inventory items without copying them.
+     * The caller must close it.
+     */
+    RepositorySnapshot<InventoryItem> snapshot();
+
+    boolean deleteById(String id);
+
+    boolean existsById(String id);
+
+    /**
+     * Find items by name (case-insensitive partial match).
+     */
+    List<InventoryItem> findByName(String name);
+
+    List<InventoryItem> findByCategory(String category);
+
+    /**
+     * Find items at or below their minimum threshold.
+     */
+    List<InventoryItem> findLowStockItems();
+}
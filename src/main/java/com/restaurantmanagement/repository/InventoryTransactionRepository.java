@@ -0,0 +1,49 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for the append-only InventoryTransaction history.
+ */
+public interface InventoryTransactionRepository {
+
+    /**
+     * Save a new transaction.
+     */
+    InventoryTransaction save(InventoryTransaction transaction);
+
+    /**
+     * Save several transactions as one batch.
+     */
+    List<InventoryTransaction> saveAll(Collection<InventoryTransaction> transactions);
+
+    Optional<InventoryTransaction> findById(String id);
+
+    /**
+     * Get all transactions in the order they were recorded.
+     */
+    List<InventoryTransaction> findAll();
+
+    /**
+     * One page of transactions, most recently recorded first, following the cursor
+     * of the previous page (null for the first page).
+     */
+    Page<InventoryTransaction> findPage(String cursor, int limit);
+
+    List<InventoryTransaction> findByItemId(String itemId);
+
+    List<InventoryTransaction> findByType(String type);
+
+    List<InventoryTransaction> findByStaffId(String staffId);
+
+    /**
+     * Walk the transactions matching a filter in recorded order. Rows are fetched
+     * chunkSize at a time as the iterator advances, so the full history is never
+     * held in memory; transactions recorded during the walk may or may not be seen.
+     */
+    Iterator<InventoryTransaction> iterate(TransactionFilter filter, int chunkSize);
+}
@@ -0,0 +1,19 @@
+package com.restaurantmanagement.repository;
+
+/**
+ * Observes committed repository mutations, e.g. to journal them.
+ * onSave/onDelete run under the repository's write lock, in commit order;
+ * afterCommit runs on the same thread once the lock has been released.
+ */
+public interface MutationListener<T> {
+
+    void onSave(T entity);
+
+    void onDelete(String id);
+
+    /**
+     * Called after the write lock is released, e.g. to wait for durability.
+     */
+    default void afterCommit() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.restaurantmanagement.repository;
+
+/**
+ * Holds a repository's optional MutationListener and forwards events to it.
+ */
+class MutationNotifier<T> {
+    private volatile MutationListener<T> listener;
+
+    void setListener(MutationListener<T> listener) {
+        this.listener = listener;
+    }
+
+    void saved(T entity) {
+        MutationListener<T> current = listener;
+        if (current != null) {
+            current.onSave(entity);
+        }
+    }
+
+    void deleted(String id) {
+        MutationListener<T> current = listener;
+        if (current != null) {
+            current.onDelete(id);
+        }
+    }
+
+    void afterCommit() {
+        MutationListener<T> current = listener;
+        if (current != null) {
+            current.afterCommit();
+        }
+    }
+}
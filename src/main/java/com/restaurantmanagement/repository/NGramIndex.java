@@ -0,0 +1,152 @@
+package com.restaurantmanagement.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Trigram inverted index for case-insensitive partial name search.
+ * Results match {@code text.toLowerCase().contains(query.toLowerCase())} exactly
+ * and are returned in insertion order.
+ *
+ * <p>Each entity gets a slot number in insertion order, and posting lists are
+ * sorted IntLists of slots, so a million names cost a few ints per trigram
+ * rather than a set node each. Removed or renamed entities leave stale slots
+ * behind; every candidate is verified against its current text anyway, and the
+ * postings are rebuilt once stale slots outnumber live ones.
+ */
+class NGramIndex<T> {
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_REBUILD_STALE = 1024;
+
+    private final Function<T, String> textExtractor;
+    private final Map<String, IntList> postings;
+    private final Map<String, Entry<T>> entriesById;
+    private final List<Entry<T>> entriesBySlot;
+    private long postingCount;
+    private long staleCount;
+
+    NGramIndex(Function<T, String> textExtractor) {
+        this.textExtractor = textExtractor;
+        this.postings = new HashMap<>();
+        this.entriesById = new HashMap<>();
+        this.entriesBySlot = new ArrayList<>();
+    }
+
+    /**
+     * Index an entity, re-indexing its grams only if its text changed.
+     */
+    void put(String id, T value) {
+        String text = textExtractor.apply(value);
+        String lowered = text != null ? text.toLowerCase() : null;
+        Entry<T> entry = entriesById.get(id);
+        if (entry != null) {
+            entry.value = value;
+            if (lowered != null && lowered.equals(entry.lowered)) {
+                return;
+            }
+            staleCount += gramCount(entry.lowered);
+            entry.lowered = lowered;
+        } else {
+            entry = new Entry<>(lowered, value, entriesBySlot.size());
+            entriesById.put(id, entry);
+            entriesBySlot.add(entry);
+        }
+        addGrams(entry);
+        compactIfStale();
+    }
+
+    /**
+     * Remove an entity from the index.
+     */
+    void remove(String id) {
+        Entry<T> entry = entriesById.remove(id);
+        if (entry != null) {
+            entriesBySlot.set(entry.slot, null);
+            staleCount += gramCount(entry.lowered);
+            compactIfStale();
+        }
+    }
+
+    /**
+     * Find entities whose text contains the query, ignoring case.
+     */
+    List<T> search(String query) {
+        String lowered = query.toLowerCase();
+        List<T> result = new ArrayList<>();
+        if (lowered.length() < GRAM_LENGTH) {
+            // Too short for a trigram lookup - scan the pre-lowered texts
+            for (Entry<T> entry : entriesBySlot) {
+                if (entry != null && entry.lowered != null && entry.lowered.contains(lowered)) {
+                    result.add(entry.value);
+                }
+            }
+            return result;
+        }
+        IntList candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= lowered.length(); i++) {
+            IntList posting = postings.get(lowered.substring(i, i + GRAM_LENGTH));
+            if (posting == null) {
+                return result;
+            }
+            if (candidates == null || posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+        // Verify against the current text; sharing every trigram is necessary, not sufficient,
+        // and the slot may be stale
+        for (int i = 0; i < candidates.size(); i++) {
+            Entry<T> entry = entriesBySlot.get(candidates.get(i));
+            if (entry != null && entry.lowered != null && entry.lowered.contains(lowered)) {
+                result.add(entry.value);
+            }
+        }
+        return result;
+    }
+
+    private void addGrams(Entry<T> entry) {
+        String text = entry.lowered;
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            IntList posting = postings.computeIfAbsent(text.substring(i, i + GRAM_LENGTH), g -> new IntList());
+            int before = posting.size();
+            // Sorted insert also drops a gram repeated within the same text
+            posting.addSorted(entry.slot);
+            postingCount += posting.size() - before;
+        }
+    }
+
+    private void compactIfStale() {
+        if (staleCount < MIN_REBUILD_STALE || staleCount * 2 < postingCount) {
+            return;
+        }
+        postings.clear();
+        postingCount = 0;
+        staleCount = 0;
+        for (Entry<T> entry : entriesBySlot) {
+            if (entry != null) {
+                addGrams(entry);
+            }
+        }
+    }
+
+    private static int gramCount(String text) {
+        return text == null ? 0 : Math.max(0, text.length() - GRAM_LENGTH + 1);
+    }
+
+    private static final class Entry<T> {
+        private final int slot;
+        private String lowered;
+        private T value;
+
+        private Entry(String lowered, T value, int slot) {
+            this.lowered = lowered;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Row storage keeping one InventoryTransaction object per row.
+ */
+class ObjectTransactionRows implements TransactionRows {
+    private final List<InventoryTransaction> rows;
+
+    ObjectTransactionRows() {
+        this.rows = new ArrayList<>();
+    }
+
+    @Override
+    public int append(InventoryTransaction transaction) {
+        rows.add(transaction);
+        return rows.size() - 1;
+    }
+
+    @Override
+    public void set(int position, InventoryTransaction transaction) {
+        rows.set(position, transaction);
+    }
+
+    @Override
+    public InventoryTransaction get(int position) {
+        return rows.get(position);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public String idAt(int position) {
+        return rows.get(position).getId();
+    }
+
+    @Override
+    public String itemIdAt(int position) {
+        return rows.get(position).getItemId();
+    }
+
+    @Override
+    public String staffIdAt(int position) {
+        return rows.get(position).getStaffId();
+    }
+
+    @Override
+    public String typeAt(int position) {
+        return rows.get(position).getType();
+    }
+
+    @Override
+    public LocalDateTime timestampAt(int position) {
+        return rows.get(position).getTimestamp();
+    }
+}
@@ -0,0 +1,38 @@
+package com.restaurantmanagement.repository;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query. The cursor is opaque: pass it back to
+ * the same query to fetch the following page. It is null on the last page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Check a page size argument.
+     */
+    public static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.restaurantmanagement.repository;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Read/write lock guarding a repository's store and its secondary indexes.
+ * Readers run concurrently; writers are exclusive.
+ */
+class RepositoryLock {
+    private final ReadWriteLock lock;
+
+    RepositoryLock() {
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
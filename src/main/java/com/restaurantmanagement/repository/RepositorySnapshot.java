@@ -0,0 +1,45 @@
+package com.restaurantmanagement.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Point-in-time, read-only view of a repository. Every read sees the entities
+ * exactly as they were committed when the snapshot was opened, however many
+ * saves and deletes happen meanwhile. Close it when done so that superseded
+ * versions can be reclaimed.
+ *
+ * <p>Returned entities may be shared with other snapshots and must not be modified.
+ */
+public interface RepositorySnapshot<T> extends AutoCloseable {
+
+    /**
+     * Version the snapshot reads at; later snapshots have equal or higher versions.
+     */
+    long getVersion();
+
+    Optional<T> findById(String id);
+
+    /**
+     * Stream every entity visible in the snapshot, in ID order. Repositories with
+     * an archive tier stream archived entities last, in archive order.
+     */
+    Stream<T> stream();
+
+    /**
+     * Entities matching a predicate, in {@link #stream} order.
+     */
+    default List<T> filter(Predicate<T> predicate) {
+        return stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    default List<T> findAll() {
+        return stream().collect(Collectors.toList());
+    }
+
+    @Override
+    void close();
+}
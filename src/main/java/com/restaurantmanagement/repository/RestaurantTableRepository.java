@@ -0,0 +1,41 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.RestaurantTable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for RestaurantTable entities.
+ */
+public interface RestaurantTableRepository {
+
+    /**
+     * Save a new table or update an existing one.
+     */
+    RestaurantTable save(RestaurantTable table);
+
+    /**
+     * Save several tables as one batch.
+     */
+    List<RestaurantTable> saveAll(Collection<RestaurantTable> tables);
+
+    Optional<RestaurantTable> findById(String id);
+
+    List<RestaurantTable> findAll();
+
+    /**
+     * Open a consistent point-in-time view of all tables without copying them.
+     * The caller must close it.
+     */
+    RepositorySnapshot<RestaurantTable> snapshot();
+
+    boolean deleteById(String id);
+
+    boolean existsById(String id);
+
+    /**
+     * Find tables in an area (case-insensitive exact match).
+     */
+    List<RestaurantTable> findByArea(String area);
+}
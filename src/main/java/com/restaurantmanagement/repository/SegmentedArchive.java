@@ -0,0 +1,222 @@
+package com.restaurantmanagement.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable sequence of {@link ArchiveSegment}s read as one. Record indexes and
+ * block numbers run through the segments in order, so adding a segment never
+ * moves existing records. Each archive run writes its records as a new segment
+ * and rewrites only the trailing segments that have become too small next to
+ * it (see {@link #compactionStart}), so a run costs the size of what it adds
+ * rather than the size of the whole archive.
+ */
+final class SegmentedArchive<T> {
+    // Every segment holds at least this many times the records of the ones after it
+    static final int MERGE_FACTOR = 2;
+
+    private final List<ArchiveSegment<T>> segments;
+    // First record index and first block number of each segment, plus the totals
+    private final int[] starts;
+    private final int[] blockStarts;
+
+    private SegmentedArchive(List<ArchiveSegment<T>> segments) {
+        this.segments = segments;
+        this.starts = new int[segments.size() + 1];
+        this.blockStarts = new int[segments.size() + 1];
+        for (int i = 0; i < segments.size(); i++) {
+            starts[i + 1] = starts[i] + segments.get(i).size();
+            blockStarts[i + 1] = blockStarts[i] + segments.get(i).blockCount();
+        }
+    }
+
+    static <T> SegmentedArchive<T> empty() {
+        return new SegmentedArchive<>(new ArrayList<>());
+    }
+
+    int size() {
+        return starts[segments.size()];
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Index of the first record in a segment, or {@link #size} for segmentCount().
+     */
+    int segmentStart(int segment) {
+        return starts[segment];
+    }
+
+    /**
+     * Compressed bytes held off the heap.
+     */
+    long sizeInBytes() {
+        long bytes = 0;
+        for (ArchiveSegment<T> segment : segments) {
+            bytes += segment.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * First segment to rewrite together with a new one of the given size: trailing
+     * segments are absorbed until the one before them is at least
+     * {@link #MERGE_FACTOR} times larger than everything being written.
+     */
+    int compactionStart(int incoming) {
+        int first = segments.size();
+        long total = incoming;
+        while (first > 0 && segments.get(first - 1).size() < total * MERGE_FACTOR) {
+            first--;
+            total += segments.get(first).size();
+        }
+        return first;
+    }
+
+    /**
+     * A copy with the segments from {@code first} on replaced by one segment.
+     */
+    SegmentedArchive<T> replaceFrom(int first, ArchiveSegment<T> segment) {
+        List<ArchiveSegment<T>> kept = new ArrayList<>(segments.subList(0, first));
+        if (segment.size() > 0) {
+            kept.add(segment);
+        }
+        return new SegmentedArchive<>(kept);
+    }
+
+    T get(int index) {
+        int segment = segmentOf(index);
+        return segments.get(segment).get(index - starts[segment]);
+    }
+
+    /**
+     * Index of the newest record with an ID, or -1. Older copies of the ID, if
+     * any, are ones the owner has since removed.
+     */
+    int indexOf(String id) {
+        for (int segment = segments.size() - 1; segment >= 0; segment--) {
+            int index = segments.get(segment).indexOf(id);
+            if (index >= 0) {
+                return starts[segment] + index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Record indexes in ascending order of their IDs, starting after the given
+     * ID, or from the first when it is null.
+     */
+    PrimitiveIterator.OfInt indexesAfter(String afterId) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing((Head head) -> head.cursor.id()));
+        for (int segment = 0; segment < segments.size(); segment++) {
+            ArchiveSegment<T>.IdCursor cursor = segments.get(segment).idCursor(afterId);
+            if (cursor.next()) {
+                heads.add(new Head(cursor, starts[segment]));
+            }
+        }
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public int nextInt() {
+                Head head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                int index = head.start + head.cursor.index();
+                if (head.cursor.next()) {
+                    heads.add(head);
+                }
+                return index;
+            }
+        };
+    }
+
+    int blockCount() {
+        return blockStarts[segments.size()];
+    }
+
+    /**
+     * Index of the first record in a block.
+     */
+    int blockStart(int block) {
+        int segment = segmentOfBlock(block);
+        return starts[segment] + segments.get(segment).blockStart(block - blockStarts[segment]);
+    }
+
+    /**
+     * Index just past the last record in a block.
+     */
+    int blockEnd(int block) {
+        int segment = segmentOfBlock(block);
+        return starts[segment] + segments.get(segment).blockEnd(block - blockStarts[segment]);
+    }
+
+    /**
+     * Block holding a record.
+     */
+    int blockOf(int index) {
+        int segment = segmentOf(index);
+        return blockStarts[segment] + segments.get(segment).blockOf(index - starts[segment]);
+    }
+
+    /**
+     * Whether any record in the block may have a key within [from, to].
+     */
+    boolean blockOverlaps(int block, long from, long to) {
+        int segment = segmentOfBlock(block);
+        return segments.get(segment).blockOverlaps(block - blockStarts[segment], from, to);
+    }
+
+    /**
+     * Blocks, in order, that may hold a record with a key within [from, to] and
+     * one of the given tags.
+     */
+    IntList matchingBlocks(long from, long to, long tagMask) {
+        IntList blocks = new IntList();
+        for (int segment = 0; segment < segments.size(); segment++) {
+            segments.get(segment).addMatchingBlocks(blocks, blockStarts[segment], from, to, tagMask);
+        }
+        return blocks;
+    }
+
+    int segmentOfBlock(int block) {
+        return last(blockStarts, block);
+    }
+
+    private int segmentOf(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size());
+        }
+        return last(starts, index);
+    }
+
+    /**
+     * The last segment whose start is not after the value; empty segments are never kept.
+     */
+    private int last(int[] segmentStarts, int value) {
+        int segment = Arrays.binarySearch(segmentStarts, 0, segments.size(), value);
+        return segment >= 0 ? segment : -segment - 2;
+    }
+
+    private final class Head {
+        private final ArchiveSegment<T>.IdCursor cursor;
+        private final int start;
+
+        private Head(ArchiveSegment<T>.IdCursor cursor, int start) {
+            this.cursor = cursor;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Shift;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interval index over shifts, kept globally and per employee.
+ * Shifts are indexed as [start, end) in seconds since the epoch, so an
+ * overnight shift is found on both of the dates it covers.
+ */
+class ShiftIntervalIndex {
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final IntervalTree<Shift> all;
+    private final Map<String, IntervalTree<Shift>> byEmployee;
+    // Interval each shift was indexed under, since entities are mutated in place before save
+    private final Map<String, Span> spansById;
+
+    ShiftIntervalIndex() {
+        this.all = new IntervalTree<>();
+        this.byEmployee = new HashMap<>();
+        this.spansById = new HashMap<>();
+    }
+
+    /**
+     * Index a shift, moving it if its employee or times changed since it was last indexed.
+     */
+    void put(Shift shift) {
+        remove(shift.getId());
+        if (shift.getDate() == null) {
+            return;
+        }
+        LocalTime startTime = shift.getStartTime() != null ? shift.getStartTime() : LocalTime.MIDNIGHT;
+        long start = toSeconds(shift.getDate(), startTime);
+        long end = shift.getEndTime() != null ? toSeconds(shift.getEndAt()) : start;
+        Span span = new Span(start, end, shift.getEmployeeId());
+
+        all.insert(span.start, span.end, shift.getId(), shift);
+        if (span.employeeId != null) {
+            byEmployee.computeIfAbsent(span.employeeId, e -> new IntervalTree<>())
+                    .insert(span.start, span.end, shift.getId(), shift);
+        }
+        spansById.put(shift.getId(), span);
+    }
+
+    /**
+     * Remove a shift from the index.
+     */
+    void remove(String id) {
+        Span span = spansById.remove(id);
+        if (span == null) {
+            return;
+        }
+        all.remove(span.start, id);
+        if (span.employeeId != null) {
+            IntervalTree<Shift> tree = byEmployee.get(span.employeeId);
+            tree.remove(span.start, id);
+            if (tree.isEmpty()) {
+                byEmployee.remove(span.employeeId);
+            }
+        }
+    }
+
+    /**
+     * Shifts of an employee, ordered by start.
+     */
+    List<Shift> findByEmployeeId(String employeeId) {
+        List<Shift> result = new ArrayList<>();
+        IntervalTree<Shift> tree = byEmployee.get(employeeId);
+        if (tree != null) {
+            tree.all(result);
+        }
+        return result;
+    }
+
+    /**
+     * Shifts worked on a date between startDate and endDate (inclusive),
+     * including overnight shifts from the day before, ordered by start.
+     */
+    List<Shift> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        List<Shift> result = new ArrayList<>();
+        all.overlapping(startOfDay(startDate), startOfDay(endDate) + SECONDS_PER_DAY, result);
+        return result;
+    }
+
+    /**
+     * Shifts overlapping [from, to), ordered by start.
+     */
+    List<Shift> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<Shift> result = new ArrayList<>();
+        all.overlapping(toSeconds(from), toSeconds(to), result);
+        return result;
+    }
+
+    /**
+     * Shifts of an employee overlapping [from, to), ordered by start.
+     */
+    List<Shift> findOverlapping(String employeeId, LocalDateTime from, LocalDateTime to) {
+        List<Shift> result = new ArrayList<>();
+        IntervalTree<Shift> tree = byEmployee.get(employeeId);
+        if (tree != null) {
+            tree.overlapping(toSeconds(from), toSeconds(to), result);
+        }
+        return result;
+    }
+
+    /**
+     * Shifts in progress at an instant (start inclusive, end exclusive).
+     */
+    List<Shift> findActiveAt(LocalDateTime instant) {
+        List<Shift> result = new ArrayList<>();
+        long at = toSeconds(instant);
+        all.overlapping(at, at + 1, result);
+        return result;
+    }
+
+    private static long startOfDay(LocalDate date) {
+        return date.toEpochDay() * SECONDS_PER_DAY;
+    }
+
+    private static long toSeconds(LocalDate date, LocalTime time) {
+        return startOfDay(date) + time.toSecondOfDay();
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return toSeconds(dateTime.toLocalDate(), dateTime.toLocalTime());
+    }
+
+    private static final class Span {
+        private final long start;
+        private final long end;
+        private final String employeeId;
+
+        private Span(long start, long end, String employeeId) {
+            this.start = start;
+            this.end = end;
+            this.employeeId = employeeId;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Shift;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for Shift entities.
+ */
+public interface ShiftRepository {
+
+    /**
+     * Save a new shift or update an existing one.
+     */
+    Shift save(Shift shift);
+
+    /**
+     * Save several shifts as one batch.
+     */
+    List<Shift> saveAll(Collection<Shift> shifts);
+
+    Optional<Shift> findById(String id);
+
+    List<Shift> findAll();
+
+    /**
+     * One page of shifts in ID order, following the cursor of the previous page
+     * (null for the first page).
+     */
+    Page<Shift> findPage(String cursor, int limit);
+
+    /**
+     * Open a consistent point-in-time view of all shifts without copying them.
+     * The caller must close it.
+     */
+    RepositorySnapshot<Shift> snapshot();
+
+    boolean deleteById(String id);
+
+    boolean existsById(String id);
+
+    /**
+     * Find shifts by employee ID, ordered by start.
+     */
+    List<Shift> findByEmployeeId(String employeeId);
+
+    /**
+     * Find shifts worked on a date, including overnight shifts from the day before, ordered by start.
+     */
+    List<Shift> findByDate(LocalDate date);
+
+    /**
+     * Find shifts worked on a date in the range, including overnight shifts
+     * from the day before it starts, ordered by start.
+     */
+    List<Shift> findByDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Find shifts overlapping the window [from, to).
+     */
+    List<Shift> findOverlapping(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Find shifts of an employee overlapping the window [from, to).
+     */
+    List<Shift> findByEmployeeOverlapping(String employeeId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Find shifts in progress at the given instant.
+     */
+    List<Shift> findActiveAt(LocalDateTime instant);
+}
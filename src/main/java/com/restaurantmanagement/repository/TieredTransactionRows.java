@@ -0,0 +1,174 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Transaction rows split into an archived prefix, kept off the heap in compressed
+ * segments ({@link SegmentedArchive}) keyed by timestamp, and a hot suffix in
+ * ordinary row storage. Positions are global and never move when rows are
+ * archived, so posting lists and page cursors stay valid across archiving.
+ */
+class TieredTransactionRows implements TransactionRows {
+    private final TransactionStorageMode hotMode;
+    // Archived rows saved again; the segment itself is never rewritten in place
+    private final NavigableMap<Integer, InventoryTransaction> archivedOverrides;
+    private SegmentedArchive<InventoryTransaction> archived;
+    private TransactionRows hot;
+    // Last archived row decoded for a key lookup, so filters read each row once
+    private volatile DecodedRow lastDecoded;
+
+    TieredTransactionRows(TransactionStorageMode hotMode) {
+        this.hotMode = hotMode;
+        this.archivedOverrides = new TreeMap<>();
+        this.archived = SegmentedArchive.empty();
+        this.hot = TransactionRows.create(hotMode);
+    }
+
+    @Override
+    public int append(InventoryTransaction transaction) {
+        return archived.size() + hot.append(transaction);
+    }
+
+    @Override
+    public void set(int position, InventoryTransaction transaction) {
+        if (position < archived.size()) {
+            archivedOverrides.put(position, transaction);
+            lastDecoded = null;
+        } else {
+            hot.set(position - archived.size(), transaction);
+        }
+    }
+
+    @Override
+    public InventoryTransaction get(int position) {
+        if (position < archived.size()) {
+            InventoryTransaction override = archivedOverrides.get(position);
+            return override != null ? override : archived.get(position);
+        }
+        return hot.get(position - archived.size());
+    }
+
+    @Override
+    public int size() {
+        return archived.size() + hot.size();
+    }
+
+    @Override
+    public String idAt(int position) {
+        return position < archived.size() ? archivedRow(position).getId() : hot.idAt(position - archived.size());
+    }
+
+    @Override
+    public String itemIdAt(int position) {
+        return position < archived.size() ? archivedRow(position).getItemId() : hot.itemIdAt(position - archived.size());
+    }
+
+    @Override
+    public String staffIdAt(int position) {
+        return position < archived.size() ? archivedRow(position).getStaffId() : hot.staffIdAt(position - archived.size());
+    }
+
+    @Override
+    public String typeAt(int position) {
+        return position < archived.size() ? archivedRow(position).getType() : hot.typeAt(position - archived.size());
+    }
+
+    @Override
+    public LocalDateTime timestampAt(int position) {
+        return position < archived.size() ? archivedRow(position).getTimestamp() : hot.timestampAt(position - archived.size());
+    }
+
+    /**
+     * Number of rows in the archived prefix.
+     */
+    int archivedSize() {
+        return archived.size();
+    }
+
+    /**
+     * Position of an archived transaction, or -1.
+     */
+    int archivedPosition(String id) {
+        return archived.indexOf(id);
+    }
+
+    /**
+     * The first position from the given one whose row may have a timestamp in
+     * [from, until), skipping archived blocks whose timestamp range lies outside
+     * it; either bound may be null. Rows saved again since archiving are never skipped.
+     */
+    int nextCandidate(int position, LocalDateTime from, LocalDateTime until) {
+        long low = from != null ? ArchiveCodecs.epochSecond(from) : Long.MIN_VALUE;
+        long high = until != null ? ArchiveCodecs.epochSecond(until) - 1 : Long.MAX_VALUE;
+        int next = position;
+        while (next < archived.size()) {
+            int block = archived.blockOf(next);
+            int end = archived.blockEnd(block);
+            Integer override = archivedOverrides.ceilingKey(next);
+            if (archived.blockOverlaps(block, low, high) || (override != null && override < end)) {
+                return next;
+            }
+            next = end;
+        }
+        return next;
+    }
+
+    /**
+     * Move the hot rows before {@code end} into a new archive segment, together
+     * with the trailing segments {@link SegmentedArchive#compactionStart} picks,
+     * and rebuild the hot rows from the rest.
+     */
+    void archiveBefore(int end, Path directory) throws IOException {
+        int start = archived.size();
+        if (end <= start) {
+            return;
+        }
+        int first = archived.compactionStart(end - start);
+        int from = archived.segmentStart(first);
+        ArchiveSegment<InventoryTransaction> segment;
+        try (ArchiveSegment.Writer<InventoryTransaction> writer = ArchiveSegment.writer(directory, ArchiveCodecs.TRANSACTION)) {
+            for (int position = from; position < end; position++) {
+                writer.add(get(position));
+            }
+            segment = writer.finish();
+        }
+        TransactionRows rest = TransactionRows.create(hotMode);
+        for (int position = end - start; position < hot.size(); position++) {
+            rest.append(hot.get(position));
+        }
+        archived = archived.replaceFrom(first, segment);
+        hot = rest;
+        // Rewritten rows now hold their latest version
+        archivedOverrides.tailMap(from).clear();
+        lastDecoded = null;
+    }
+
+    private InventoryTransaction archivedRow(int position) {
+        InventoryTransaction override = archivedOverrides.get(position);
+        if (override != null) {
+            return override;
+        }
+        DecodedRow cached = lastDecoded;
+        if (cached != null && cached.position == position) {
+            return cached.transaction;
+        }
+        InventoryTransaction transaction = archived.get(position);
+        lastDecoded = new DecodedRow(position, transaction);
+        return transaction;
+    }
+
+    private static final class DecodedRow {
+        private final int position;
+        private final InventoryTransaction transaction;
+
+        private DecodedRow(int position, InventoryTransaction transaction) {
+            this.position = position;
+            this.transaction = transaction;
+        }
+    }
+}
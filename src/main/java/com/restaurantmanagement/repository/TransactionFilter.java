@@ -0,0 +1,99 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for walking the transaction history. Null fields match everything;
+ * the date range is inclusive on both ends.
+ */
+public class TransactionFilter {
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+    private final String itemId;
+    private final String staffId;
+
+    public TransactionFilter(LocalDate fromDate, LocalDate toDate, String itemId, String staffId) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.itemId = itemId;
+        this.staffId = staffId;
+    }
+
+    /**
+     * A filter matching every transaction.
+     */
+    public static TransactionFilter all() {
+        return new TransactionFilter(null, null, null, null);
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public String getStaffId() {
+        return staffId;
+    }
+
+    /**
+     * Inclusive lower timestamp bound, or null.
+     */
+    public LocalDateTime getFrom() {
+        return fromDate != null ? fromDate.atStartOfDay() : null;
+    }
+
+    /**
+     * Exclusive upper timestamp bound, or null.
+     */
+    public LocalDateTime getUntil() {
+        return toDate != null ? toDate.plusDays(1).atStartOfDay() : null;
+    }
+
+    public boolean hasDateRange() {
+        return fromDate != null || toDate != null;
+    }
+
+    /**
+     * Whether a timestamp falls in the date range. Transactions without a timestamp
+     * only match when no range is set.
+     */
+    public boolean matchesTimestamp(LocalDateTime timestamp) {
+        if (!hasDateRange()) {
+            return true;
+        }
+        if (timestamp == null) {
+            return false;
+        }
+        LocalDateTime from = getFrom();
+        LocalDateTime until = getUntil();
+        return (from == null || !timestamp.isBefore(from)) && (until == null || timestamp.isBefore(until));
+    }
+
+    public boolean matches(InventoryTransaction transaction) {
+        return (itemId == null || itemId.equals(transaction.getItemId()))
+                && (staffId == null || staffId.equals(transaction.getStaffId()))
+                && matchesTimestamp(transaction.getTimestamp());
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionFilter{" +
+                "fromDate=" + fromDate +
+                ", toDate=" + toDate +
+                ", itemId='" + itemId + '\'' +
+                ", staffId='" + staffId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import java.time.LocalDateTime;
+
+/**
+ * Positional row storage behind InMemoryInventoryTransactionRepository.
+ */
+interface TransactionRows {
+
+    /**
+     * Append a transaction and return its position.
+     */
+    int append(InventoryTransaction transaction);
+
+    /**
+     * Replace the transaction stored at a position.
+     */
+    void set(int position, InventoryTransaction transaction);
+
+    InventoryTransaction get(int position);
+
+    int size();
+
+    String idAt(int position);
+
+    String itemIdAt(int position);
+
+    String staffIdAt(int position);
+
+    String typeAt(int position);
+
+    LocalDateTime timestampAt(int position);
+
+    static TransactionRows create(TransactionStorageMode mode) {
+        return mode == TransactionStorageMode.COLUMNAR ? new ColumnarTransactionRows() : new ObjectTransactionRows();
+    }
+}
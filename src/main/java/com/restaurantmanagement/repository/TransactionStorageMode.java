@@ -0,0 +1,11 @@
+package com.restaurantmanagement.repository;
+
+/**
+ * Storage layout used by InMemoryInventoryTransactionRepository.
+ */
+public enum TransactionStorageMode {
+    /** One InventoryTransaction object per row. */
+    OBJECT,
+    /** Primitive and dictionary-encoded columns; entities are materialized on read. */
+    COLUMNAR
+}
@@ -0,0 +1,262 @@
+package com.restaurantmanagement.repository;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Multi-version copy of a repository's entities that serves snapshot reads
+ * without taking the repository lock.
+ *
+ * <p>Each ID maps to a chain of frozen copies, newest first, tagged with the
+ * version of the commit that wrote them; a delete adds a tombstone. Writers,
+ * holding the repository write lock, add versions with {@link #put} and
+ * {@link #remove} and publish them all at once with {@link #commit}. A snapshot
+ * only records the committed version when it opens, then picks from each chain
+ * the newest entry at or below it. Entries no open snapshot can see are cut off
+ * when the chain is next written, and deleted IDs are dropped once every open
+ * snapshot was opened after the delete.
+ *
+ * <p>Entities can also live in an immutable {@link Base}, such as an archive
+ * tier, published together with a commit. An ID is read from the base when its
+ * chain has no live entry at the snapshot's version; the owner keeps the two
+ * disjoint by removing an entity from one in the same commit it enters the other.
+ */
+class VersionedEntities<T> {
+    private final ConcurrentSkipListMap<String, Version<T>> heads;
+    private final UnaryOperator<T> copier;
+    // Open snapshot versions and how many snapshots hold each; guarded by itself
+    private final TreeMap<Long, Integer> openVersions;
+    // Deletes whose tombstones may still be visible to an open snapshot; writers only
+    private final Deque<Tombstone> tombstones;
+    private volatile Committed<T> committed;
+    private Base<T> pendingBase;
+    private boolean dirty;
+
+    VersionedEntities(UnaryOperator<T> copier) {
+        this.heads = new ConcurrentSkipListMap<>();
+        this.copier = copier;
+        this.openVersions = new TreeMap<>();
+        this.tombstones = new ArrayDeque<>();
+        this.committed = new Committed<>(0, null);
+    }
+
+    /**
+     * Immutable entities outside the version chains.
+     */
+    interface Base<T> {
+
+        Optional<T> findById(String id);
+
+        /**
+         * Every entity, in the base's own order.
+         */
+        Iterator<T> iterator();
+    }
+
+    /**
+     * Record a frozen copy of a saved entity. Caller holds the repository write lock.
+     */
+    void put(String id, T entity) {
+        append(id, copier.apply(entity));
+    }
+
+    /**
+     * Record the deletion of an entity. Caller holds the repository write lock.
+     */
+    void remove(String id) {
+        if (heads.containsKey(id)) {
+            append(id, null);
+            tombstones.add(new Tombstone(id, committed.version + 1));
+        }
+    }
+
+    /**
+     * Replace the base at the next commit. Caller holds the repository write lock.
+     */
+    void setBase(Base<T> base) {
+        pendingBase = base;
+        dirty = true;
+    }
+
+    /**
+     * Make the versions recorded since the last commit visible to new snapshots.
+     * Caller holds the repository write lock.
+     */
+    void commit() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        committed = new Committed<>(committed.version + 1, pendingBase);
+        long horizon = horizon();
+        while (!tombstones.isEmpty() && tombstones.peek().version <= horizon) {
+            Tombstone tombstone = tombstones.poll();
+            Version<T> head = heads.get(tombstone.id);
+            // Skip IDs saved again after the delete
+            if (head != null && head.value == null && head.version == tombstone.version) {
+                heads.remove(tombstone.id, head);
+            }
+        }
+    }
+
+    /**
+     * Open a snapshot of the committed state. O(1) and never waits for writers.
+     */
+    RepositorySnapshot<T> snapshot() {
+        Committed<T> view;
+        synchronized (openVersions) {
+            view = committed;
+            openVersions.merge(view.version, 1, Integer::sum);
+        }
+        return new Snapshot(view.version, view.base);
+    }
+
+    private void append(String id, T value) {
+        long version = committed.version + 1;
+        Version<T> head = heads.get(id);
+        if (head != null && head.version == version) {
+            // Written twice in one commit - only the last write is ever visible
+            head = head.older;
+        }
+        heads.put(id, new Version<>(version, value, prune(head, horizon())));
+        dirty = true;
+    }
+
+    /**
+     * Cut a chain below the newest entry at or below the horizon; no snapshot
+     * can reach past it.
+     */
+    private static <T> Version<T> prune(Version<T> head, long horizon) {
+        for (Version<T> version = head; version != null; version = version.older) {
+            if (version.version <= horizon) {
+                version.older = null;
+                break;
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Oldest version any open or future snapshot can read at.
+     */
+    private long horizon() {
+        synchronized (openVersions) {
+            long version = committed.version;
+            return openVersions.isEmpty() ? version : Math.min(openVersions.firstKey(), version);
+        }
+    }
+
+    private void release(long version) {
+        synchronized (openVersions) {
+            openVersions.computeIfPresent(version, (v, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static <T> T visible(Version<T> head, long version) {
+        for (Version<T> entry = head; entry != null; entry = entry.older) {
+            if (entry.version <= version) {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    private final class Snapshot implements RepositorySnapshot<T> {
+        private final long version;
+        private final Base<T> base;
+        private boolean closed;
+
+        private Snapshot(long version, Base<T> base) {
+            this.version = version;
+            this.base = base;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public Optional<T> findById(String id) {
+            checkOpen();
+            T value = visible(heads.get(id), version);
+            if (value == null && base != null) {
+                return base.findById(id);
+            }
+            return Optional.ofNullable(value);
+        }
+
+        @Override
+        public Stream<T> stream() {
+            checkOpen();
+            Stream<T> chains = heads.values().stream()
+                    .map(head -> visible(head, version))
+                    .filter(Objects::nonNull);
+            if (base == null) {
+                return chains;
+            }
+            // Disjoint from the chains, so the base can simply follow them
+            return Stream.concat(chains, StreamSupport.stream(Spliterators.spliteratorUnknownSize(base.iterator(),
+                    Spliterator.ORDERED | Spliterator.NONNULL), false));
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(version);
+            }
+        }
+
+        private synchronized void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("Snapshot is closed");
+            }
+        }
+    }
+
+    private static final class Version<T> {
+        private final long version;
+        private final T value;
+        private volatile Version<T> older;
+
+        private Version(long version, T value, Version<T> older) {
+            this.version = version;
+            this.value = value;
+            this.older = older;
+        }
+    }
+
+    /**
+     * Committed version and the base published with it, read together by snapshots.
+     */
+    private static final class Committed<T> {
+        private final long version;
+        private final Base<T> base;
+
+        private Committed(long version, Base<T> base) {
+            this.version = version;
+            this.base = base;
+        }
+    }
+
+    private static final class Tombstone {
+        private final String id;
+        private final long version;
+
+        private Tombstone(String id, long version) {
+            this.id = id;
+            this.version = version;
+        }
+    }
+}
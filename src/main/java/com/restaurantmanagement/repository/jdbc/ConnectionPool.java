@@ -0,0 +1,102 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small fixed-size connection pool. Connections are opened lazily up to the
+ * maximum and handed out one caller at a time.
+ */
+class ConnectionPool {
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+    private final String url;
+    private final int maxSize;
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> all;
+    private boolean closed;
+
+    ConnectionPool(String url, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.all = new ArrayList<>(maxSize);
+    }
+
+    /**
+     * Open a connection that is not part of the pool, for long-lived work such as snapshots.
+     */
+    Connection openDedicated() throws SQLException {
+        synchronized (this) {
+            if (closed) {
+                throw new SQLException("Connection pool is closed");
+            }
+        }
+        return DriverManager.getConnection(url);
+    }
+
+    PooledConnection borrow() throws SQLException {
+        PooledConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new SQLException("Connection pool is closed");
+            }
+            if (all.size() < maxSize) {
+                connection = new PooledConnection(DriverManager.getConnection(url));
+                all.add(connection);
+                return connection;
+            }
+        }
+        try {
+            connection = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection", e);
+        }
+        if (connection == null) {
+            throw new SQLException("Timed out waiting for a connection");
+        }
+        return connection;
+    }
+
+    /**
+     * Return a connection to the pool, or discard it if it failed mid-use.
+     */
+    void release(PooledConnection connection, boolean broken) {
+        if (broken) {
+            synchronized (this) {
+                all.remove(connection);
+            }
+            connection.close();
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                connection.close();
+                return;
+            }
+        }
+        idle.add(connection);
+    }
+
+    synchronized void close() {
+        closed = true;
+        for (PooledConnection connection : all) {
+            connection.close();
+        }
+        all.clear();
+        idle.clear();
+    }
+}
@@ -0,0 +1,123 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.repository.BookingRepository;
+import com.restaurantmanagement.repository.IdAllocator;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Booking repository stored in the embedded database.
+ */
+public class JdbcBookingRepository implements BookingRepository {
+    private static final String[] COLUMNS = {
+        "id", "customer_name", "phone_number", "number_of_guests", "booking_date", "start_time", "table_id", "status"
+    };
+    private static final String BY_TIME = " ORDER BY start_time NULLS FIRST, seq";
+
+    private final JdbcTable<Booking> table;
+
+    public JdbcBookingRepository(JdbcDatabase database) {
+        this(database, new IdAllocator("BK"));
+    }
+
+    public JdbcBookingRepository(JdbcDatabase database, IdAllocator idAllocator) {
+        this.table = new JdbcTable<>(database, "bookings", COLUMNS,
+                row -> new Booking(row.getString(1), row.getString(2), row.getString(3), row.getInt(4),
+                        row.getObject(5, LocalDate.class), row.getObject(6, LocalTime.class),
+                        row.getString(7), row.getString(8)),
+                (statement, booking) -> JdbcDatabase.bind(statement, booking.getId(), booking.getCustomerName(),
+                        booking.getPhoneNumber(), booking.getNumberOfGuests(), booking.getDate(),
+                        booking.getStartTime(), booking.getTableId(), booking.getStatus()),
+                Booking::getId, Booking::setId, idAllocator);
+    }
+
+    @Override
+    public Booking save(Booking booking) {
+        return table.save(booking);
+    }
+
+    @Override
+    public List<Booking> saveAll(Collection<Booking> batch) {
+        return table.saveAll(batch);
+    }
+
+    @Override
+    public Optional<Booking> findById(String id) {
+        return table.findById(id);
+    }
+
+    @Override
+    public List<Booking> findAll() {
+        return table.findAll();
+    }
+
+    @Override
+    public Page<Booking> findPage(String cursor, int limit) {
+        return table.pageById(cursor, limit);
+    }
+
+    @Override
+    public RepositorySnapshot<Booking> snapshot() {
+        return table.snapshot();
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return table.deleteById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return table.existsById(id);
+    }
+
+    @Override
+    public List<Booking> findByDate(LocalDate date) {
+        return table.select("WHERE booking_date = ?" + BY_TIME, date);
+    }
+
+    @Override
+    public List<Booking> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        return table.select("WHERE booking_date BETWEEN ? AND ? ORDER BY booking_date, start_time NULLS FIRST, seq",
+                startDate, endDate);
+    }
+
+    @Override
+    public List<Booking> findByDateAndTime(LocalDate date, LocalTime fromTime, LocalTime toTime) {
+        return table.select("WHERE booking_date = ? AND start_time >= ? AND start_time < ?" + BY_TIME,
+                date, fromTime, toTime);
+    }
+
+    @Override
+    public List<Booking> findByStatus(String status) {
+        return table.select("WHERE status = ? ORDER BY seq", status);
+    }
+
+    @Override
+    public List<Booking> findByStatus(BookingStatus status) {
+        return findByStatus(status.name());
+    }
+
+    @Override
+    public int countByStatus(BookingStatus status) {
+        return table.count("WHERE status = ?", status.name());
+    }
+
+    @Override
+    public int countByDateAndStatus(LocalDate date, BookingStatus status) {
+        return table.count("WHERE status = ? AND booking_date = ?", status.name(), date);
+    }
+
+    @Override
+    public List<Booking> findByCustomerName(String name) {
+        return table.select("WHERE LOWER(customer_name) LIKE ? ESCAPE '\\' ORDER BY seq",
+                JdbcDatabase.containsPattern(name));
+    }
+}
@@ -0,0 +1,247 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded, file-based H2 database shared by the JDBC repositories.
+ * Owns the connection pool and creates the schema and its indexes on open.
+ */
+public class JdbcDatabase implements Closeable {
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS bookings ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, id VARCHAR(32) PRIMARY KEY, "
+            + "customer_name VARCHAR(255), phone_number VARCHAR(64), number_of_guests INT, "
+            + "booking_date DATE, start_time TIME, table_id VARCHAR(32), status VARCHAR(32))",
+        "CREATE INDEX IF NOT EXISTS idx_bookings_date ON bookings (booking_date, start_time)",
+        "CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings (status, booking_date)",
+
+        "CREATE TABLE IF NOT EXISTS employees ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, id VARCHAR(32) PRIMARY KEY, "
+            + "name VARCHAR(255), position VARCHAR(64), phone_number VARCHAR(64), email VARCHAR(255))",
+
+        "CREATE TABLE IF NOT EXISTS restaurant_tables ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, id VARCHAR(32) PRIMARY KEY, "
+            + "capacity INT, area VARCHAR(64))",
+
+        "CREATE TABLE IF NOT EXISTS shifts ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, id VARCHAR(32) PRIMARY KEY, "
+            + "employee_id VARCHAR(32), employee_name VARCHAR(255), shift_date DATE, "
+            + "start_time TIME, end_time TIME, shift_type VARCHAR(32), "
+            + "start_at TIMESTAMP, end_at TIMESTAMP)",
+        "CREATE INDEX IF NOT EXISTS idx_shifts_employee ON shifts (employee_id, start_at)",
+        "CREATE INDEX IF NOT EXISTS idx_shifts_date ON shifts (shift_date, start_at)",
+        "CREATE INDEX IF NOT EXISTS idx_shifts_date_end ON shifts (shift_date, end_at)",
+        "CREATE INDEX IF NOT EXISTS idx_shifts_start ON shifts (start_at)",
+
+        "CREATE TABLE IF NOT EXISTS inventory_items ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, id VARCHAR(32) PRIMARY KEY, "
+            + "name VARCHAR(255), category VARCHAR(64), unit VARCHAR(32), quantity DOUBLE PRECISION, "
+            + "minimum_threshold DOUBLE PRECISION, supplier_name VARCHAR(255), "
+            + "storage_location VARCHAR(64), last_updated DATE)",
+        "CREATE INDEX IF NOT EXISTS idx_items_category ON inventory_items (category)",
+
+        "CREATE TABLE IF NOT EXISTS inventory_transactions ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY, id VARCHAR(32) PRIMARY KEY, "
+            + "item_id VARCHAR(32), item_name VARCHAR(255), quantity DOUBLE PRECISION, type VARCHAR(16), "
+            + "reason VARCHAR(64), staff_id VARCHAR(32), staff_name VARCHAR(255), created_at TIMESTAMP)",
+        "CREATE INDEX IF NOT EXISTS idx_transactions_item ON inventory_transactions (item_id, seq)",
+        "CREATE INDEX IF NOT EXISTS idx_transactions_staff ON inventory_transactions (staff_id, seq)",
+        "CREATE INDEX IF NOT EXISTS idx_transactions_type ON inventory_transactions (type, seq)",
+        "CREATE INDEX IF NOT EXISTS idx_transactions_seq ON inventory_transactions (seq)",
+        // H2 only walks an index in its own direction, so newest-first pages need their own
+        "CREATE INDEX IF NOT EXISTS idx_transactions_seq_desc ON inventory_transactions (seq DESC)",
+    };
+
+    private final ConnectionPool pool;
+    private final AtomicLong snapshotVersions = new AtomicLong();
+
+    JdbcDatabase(String url, int poolSize) {
+        this.pool = new ConnectionPool(url, poolSize);
+        withConnection(connection -> {
+            try (Statement statement = connection.connection().createStatement()) {
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Open (or create) the database stored at the given path, without file extension.
+     */
+    public static JdbcDatabase open(Path file) {
+        return open(file, DEFAULT_POOL_SIZE);
+    }
+
+    public static JdbcDatabase open(Path file, int poolSize) {
+        return new JdbcDatabase("jdbc:h2:file:" + file.toAbsolutePath(), poolSize);
+    }
+
+    /**
+     * Open a private in-memory database, e.g. for benchmarks.
+     */
+    public static JdbcDatabase openInMemory(String name) {
+        return new JdbcDatabase("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", DEFAULT_POOL_SIZE);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    interface SqlWork<T> {
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    interface RowMapper<T> {
+        T map(ResultSet row) throws SQLException;
+    }
+
+    /**
+     * Open a repeatable-read transaction on a dedicated connection and pin it to the
+     * current state of a table. H2 fixes a table's snapshot on first access, so the
+     * table is touched before returning.
+     */
+    Connection openSnapshot(String table) {
+        Connection connection = null;
+        try {
+            connection = pool.openDedicated();
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT 1 FROM " + table + " LIMIT 1").close();
+            }
+            return connection;
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw new JdbcException("Cannot open a snapshot of " + table, e);
+        }
+    }
+
+    /**
+     * Number for a new snapshot; increases with every snapshot opened.
+     */
+    long nextSnapshotVersion() {
+        return snapshotVersions.incrementAndGet();
+    }
+
+    /**
+     * Run work on a pooled connection in auto-commit mode.
+     */
+    <T> T withConnection(SqlWork<T> work) {
+        PooledConnection connection;
+        try {
+            connection = pool.borrow();
+        } catch (SQLException e) {
+            throw new JdbcException("Cannot obtain a database connection", e);
+        }
+        boolean broken = false;
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            broken = true;
+            throw new JdbcException(e.getMessage(), e);
+        } catch (RuntimeException e) {
+            broken = true;
+            throw e;
+        } finally {
+            pool.release(connection, broken);
+        }
+    }
+
+    /**
+     * Run work on a pooled connection inside one transaction.
+     */
+    <T> T inTransaction(SqlWork<T> work) {
+        return withConnection(connection -> {
+            Connection raw = connection.connection();
+            raw.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                raw.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                raw.rollback();
+                throw e;
+            } finally {
+                raw.setAutoCommit(true);
+            }
+        });
+    }
+
+    <T> List<T> query(String sql, RowMapper<T> mapper, Object... parameters) {
+        return withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(sql);
+            bind(statement, parameters);
+            List<T> result = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    result.add(mapper.map(rows));
+                }
+            }
+            return result;
+        });
+    }
+
+    int queryInt(String sql, Object... parameters) {
+        return withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(sql);
+            bind(statement, parameters);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? rows.getInt(1) : 0;
+            }
+        });
+    }
+
+    int update(String sql, Object... parameters) {
+        return withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(sql);
+            bind(statement, parameters);
+            return statement.executeUpdate();
+        });
+    }
+
+    /**
+     * Highest ID in a table; IDs are fixed-width so string order is numeric order.
+     */
+    String maxId(String table) {
+        List<String> ids = query("SELECT MAX(id) FROM " + table, row -> row.getString(1));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    /**
+     * LIKE pattern matching the text anywhere, with wildcards in it escaped.
+     */
+    static String containsPattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
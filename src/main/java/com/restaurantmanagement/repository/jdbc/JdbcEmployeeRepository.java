@@ -0,0 +1,77 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.model.Employee;
+import com.restaurantmanagement.repository.EmployeeRepository;
+import com.restaurantmanagement.repository.IdAllocator;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Employee repository stored in the embedded database.
+ */
+public class JdbcEmployeeRepository implements EmployeeRepository {
+    private static final String[] COLUMNS = {"id", "name", "position", "phone_number", "email"};
+
+    private final JdbcTable<Employee> table;
+
+    public JdbcEmployeeRepository(JdbcDatabase database) {
+        this(database, new IdAllocator("EMP"));
+    }
+
+    public JdbcEmployeeRepository(JdbcDatabase database, IdAllocator idAllocator) {
+        this.table = new JdbcTable<>(database, "employees", COLUMNS,
+                row -> new Employee(row.getString(1), row.getString(2), row.getString(3),
+                        row.getString(4), row.getString(5)),
+                (statement, employee) -> JdbcDatabase.bind(statement, employee.getId(), employee.getName(),
+                        employee.getPosition(), employee.getPhoneNumber(), employee.getEmail()),
+                Employee::getId, Employee::setId, idAllocator);
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        return table.save(employee);
+    }
+
+    @Override
+    public List<Employee> saveAll(Collection<Employee> batch) {
+        return table.saveAll(batch);
+    }
+
+    @Override
+    public Optional<Employee> findById(String id) {
+        return table.findById(id);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return table.findAll();
+    }
+
+    @Override
+    public Page<Employee> findPage(String cursor, int limit) {
+        return table.pageById(cursor, limit);
+    }
+
+    @Override
+    public RepositorySnapshot<Employee> snapshot() {
+        return table.snapshot();
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return table.deleteById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return table.existsById(id);
+    }
+
+    @Override
+    public List<Employee> findByName(String name) {
+        return table.select("WHERE LOWER(name) LIKE ? ESCAPE '\\' ORDER BY seq", JdbcDatabase.containsPattern(name));
+    }
+}
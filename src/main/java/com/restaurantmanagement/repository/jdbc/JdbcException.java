@@ -0,0 +1,16 @@
+package com.restaurantmanagement.repository.jdbc;
+
+/**
+ * Unchecked wrapper for SQL failures in the JDBC repositories.
+ */
+public class JdbcException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JdbcException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public JdbcException(String message) {
+        super(message);
+    }
+}
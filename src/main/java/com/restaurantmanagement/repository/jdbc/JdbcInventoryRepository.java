@@ -0,0 +1,96 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.model.InventoryItem;
+import com.restaurantmanagement.repository.IdAllocator;
+import com.restaurantmanagement.repository.InventoryRepository;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Inventory item repository stored in the embedded database.
+ */
+public class JdbcInventoryRepository implements InventoryRepository {
+    private static final String[] COLUMNS = {
+        "id", "name", "category", "unit", "quantity", "minimum_threshold", "supplier_name", "storage_location",
+        "last_updated"
+    };
+
+    private final JdbcTable<InventoryItem> table;
+
+    public JdbcInventoryRepository(JdbcDatabase database) {
+        this(database, new IdAllocator("INV"));
+    }
+
+    public JdbcInventoryRepository(JdbcDatabase database, IdAllocator idAllocator) {
+        this.table = new JdbcTable<>(database, "inventory_items", COLUMNS,
+                row -> {
+                    InventoryItem item = new InventoryItem(row.getString(1), row.getString(2), row.getString(3),
+                            row.getString(4), row.getDouble(5), row.getDouble(6), row.getString(7), row.getString(8));
+                    item.setLastUpdated(row.getObject(9, LocalDate.class));
+                    return item;
+                },
+                (statement, item) -> JdbcDatabase.bind(statement, item.getId(), item.getName(), item.getCategory(),
+                        item.getUnit(), item.getQuantity(), item.getMinimumThreshold(), item.getSupplierName(),
+                        item.getStorageLocation(), item.getLastUpdated()),
+                InventoryItem::getId, InventoryItem::setId, idAllocator);
+    }
+
+    @Override
+    public InventoryItem save(InventoryItem item) {
+        return table.save(item);
+    }
+
+    @Override
+    public List<InventoryItem> saveAll(Collection<InventoryItem> batch) {
+        return table.saveAll(batch);
+    }
+
+    @Override
+    public Optional<InventoryItem> findById(String id) {
+        return table.findById(id);
+    }
+
+    @Override
+    public List<InventoryItem> findAll() {
+        return table.findAll();
+    }
+
+    @Override
+    public Page<InventoryItem> findPage(String cursor, int limit) {
+        return table.pageById(cursor, limit);
+    }
+
+    @Override
+    public RepositorySnapshot<InventoryItem> snapshot() {
+        return table.snapshot();
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return table.deleteById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return table.existsById(id);
+    }
+
+    @Override
+    public List<InventoryItem> findByName(String name) {
+        return table.select("WHERE LOWER(name) LIKE ? ESCAPE '\\' ORDER BY seq", JdbcDatabase.containsPattern(name));
+    }
+
+    @Override
+    public List<InventoryItem> findByCategory(String category) {
+        return table.select("WHERE category = ? ORDER BY seq", category);
+    }
+
+    @Override
+    public List<InventoryItem> findLowStockItems() {
+        return table.select("WHERE quantity <= minimum_threshold ORDER BY seq");
+    }
+}
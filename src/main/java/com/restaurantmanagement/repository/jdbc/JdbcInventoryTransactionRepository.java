@@ -0,0 +1,107 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.model.InventoryTransaction;
+import com.restaurantmanagement.repository.IdAllocator;
+import com.restaurantmanagement.repository.InventoryTransactionRepository;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.TransactionFilter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Inventory transaction history stored in the embedded database.
+ */
+public class JdbcInventoryTransactionRepository implements InventoryTransactionRepository {
+    private static final String[] COLUMNS = {
+        "id", "item_id", "item_name", "quantity", "type", "reason", "staff_id", "staff_name", "created_at"
+    };
+
+    private final JdbcTable<InventoryTransaction> table;
+
+    public JdbcInventoryTransactionRepository(JdbcDatabase database) {
+        this(database, new IdAllocator("TXN"));
+    }
+
+    public JdbcInventoryTransactionRepository(JdbcDatabase database, IdAllocator idAllocator) {
+        this.table = new JdbcTable<>(database, "inventory_transactions", COLUMNS,
+                row -> {
+                    InventoryTransaction transaction = new InventoryTransaction(row.getString(1), row.getString(2),
+                            row.getString(3), row.getDouble(4), row.getString(5), row.getString(6),
+                            row.getString(7), row.getString(8));
+                    transaction.setTimestamp(row.getObject(9, LocalDateTime.class));
+                    return transaction;
+                },
+                (statement, transaction) -> JdbcDatabase.bind(statement, transaction.getId(),
+                        transaction.getItemId(), transaction.getItemName(), transaction.getQuantity(),
+                        transaction.getType(), transaction.getReason(), transaction.getStaffId(),
+                        transaction.getStaffName(), transaction.getTimestamp()),
+                InventoryTransaction::getId, InventoryTransaction::setId, idAllocator);
+    }
+
+    @Override
+    public InventoryTransaction save(InventoryTransaction transaction) {
+        return table.save(transaction);
+    }
+
+    @Override
+    public List<InventoryTransaction> saveAll(Collection<InventoryTransaction> batch) {
+        return table.saveAll(batch);
+    }
+
+    @Override
+    public Optional<InventoryTransaction> findById(String id) {
+        return table.findById(id);
+    }
+
+    @Override
+    public List<InventoryTransaction> findAll() {
+        return table.findAll();
+    }
+
+    @Override
+    public Page<InventoryTransaction> findPage(String cursor, int limit) {
+        return table.pageBySeqDescending(cursor, limit);
+    }
+
+    @Override
+    public List<InventoryTransaction> findByItemId(String itemId) {
+        return table.select("WHERE item_id = ? ORDER BY seq", itemId);
+    }
+
+    @Override
+    public List<InventoryTransaction> findByType(String type) {
+        return table.select("WHERE type = ? ORDER BY seq", type);
+    }
+
+    @Override
+    public List<InventoryTransaction> findByStaffId(String staffId) {
+        return table.select("WHERE staff_id = ? ORDER BY seq", staffId);
+    }
+
+    @Override
+    public Iterator<InventoryTransaction> iterate(TransactionFilter filter, int chunkSize) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (filter.getItemId() != null) {
+            conditions.add("item_id = ?");
+            parameters.add(filter.getItemId());
+        }
+        if (filter.getStaffId() != null) {
+            conditions.add("staff_id = ?");
+            parameters.add(filter.getStaffId());
+        }
+        if (filter.getFrom() != null) {
+            conditions.add("created_at >= ?");
+            parameters.add(filter.getFrom());
+        }
+        if (filter.getUntil() != null) {
+            conditions.add("created_at < ?");
+            parameters.add(filter.getUntil());
+        }
+        return table.iterate(conditions.isEmpty() ? null : String.join(" AND ", conditions), parameters, chunkSize);
+    }
+}
@@ -0,0 +1,70 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.model.RestaurantTable;
+import com.restaurantmanagement.repository.IdAllocator;
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import com.restaurantmanagement.repository.RestaurantTableRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * RestaurantTable repository stored in the embedded database.
+ */
+public class JdbcRestaurantTableRepository implements RestaurantTableRepository {
+    private static final String[] COLUMNS = {"id", "capacity", "area"};
+
+    private final JdbcTable<RestaurantTable> table;
+
+    public JdbcRestaurantTableRepository(JdbcDatabase database) {
+        this(database, new IdAllocator("TBL"));
+    }
+
+    public JdbcRestaurantTableRepository(JdbcDatabase database, IdAllocator idAllocator) {
+        this.table = new JdbcTable<>(database, "restaurant_tables", COLUMNS,
+                row -> new RestaurantTable(row.getString(1), row.getInt(2), row.getString(3)),
+                (statement, restaurantTable) -> JdbcDatabase.bind(statement, restaurantTable.getId(),
+                        restaurantTable.getCapacity(), restaurantTable.getArea()),
+                RestaurantTable::getId, RestaurantTable::setId, idAllocator);
+    }
+
+    @Override
+    public RestaurantTable save(RestaurantTable restaurantTable) {
+        return table.save(restaurantTable);
+    }
+
+    @Override
+    public List<RestaurantTable> saveAll(Collection<RestaurantTable> batch) {
+        return table.saveAll(batch);
+    }
+
+    @Override
+    public Optional<RestaurantTable> findById(String id) {
+        return table.findById(id);
+    }
+
+    @Override
+    public List<RestaurantTable> findAll() {
+        return table.findAll();
+    }
+
+    @Override
+    public RepositorySnapshot<RestaurantTable> snapshot() {
+        return table.snapshot();
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return table.deleteById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return table.existsById(id);
+    }
+
+    @Override
+    public List<RestaurantTable> findByArea(String area) {
+        return table.select("WHERE LOWER(area) = LOWER(?) ORDER BY seq", area);
+    }
+}
@@ -0,0 +1,136 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.model.Shift;
+import com.restaurantmanagement.repository.IdAllocator;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import com.restaurantmanagement.repository.ShiftRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shift repository stored in the embedded database. Each row also stores the
+ * shift's [start_at, end_at) span, ending on the next day for an overnight
+ * shift, so overlap and date queries can use the indexes.
+ */
+public class JdbcShiftRepository implements ShiftRepository {
+    private static final String[] COLUMNS = {
+        "id", "employee_id", "employee_name", "shift_date", "start_time", "end_time", "shift_type",
+        "start_at", "end_at"
+    };
+    private static final String BY_START = " ORDER BY start_at, id";
+    // A shift never spans more than a day, which bounds how early an overlapping shift can start
+    private static final String OVERLAPS = "start_at < ? AND end_at > ? AND start_at > ?";
+
+    private final JdbcTable<Shift> table;
+
+    public JdbcShiftRepository(JdbcDatabase database) {
+        this(database, new IdAllocator("SHF"));
+    }
+
+    public JdbcShiftRepository(JdbcDatabase database, IdAllocator idAllocator) {
+        this.table = new JdbcTable<>(database, "shifts", COLUMNS,
+                row -> new Shift(row.getString(1), row.getString(2), row.getString(3),
+                        row.getObject(4, LocalDate.class), row.getObject(5, LocalTime.class),
+                        row.getObject(6, LocalTime.class), row.getString(7)),
+                (statement, shift) -> JdbcDatabase.bind(statement, shift.getId(), shift.getEmployeeId(),
+                        shift.getEmployeeName(), shift.getDate(), shift.getStartTime(), shift.getEndTime(),
+                        shift.getShiftType(), startAt(shift), endAt(shift)),
+                Shift::getId, Shift::setId, idAllocator);
+    }
+
+    @Override
+    public Shift save(Shift shift) {
+        return table.save(shift);
+    }
+
+    @Override
+    public List<Shift> saveAll(Collection<Shift> batch) {
+        return table.saveAll(batch);
+    }
+
+    @Override
+    public Optional<Shift> findById(String id) {
+        return table.findById(id);
+    }
+
+    @Override
+    public List<Shift> findAll() {
+        return table.findAll();
+    }
+
+    @Override
+    public Page<Shift> findPage(String cursor, int limit) {
+        return table.pageById(cursor, limit);
+    }
+
+    @Override
+    public RepositorySnapshot<Shift> snapshot() {
+        return table.snapshot();
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return table.deleteById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return table.existsById(id);
+    }
+
+    @Override
+    public List<Shift> findByEmployeeId(String employeeId) {
+        return table.select("WHERE employee_id = ?" + BY_START, employeeId);
+    }
+
+    @Override
+    public List<Shift> findByDate(LocalDate date) {
+        return findByDateRange(date, date);
+    }
+
+    @Override
+    public List<Shift> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        // Two index range scans; an OR of the two would scan the table. Overnight
+        // shifts from the day before start before the rest, so they go first
+        List<Shift> shifts = table.select("WHERE shift_date = ? AND end_at > ?" + BY_START,
+                startDate.minusDays(1), startDate.atStartOfDay());
+        shifts.addAll(table.select("WHERE shift_date BETWEEN ? AND ?" + BY_START, startDate, endDate));
+        return shifts;
+    }
+
+    @Override
+    public List<Shift> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return table.select("WHERE " + OVERLAPS + BY_START, to, from, from.minusDays(1));
+    }
+
+    @Override
+    public List<Shift> findByEmployeeOverlapping(String employeeId, LocalDateTime from, LocalDateTime to) {
+        return table.select("WHERE employee_id = ? AND " + OVERLAPS + BY_START,
+                employeeId, to, from, from.minusDays(1));
+    }
+
+    @Override
+    public List<Shift> findActiveAt(LocalDateTime instant) {
+        return table.select("WHERE start_at <= ? AND end_at > ? AND start_at > ?" + BY_START,
+                instant, instant, instant.minusDays(1));
+    }
+
+    private static LocalDateTime startAt(Shift shift) {
+        if (shift.getDate() == null) {
+            return null;
+        }
+        return shift.getDate().atTime(shift.getStartTime() != null ? shift.getStartTime() : LocalTime.MIDNIGHT);
+    }
+
+    private static LocalDateTime endAt(Shift shift) {
+        if (shift.getDate() == null) {
+            return null;
+        }
+        return shift.getEndTime() != null ? shift.getEndAt() : startAt(shift);
+    }
+}
@@ -0,0 +1,83 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot of one table backed by the database's own multi-version storage: a
+ * repeatable-read transaction on a dedicated connection. Writers are never
+ * blocked; the connection is held until the snapshot is closed.
+ */
+class JdbcSnapshot<T> implements RepositorySnapshot<T> {
+    private final Connection connection;
+    private final String selectSql;
+    private final JdbcDatabase.RowMapper<T> mapper;
+    private final long version;
+    private boolean closed;
+
+    JdbcSnapshot(JdbcDatabase database, String table, String columns, JdbcDatabase.RowMapper<T> mapper) {
+        this.connection = database.openSnapshot(table);
+        this.selectSql = "SELECT " + columns + " FROM " + table;
+        this.mapper = mapper;
+        this.version = database.nextSnapshotVersion();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public synchronized Optional<T> findById(String id) {
+        List<T> rows = query(" WHERE id = ?", id);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Read every row in ID order. The rows are fetched in one query on the snapshot's
+     * transaction, so they form a consistent set.
+     */
+    @Override
+    public synchronized Stream<T> stream() {
+        return query(" ORDER BY id").stream();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            connection.rollback();
+            connection.close();
+        } catch (SQLException e) {
+            throw new JdbcException("Cannot close snapshot", e);
+        }
+    }
+
+    private List<T> query(String clause, Object... parameters) {
+        if (closed) {
+            throw new IllegalStateException("Snapshot is closed");
+        }
+        try (PreparedStatement statement = connection.prepareStatement(selectSql + clause)) {
+            JdbcDatabase.bind(statement, parameters);
+            List<T> result = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    result.add(mapper.map(rows));
+                }
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new JdbcException(e.getMessage(), e);
+        }
+    }
+}
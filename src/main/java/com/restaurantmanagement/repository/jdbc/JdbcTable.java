@@ -0,0 +1,246 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.repository.IdAllocator;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.RepositorySnapshot;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Row mapping and the common CRUD statements for one entity table.
+ * Rows keep their insertion order through the {@code seq} identity column.
+ */
+class JdbcTable<T> {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcDatabase database;
+    private final String table;
+    private final String columns;
+    private final int columnCount;
+    private final String upsertSql;
+    private final String insertSql;
+    private final JdbcDatabase.RowMapper<T> mapper;
+    private final Binder<T> binder;
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+    private final IdAllocator idAllocator;
+
+    interface Binder<T> {
+        /**
+         * Bind every column in declaration order, starting at parameter 1.
+         */
+        void bind(PreparedStatement statement, T entity) throws SQLException;
+    }
+
+    JdbcTable(JdbcDatabase database, String table, String[] columns, JdbcDatabase.RowMapper<T> mapper,
+              Binder<T> binder, Function<T, String> idGetter, BiConsumer<T, String> idSetter,
+              IdAllocator idAllocator) {
+        this.database = database;
+        this.table = table;
+        this.columns = String.join(", ", columns);
+        this.columnCount = columns.length;
+        this.upsertSql = "MERGE INTO " + table + " (" + this.columns + ") KEY (id) VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        this.insertSql = "INSERT INTO " + table + " (" + this.columns + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        this.mapper = mapper;
+        this.binder = binder;
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+        this.idAllocator = idAllocator;
+        // Continue numbering after the IDs already stored
+        idAllocator.observe(database.maxId(table));
+    }
+
+    T save(T entity) {
+        boolean isNew = assignId(entity);
+        database.withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(isNew ? insertSql : upsertSql);
+            binder.bind(statement, entity);
+            return statement.executeUpdate();
+        });
+        return entity;
+    }
+
+    /**
+     * Save a batch using JDBC statement batching, committing every {@value #BATCH_SIZE}
+     * rows; H2 slows down sharply as one transaction's undo log grows. If a chunk
+     * fails, earlier chunks stay saved. Entities that just received a fresh ID are
+     * inserted directly, skipping the key lookup of MERGE.
+     */
+    List<T> saveAll(Collection<T> entities) {
+        List<T> saved = new ArrayList<>(entities.size());
+        List<T> inserts = new ArrayList<>();
+        List<T> upserts = new ArrayList<>();
+        for (T entity : entities) {
+            (assignId(entity) ? inserts : upserts).add(entity);
+            saved.add(entity);
+        }
+        database.inTransaction(connection -> {
+            executeBatch(connection, connection.prepare(upsertSql), upserts);
+            executeBatch(connection, connection.prepare(insertSql), inserts);
+            return null;
+        });
+        return saved;
+    }
+
+    private void executeBatch(PooledConnection connection, PreparedStatement statement, List<T> entities)
+            throws SQLException {
+        int pending = 0;
+        for (T entity : entities) {
+            binder.bind(statement, entity);
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                connection.connection().commit();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            statement.executeBatch();
+        }
+    }
+
+    Optional<T> findById(String id) {
+        List<T> rows = select("WHERE id = ?", id);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    List<T> findAll() {
+        return select("ORDER BY seq");
+    }
+
+    boolean deleteById(String id) {
+        return database.update("DELETE FROM " + table + " WHERE id = ?", id) > 0;
+    }
+
+    boolean existsById(String id) {
+        return database.queryInt("SELECT COUNT(*) FROM " + table + " WHERE id = ?", id) > 0;
+    }
+
+    /**
+     * Select full rows with a WHERE/ORDER BY clause.
+     */
+    List<T> select(String clause, Object... parameters) {
+        return database.query("SELECT " + columns + " FROM " + table + " " + clause, mapper, parameters);
+    }
+
+    /**
+     * Open a repeatable-read snapshot of the table.
+     */
+    RepositorySnapshot<T> snapshot() {
+        return new JdbcSnapshot<>(database, table, columns, mapper);
+    }
+
+    /**
+     * One page in ID order after the given ID, read through the primary key index.
+     * One extra row is fetched to tell whether another page follows.
+     */
+    Page<T> pageById(String afterId, int limit) {
+        Page.checkLimit(limit);
+        List<T> rows = afterId != null
+                ? select("WHERE id > ? ORDER BY id LIMIT ?", afterId, limit + 1)
+                : select("ORDER BY id LIMIT ?", limit + 1);
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new Page<>(items, idGetter.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * One page in reverse insertion order, before the given seq (null for the newest rows).
+     * Needs a descending index on seq.
+     */
+    Page<T> pageBySeqDescending(String beforeSeq, int limit) {
+        Page.checkLimit(limit);
+        long before;
+        try {
+            before = beforeSeq != null ? Long.parseLong(beforeSeq) : Long.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + beforeSeq);
+        }
+        List<Long> seqs = new ArrayList<>();
+        List<T> rows = database.query("SELECT " + columns + ", seq FROM " + table
+                + " WHERE seq < ? ORDER BY seq DESC LIMIT ?", row -> {
+                    seqs.add(row.getLong(columnCount + 1));
+                    return mapper.map(row);
+                }, before, limit + 1);
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        return new Page<>(new ArrayList<>(rows.subList(0, limit)), Long.toString(seqs.get(limit - 1)));
+    }
+
+    /**
+     * Walk the rows matching a condition in seq order, one keyset query of at most
+     * chunkSize rows per step, so no connection or result set stays open between
+     * steps. The condition may be null.
+     */
+    Iterator<T> iterate(String condition, List<Object> parameters, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0");
+        }
+        String sql = "SELECT " + columns + ", seq FROM " + table + " WHERE seq > ?"
+                + (condition != null ? " AND " + condition : "") + " ORDER BY seq LIMIT ?";
+        return new Iterator<T>() {
+            private List<T> chunk = new ArrayList<>();
+            private int index;
+            private long lastSeq = Long.MIN_VALUE;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (index == chunk.size() && !exhausted) {
+                    Object[] bound = new Object[parameters.size() + 2];
+                    bound[0] = lastSeq;
+                    for (int i = 0; i < parameters.size(); i++) {
+                        bound[i + 1] = parameters.get(i);
+                    }
+                    bound[bound.length - 1] = chunkSize;
+                    chunk = database.query(sql, row -> {
+                        lastSeq = row.getLong(columnCount + 1);
+                        return mapper.map(row);
+                    }, bound);
+                    index = 0;
+                    exhausted = chunk.size() < chunkSize;
+                }
+                return index < chunk.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.get(index++);
+            }
+        };
+    }
+
+    int count(String clause, Object... parameters) {
+        return database.queryInt("SELECT COUNT(*) FROM " + table + " " + clause, parameters);
+    }
+
+    /**
+     * Give a new entity the next ID. Returns true if the entity was new.
+     */
+    private boolean assignId(T entity) {
+        String id = idGetter.apply(entity);
+        if (id == null || id.isEmpty()) {
+            idSetter.accept(entity, idAllocator.nextId());
+            return true;
+        }
+        idAllocator.observe(id);
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pooled connection with its own prepared-statement cache. Used by one thread at a time.
+ */
+class PooledConnection {
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+
+    PooledConnection(Connection connection) {
+        this.connection = connection;
+        this.statements = new HashMap<>();
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Cached statement for the SQL text, with its parameters cleared.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    void close() {
+        try {
+            // Closing the connection closes its cached statements too
+            connection.close();
+        } catch (SQLException ignored) {
+            // Nothing useful to do when discarding a connection
+        }
+        statements.clear();
+    }
+}
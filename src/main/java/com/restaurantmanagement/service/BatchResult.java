@@ -0,0 +1,52 @@
+package com.restaurantmanagement.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of adding a batch entry by entry: the entries saved, and why each
+ * refused entry was refused, keyed by its position in the batch.
+ */
+public class BatchResult<T> {
+    private final List<T> saved;
+    private final Map<Integer, String> rejected;
+
+    BatchResult(List<T> saved, Map<Integer, String> rejected) {
+        this.saved = Collections.unmodifiableList(saved);
+        this.rejected = Collections.unmodifiableMap(rejected);
+    }
+
+    /**
+     * A batch that was saved whole.
+     */
+    public static <T> BatchResult<T> allSaved(List<T> saved) {
+        return new BatchResult<>(saved, Collections.emptyMap());
+    }
+
+    /**
+     * Saved entries, in batch order.
+     */
+    public List<T> getSaved() {
+        return saved;
+    }
+
+    /**
+     * Reason each refused entry was refused, by position in the batch, in batch order.
+     */
+    public Map<Integer, String> getRejected() {
+        return rejected;
+    }
+
+    public boolean isComplete() {
+        return rejected.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "saved=" + saved.size() +
+                ", rejected=" + rejected.size() +
+                '}';
+    }
+}
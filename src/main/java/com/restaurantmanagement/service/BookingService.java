@@ -1,33 +1,147 @@
 package com.restaurantmanagement.service;
 
 import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.RestaurantTable;
+import com.restaurantmanagement.repository.BookingRepository;
 import com.restaurantmanagement.repository.InMemoryBookingRepository;
+import com.restaurantmanagement.repository.InMemoryRestaurantTableRepository;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.RestaurantTableRepository;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Service layer for Booking business logic.
+ * <p>
+ * Keeps a bitmap of which tables are booked when, so a booking is rejected
+ * if its table is already taken during its sitting, and free tables for a
+ * party can be listed without scanning bookings. Bookings saved through the
+ * repository directly are picked up the first time their day is checked.
+ * <p>
+ * Tables can also be picked for the host: a new booking without a table gets
+ * the best free one, moving one confirmed party to another table if that is
+ * what frees a seat, and a whole day can be re-planned to pack parties tighter.
  */
 public class BookingService {
-    private final InMemoryBookingRepository repository;
+    public static final Duration DEFAULT_DINING_DURATION = Duration.ofHours(2);
+
+    // Holds no real booking ID, which the repositories allocate with a prefix
+    private static final String PENDING_ID = "";
+
+    private final BookingRepository repository;
+    private final RestaurantTableRepository tableRepository;
+    private final TableAvailability availability;
+    private final Duration diningDuration;
 
     public BookingService() {
-        this.repository = new InMemoryBookingRepository();
+        this(new InMemoryBookingRepository());
+    }
+
+    /**
+     * Constructor with a shared repository, e.g. one backed by the journal or a database.
+     */
+    public BookingService(BookingRepository repository) {
+        this(repository, new InMemoryRestaurantTableRepository());
+    }
+
+    /**
+     * Constructor with shared booking and table repositories.
+     */
+    public BookingService(BookingRepository repository, RestaurantTableRepository tableRepository) {
+        this(repository, tableRepository, DEFAULT_DINING_DURATION);
+    }
+
+    /**
+     * Constructor with shared repositories and how long a table is held for each booking.
+     */
+    public BookingService(BookingRepository repository, RestaurantTableRepository tableRepository,
+                          Duration diningDuration) {
+        this.repository = repository;
+        this.tableRepository = tableRepository;
+        this.availability = new TableAvailability(repository::findByDate, diningDuration);
+        this.diningDuration = diningDuration;
+        availability.setTables(tableRepository.findAll());
     }
 
     /**
      * Add a new booking.
      */
-    public Booking addBooking(Booking booking) {
+    public synchronized Booking addBooking(Booking booking) {
         validateBooking(booking);
-        return repository.save(booking);
+        Booking saved = repository.save(booking);
+        availability.hold(saved);
+        return saved;
+    }
+
+    /**
+     * Add several new bookings, checking each against the saved bookings and
+     * the ones before it in the batch. Those that pass are saved together; the
+     * rest are returned with the reason they were refused.
+     */
+    public synchronized BatchResult<Booking> addBookings(Collection<Booking> bookings) {
+        List<Booking> accepted = new ArrayList<>(bookings.size());
+        Map<Integer, String> rejected = check(bookings, accepted);
+        return new BatchResult<>(save(accepted), rejected);
+    }
+
+    /**
+     * Add several new bookings only if every one passes the checks of
+     * {@link #addBookings}; otherwise none is saved.
+     */
+    public synchronized List<Booking> addBookingsAllOrNothing(Collection<Booking> bookings) {
+        List<Booking> accepted = new ArrayList<>(bookings.size());
+        Map<Integer, String> rejected = check(bookings, accepted);
+        if (!rejected.isEmpty()) {
+            Map.Entry<Integer, String> first = rejected.entrySet().iterator().next();
+            throw new IllegalArgumentException("Booking " + (first.getKey() + 1) + " of the batch: " + first.getValue());
+        }
+        return save(accepted);
+    }
+
+    /**
+     * Validate each booking of a batch, adding those that pass to {@code accepted}
+     * and returning why the others failed, by position in the batch.
+     */
+    private Map<Integer, String> check(Collection<Booking> bookings, List<Booking> accepted) {
+        TableAvailability.Claims claims = availability.newClaims();
+        Map<Integer, String> rejected = new LinkedHashMap<>();
+        int position = 0;
+        for (Booking booking : bookings) {
+            try {
+                validateBooking(booking);
+                if (!claims.claim(booking)) {
+                    throw new IllegalArgumentException("Table " + booking.getTableId()
+                            + " is already booked at that time by an earlier booking in the batch");
+                }
+                accepted.add(booking);
+            } catch (IllegalArgumentException e) {
+                rejected.put(position, e.getMessage());
+            }
+            position++;
+        }
+        return rejected;
+    }
+
+    private List<Booking> save(List<Booking> bookings) {
+        List<Booking> saved = repository.saveAll(bookings);
+        for (Booking booking : saved) {
+            availability.hold(booking);
+        }
+        return saved;
     }
 
     /**
      * Update an existing booking.
      */
-    public Booking updateBooking(Booking booking) {
+    public synchronized Booking updateBooking(Booking booking) {
         if (booking.getId() == null || booking.getId().isEmpty()) {
             throw new IllegalArgumentException("Booking ID is required for update");
         }
@@ -35,17 +149,21 @@ public class BookingService {
             throw new IllegalArgumentException("Booking with ID " + booking.getId() + " not found");
         }
         validateBooking(booking);
-        return repository.save(booking);
+        Booking saved = repository.save(booking);
+        availability.hold(saved);
+        return saved;
     }
 
     /**
      * Delete a booking by ID.
      */
-    public boolean deleteBooking(String id) {
+    public synchronized boolean deleteBooking(String id) {
         if (id == null || id.isEmpty()) {
             throw new IllegalArgumentException("Booking ID cannot be empty");
         }
-        return repository.deleteById(id);
+        boolean deleted = repository.deleteById(id);
+        availability.release(id);
+        return deleted;
     }
 
     /**
@@ -62,6 +180,13 @@ public class BookingService {
         return repository.findAll();
     }
 
+    /**
+     * Get one page of bookings in ID order; pass the previous page's cursor, or null to start.
+     */
+    public Page<Booking> getBookingsPage(String cursor, int limit) {
+        return repository.findPage(cursor, limit);
+    }
+
     /**
      * Get bookings by date.
      */
@@ -69,6 +194,32 @@ public class BookingService {
         return repository.findByDate(date);
     }
 
+    /**
+     * Get bookings between two dates (inclusive).
+     */
+    public List<Booking> getBookingsByDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start and end date are required");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        return repository.findByDateRange(startDate, endDate);
+    }
+
+    /**
+     * Get bookings on a date starting within a time window (e.g. 19:00-21:00).
+     */
+    public List<Booking> getBookingsByDateAndTime(LocalDate date, LocalTime fromTime, LocalTime toTime) {
+        if (date == null || fromTime == null || toTime == null) {
+            throw new IllegalArgumentException("Date and time window are required");
+        }
+        if (!fromTime.isBefore(toTime)) {
+            throw new IllegalArgumentException("Window start must be before window end");
+        }
+        return repository.findByDateAndTime(date, fromTime, toTime);
+    }
+
     /**
      * Get bookings by status.
      */
@@ -76,6 +227,27 @@ public class BookingService {
         return repository.findByStatus(status);
     }
 
+    /**
+     * Get bookings by typed status.
+     */
+    public List<Booking> getBookingsByStatus(BookingStatus status) {
+        return repository.findByStatus(status);
+    }
+
+    /**
+     * Count bookings with a status.
+     */
+    public int countBookingsByStatus(BookingStatus status) {
+        return repository.countByStatus(status);
+    }
+
+    /**
+     * Count bookings on a date with a status.
+     */
+    public int countBookingsByDateAndStatus(LocalDate date, BookingStatus status) {
+        return repository.countByDateAndStatus(date, status);
+    }
+
     /**
      * Search bookings by customer name.
      */
@@ -86,7 +258,7 @@ public class BookingService {
     /**
      * Cancel a booking.
      */
-    public Booking cancelBooking(String id) {
+    public synchronized Booking cancelBooking(String id) {
         Optional<Booking> bookingOpt = repository.findById(id);
         if (!bookingOpt.isPresent()) {
             throw new IllegalArgumentException("Booking with ID " + id + " not found");
@@ -97,14 +269,16 @@ public class BookingService {
             throw new IllegalArgumentException("Booking cannot be cancelled. Current status: " + booking.getStatus());
         }
 
-        booking.setStatus("CANCELLED");
-        return repository.save(booking);
+        booking.setStatusType(BookingStatus.CANCELLED);
+        Booking saved = repository.save(booking);
+        availability.release(id);
+        return saved;
     }
 
     /**
      * Seat a customer (change status from CONFIRMED to SEATED).
      */
-    public Booking seatCustomer(String id) {
+    public synchronized Booking seatCustomer(String id) {
         Optional<Booking> bookingOpt = repository.findById(id);
         if (!bookingOpt.isPresent()) {
             throw new IllegalArgumentException("Booking with ID " + id + " not found");
@@ -115,14 +289,215 @@ public class BookingService {
             throw new IllegalArgumentException("Booking cannot be seated. Current status: " + booking.getStatus());
         }
 
-        booking.setStatus("SEATED");
+        booking.setStatusType(BookingStatus.SEATED);
         return repository.save(booking);
     }
 
     /**
-     * Validate booking data.
+     * Save a new table or update an existing one.
+     */
+    public synchronized RestaurantTable saveTable(RestaurantTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        if (table.getCapacity() <= 0) {
+            throw new IllegalArgumentException("Table capacity must be greater than 0");
+        }
+        RestaurantTable saved = tableRepository.save(table);
+        availability.setTables(tableRepository.findAll());
+        return saved;
+    }
+
+    /**
+     * Delete a table by ID. Bookings on it keep their table ID.
      */
-    private void validateBooking(Booking booking) {
+    public synchronized boolean deleteTable(String id) {
+        boolean deleted = tableRepository.deleteById(id);
+        availability.setTables(tableRepository.findAll());
+        return deleted;
+    }
+
+    /**
+     * Get all tables, smallest first.
+     */
+    public List<RestaurantTable> getAllTables() {
+        return availability.tables();
+    }
+
+    /**
+     * Get tables seating at least {@code guests} that are free for a sitting
+     * starting at {@code time} on {@code date}, smallest first.
+     */
+    public List<RestaurantTable> findFreeTables(LocalDate date, LocalTime time, int guests) {
+        if (date == null || time == null) {
+            throw new IllegalArgumentException("Date and time are required");
+        }
+        return availability.freeTables(date, time, guests);
+    }
+
+    /**
+     * Best free table for a booking's party at its date and time, or null if
+     * none seats it. Nothing is saved.
+     */
+    public String suggestTable(Booking booking) {
+        requireSitting(booking);
+        RestaurantTable table = availability.bestFreeTable(booking.getDate(), booking.getStartTime(),
+                booking.getNumberOfGuests());
+        return table != null ? table.getId() : null;
+    }
+
+    /**
+     * Add a new booking at the best free table. If every table that seats the
+     * party is taken, one confirmed booking blocking a table on its own is
+     * moved to another free table to make room; failing that, the day's
+     * confirmed bookings are re-planned with the new one among them.
+     */
+    public synchronized Booking addBookingToBestTable(Booking booking) {
+        validateDetails(booking);
+        RestaurantTable table = availability.bestFreeTable(booking.getDate(), booking.getStartTime(),
+                booking.getNumberOfGuests());
+        if (table == null) {
+            table = makeRoom(booking);
+        }
+        if (table == null) {
+            table = replanFor(booking);
+        }
+        if (table == null) {
+            throw new IllegalArgumentException("No table for " + booking.getNumberOfGuests() + " is free at "
+                    + booking.getStartTime() + " on " + booking.getDate());
+        }
+        booking.setTableId(table.getId());
+        return addBooking(booking);
+    }
+
+    /**
+     * Re-plan the tables of a day's confirmed bookings to waste fewer seats
+     * and leave longer free stretches. The plan is saved only if it places
+     * every confirmed booking; otherwise it is returned unapplied.
+     */
+    public synchronized TablePlan planTables(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date is required");
+        }
+        List<Booking> bookings = repository.findByDate(date);
+        TablePlan plan = TableAssigner.plan(date, bookings, availability.tables(), diningDuration, true);
+        if (plan.isComplete()) {
+            apply(plan, bookings);
+        }
+        return plan;
+    }
+
+    private void apply(TablePlan plan, List<Booking> bookings) {
+        List<Booking> moved = new ArrayList<>();
+        for (Booking booking : bookings) {
+            String tableId = plan.getAssignments().get(booking.getId());
+            if (tableId != null && !tableId.equals(booking.getTableId())) {
+                booking.setTableId(tableId);
+                moved.add(booking);
+            }
+        }
+        for (Booking saved : repository.saveAll(moved)) {
+            availability.hold(saved);
+        }
+        plan.markApplied();
+    }
+
+    /**
+     * A table for a party no free table seats, after re-planning the day's
+     * confirmed bookings with the party among them. Null if even that leaves
+     * someone without a table, in which case nothing is changed.
+     */
+    private RestaurantTable replanFor(Booking booking) {
+        Booking pending = new Booking(booking);
+        pending.setId(PENDING_ID);
+        pending.setStatusType(BookingStatus.CONFIRMED);
+        List<Booking> bookings = new ArrayList<>(repository.findByDate(booking.getDate()));
+        bookings.add(pending);
+        // Packing matters more than moves here: the alternative is turning the party away
+        TablePlan plan = TableAssigner.plan(booking.getDate(), bookings, availability.tables(), diningDuration,
+                false);
+        if (!plan.isComplete()) {
+            return null;
+        }
+        bookings.remove(pending);
+        apply(plan, bookings);
+        return availability.table(plan.getAssignments().get(PENDING_ID));
+    }
+
+    /**
+     * A table for a party that fits none of the free ones: the smallest table
+     * seating it whose only holder is a confirmed booking that fits elsewhere,
+     * after moving that booking. Null if there is no such table.
+     */
+    private RestaurantTable makeRoom(Booking booking) {
+        // Stands in for the new booking while the blocker looks for a table
+        Booking pending = new Booking(booking);
+        pending.setId(PENDING_ID);
+        for (RestaurantTable table : availability.tables()) {
+            if (table.getCapacity() < booking.getNumberOfGuests()) {
+                continue;
+            }
+            List<String> holders = availability.holders(booking.getDate(), table.getId(), booking.getStartTime());
+            if (holders.size() != 1) {
+                continue;
+            }
+            Booking blocker = repository.findById(holders.get(0)).orElse(null);
+            if (blocker == null || blocker.getStatusType() != BookingStatus.CONFIRMED) {
+                continue;
+            }
+            availability.release(blocker.getId());
+            pending.setTableId(table.getId());
+            availability.hold(pending);
+            RestaurantTable other = availability.bestFreeTable(blocker.getDate(), blocker.getStartTime(),
+                    blocker.getNumberOfGuests());
+            availability.release(PENDING_ID);
+            if (other == null) {
+                availability.hold(blocker);
+                continue;
+            }
+            blocker.setTableId(other.getId());
+            availability.hold(repository.save(blocker));
+            return table;
+        }
+        return null;
+    }
+
+    private static void requireSitting(Booking booking) {
+        if (booking == null) {
+            throw new IllegalArgumentException("Booking cannot be null");
+        }
+        if (booking.getNumberOfGuests() <= 0) {
+            throw new IllegalArgumentException("Number of guests must be greater than 0");
+        }
+        if (booking.getDate() == null || booking.getStartTime() == null) {
+            throw new IllegalArgumentException("Date and time are required");
+        }
+    }
+
+    /**
+     * Validate booking data, including that the table seats the party and is
+     * not held by another booking during the sitting.
+     */
+    public void validateBooking(Booking booking) {
+        validateDetails(booking);
+        if (booking.getTableId() == null || booking.getTableId().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table ID is required");
+        }
+        RestaurantTable table = availability.table(booking.getTableId());
+        if (table != null && booking.getNumberOfGuests() > table.getCapacity()) {
+            throw new IllegalArgumentException("Table " + table.getId() + " seats only " + table.getCapacity());
+        }
+        String clash = availability.conflict(booking);
+        if (clash != null) {
+            throw new IllegalArgumentException("Table " + booking.getTableId() + " is already booked at that time"
+                    + " (booking " + clash + ")");
+        }
+    }
+
+    /**
+     * Validate everything about a booking but its table.
+     */
+    private static void validateDetails(Booking booking) {
         if (booking == null) {
             throw new IllegalArgumentException("Booking cannot be null");
         }
@@ -141,30 +516,11 @@ public class BookingService {
         if (booking.getStartTime() == null) {
             throw new IllegalArgumentException("Time is required");
         }
-        if (booking.getTableId() == null || booking.getTableId().trim().isEmpty()) {
-            throw new IllegalArgumentException("Table ID is required");
-        }
         if (booking.getStatus() == null || booking.getStatus().trim().isEmpty()) {
             throw new IllegalArgumentException("Status is required");
         }
+        if (booking.getStatusType() == null) {
+            throw new IllegalArgumentException("Invalid status: " + booking.getStatus());
+        }
     }
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
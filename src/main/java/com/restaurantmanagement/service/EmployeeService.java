@@ -1,7 +1,10 @@
 package com.restaurantmanagement.service;
 
 import com.restaurantmanagement.model.Employee;
+import com.restaurantmanagement.repository.EmployeeRepository;
 import com.restaurantmanagement.repository.InMemoryEmployeeRepository;
+import com.restaurantmanagement.repository.Page;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,10 +12,17 @@ import java.util.Optional;
  * Service layer for Employee business logic.
  */
 public class EmployeeService {
-    private final InMemoryEmployeeRepository repository;
+    private final EmployeeRepository repository;
 
     public EmployeeService() {
-        this.repository = new InMemoryEmployeeRepository();
+        this(new InMemoryEmployeeRepository());
+    }
+
+    /**
+     * Constructor with a shared repository, e.g. one backed by the journal or a database.
+     */
+    public EmployeeService(EmployeeRepository repository) {
+        this.repository = repository;
     }
 
     /**
@@ -23,6 +33,16 @@ public class EmployeeService {
         return repository.save(employee);
     }
 
+    /**
+     * Add several new employees as one batch. Every employee is validated before any is saved.
+     */
+    public List<Employee> addEmployees(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            validateEmployee(employee);
+        }
+        return repository.saveAll(employees);
+    }
+
     /**
      * Update an existing employee.
      */
@@ -61,6 +81,13 @@ public class EmployeeService {
         return repository.findAll();
     }
 
+    /**
+     * Get one page of employees in ID order; pass the previous page's cursor, or null to start.
+     */
+    public Page<Employee> getEmployeesPage(String cursor, int limit) {
+        return repository.findPage(cursor, limit);
+    }
+
     /**
      * Search employees by name.
      */
@@ -71,7 +98,7 @@ public class EmployeeService {
     /**
      * Validate employee data.
      */
-    private void validateEmployee(Employee employee) {
+    public void validateEmployee(Employee employee) {
         if (employee == null) {
             throw new IllegalArgumentException("Employee cannot be null");
         }
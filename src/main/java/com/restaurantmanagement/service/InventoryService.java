@@ -4,20 +4,71 @@ import com.restaurantmanagement.model.InventoryItem;
 import com.restaurantmanagement.model.InventoryTransaction;
 import com.restaurantmanagement.repository.InMemoryInventoryRepository;
 import com.restaurantmanagement.repository.InMemoryInventoryTransactionRepository;
+import com.restaurantmanagement.repository.InventoryRepository;
+import com.restaurantmanagement.repository.InventoryTransactionRepository;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.TransactionFilter;
+import com.restaurantmanagement.repository.TransactionStorageMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Service layer for Inventory business logic.
  */
 public class InventoryService {
-    private final InMemoryInventoryRepository itemRepository;
-    private final InMemoryInventoryTransactionRepository transactionRepository;
+    private static final int TRANSACTION_CHUNK_SIZE = 1000;
+
+    private final InventoryRepository itemRepository;
+    private final InventoryTransactionRepository transactionRepository;
+    // Items currently at or below their minimum threshold, kept up to date on every quantity change
+    private final Map<String, InventoryItem> lowStockItems;
+    private final List<LowStockListener> lowStockListeners;
 
     public InventoryService() {
-        this.itemRepository = new InMemoryInventoryRepository();
-        this.transactionRepository = new InMemoryInventoryTransactionRepository();
+        this(TransactionStorageMode.OBJECT);
+    }
+
+    /**
+     * Constructor choosing how transaction history is laid out in memory.
+     */
+    public InventoryService(TransactionStorageMode transactionStorageMode) {
+        this(new InMemoryInventoryRepository(), new InMemoryInventoryTransactionRepository(transactionStorageMode));
+    }
+
+    /**
+     * Constructor with shared repositories, e.g. ones backed by the journal or a database.
+     * The low-stock set is seeded from the items already present.
+     */
+    public InventoryService(InventoryRepository itemRepository,
+                            InventoryTransactionRepository transactionRepository) {
+        this.itemRepository = itemRepository;
+        this.transactionRepository = transactionRepository;
+        this.lowStockItems = new LinkedHashMap<>();
+        this.lowStockListeners = new CopyOnWriteArrayList<>();
+        for (InventoryItem item : itemRepository.findLowStockItems()) {
+            lowStockItems.put(item.getId(), item);
+        }
+    }
+
+    /**
+     * Register a listener for low-stock transitions.
+     */
+    public void addLowStockListener(LowStockListener listener) {
+        lowStockListeners.add(listener);
+    }
+
+    /**
+     * Unregister a low-stock listener.
+     */
+    public void removeLowStockListener(LowStockListener listener) {
+        lowStockListeners.remove(listener);
     }
 
     /**
@@ -26,7 +77,25 @@ public class InventoryService {
     public InventoryItem addItem(InventoryItem item) {
         validateItem(item);
         item.setLastUpdated(LocalDate.now());
-        return itemRepository.save(item);
+        InventoryItem saved = itemRepository.save(item);
+        refreshLowStock(saved);
+        return saved;
+    }
+
+    /**
+     * Add several new inventory items as one batch. Every item is validated before any is saved.
+     */
+    public List<InventoryItem> addItems(Collection<InventoryItem> items) {
+        LocalDate today = LocalDate.now();
+        for (InventoryItem item : items) {
+            validateItem(item);
+            item.setLastUpdated(today);
+        }
+        List<InventoryItem> saved = itemRepository.saveAll(items);
+        for (InventoryItem item : saved) {
+            refreshLowStock(item);
+        }
+        return saved;
     }
 
     /**
@@ -41,7 +110,9 @@ public class InventoryService {
         }
         validateItem(item);
         item.setLastUpdated(LocalDate.now());
-        return itemRepository.save(item);
+        InventoryItem saved = itemRepository.save(item);
+        refreshLowStock(saved);
+        return saved;
     }
 
     /**
@@ -51,7 +122,13 @@ public class InventoryService {
         if (id == null || id.isEmpty()) {
             throw new IllegalArgumentException("Item ID cannot be empty");
         }
-        return itemRepository.deleteById(id);
+        boolean deleted = itemRepository.deleteById(id);
+        if (deleted) {
+            synchronized (lowStockItems) {
+                lowStockItems.remove(id);
+            }
+        }
+        return deleted;
     }
 
     /**
@@ -68,6 +145,13 @@ public class InventoryService {
         return itemRepository.findAll();
     }
 
+    /**
+     * Get one page of inventory items in ID order; pass the previous page's cursor, or null to start.
+     */
+    public Page<InventoryItem> getItemsPage(String cursor, int limit) {
+        return itemRepository.findPage(cursor, limit);
+    }
+
     /**
      * Search items by name.
      */
@@ -86,13 +170,24 @@ public class InventoryService {
      * Get items that are low in stock.
      */
     public List<InventoryItem> getLowStockItems() {
-        return itemRepository.findLowStockItems();
+        synchronized (lowStockItems) {
+            return new ArrayList<>(lowStockItems.values());
+        }
+    }
+
+    /**
+     * Count items that are low in stock.
+     */
+    public int getLowStockCount() {
+        synchronized (lowStockItems) {
+            return lowStockItems.size();
+        }
     }
 
     /**
      * Stock In: Add quantity to an item.
      */
-    public InventoryTransaction stockIn(String itemId, double quantity, String reason, 
+    public synchronized InventoryTransaction stockIn(String itemId, double quantity, String reason, 
                                         String staffId, String staffName) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than 0");
@@ -107,6 +202,7 @@ public class InventoryService {
         item.setQuantity(item.getQuantity() + quantity);
         item.setLastUpdated(LocalDate.now());
         itemRepository.save(item);
+        refreshLowStock(item);
 
         // Create transaction record
         InventoryTransaction transaction = new InventoryTransaction();
@@ -124,7 +220,7 @@ public class InventoryService {
     /**
      * Stock Out: Deduct quantity from an item.
      */
-    public InventoryTransaction stockOut(String itemId, double quantity, String reason,
+    public synchronized InventoryTransaction stockOut(String itemId, double quantity, String reason,
                                         String staffId, String staffName) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than 0");
@@ -144,6 +240,7 @@ public class InventoryService {
         item.setQuantity(item.getQuantity() - quantity);
         item.setLastUpdated(LocalDate.now());
         itemRepository.save(item);
+        refreshLowStock(item);
 
         // Create transaction record
         InventoryTransaction transaction = new InventoryTransaction();
@@ -165,6 +262,13 @@ public class InventoryService {
         return transactionRepository.findAll();
     }
 
+    /**
+     * Get one page of transactions, newest first; pass the previous page's cursor, or null to start.
+     */
+    public Page<InventoryTransaction> getTransactionsPage(String cursor, int limit) {
+        return transactionRepository.findPage(cursor, limit);
+    }
+
     /**
      * Get transactions for a specific item.
      */
@@ -172,10 +276,57 @@ public class InventoryService {
         return transactionRepository.findByItemId(itemId);
     }
 
+    /**
+     * Get transactions recorded by a staff member.
+     */
+    public List<InventoryTransaction> getTransactionsByStaffId(String staffId) {
+        return transactionRepository.findByStaffId(staffId);
+    }
+
+    /**
+     * Get transactions by type (IN or OUT).
+     */
+    public List<InventoryTransaction> getTransactionsByType(String type) {
+        return transactionRepository.findByType(type);
+    }
+
+    /**
+     * Walk the transactions matching a filter in recorded order, for exports and reports.
+     * Unlike getAllTransactions this never copies the whole history.
+     */
+    public Iterator<InventoryTransaction> iterateTransactions(TransactionFilter filter) {
+        return transactionRepository.iterate(filter, TRANSACTION_CHUNK_SIZE);
+    }
+
+    /**
+     * Move an item into or out of the low-stock set and notify listeners on a transition.
+     */
+    private void refreshLowStock(InventoryItem item) {
+        boolean wasLow;
+        boolean isLow = item.isLowStock();
+        synchronized (lowStockItems) {
+            wasLow = lowStockItems.containsKey(item.getId());
+            if (isLow) {
+                lowStockItems.put(item.getId(), item);
+            } else if (wasLow) {
+                lowStockItems.remove(item.getId());
+            }
+        }
+        if (isLow && !wasLow) {
+            for (LowStockListener listener : lowStockListeners) {
+                listener.onBelowThreshold(item);
+            }
+        } else if (!isLow && wasLow) {
+            for (LowStockListener listener : lowStockListeners) {
+                listener.onRecovered(item);
+            }
+        }
+    }
+
     /**
      * Validate inventory item data.
      */
-    private void validateItem(InventoryItem item) {
+    public void validateItem(InventoryItem item) {
         if (item == null) {
             throw new IllegalArgumentException("Item cannot be null");
         }
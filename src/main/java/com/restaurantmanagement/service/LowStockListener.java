@@ -0,0 +1,19 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.InventoryItem;
+
+/**
+ * Receives low-stock transitions pushed by InventoryService.
+ */
+public interface LowStockListener {
+
+    /**
+     * Called when an item's quantity drops to or below its minimum threshold.
+     */
+    void onBelowThreshold(InventoryItem item);
+
+    /**
+     * Called when a low-stock item goes back above its minimum threshold.
+     */
+    void onRecovered(InventoryItem item);
+}
@@ -0,0 +1,789 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Employee;
+import com.restaurantmanagement.model.Shift;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds rotas for a {@link RotaRequest}.
+ * <p>
+ * An employee holds one position, so each position is covered on its own. A
+ * position's rota is built greedily: the template shift covering the most
+ * still-needed staff time per minute worked goes to the eligible employee
+ * with the fewest minutes, counting weekend shifts already worked, until no
+ * shift covers any need. Each shift is then cut down to the shortest template
+ * covering the need no other shift does, or dropped if there is none, and
+ * shifts move between employees while that evens out weekends or hours. Every
+ * shift keeps to the availability and weekly hours of the request and to the
+ * rest and daily hours {@link ShiftTimeline} enforces, against the stored
+ * shifts as well as the new ones.
+ * <p>
+ * Later builds randomize the greedy choices, each favouring some templates
+ * over others so that builds reach for different shift patterns. Lanes of a
+ * fork/join pool build rotas for every position in rounds until the time
+ * budget is spent, and per position the rota leaving the least demand
+ * uncovered wins, then the one with the fairest weekends, the least surplus
+ * and the closest hours. The first round of lane 0 is the plain greedy rota.
+ */
+final class RotaGenerator {
+    private static final int SLOT_MINUTES = 15;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int SLOTS_PER_DAY = MINUTES_PER_DAY / SLOT_MINUTES;
+    // Most a randomized build favours or shuns a template by, as a fraction of its score
+    private static final double JITTER = 0.6;
+    // Most a randomized build scales a single choice's score up by
+    private static final double NOISE = 0.05;
+    // Most minutes of noise added to an employee's load when picking who works a shift
+    private static final int LOAD_NOISE = 4 * 60;
+    // Load each weekend shift already worked adds when picking who works a weekend shift
+    private static final int WEEKEND_WEIGHT = 8 * 60;
+    private static final int BALANCING_PASSES = 8;
+
+    private RotaGenerator() {
+    }
+
+    /**
+     * Search for the best rota within the request's time budget. {@code stored}
+     * holds the shifts around the rota, from the day before it to the day after.
+     */
+    static RotaPlan plan(RotaRequest request, List<Employee> employees, List<Shift> stored,
+                         Duration minimumRest, Duration maximumDaily) {
+        long deadline = System.nanoTime() + request.getTimeBudget().toNanos();
+        List<Problem> problems = new ArrayList<>();
+        for (String position : request.positions()) {
+            problems.add(new Problem(position, request, employees, stored, minimumRest, maximumDaily));
+        }
+        int lanes = request.getParallelism();
+        ForkJoinPool pool = searchPool(lanes);
+        Outcome outcome;
+        try {
+            outcome = pool.invoke(new Search(problems, request.getSeed(), 0, lanes, lanes, deadline));
+        } finally {
+            pool.shutdownNow();
+        }
+        return toPlan(request, problems, outcome);
+    }
+
+    private static RotaPlan toPlan(RotaRequest request, List<Problem> problems, Outcome outcome) {
+        List<Shift> shifts = new ArrayList<>();
+        Map<String, Long> uncovered = new LinkedHashMap<>();
+        Map<String, Long> minutesByEmployee = new LinkedHashMap<>();
+        Map<String, Integer> weekendShiftsByEmployee = new LinkedHashMap<>();
+        long surplus = 0;
+        int weekendSpread = 0;
+        for (int p = 0; p < problems.size(); p++) {
+            Problem problem = problems.get(p);
+            Candidate best = outcome.best[p];
+            for (int i = 0; i < best.workerOf.length; i++) {
+                Employee employee = problem.workers[best.workerOf[i]].employee;
+                Option option = problem.options[best.optionOf[i]];
+                shifts.add(new Shift(null, employee.getId(), employee.getName(),
+                        request.getStartDate().plusDays(option.day), option.template.startTime(),
+                        option.template.endTime(), option.template.shiftType()));
+            }
+            if (best.uncoveredSlots > 0) {
+                uncovered.put(problem.position, best.uncoveredSlots * SLOT_MINUTES);
+            }
+            for (int w = 0; w < problem.workers.length; w++) {
+                minutesByEmployee.put(problem.workers[w].employee.getId(), best.minutes[w]);
+                weekendShiftsByEmployee.put(problem.workers[w].employee.getId(), best.weekendShifts[w]);
+            }
+            surplus += best.surplusSlots * SLOT_MINUTES;
+            weekendSpread = Math.max(weekendSpread, best.weekendSpread);
+        }
+        shifts.sort(Comparator.comparing(Shift::getStartAt).thenComparing(Shift::getEmployeeId));
+        return new RotaPlan(request.getStartDate(), request.getEndDate(), shifts, uncovered, surplus,
+                minutesByEmployee, weekendShiftsByEmployee, weekendSpread, outcome.tried);
+    }
+
+    private static ForkJoinPool searchPool(int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        // The default factory's workers are daemon threads
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("rota-search-" + counter.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Lanes {@code firstLane} to {@code firstLane + lanes}, split in halves
+     * down to one lane each. A lane builds a rota for every position per round.
+     */
+    private static final class Search extends RecursiveTask<Outcome> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Problem> problems;
+        private final long seed;
+        private final int firstLane;
+        private final int lanes;
+        private final int totalLanes;
+        private final long deadline;
+
+        private Search(List<Problem> problems, long seed, int firstLane, int lanes, int totalLanes, long deadline) {
+            this.problems = problems;
+            this.seed = seed;
+            this.firstLane = firstLane;
+            this.lanes = lanes;
+            this.totalLanes = totalLanes;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Outcome compute() {
+            if (lanes > 1) {
+                int half = lanes / 2;
+                Search left = new Search(problems, seed, firstLane, half, totalLanes, deadline);
+                left.fork();
+                Outcome right = new Search(problems, seed, firstLane + half, lanes - half, totalLanes, deadline)
+                        .compute();
+                return left.join().merge(right);
+            }
+            Candidate[] best = new Candidate[problems.size()];
+            long tried = 0;
+            long round = 0;
+            // Every lane finishes at least one round, however short the budget
+            do {
+                long order = round * totalLanes + firstLane;
+                for (int p = 0; p < problems.size(); p++) {
+                    SplittableRandom random = new SplittableRandom(seed + order * 0x9E3779B97F4A7C15L + p);
+                    Candidate candidate = new Build(problems.get(p), random, order == 0 ? 0 : JITTER).run(order);
+                    if (candidate.beats(best[p])) {
+                        best[p] = candidate;
+                    }
+                    tried++;
+                }
+                round++;
+            } while (System.nanoTime() < deadline);
+            return new Outcome(best, tried);
+        }
+    }
+
+    /**
+     * The best rota per position found by some lanes.
+     */
+    private static final class Outcome {
+        private final Candidate[] best;
+        private final long tried;
+
+        private Outcome(Candidate[] best, long tried) {
+            this.best = best;
+            this.tried = tried;
+        }
+
+        private Outcome merge(Outcome other) {
+            Candidate[] merged = new Candidate[best.length];
+            for (int p = 0; p < best.length; p++) {
+                merged[p] = other.best[p].beats(best[p]) ? other.best[p] : best[p];
+            }
+            return new Outcome(merged, tried + other.tried);
+        }
+    }
+
+    /**
+     * One position's part of the request, shared read-only by the lanes.
+     * Times are minutes from the start of the rota's first day.
+     */
+    private static final class Problem {
+        private final String position;
+        private final int minimumRest;
+        private final int maximumDaily;
+        private final int maximumWeekly;
+        // Staff still needed per quarter hour once stored shifts are counted
+        private final int[] need;
+        private final Worker[] workers;
+        private final Option[] options;
+        // Options covering each quarter hour
+        private final int[][] optionsAt;
+        private final int templateCount;
+
+        private Problem(String position, RotaRequest request, List<Employee> employees, List<Shift> stored,
+                        Duration minimumRest, Duration maximumDaily) {
+            this.position = position;
+            this.minimumRest = (int) minimumRest.toMinutes();
+            this.maximumDaily = (int) maximumDaily.toMinutes();
+            this.maximumWeekly = (int) request.getMaximumWeeklyHours().toMinutes();
+            this.templateCount = request.templates().size();
+            LocalDate startDate = request.getStartDate();
+            int days = request.getDays();
+            int weeks = (days + 6) / 7;
+
+            this.need = new int[days * SLOTS_PER_DAY];
+            for (int day = 0; day < days; day++) {
+                DayOfWeek dayOfWeek = startDate.plusDays(day).getDayOfWeek();
+                for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                    need[day * SLOTS_PER_DAY + slot] = request.demand(position, dayOfWeek,
+                            slot * SLOT_MINUTES / 60);
+                }
+            }
+
+            String key = RotaRequest.key(position);
+            List<Worker> found = new ArrayList<>();
+            Map<String, Worker> byId = new HashMap<>();
+            for (Employee employee : employees) {
+                if (employee.getId() != null && employee.getPosition() != null
+                        && RotaRequest.key(employee.getPosition()).equals(key) && !byId.containsKey(employee.getId())) {
+                    Worker worker = new Worker(employee, days, weeks);
+                    for (int day = 0; day < days; day++) {
+                        worker.unavailable[day] = request.isUnavailable(employee.getId(), startDate.plusDays(day));
+                    }
+                    found.add(worker);
+                    byId.put(employee.getId(), worker);
+                }
+            }
+            this.workers = found.toArray(new Worker[0]);
+
+            LocalDateTime origin = startDate.atStartOfDay();
+            for (Shift shift : stored) {
+                Worker worker = byId.get(shift.getEmployeeId());
+                if (worker == null || shift.getStartAt() == null || shift.getEndAt() == null) {
+                    continue;
+                }
+                int start = (int) Duration.between(origin, shift.getStartAt()).toMinutes();
+                int end = (int) Duration.between(origin, shift.getEndAt()).toMinutes();
+                worker.addStored(start, end);
+                int day = (int) (shift.getDate().toEpochDay() - startDate.toEpochDay());
+                if (day >= 0 && day < days) {
+                    worker.dayMinutes[day] += end - start;
+                    worker.weekMinutes[day / 7] += end - start;
+                    worker.minutes += end - start;
+                    if (isWeekend(shift.getDate())) {
+                        worker.weekendShifts++;
+                    }
+                }
+                int first = Math.max(0, start / SLOT_MINUTES);
+                int last = Math.min(need.length, (end + SLOT_MINUTES - 1) / SLOT_MINUTES);
+                for (int slot = first; slot < last; slot++) {
+                    need[slot] = Math.max(0, need[slot] - 1);
+                }
+            }
+
+            List<Option> offered = new ArrayList<>();
+            for (int day = 0; day < days; day++) {
+                LocalDate date = startDate.plusDays(day);
+                List<RotaRequest.Template> templates = request.templates();
+                for (int t = 0; t < templates.size(); t++) {
+                    Option option = new Option(templates.get(t), t, day, isWeekend(date), need.length);
+                    // Shifts nobody may work, or that cover no need, are never worth trying
+                    if (option.minutes <= this.maximumDaily && option.minutes <= maximumWeekly
+                            && coversNeed(option)) {
+                        offered.add(option);
+                    }
+                }
+            }
+            this.options = offered.toArray(new Option[0]);
+
+            int[] counts = new int[need.length];
+            for (Option option : options) {
+                for (int slot = option.firstSlot; slot < option.lastSlot; slot++) {
+                    counts[slot]++;
+                }
+            }
+            this.optionsAt = new int[need.length][];
+            for (int slot = 0; slot < need.length; slot++) {
+                optionsAt[slot] = new int[counts[slot]];
+                counts[slot] = 0;
+            }
+            for (int o = 0; o < options.length; o++) {
+                for (int slot = options[o].firstSlot; slot < options[o].lastSlot; slot++) {
+                    optionsAt[slot][counts[slot]++] = o;
+                }
+            }
+        }
+
+        private boolean coversNeed(Option option) {
+            for (int slot = option.firstSlot; slot < option.lastSlot; slot++) {
+                if (need[slot] > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isWeekend(LocalDate date) {
+            DayOfWeek day = date.getDayOfWeek();
+            return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+        }
+    }
+
+    /**
+     * An employee of the position, with the stored shifts around the rota.
+     */
+    private static final class Worker {
+        private final Employee employee;
+        private final boolean[] unavailable;
+        private final int[] dayMinutes;
+        private final int[] weekMinutes;
+        private int[] storedStarts = new int[0];
+        private int[] storedEnds = new int[0];
+        private int weekendShifts;
+        private long minutes;
+
+        private Worker(Employee employee, int days, int weeks) {
+            this.employee = employee;
+            this.unavailable = new boolean[days];
+            this.dayMinutes = new int[days];
+            this.weekMinutes = new int[weeks];
+        }
+
+        private void addStored(int start, int end) {
+            storedStarts = Arrays.copyOf(storedStarts, storedStarts.length + 1);
+            storedEnds = Arrays.copyOf(storedEnds, storedEnds.length + 1);
+            storedStarts[storedStarts.length - 1] = start;
+            storedEnds[storedEnds.length - 1] = end;
+        }
+    }
+
+    /**
+     * A template shift on one day of the rota.
+     */
+    private static final class Option {
+        private final RotaRequest.Template template;
+        private final int templateIndex;
+        private final int day;
+        private final int week;
+        private final boolean weekend;
+        private final int start;
+        private final int end;
+        private final int minutes;
+        private final int firstSlot;
+        // Exclusive, and cut off at the end of the rota
+        private final int lastSlot;
+        private final int slots;
+
+        private Option(RotaRequest.Template template, int templateIndex, int day, boolean weekend,
+                       int horizonSlots) {
+            this.template = template;
+            this.templateIndex = templateIndex;
+            this.day = day;
+            this.week = day / 7;
+            this.weekend = weekend;
+            int startOfDay = template.startTime().toSecondOfDay() / 60;
+            int endOfDay = template.endTime().toSecondOfDay() / 60;
+            this.start = day * MINUTES_PER_DAY + startOfDay;
+            this.minutes = endOfDay > startOfDay ? endOfDay - startOfDay : endOfDay + MINUTES_PER_DAY - startOfDay;
+            this.end = start + minutes;
+            this.firstSlot = start / SLOT_MINUTES;
+            this.lastSlot = Math.min(horizonSlots, end / SLOT_MINUTES);
+            this.slots = minutes / SLOT_MINUTES;
+        }
+    }
+
+    /**
+     * One randomized build of a position's rota.
+     */
+    private static final class Build {
+        private final Problem problem;
+        private final Option[] options;
+        private final SplittableRandom random;
+        private final double jitter;
+        // How much this build favours each template, so builds differ in the shifts they reach for
+        private final double[] preference;
+        private final int[] cover;
+        // Quarter hours each option would cover that are still short of staff
+        private final int[] gain;
+        private final int[][] dayMinutes;
+        private final int[][] weekMinutes;
+        private final int[] weekendShifts;
+        private final long[] minutes;
+        // Options each worker is on
+        private final int[][] assigned;
+        private final int[] assignedCount;
+
+        private Build(Problem problem, SplittableRandom random, double jitter) {
+            this.problem = problem;
+            this.options = problem.options;
+            this.random = random;
+            this.jitter = jitter;
+            this.preference = new double[problem.templateCount];
+            for (int t = 0; t < preference.length; t++) {
+                preference[t] = 1 + jitter * (2 * random.nextDouble() - 1);
+            }
+            this.cover = new int[problem.need.length];
+            this.gain = new int[options.length];
+            for (int o = 0; o < options.length; o++) {
+                for (int slot = options[o].firstSlot; slot < options[o].lastSlot; slot++) {
+                    if (problem.need[slot] > 0) {
+                        gain[o]++;
+                    }
+                }
+            }
+            int count = problem.workers.length;
+            this.dayMinutes = new int[count][];
+            this.weekMinutes = new int[count][];
+            this.weekendShifts = new int[count];
+            this.minutes = new long[count];
+            this.assigned = new int[count][];
+            this.assignedCount = new int[count];
+            for (int w = 0; w < count; w++) {
+                Worker worker = problem.workers[w];
+                dayMinutes[w] = worker.dayMinutes.clone();
+                weekMinutes[w] = worker.weekMinutes.clone();
+                weekendShifts[w] = worker.weekendShifts;
+                minutes[w] = worker.minutes;
+                assigned[w] = new int[8];
+            }
+        }
+
+        private Candidate run(long order) {
+            fill();
+            trim();
+            balance();
+            return score(order);
+        }
+
+        /**
+         * Place the shift covering the most need per slot worked, while any covers need.
+         */
+        private void fill() {
+            int[] live = new int[options.length];
+            for (int i = 0; i < live.length; i++) {
+                live[i] = i;
+            }
+            int liveCount = live.length;
+            while (liveCount > 0) {
+                int best = -1;
+                double bestScore = 0;
+                int i = 0;
+                while (i < liveCount) {
+                    int o = live[i];
+                    if (gain[o] == 0) {
+                        // Coverage only grows while filling, so the option stays useless
+                        live[i] = live[--liveCount];
+                        continue;
+                    }
+                    double score = (double) gain[o] / options[o].slots * preference[options[o].templateIndex];
+                    if (jitter > 0) {
+                        score *= 1 + NOISE * random.nextDouble();
+                    }
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = i;
+                    }
+                    i++;
+                }
+                if (best < 0) {
+                    return;
+                }
+                int chosen = live[best];
+                int worker = pickWorker(options[chosen]);
+                if (worker < 0) {
+                    live[best] = live[--liveCount];
+                } else {
+                    assign(worker, chosen);
+                }
+            }
+        }
+
+        /**
+         * The eligible worker with the least load, or -1 if none may work the option.
+         */
+        private int pickWorker(Option option) {
+            int best = -1;
+            double bestLoad = 0;
+            for (int w = 0; w < problem.workers.length; w++) {
+                if (!eligible(w, option)) {
+                    continue;
+                }
+                double load = minutes[w];
+                if (option.weekend) {
+                    load += (double) weekendShifts[w] * WEEKEND_WEIGHT;
+                }
+                if (jitter > 0) {
+                    load += random.nextDouble() * LOAD_NOISE;
+                }
+                if (best < 0 || load < bestLoad) {
+                    best = w;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Shorten shifts to the shortest option that still covers the need
+         * only they cover, dropping those that cover none.
+         */
+        private void trim() {
+            List<int[]> placed = new ArrayList<>();
+            for (int w = 0; w < assignedCount.length; w++) {
+                for (int i = 0; i < assignedCount[w]; i++) {
+                    placed.add(new int[] {w, assigned[w][i]});
+                }
+            }
+            // Randomized rounds differ in which of two overlapping shifts they cut
+            for (int i = placed.size() - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int[] swap = placed.get(i);
+                placed.set(i, placed.get(j));
+                placed.set(j, swap);
+            }
+            for (int[] shift : placed) {
+                int w = shift[0];
+                Option option = options[shift[1]];
+                unassign(w, shift[1]);
+                int first = -1;
+                int last = -1;
+                for (int slot = option.firstSlot; slot < option.lastSlot; slot++) {
+                    if (cover[slot] < problem.need[slot]) {
+                        if (first < 0) {
+                            first = slot;
+                        }
+                        last = slot;
+                    }
+                }
+                if (first < 0) {
+                    continue;
+                }
+                int replacement = shift[1];
+                for (int other : problem.optionsAt[first]) {
+                    Option candidate = options[other];
+                    if (candidate.lastSlot > last && candidate.slots < options[replacement].slots
+                            && eligible(w, candidate)) {
+                        replacement = other;
+                    }
+                }
+                assign(w, replacement);
+            }
+        }
+
+        /**
+         * Move shifts between workers while that evens out their weekend
+         * shifts, or their minutes without making weekends less even.
+         */
+        private void balance() {
+            for (int pass = 0; pass < BALANCING_PASSES; pass++) {
+                boolean moved = false;
+                for (int w = 0; w < assignedCount.length; w++) {
+                    // Unassigning swaps the last option into place, and that one was seen already
+                    for (int i = assignedCount[w] - 1; i >= 0; i--) {
+                        int chosen = assigned[w][i];
+                        int recipient = recipient(w, options[chosen]);
+                        if (recipient >= 0) {
+                            unassign(w, chosen);
+                            assign(recipient, chosen);
+                            moved = true;
+                        }
+                    }
+                }
+                if (!moved) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * The worker an option should move to from worker {@code w}, or -1 to
+         * leave it: fewest weekend shifts first for a weekend option, then
+         * fewest minutes.
+         */
+        private int recipient(int w, Option option) {
+            int best = -1;
+            for (int r = 0; r < assignedCount.length; r++) {
+                if (r == w || !evens(w, r, option)) {
+                    continue;
+                }
+                if (best >= 0) {
+                    if (option.weekend && weekendShifts[r] != weekendShifts[best]) {
+                        if (weekendShifts[r] > weekendShifts[best]) {
+                            continue;
+                        }
+                    } else if (minutes[r] >= minutes[best]) {
+                        continue;
+                    }
+                }
+                if (eligible(r, option)) {
+                    best = r;
+                }
+            }
+            return best;
+        }
+
+        private boolean evens(int from, int to, Option option) {
+            if (option.weekend) {
+                int gap = weekendShifts[from] - weekendShifts[to];
+                if (gap >= 2) {
+                    return true;
+                }
+                if (gap < 1) {
+                    return false;
+                }
+            }
+            return minutes[to] + option.minutes < minutes[from];
+        }
+
+        /**
+         * Whether a worker may take an option: available, within the daily and
+         * weekly hours, and rested before and after their other shifts.
+         */
+        private boolean eligible(int w, Option option) {
+            Worker worker = problem.workers[w];
+            if (worker.unavailable[option.day]
+                    || dayMinutes[w][option.day] + option.minutes > problem.maximumDaily
+                    || weekMinutes[w][option.week] + option.minutes > problem.maximumWeekly) {
+                return false;
+            }
+            for (int i = 0; i < worker.storedStarts.length; i++) {
+                if (clashes(worker.storedStarts[i], worker.storedEnds[i], option)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < assignedCount[w]; i++) {
+                Option other = options[assigned[w][i]];
+                if (clashes(other.start, other.end, option)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean clashes(int start, int end, Option option) {
+            return end + problem.minimumRest > option.start && option.end + problem.minimumRest > start;
+        }
+
+        private void assign(int w, int chosen) {
+            Option option = options[chosen];
+            for (int slot = option.firstSlot; slot < option.lastSlot; slot++) {
+                if (++cover[slot] == problem.need[slot]) {
+                    for (int other : problem.optionsAt[slot]) {
+                        gain[other]--;
+                    }
+                }
+            }
+            dayMinutes[w][option.day] += option.minutes;
+            weekMinutes[w][option.week] += option.minutes;
+            minutes[w] += option.minutes;
+            if (option.weekend) {
+                weekendShifts[w]++;
+            }
+            if (assignedCount[w] == assigned[w].length) {
+                assigned[w] = Arrays.copyOf(assigned[w], assigned[w].length * 2);
+            }
+            assigned[w][assignedCount[w]++] = chosen;
+        }
+
+        private void unassign(int w, int chosen) {
+            Option option = options[chosen];
+            for (int slot = option.firstSlot; slot < option.lastSlot; slot++) {
+                if (cover[slot]-- == problem.need[slot]) {
+                    for (int other : problem.optionsAt[slot]) {
+                        gain[other]++;
+                    }
+                }
+            }
+            dayMinutes[w][option.day] -= option.minutes;
+            weekMinutes[w][option.week] -= option.minutes;
+            minutes[w] -= option.minutes;
+            if (option.weekend) {
+                weekendShifts[w]--;
+            }
+            for (int i = 0; i < assignedCount[w]; i++) {
+                if (assigned[w][i] == chosen) {
+                    assigned[w][i] = assigned[w][--assignedCount[w]];
+                    break;
+                }
+            }
+        }
+
+        private Candidate score(long order) {
+            long uncovered = 0;
+            long surplus = 0;
+            for (int slot = 0; slot < cover.length; slot++) {
+                int gap = problem.need[slot] - cover[slot];
+                if (gap > 0) {
+                    uncovered += gap;
+                } else {
+                    surplus -= gap;
+                }
+            }
+            int total = 0;
+            for (int count : assignedCount) {
+                total += count;
+            }
+            int[] workerOf = new int[total];
+            int[] optionOf = new int[total];
+            int next = 0;
+            int fewestWeekends = Integer.MAX_VALUE;
+            int mostWeekends = 0;
+            long fewestMinutes = Long.MAX_VALUE;
+            long mostMinutes = 0;
+            for (int w = 0; w < assignedCount.length; w++) {
+                for (int i = 0; i < assignedCount[w]; i++) {
+                    workerOf[next] = w;
+                    optionOf[next++] = assigned[w][i];
+                }
+                fewestWeekends = Math.min(fewestWeekends, weekendShifts[w]);
+                mostWeekends = Math.max(mostWeekends, weekendShifts[w]);
+                fewestMinutes = Math.min(fewestMinutes, minutes[w]);
+                mostMinutes = Math.max(mostMinutes, minutes[w]);
+            }
+            boolean staffed = assignedCount.length > 0;
+            return new Candidate(workerOf, optionOf, uncovered, surplus,
+                    staffed ? mostWeekends - fewestWeekends : 0, staffed ? mostMinutes - fewestMinutes : 0,
+                    weekendShifts, minutes, order);
+        }
+    }
+
+    /**
+     * A built rota for one position and its scores.
+     */
+    private static final class Candidate {
+        private final int[] workerOf;
+        private final int[] optionOf;
+        private final long uncoveredSlots;
+        private final long surplusSlots;
+        private final int weekendSpread;
+        private final long minutesSpread;
+        private final int[] weekendShifts;
+        private final long[] minutes;
+        // Which build it was, so ties go the same way whichever lane finishes first
+        private final long order;
+
+        private Candidate(int[] workerOf, int[] optionOf, long uncoveredSlots, long surplusSlots,
+                          int weekendSpread, long minutesSpread, int[] weekendShifts, long[] minutes, long order) {
+            this.workerOf = workerOf;
+            this.optionOf = optionOf;
+            this.uncoveredSlots = uncoveredSlots;
+            this.surplusSlots = surplusSlots;
+            this.weekendSpread = weekendSpread;
+            this.minutesSpread = minutesSpread;
+            this.weekendShifts = weekendShifts;
+            this.minutes = minutes;
+            this.order = order;
+        }
+
+        private boolean beats(Candidate other) {
+            if (other == null) {
+                return true;
+            }
+            if (uncoveredSlots != other.uncoveredSlots) {
+                return uncoveredSlots < other.uncoveredSlots;
+            }
+            if (weekendSpread != other.weekendSpread) {
+                return weekendSpread < other.weekendSpread;
+            }
+            if (surplusSlots != other.surplusSlots) {
+                return surplusSlots < other.surplusSlots;
+            }
+            if (minutesSpread != other.minutesSpread) {
+                return minutesSpread < other.minutesSpread;
+            }
+            return order < other.order;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Shift;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shifts generated for a rota, with how well they cover the demand.
+ */
+public class RotaPlan {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<Shift> shifts;
+    private final Map<String, Long> uncoveredMinutes;
+    private final long surplusMinutes;
+    private final Map<String, Long> minutesByEmployee;
+    private final Map<String, Integer> weekendShiftsByEmployee;
+    private final int weekendShiftSpread;
+    private final long rotasTried;
+    private boolean applied;
+
+    RotaPlan(LocalDate startDate, LocalDate endDate, List<Shift> shifts, Map<String, Long> uncoveredMinutes,
+             long surplusMinutes, Map<String, Long> minutesByEmployee, Map<String, Integer> weekendShiftsByEmployee,
+             int weekendShiftSpread, long rotasTried) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.shifts = Collections.unmodifiableList(shifts);
+        this.uncoveredMinutes = Collections.unmodifiableMap(uncoveredMinutes);
+        this.surplusMinutes = surplusMinutes;
+        this.minutesByEmployee = Collections.unmodifiableMap(minutesByEmployee);
+        this.weekendShiftsByEmployee = Collections.unmodifiableMap(weekendShiftsByEmployee);
+        this.weekendShiftSpread = weekendShiftSpread;
+        this.rotasTried = rotasTried;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * New shifts, without IDs until applied, ordered by start.
+     */
+    public List<Shift> getShifts() {
+        return shifts;
+    }
+
+    /**
+     * Staff-minutes of demand left uncovered, per position with a shortfall.
+     */
+    public Map<String, Long> getUncoveredMinutes() {
+        return uncoveredMinutes;
+    }
+
+    public long getTotalUncoveredMinutes() {
+        long total = 0;
+        for (long minutes : uncoveredMinutes.values()) {
+            total += minutes;
+        }
+        return total;
+    }
+
+    /**
+     * Staff-minutes on duty beyond the demand, from shifts longer than the need they cover.
+     */
+    public long getSurplusMinutes() {
+        return surplusMinutes;
+    }
+
+    /**
+     * Minutes each employee of a demanded position works in the rota, existing shifts included.
+     */
+    public Map<String, Long> getMinutesByEmployee() {
+        return minutesByEmployee;
+    }
+
+    /**
+     * Shifts starting on a Saturday or Sunday per employee of a demanded position, existing shifts included.
+     */
+    public Map<String, Integer> getWeekendShiftsByEmployee() {
+        return weekendShiftsByEmployee;
+    }
+
+    /**
+     * The largest gap in weekend shifts between two employees of the same position.
+     */
+    public int getWeekendShiftSpread() {
+        return weekendShiftSpread;
+    }
+
+    /**
+     * Rotas built and scored while searching.
+     */
+    public long getRotasTried() {
+        return rotasTried;
+    }
+
+    public boolean isComplete() {
+        return uncoveredMinutes.isEmpty();
+    }
+
+    /**
+     * Whether the shifts were saved.
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    void markApplied() {
+        this.applied = true;
+    }
+
+    @Override
+    public String toString() {
+        return "RotaPlan{" +
+                "startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", shifts=" + shifts.size() +
+                ", uncoveredMinutes=" + getTotalUncoveredMinutes() +
+                ", surplusMinutes=" + surplusMinutes +
+                ", weekendShiftSpread=" + weekendShiftSpread +
+                ", rotasTried=" + rotasTried +
+                ", applied=" + applied +
+                '}';
+    }
+}
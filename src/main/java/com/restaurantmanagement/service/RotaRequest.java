@@ -0,0 +1,307 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Shift;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a generated rota has to cover: the shift templates employees can be
+ * put on, the staff needed per position for each hour of the week, the days
+ * employees are unavailable, and the most hours anyone works in a week.
+ * Positions match {@code Employee.position} ignoring case.
+ */
+public class RotaRequest {
+    public static final Duration DEFAULT_MAXIMUM_WEEKLY_HOURS = Duration.ofHours(40);
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(2);
+
+    private static final int HOURS_PER_WEEK = 7 * 24;
+
+    private final LocalDate startDate;
+    private final int days;
+    private final List<Template> templates;
+    // Staff needed per hour of the week, Monday 00:00 first, keyed by position
+    private final Map<String, int[]> demand;
+    private final Map<String, String> positionNames;
+    private final Map<String, Set<LocalDate>> unavailable;
+    private Duration maximumWeeklyHours;
+    private Duration timeBudget;
+    private int parallelism;
+    private long seed;
+
+    public RotaRequest(LocalDate startDate, int days) {
+        if (startDate == null) {
+            throw new IllegalArgumentException("Start date is required");
+        }
+        if (days <= 0) {
+            throw new IllegalArgumentException("A rota must cover at least one day");
+        }
+        this.startDate = startDate;
+        this.days = days;
+        this.templates = new ArrayList<>();
+        this.demand = new LinkedHashMap<>();
+        this.positionNames = new HashMap<>();
+        this.unavailable = new HashMap<>();
+        this.maximumWeeklyHours = DEFAULT_MAXIMUM_WEEKLY_HOURS;
+        this.timeBudget = DEFAULT_TIME_BUDGET;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Offer a shift employees can be put on every day of the rota. An end
+     * before the start makes an overnight shift. Times are on the quarter hour.
+     */
+    public void addTemplate(String shiftType, LocalTime startTime, LocalTime endTime) {
+        if (shiftType == null || shiftType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shift type is required");
+        }
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("Start and end time are required");
+        }
+        if (startTime.equals(endTime)) {
+            throw new IllegalArgumentException("Start and end time must differ");
+        }
+        if (!onQuarterHour(startTime) || !onQuarterHour(endTime)) {
+            throw new IllegalArgumentException("Shift templates must start and end on a quarter hour");
+        }
+        Template template = new Template(shiftType, startTime, endTime);
+        if (!templates.contains(template)) {
+            templates.add(template);
+        }
+    }
+
+    /**
+     * Need {@code headcount} staff of a position on every {@code day} of the
+     * rota from {@code fromHour} up to {@code toHour} (exclusive, at most 24).
+     */
+    public void setDemand(String position, DayOfWeek day, int fromHour, int toHour, int headcount) {
+        if (day == null) {
+            throw new IllegalArgumentException("Day of week is required");
+        }
+        if (fromHour < 0 || toHour > 24 || fromHour >= toHour) {
+            throw new IllegalArgumentException("Hours must run from 0 to 24, start before end");
+        }
+        if (headcount < 0) {
+            throw new IllegalArgumentException("Headcount cannot be negative");
+        }
+        int[] hours = demandFor(position);
+        int base = (day.getValue() - 1) * 24;
+        for (int hour = fromHour; hour < toHour; hour++) {
+            hours[base + hour] = headcount;
+        }
+    }
+
+    /**
+     * Take templates and demand from shifts that staffed a period well, such
+     * as last week: each distinct shift becomes a template, and the staff on
+     * duty for the whole of an hour set the demand for that weekday and hour.
+     * Shifts of employees missing from {@code positionsByEmployeeId} are skipped.
+     */
+    public void copyStaffingFrom(Collection<Shift> shifts, Map<String, String> positionsByEmployeeId) {
+        Map<String, Map<LocalDate, int[]>> onDuty = new HashMap<>();
+        for (Shift shift : shifts) {
+            String position = positionsByEmployeeId.get(shift.getEmployeeId());
+            if (position == null || position.trim().isEmpty() || shift.getStartAt() == null
+                    || shift.getEndAt() == null || shift.getShiftType() == null) {
+                continue;
+            }
+            if (onQuarterHour(shift.getStartTime()) && onQuarterHour(shift.getEndTime())
+                    && !shift.getStartTime().equals(shift.getEndTime())) {
+                addTemplate(shift.getShiftType(), shift.getStartTime(), shift.getEndTime());
+            }
+            demandFor(position);
+            Map<LocalDate, int[]> byDate = onDuty.computeIfAbsent(key(position), p -> new HashMap<>());
+            // Only whole hours on duty count, so the copied shift can always cover the demand it sets
+            LocalDateTime hour = shift.getStartAt().getMinute() == 0 ? shift.getStartAt()
+                    : shift.getStartAt().withMinute(0).plusHours(1);
+            while (!hour.plusHours(1).isAfter(shift.getEndAt())) {
+                byDate.computeIfAbsent(hour.toLocalDate(), d -> new int[24])[hour.getHour()]++;
+                hour = hour.plusHours(1);
+            }
+        }
+        for (Map.Entry<String, Map<LocalDate, int[]>> position : onDuty.entrySet()) {
+            int[] hours = demand.get(position.getKey());
+            for (Map.Entry<LocalDate, int[]> date : position.getValue().entrySet()) {
+                int base = (date.getKey().getDayOfWeek().getValue() - 1) * 24;
+                for (int hour = 0; hour < 24; hour++) {
+                    hours[base + hour] = Math.max(hours[base + hour], date.getValue()[hour]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep an employee off the rota on a date.
+     */
+    public void setUnavailable(String employeeId, LocalDate date) {
+        if (employeeId == null || date == null) {
+            throw new IllegalArgumentException("Employee ID and date are required");
+        }
+        unavailable.computeIfAbsent(employeeId, e -> new HashSet<>()).add(date);
+    }
+
+    /**
+     * The most an employee works in each week of the rota, counted in seven
+     * day steps from the start date and including shifts already stored.
+     */
+    public void setMaximumWeeklyHours(Duration maximumWeeklyHours) {
+        if (maximumWeeklyHours == null || maximumWeeklyHours.isNegative() || maximumWeeklyHours.isZero()) {
+            throw new IllegalArgumentException("Maximum weekly hours must be positive");
+        }
+        this.maximumWeeklyHours = maximumWeeklyHours;
+    }
+
+    /**
+     * How long to search for better rotas; the first one found is kept
+     * however long it takes.
+     */
+    public void setTimeBudget(Duration timeBudget) {
+        if (timeBudget == null || timeBudget.isNegative()) {
+            throw new IllegalArgumentException("Time budget cannot be negative");
+        }
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Threads searching at once; defaults to the available processors.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Seed for the randomized search, so equal requests with equal budgets explore alike.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public LocalDate getEndDate() {
+        return startDate.plusDays(days - 1L);
+    }
+
+    public Duration getMaximumWeeklyHours() {
+        return maximumWeeklyHours;
+    }
+
+    public Duration getTimeBudget() {
+        return timeBudget;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    List<Template> templates() {
+        return Collections.unmodifiableList(templates);
+    }
+
+    /**
+     * Positions with a demand, in the order first given, as first spelled.
+     */
+    List<String> positions() {
+        List<String> names = new ArrayList<>();
+        for (String position : demand.keySet()) {
+            names.add(positionNames.get(position));
+        }
+        return names;
+    }
+
+    /**
+     * Staff needed of a position in an hour of a day of the week.
+     */
+    int demand(String position, DayOfWeek day, int hour) {
+        int[] hours = demand.get(key(position));
+        return hours == null ? 0 : hours[(day.getValue() - 1) * 24 + hour];
+    }
+
+    boolean isUnavailable(String employeeId, LocalDate date) {
+        Set<LocalDate> dates = unavailable.get(employeeId);
+        return dates != null && dates.contains(date);
+    }
+
+    static String key(String position) {
+        return position.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int[] demandFor(String position) {
+        if (position == null || position.trim().isEmpty()) {
+            throw new IllegalArgumentException("Position is required");
+        }
+        positionNames.putIfAbsent(key(position), position.trim());
+        return demand.computeIfAbsent(key(position), p -> new int[HOURS_PER_WEEK]);
+    }
+
+    private static boolean onQuarterHour(LocalTime time) {
+        return time.getMinute() % 15 == 0 && time.getSecond() == 0 && time.getNano() == 0;
+    }
+
+    /**
+     * A shift offered every day.
+     */
+    static final class Template {
+        private final String shiftType;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
+
+        private Template(String shiftType, LocalTime startTime, LocalTime endTime) {
+            this.shiftType = shiftType;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        String shiftType() {
+            return shiftType;
+        }
+
+        LocalTime startTime() {
+            return startTime;
+        }
+
+        LocalTime endTime() {
+            return endTime;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Template)) {
+                return false;
+            }
+            Template that = (Template) other;
+            return shiftType.equals(that.shiftType) && startTime.equals(that.startTime)
+                    && endTime.equals(that.endTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return (shiftType.hashCode() * 31 + startTime.hashCode()) * 31 + endTime.hashCode();
+        }
+    }
+}
@@ -1,34 +1,176 @@
 package com.restaurantmanagement.service;
 
+import com.restaurantmanagement.model.Employee;
 import com.restaurantmanagement.model.Shift;
 import com.restaurantmanagement.repository.InMemoryShiftRepository;
+import com.restaurantmanagement.repository.Page;
+import com.restaurantmanagement.repository.ShiftRepository;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Service layer for Shift business logic.
+ * <p>
+ * Keeps each employee's shifts as a sorted timeline, so a shift is rejected
+ * if it overlaps another of the employee's shifts, leaves less than the
+ * minimum rest before or after one, or takes the employee past the maximum
+ * hours for its date. Shifts saved through the repository directly are picked
+ * up the first time their employee is checked.
+ * <p>
+ * Rotas are generated by {@link RotaGenerator} under the same rules and
+ * saved as one batch.
  */
 public class ShiftService {
-    private final InMemoryShiftRepository repository;
+    public static final Duration DEFAULT_MINIMUM_REST = Duration.ofHours(8);
+    public static final Duration DEFAULT_MAXIMUM_DAILY_HOURS = Duration.ofHours(12);
+
+    private final ShiftRepository repository;
+    private final Duration minimumRest;
+    private final Duration maximumDailyHours;
+    private final ShiftTimeline timeline;
 
     public ShiftService() {
-        this.repository = new InMemoryShiftRepository();
+        this(new InMemoryShiftRepository());
+    }
+
+    /**
+     * Constructor with a shared repository, e.g. one backed by the journal or a database.
+     */
+    public ShiftService(ShiftRepository repository) {
+        this(repository, DEFAULT_MINIMUM_REST, DEFAULT_MAXIMUM_DAILY_HOURS);
+    }
+
+    /**
+     * Constructor with a shared repository, the rest required between an
+     * employee's shifts and the most an employee may work on one date.
+     */
+    public ShiftService(ShiftRepository repository, Duration minimumRest, Duration maximumDailyHours) {
+        this.repository = repository;
+        this.minimumRest = minimumRest;
+        this.maximumDailyHours = maximumDailyHours;
+        this.timeline = new ShiftTimeline(repository::findByEmployeeId, minimumRest, maximumDailyHours);
     }
 
     /**
      * Add a new shift.
      */
-    public Shift addShift(Shift shift) {
+    public synchronized Shift addShift(Shift shift) {
         validateShift(shift);
-        return repository.save(shift);
+        Shift saved = repository.save(shift);
+        timeline.add(saved);
+        return saved;
+    }
+
+    /**
+     * Add several new shifts, checking each against the stored shifts and the
+     * ones before it in the batch. Those that pass are saved together; the
+     * rest are returned with the reason they were refused.
+     */
+    public synchronized BatchResult<Shift> addShifts(Collection<Shift> shifts) {
+        List<Shift> accepted = new ArrayList<>(shifts.size());
+        Map<Integer, String> rejected = check(shifts, accepted);
+        return new BatchResult<>(save(accepted), rejected);
+    }
+
+    /**
+     * Add several new shifts only if every one passes the checks of
+     * {@link #addShifts}; otherwise none is saved.
+     */
+    public synchronized List<Shift> addShiftsAllOrNothing(Collection<Shift> shifts) {
+        List<Shift> accepted = new ArrayList<>(shifts.size());
+        Map<Integer, String> rejected = check(shifts, accepted);
+        if (!rejected.isEmpty()) {
+            Map.Entry<Integer, String> first = rejected.entrySet().iterator().next();
+            throw new IllegalArgumentException("Shift " + (first.getKey() + 1) + " of the batch: " + first.getValue());
+        }
+        return save(accepted);
+    }
+
+    /**
+     * Validate each shift of a batch, adding those that pass to {@code accepted}
+     * and returning why the others failed, by position in the batch.
+     */
+    private Map<Integer, String> check(Collection<Shift> shifts, List<Shift> accepted) {
+        Map<Integer, String> rejected = new TreeMap<>();
+        // Shifts with complete details, and their positions in the batch
+        List<Shift> complete = new ArrayList<>(shifts.size());
+        List<Integer> positions = new ArrayList<>(shifts.size());
+        int position = 0;
+        for (Shift shift : shifts) {
+            try {
+                validateDetails(shift);
+                complete.add(shift);
+                positions.add(position);
+            } catch (IllegalArgumentException e) {
+                rejected.put(position, e.getMessage());
+            }
+            position++;
+        }
+        Map<Integer, String> violations = timeline.violationsWithin(complete);
+        for (int i = 0; i < complete.size(); i++) {
+            String violation = violations.get(i);
+            if (violation != null) {
+                rejected.put(positions.get(i), violation);
+            } else {
+                accepted.add(complete.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    private List<Shift> save(List<Shift> shifts) {
+        List<Shift> saved = repository.saveAll(shifts);
+        for (Shift shift : saved) {
+            timeline.add(shift);
+        }
+        return saved;
+    }
+
+    /**
+     * Generate the shifts of a rota, searching for the one that best covers the
+     * request's demand within its time budget. Stored shifts around the rota
+     * count toward the demand and toward their employees' rest and hours.
+     * Nothing is saved until the plan is applied.
+     */
+    public RotaPlan planRota(RotaRequest request, List<Employee> employees) {
+        if (request == null) {
+            throw new IllegalArgumentException("Rota request is required");
+        }
+        if (request.templates().isEmpty()) {
+            throw new IllegalArgumentException("At least one shift template is required");
+        }
+        // Wide enough to see every stored shift a new one could cut the rest short of
+        long margin = minimumRest.toDays() + 1;
+        List<Shift> stored = repository.findByDateRange(request.getStartDate().minusDays(margin),
+                request.getEndDate().plusDays(margin));
+        return RotaGenerator.plan(request, employees, stored, minimumRest, maximumDailyHours);
+    }
+
+    /**
+     * Save a planned rota's shifts as one batch. Shifts saved since it was
+     * planned may clash with it, in which case none are saved.
+     */
+    public synchronized List<Shift> applyRota(RotaPlan plan) {
+        if (plan.isApplied()) {
+            throw new IllegalArgumentException("Rota was already applied");
+        }
+        List<Shift> saved = addShiftsAllOrNothing(plan.getShifts());
+        plan.markApplied();
+        return saved;
     }
 
     /**
      * Update an existing shift.
      */
-    public Shift updateShift(Shift shift) {
+    public synchronized Shift updateShift(Shift shift) {
         if (shift.getId() == null || shift.getId().isEmpty()) {
             throw new IllegalArgumentException("Shift ID is required for update");
         }
@@ -36,17 +178,21 @@ public class ShiftService {
             throw new IllegalArgumentException("Shift with ID " + shift.getId() + " not found");
         }
         validateShift(shift);
-        return repository.save(shift);
+        Shift saved = repository.save(shift);
+        timeline.add(saved);
+        return saved;
     }
 
     /**
      * Delete a shift by ID.
      */
-    public boolean deleteShift(String id) {
+    public synchronized boolean deleteShift(String id) {
         if (id == null || id.isEmpty()) {
             throw new IllegalArgumentException("Shift ID cannot be empty");
         }
-        return repository.deleteById(id);
+        boolean deleted = repository.deleteById(id);
+        timeline.remove(id);
+        return deleted;
     }
 
     /**
@@ -63,6 +209,13 @@ public class ShiftService {
         return repository.findAll();
     }
 
+    /**
+     * Get one page of shifts in ID order; pass the previous page's cursor, or null to start.
+     */
+    public Page<Shift> getShiftsPage(String cursor, int limit) {
+        return repository.findPage(cursor, limit);
+    }
+
     /**
      * Get shifts by employee ID.
      */
@@ -71,23 +224,75 @@ public class ShiftService {
     }
 
     /**
-     * Get shifts by date.
+     * Get shifts worked on a date, including overnight shifts from the day before.
      */
     public List<Shift> getShiftsByDate(LocalDate date) {
         return repository.findByDate(date);
     }
 
     /**
-     * Get shifts by date range.
+     * Get shifts worked on a date in the range, including overnight shifts from the day before it starts.
      */
     public List<Shift> getShiftsByDateRange(LocalDate startDate, LocalDate endDate) {
         return repository.findByDateRange(startDate, endDate);
     }
 
     /**
-     * Validate shift data.
+     * Get shifts in progress at a given instant.
+     */
+    public List<Shift> getShiftsAt(LocalDateTime instant) {
+        if (instant == null) {
+            throw new IllegalArgumentException("Instant is required");
+        }
+        return repository.findActiveAt(instant);
+    }
+
+    /**
+     * Get shifts overlapping the window [from, to).
+     */
+    public List<Shift> getShiftsOverlapping(LocalDateTime from, LocalDateTime to) {
+        validateWindow(from, to);
+        return repository.findOverlapping(from, to);
+    }
+
+    /**
+     * Get shifts of an employee overlapping the window [from, to).
+     */
+    public List<Shift> getEmployeeShiftsOverlapping(String employeeId, LocalDateTime from, LocalDateTime to) {
+        if (employeeId == null || employeeId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Employee ID is required");
+        }
+        validateWindow(from, to);
+        return repository.findByEmployeeOverlapping(employeeId, from, to);
+    }
+
+    /**
+     * Validate a query time window.
+     */
+    private void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Window start and end are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Window start must be before window end");
+        }
+    }
+
+    /**
+     * Validate shift data, including that it fits the employee's other shifts.
+     */
+    public void validateShift(Shift shift) {
+        validateDetails(shift);
+        String violation = timeline.violation(shift);
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
+    }
+
+    /**
+     * Validate shift data on its own, without the employee's other shifts.
      */
-    private void validateShift(Shift shift) {
+    private static void validateDetails(Shift shift) {
         if (shift == null) {
             throw new IllegalArgumentException("Shift cannot be null");
         }
@@ -103,8 +308,9 @@ public class ShiftService {
         if (shift.getEndTime() == null) {
             throw new IllegalArgumentException("End time is required");
         }
-        if (shift.getStartTime().isAfter(shift.getEndTime()) || shift.getStartTime().equals(shift.getEndTime())) {
-            throw new IllegalArgumentException("Start time must be before end time");
+        // An end before the start is an overnight shift ending the next day
+        if (shift.getStartTime().equals(shift.getEndTime())) {
+            throw new IllegalArgumentException("Start and end time must differ");
         }
         if (shift.getShiftType() == null || shift.getShiftType().trim().isEmpty()) {
             throw new IllegalArgumentException("Shift type is required");
@@ -0,0 +1,243 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Shift;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Each employee's shifts as a timeline sorted by start, with the minutes
+ * worked per date, counting an overnight shift toward the date it starts on.
+ * Since the timeline never holds overlapping shifts, the shifts just before
+ * and after a new one are the only ones it can overlap or cut the rest short
+ * of, so checking a shift takes two lookups in the employee's timeline and
+ * one in their worked minutes. An employee's timeline is built from their
+ * shifts the first time they are asked about, then kept current through
+ * {@link #add} and {@link #remove}.
+ */
+class ShiftTimeline {
+    private static final Comparator<Entry> BY_START = Comparator.comparing((Entry entry) -> entry.start)
+            .thenComparing(entry -> entry.shiftId);
+    // Keys batch shifts without an ID; no allocated ID starts with it
+    private static final String UNSAVED_PREFIX = "\u0000";
+
+    private final Function<String, List<Shift>> shiftsOf;
+    private final Duration minimumRest;
+    private final long maximumDailyMinutes;
+    private final Map<String, Timeline> timelines;
+    private final Map<String, Entry> entries;
+
+    ShiftTimeline(Function<String, List<Shift>> shiftsOf, Duration minimumRest, Duration maximumDaily) {
+        if (minimumRest.isNegative()) {
+            throw new IllegalArgumentException("Minimum rest cannot be negative");
+        }
+        if (maximumDaily.isNegative() || maximumDaily.isZero()) {
+            throw new IllegalArgumentException("Maximum daily hours must be positive");
+        }
+        this.shiftsOf = shiftsOf;
+        this.minimumRest = minimumRest;
+        this.maximumDailyMinutes = maximumDaily.toMinutes();
+        this.timelines = new HashMap<>();
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Why a shift cannot join its employee's timeline, or null if it can. The
+     * shift itself, matched by ID, is left out, so an update is checked
+     * against the employee's other shifts.
+     */
+    synchronized String violation(Shift shift) {
+        Timeline timeline = timeline(shift.getEmployeeId());
+        Entry candidate = new Entry(key(shift, null), shift);
+        Entry previous = timeline.shifts.lower(new Entry("", candidate.start));
+        if (previous != null && previous.shiftId.equals(candidate.shiftId)) {
+            previous = timeline.shifts.lower(previous);
+        }
+        Entry next = timeline.shifts.ceiling(new Entry("", candidate.start));
+        if (next != null && next.shiftId.equals(candidate.shiftId)) {
+            next = timeline.shifts.higher(next);
+        }
+        Entry overlapping = previous != null && previous.end.isAfter(candidate.start) ? previous
+                : next != null && next.start.isBefore(candidate.end) ? next : null;
+        if (overlapping != null) {
+            return "Overlaps shift " + describe(overlapping);
+        }
+        if (previous != null && previous.end.plus(minimumRest).isAfter(candidate.start)) {
+            return "Only " + hours(Duration.between(previous.end, candidate.start)) + " rest after shift "
+                    + describe(previous) + "; at least " + hours(minimumRest) + " required";
+        }
+        if (next != null && candidate.end.plus(minimumRest).isAfter(next.start)) {
+            return "Only " + hours(Duration.between(candidate.end, next.start)) + " rest before shift "
+                    + describe(next) + "; at least " + hours(minimumRest) + " required";
+        }
+        long worked = timeline.minutesOn(candidate.date);
+        Entry own = entries.get(candidate.shiftId);
+        if (own != null && own.employeeId.equals(candidate.employeeId) && own.date.equals(candidate.date)) {
+            worked -= own.minutes;
+        }
+        if (worked + candidate.minutes > maximumDailyMinutes) {
+            return "Would work " + hours(Duration.ofMinutes(worked + candidate.minutes)) + " on " + candidate.date
+                    + "; at most " + hours(Duration.ofMinutes(maximumDailyMinutes)) + " allowed";
+        }
+        return null;
+    }
+
+    /**
+     * Why shifts of a batch cannot join the timelines, by position in the
+     * batch; empty if all can. Each shift is checked against the stored shifts
+     * and the ones before it in the batch that could join. The timelines are
+     * left as they were.
+     */
+    synchronized Map<Integer, String> violationsWithin(List<Shift> batch) {
+        Map<Integer, String> violations = new LinkedHashMap<>();
+        Deque<Runnable> undo = new ArrayDeque<>();
+        try {
+            for (int position = 0; position < batch.size(); position++) {
+                Shift shift = batch.get(position);
+                String violation = violation(shift);
+                if (violation != null) {
+                    violations.put(position, violation);
+                    continue;
+                }
+                Entry entry = new Entry(key(shift, UNSAVED_PREFIX + position), shift);
+                Entry replaced = entries.get(entry.shiftId);
+                if (replaced != null) {
+                    unlink(replaced);
+                    undo.push(() -> link(replaced));
+                }
+                timeline(entry.employeeId);
+                link(entry);
+                undo.push(() -> unlink(entry));
+            }
+            return violations;
+        } finally {
+            while (!undo.isEmpty()) {
+                undo.pop().run();
+            }
+        }
+    }
+
+    /**
+     * Record a saved shift, replacing whatever was recorded for it before.
+     * Shifts missing an employee or times just drop their old entry.
+     */
+    synchronized void add(Shift shift) {
+        remove(shift.getId());
+        if (!isComplete(shift)) {
+            return;
+        }
+        // Loading the timeline may already pick up the saved shift
+        timeline(shift.getEmployeeId());
+        if (!entries.containsKey(shift.getId())) {
+            link(new Entry(shift.getId(), shift));
+        }
+    }
+
+    /**
+     * Forget a shift, if recorded.
+     */
+    synchronized void remove(String shiftId) {
+        Entry entry = entries.get(shiftId);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    private Timeline timeline(String employeeId) {
+        Timeline timeline = timelines.get(employeeId);
+        if (timeline == null) {
+            timeline = new Timeline();
+            timelines.put(employeeId, timeline);
+            for (Shift shift : shiftsOf.apply(employeeId)) {
+                if (isComplete(shift) && employeeId.equals(shift.getEmployeeId())) {
+                    remove(shift.getId());
+                    link(new Entry(shift.getId(), shift));
+                }
+            }
+        }
+        return timeline;
+    }
+
+    private void link(Entry entry) {
+        entries.put(entry.shiftId, entry);
+        Timeline timeline = timelines.get(entry.employeeId);
+        timeline.shifts.add(entry);
+        timeline.minutesByDate.merge(entry.date, entry.minutes, Long::sum);
+    }
+
+    private void unlink(Entry entry) {
+        entries.remove(entry.shiftId);
+        Timeline timeline = timelines.get(entry.employeeId);
+        timeline.shifts.remove(entry);
+        timeline.minutesByDate.merge(entry.date, -entry.minutes, Long::sum);
+    }
+
+    private static boolean isComplete(Shift shift) {
+        return shift.getId() != null && shift.getEmployeeId() != null && shift.getDate() != null
+                && shift.getStartTime() != null && shift.getEndTime() != null;
+    }
+
+    private static String key(Shift shift, String fallback) {
+        return shift.getId() != null && !shift.getId().isEmpty() ? shift.getId() : fallback != null ? fallback : "";
+    }
+
+    private static String describe(Entry entry) {
+        String name = entry.shiftId.startsWith(UNSAVED_PREFIX) ? "earlier in the batch" : entry.shiftId;
+        return name + " (" + entry.start.toLocalTime() + "-" + entry.end.toLocalTime() + " on "
+                + entry.date + ")";
+    }
+
+    private static String hours(Duration duration) {
+        long minutes = duration.toMinutes();
+        return minutes % 60 == 0 ? minutes / 60 + "h" : minutes / 60 + "h" + minutes % 60 + "m";
+    }
+
+    private static final class Timeline {
+        private final NavigableSet<Entry> shifts = new TreeSet<>(BY_START);
+        private final Map<LocalDate, Long> minutesByDate = new HashMap<>();
+
+        long minutesOn(LocalDate date) {
+            return minutesByDate.getOrDefault(date, 0L);
+        }
+    }
+
+    private static final class Entry {
+        private final String shiftId;
+        private final String employeeId;
+        private final LocalDate date;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long minutes;
+
+        private Entry(String shiftId, Shift shift) {
+            this.shiftId = shiftId;
+            this.employeeId = shift.getEmployeeId();
+            this.date = shift.getDate();
+            this.start = shift.getStartAt();
+            this.end = shift.getEndAt();
+            this.minutes = Duration.between(start, end).toMinutes();
+        }
+
+        /**
+         * Probe sorting before every shift starting at {@code start}.
+         */
+        private Entry(String shiftId, LocalDateTime start) {
+            this.shiftId = shiftId;
+            this.employeeId = null;
+            this.date = null;
+            this.start = start;
+            this.end = start;
+            this.minutes = 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.RestaurantTable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans the tables for one day's confirmed bookings.
+ * <p>
+ * Seated parties stay where they are. The confirmed ones are placed in order
+ * of their start time, larger parties first among equal times, each on the
+ * best free table as {@link TableAvailability#bestFreeTable} picks it: the
+ * fewest empty seats, then the tightest fit between the sittings around it.
+ * Placement runs on a scratch bitmap, so planning never touches the bookings
+ * or the live availability.
+ */
+final class TableAssigner {
+    private static final Comparator<Booking> PLACEMENT_ORDER = Comparator.comparing(Booking::getStartTime)
+            .thenComparing(Comparator.comparingInt(Booking::getNumberOfGuests).reversed())
+            .thenComparing(Booking::getId);
+
+    private TableAssigner() {
+    }
+
+    /**
+     * Plan tables for {@code bookings}, all on {@code date}, across the
+     * registered {@code tables}, smallest first. With {@code keepTables} a
+     * party stays on its current table when that is free and wastes no more
+     * seats, so hosts see few moves at the cost of a slightly looser packing.
+     */
+    static TablePlan plan(LocalDate date, List<Booking> bookings, List<RestaurantTable> tables,
+                          Duration diningDuration, boolean keepTables) {
+        TableAvailability scratch = new TableAvailability(day -> Collections.emptyList(), diningDuration);
+        scratch.setTables(tables);
+        int largest = tables.isEmpty() ? 0 : tables.get(tables.size() - 1).getCapacity();
+
+        List<Booking> movable = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (booking.getStatusType() == BookingStatus.CONFIRMED && booking.getStartTime() != null
+                    && booking.getNumberOfGuests() <= largest) {
+                movable.add(booking);
+            } else {
+                // Seated parties, and parties no table seats, keep the table they have
+                scratch.hold(new Booking(booking));
+            }
+        }
+        movable.sort(PLACEMENT_ORDER);
+
+        Map<String, String> assignments = new LinkedHashMap<>();
+        List<String> unplaced = new ArrayList<>();
+        Map<String, Integer> sittingsByTable = new LinkedHashMap<>();
+        int moved = 0;
+        long wastedSeats = 0;
+        for (Booking booking : movable) {
+            RestaurantTable table = scratch.bestFreeTable(date, booking.getStartTime(), booking.getNumberOfGuests());
+            if (table == null) {
+                unplaced.add(booking.getId());
+                continue;
+            }
+            RestaurantTable current = booking.getTableId() != null ? scratch.table(booking.getTableId()) : null;
+            if (keepTables && current != null && current != table && current.getCapacity() == table.getCapacity()
+                    && scratch.holders(date, current.getId(), booking.getStartTime()).isEmpty()) {
+                table = current;
+            }
+            Booking placed = new Booking(booking);
+            placed.setTableId(table.getId());
+            scratch.hold(placed);
+            assignments.put(booking.getId(), table.getId());
+            sittingsByTable.merge(table.getId(), 1, Integer::sum);
+            wastedSeats += table.getCapacity() - booking.getNumberOfGuests();
+            if (!table.getId().equals(booking.getTableId())) {
+                moved++;
+            }
+        }
+        return new TablePlan(date, assignments, moved, unplaced, wastedSeats, sittingsByTable.size());
+    }
+}
@@ -0,0 +1,511 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.RestaurantTable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Which tables are taken when, as a bitmap of fifteen-minute slots per table
+ * and day. A booking holds its table from the slot its start time falls in for
+ * the dining duration, rounded up to whole slots; a sitting running past
+ * midnight holds the first slots of the next day as well. Cancelled bookings
+ * hold nothing. The 96 slots of a day fit in two words per table, so checking
+ * a table tests two words and listing the free tables for a party tests two
+ * words per table. A day's bitmap is built from the bookings on it and the
+ * day before the first time the day is asked about, then kept current through
+ * {@link #hold} and {@link #release}. Days more than {@value #RETAINED_DAYS}
+ * days from today are dropped when another day is loaded, and built again if
+ * asked about later.
+ */
+class TableAvailability {
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int RETAINED_DAYS = 60;
+    private static final int WORDS = 2;
+
+    private final Function<LocalDate, List<Booking>> bookingsOn;
+    private final int diningSlots;
+    // Dense index per table ID seen, registered or not, into each day's bitmap
+    private final Map<String, Integer> tableIndexes;
+    private final Map<LocalDate, Day> days;
+    // Each booking's hold on every loaded day it reaches, at most two
+    private final Map<String, List<Hold>> holds;
+    private final Map<String, RestaurantTable> tablesById;
+    // Registered tables by capacity, smallest first, with their bitmap indexes
+    private RestaurantTable[] floorPlan;
+    private int[] floorPlanIndexes;
+
+    TableAvailability(Function<LocalDate, List<Booking>> bookingsOn, Duration diningDuration) {
+        if (diningDuration.isNegative() || diningDuration.isZero()) {
+            throw new IllegalArgumentException("Dining duration must be positive");
+        }
+        this.bookingsOn = bookingsOn;
+        this.diningSlots = (int) Math.min(SLOTS_PER_DAY, (diningDuration.toMinutes() + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        this.tableIndexes = new HashMap<>();
+        this.days = new HashMap<>();
+        this.holds = new HashMap<>();
+        this.tablesById = new HashMap<>();
+        this.floorPlan = new RestaurantTable[0];
+        this.floorPlanIndexes = new int[0];
+    }
+
+    /**
+     * Replace the registered tables.
+     */
+    synchronized void setTables(Collection<RestaurantTable> tables) {
+        RestaurantTable[] sorted = tables.toArray(new RestaurantTable[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(RestaurantTable::getCapacity).thenComparing(RestaurantTable::getId));
+        int[] indexes = new int[sorted.length];
+        tablesById.clear();
+        for (int i = 0; i < sorted.length; i++) {
+            indexes[i] = tableIndex(sorted[i].getId());
+            tablesById.put(sorted[i].getId(), sorted[i]);
+        }
+        floorPlan = sorted;
+        floorPlanIndexes = indexes;
+    }
+
+    /**
+     * Registered table with an ID, or null.
+     */
+    synchronized RestaurantTable table(String id) {
+        return tablesById.get(id);
+    }
+
+    /**
+     * Registered tables by capacity, smallest first.
+     */
+    synchronized List<RestaurantTable> tables() {
+        return Arrays.asList(floorPlan.clone());
+    }
+
+    /**
+     * ID of another booking holding the booking's table during its time, or null
+     * if the table is free then. The booking itself, matched by ID, never conflicts.
+     */
+    synchronized String conflict(Booking booking) {
+        if (!holdsTable(booking)) {
+            return null;
+        }
+        int table = tableIndex(booking.getTableId());
+        int from = startSlot(booking.getStartTime());
+        int end = endSlot(from);
+        String conflict = conflict(day(booking.getDate()), table, from, Math.min(end, SLOTS_PER_DAY), booking.getId());
+        if (conflict == null && end > SLOTS_PER_DAY) {
+            conflict = conflict(day(booking.getDate().plusDays(1)), table, 0, end - SLOTS_PER_DAY, booking.getId());
+        }
+        return conflict;
+    }
+
+    /**
+     * An empty set of claims for checking a batch of unsaved bookings against each other.
+     */
+    Claims newClaims() {
+        return new Claims();
+    }
+
+    /**
+     * Registered tables seating at least {@code guests} that are free for a
+     * sitting starting at {@code time}, smallest first.
+     */
+    synchronized List<RestaurantTable> freeTables(LocalDate date, LocalTime time, int guests) {
+        Day day = day(date);
+        int from = startSlot(time);
+        int end = endSlot(from);
+        Day next = end > SLOTS_PER_DAY ? day(date.plusDays(1)) : null;
+        List<RestaurantTable> free = new ArrayList<>();
+        for (int i = firstSeating(guests); i < floorPlan.length; i++) {
+            if (!overlaps(day, next, floorPlanIndexes[i], from, end)) {
+                free.add(floorPlan[i]);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Best free registered table for a sitting starting at {@code time}: the
+     * fewest empty seats, then the tightest fit between the sittings before and
+     * after it on that table, so long free stretches stay whole for later
+     * parties and tables turn more often. Null if no table seating the party is free.
+     */
+    synchronized RestaurantTable bestFreeTable(LocalDate date, LocalTime time, int guests) {
+        Day day = day(date);
+        int from = startSlot(time);
+        int end = endSlot(from);
+        Day next = end > SLOTS_PER_DAY ? day(date.plusDays(1)) : null;
+        RestaurantTable best = null;
+        int bestSlack = Integer.MAX_VALUE;
+        for (int i = firstSeating(guests); i < floorPlan.length; i++) {
+            if (best != null && floorPlan[i].getCapacity() > best.getCapacity()) {
+                break;
+            }
+            int table = floorPlanIndexes[i];
+            if (!overlaps(day, next, table, from, end)) {
+                int slack = day.slack(table, from, Math.min(end, SLOTS_PER_DAY));
+                if (slack < bestSlack) {
+                    best = floorPlan[i];
+                    bestSlack = slack;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * IDs of the bookings holding a table during a sitting starting at {@code time}.
+     */
+    synchronized List<String> holders(LocalDate date, String tableId, LocalTime time) {
+        int table = tableIndex(tableId);
+        int from = startSlot(time);
+        int end = endSlot(from);
+        List<String> holders = new ArrayList<>();
+        addHolders(day(date), table, from, Math.min(end, SLOTS_PER_DAY), holders);
+        if (end > SLOTS_PER_DAY) {
+            addHolders(day(date.plusDays(1)), table, 0, end - SLOTS_PER_DAY, holders);
+        }
+        return holders;
+    }
+
+    /**
+     * Record a saved booking's table time, replacing whatever it held before.
+     * Cancelled or incomplete bookings just release their old hold.
+     */
+    synchronized void hold(Booking booking) {
+        release(booking.getId());
+        if (!holdsTable(booking)) {
+            return;
+        }
+        // Loading a day may already pick up the saved booking
+        place(booking, booking.getDate(), day(booking.getDate()));
+        int from = startSlot(booking.getStartTime());
+        if (endSlot(from) > SLOTS_PER_DAY) {
+            LocalDate next = booking.getDate().plusDays(1);
+            place(booking, next, day(next));
+        }
+    }
+
+    /**
+     * Free the table time a booking held, if any.
+     */
+    synchronized void release(String bookingId) {
+        List<Hold> released = holds.remove(bookingId);
+        if (released != null) {
+            for (Hold hold : released) {
+                days.get(hold.date).remove(hold);
+            }
+        }
+    }
+
+    int startSlot(LocalTime time) {
+        return time.toSecondOfDay() / 60 / SLOT_MINUTES;
+    }
+
+    /**
+     * Slot after a sitting's last; past {@link #SLOTS_PER_DAY} for one running past midnight.
+     */
+    int endSlot(int startSlot) {
+        return startSlot + diningSlots;
+    }
+
+    private static boolean holdsTable(Booking booking) {
+        return booking.getDate() != null && booking.getStartTime() != null && booking.getTableId() != null
+                && !booking.getTableId().trim().isEmpty() && booking.getStatusType() != BookingStatus.CANCELLED;
+    }
+
+    private int firstSeating(int guests) {
+        int low = 0;
+        int high = floorPlan.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (floorPlan[mid].getCapacity() < guests) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int tableIndex(String tableId) {
+        return tableIndexes.computeIfAbsent(tableId, id -> tableIndexes.size());
+    }
+
+    private static String conflict(Day day, int table, int from, int to, String bookingId) {
+        if (!day.overlaps(table, from, to)) {
+            return null;
+        }
+        // Rare: find who holds it, skipping the booking's own earlier hold
+        for (Hold hold : day.holdsOf(table)) {
+            if (hold.from < to && from < hold.to && !hold.bookingId.equals(bookingId)) {
+                return hold.bookingId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether a sitting from slot {@code from} to {@code end} overlaps a hold on
+     * the table, looking into the next day's bitmap for the part past midnight.
+     */
+    private static boolean overlaps(Day day, Day next, int table, int from, int end) {
+        return day.overlaps(table, from, Math.min(end, SLOTS_PER_DAY))
+                || (end > SLOTS_PER_DAY && next.overlaps(table, 0, end - SLOTS_PER_DAY));
+    }
+
+    private static void addHolders(Day day, int table, int from, int to, List<String> holders) {
+        for (Hold hold : day.holdsOf(table)) {
+            if (hold.from < to && from < hold.to) {
+                holders.add(hold.bookingId);
+            }
+        }
+    }
+
+    private Day day(LocalDate date) {
+        Day day = days.get(date);
+        if (day == null) {
+            evictAround(date);
+            day = new Day();
+            days.put(date, day);
+            for (Booking booking : bookingsOn.apply(date)) {
+                if (holdsTable(booking) && date.equals(booking.getDate())) {
+                    place(booking, date, day);
+                }
+            }
+            // Sittings from the evening before that run past midnight
+            LocalDate previous = date.minusDays(1);
+            for (Booking booking : bookingsOn.apply(previous)) {
+                if (holdsTable(booking) && previous.equals(booking.getDate())
+                        && endSlot(startSlot(booking.getStartTime())) > SLOTS_PER_DAY) {
+                    place(booking, date, day);
+                }
+            }
+        }
+        return day;
+    }
+
+    /**
+     * Drop the days outside the window around today, keeping {@code date}'s
+     * neighbours so a sitting being checked across midnight keeps both its days.
+     */
+    private void evictAround(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        LocalDate earliest = today.minusDays(RETAINED_DAYS);
+        LocalDate latest = today.plusDays(RETAINED_DAYS);
+        Iterator<Map.Entry<LocalDate, Day>> entries = days.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<LocalDate, Day> entry = entries.next();
+            LocalDate cached = entry.getKey();
+            if ((cached.isBefore(earliest) || cached.isAfter(latest))
+                    && Math.abs(ChronoUnit.DAYS.between(cached, date)) > 1) {
+                for (List<Hold> tableHolds : entry.getValue().holdsByTable) {
+                    for (Hold hold : tableHolds) {
+                        List<Hold> bookingHolds = holds.get(hold.bookingId);
+                        bookingHolds.remove(hold);
+                        if (bookingHolds.isEmpty()) {
+                            holds.remove(hold.bookingId);
+                        }
+                    }
+                }
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Add the part of a booking's sitting that falls on {@code date} to that
+     * day's bitmap, unless it is there already or the sitting misses the day.
+     */
+    private void place(Booking booking, LocalDate date, Day day) {
+        List<Hold> bookingHolds = holds.computeIfAbsent(booking.getId(), id -> new ArrayList<>(2));
+        for (Hold hold : bookingHolds) {
+            if (hold.date.equals(date)) {
+                return;
+            }
+        }
+        int from = startSlot(booking.getStartTime());
+        int end = endSlot(from);
+        Hold hold;
+        if (date.equals(booking.getDate())) {
+            hold = new Hold(booking.getId(), date, tableIndex(booking.getTableId()), from, Math.min(end, SLOTS_PER_DAY));
+        } else if (end > SLOTS_PER_DAY && date.equals(booking.getDate().plusDays(1))) {
+            hold = new Hold(booking.getId(), date, tableIndex(booking.getTableId()), 0, end - SLOTS_PER_DAY);
+        } else {
+            if (bookingHolds.isEmpty()) {
+                holds.remove(booking.getId());
+            }
+            return;
+        }
+        bookingHolds.add(hold);
+        day.add(hold);
+    }
+
+    /**
+     * Bits for slots [from, to) within one word of a table's bitmap.
+     */
+    private static long mask(int from, int to, int word) {
+        int low = Math.max(from - word * Long.SIZE, 0);
+        int high = Math.min(to - word * Long.SIZE, Long.SIZE);
+        if (low >= high) {
+            return 0;
+        }
+        return (high == Long.SIZE ? -1L : (1L << high) - 1) & (-1L << low);
+    }
+
+    private static long lowBits(int count) {
+        return count >= Long.SIZE ? -1L : (1L << count) - 1;
+    }
+
+    /**
+     * Table time claimed by bookings of a batch not saved yet, so each can be
+     * checked against the ones before it as well as against the saved ones.
+     */
+    final class Claims {
+        private final Map<LocalDate, Map<Integer, long[]>> taken = new HashMap<>();
+
+        private Claims() {
+        }
+
+        /**
+         * Claim the booking's table time unless an earlier claim overlaps it.
+         * Returns whether it was claimed.
+         */
+        boolean claim(Booking booking) {
+            if (!holdsTable(booking)) {
+                return true;
+            }
+            int from = startSlot(booking.getStartTime());
+            int end = endSlot(from);
+            int to = Math.min(end, SLOTS_PER_DAY);
+            int table;
+            synchronized (TableAvailability.this) {
+                table = tableIndex(booking.getTableId());
+            }
+            long[] words = words(booking.getDate(), table);
+            long[] next = end > SLOTS_PER_DAY ? words(booking.getDate().plusDays(1), table) : null;
+            for (int word = 0; word < WORDS; word++) {
+                if ((words[word] & mask(from, to, word)) != 0
+                        || (next != null && (next[word] & mask(0, end - SLOTS_PER_DAY, word)) != 0)) {
+                    return false;
+                }
+            }
+            for (int word = 0; word < WORDS; word++) {
+                words[word] |= mask(from, to, word);
+                if (next != null) {
+                    next[word] |= mask(0, end - SLOTS_PER_DAY, word);
+                }
+            }
+            return true;
+        }
+
+        private long[] words(LocalDate date, int table) {
+            return taken.computeIfAbsent(date, key -> new HashMap<>()).computeIfAbsent(table, key -> new long[WORDS]);
+        }
+    }
+
+    /**
+     * One day's bitmap, two words per table index, and the holds behind it so
+     * a released booking's bits can be recomputed from the ones left.
+     */
+    private static final class Day {
+        private long[] words = new long[WORDS * 16];
+        private final List<List<Hold>> holdsByTable = new ArrayList<>();
+
+        boolean overlaps(int table, int from, int to) {
+            if (WORDS * table >= words.length) {
+                return false;
+            }
+            return (words[WORDS * table] & mask(from, to, 0)) != 0
+                    || (words[WORDS * table + 1] & mask(from, to, 1)) != 0;
+        }
+
+        /**
+         * Free slots left on either side of [from, to) before the neighbouring
+         * sittings on the table, or the start and end of the day.
+         */
+        int slack(int table, int from, int to) {
+            if (WORDS * table >= words.length) {
+                return from + SLOTS_PER_DAY - to;
+            }
+            long low = words[WORDS * table];
+            long high = words[WORDS * table + 1];
+            // Highest taken slot below from
+            long before = from > Long.SIZE ? high & lowBits(from - Long.SIZE) : 0;
+            int previousEnd;
+            if (before != 0) {
+                previousEnd = 2 * Long.SIZE - Long.numberOfLeadingZeros(before);
+            } else {
+                before = low & lowBits(Math.min(from, Long.SIZE));
+                previousEnd = Long.SIZE - Long.numberOfLeadingZeros(before);
+            }
+            // Lowest taken slot from to on
+            long after = to < Long.SIZE ? low & (-1L << to) : 0;
+            int nextStart;
+            if (after != 0) {
+                nextStart = Long.numberOfTrailingZeros(after);
+            } else {
+                after = high & (-1L << Math.max(to - Long.SIZE, 0));
+                nextStart = after != 0 ? Long.SIZE + Long.numberOfTrailingZeros(after) : SLOTS_PER_DAY;
+            }
+            return from - previousEnd + Math.min(nextStart, SLOTS_PER_DAY) - to;
+        }
+
+        List<Hold> holdsOf(int table) {
+            return table < holdsByTable.size() ? holdsByTable.get(table) : new ArrayList<>();
+        }
+
+        void add(Hold hold) {
+            if (WORDS * hold.table >= words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, WORDS * (hold.table + 1)));
+            }
+            while (holdsByTable.size() <= hold.table) {
+                holdsByTable.add(new ArrayList<>());
+            }
+            holdsByTable.get(hold.table).add(hold);
+            words[WORDS * hold.table] |= mask(hold.from, hold.to, 0);
+            words[WORDS * hold.table + 1] |= mask(hold.from, hold.to, 1);
+        }
+
+        void remove(Hold hold) {
+            List<Hold> tableHolds = holdsByTable.get(hold.table);
+            tableHolds.remove(hold);
+            // Overlapping holds may share bits, so rebuild the table's words from the rest
+            long low = 0;
+            long high = 0;
+            for (Hold other : tableHolds) {
+                low |= mask(other.from, other.to, 0);
+                high |= mask(other.from, other.to, 1);
+            }
+            words[WORDS * hold.table] = low;
+            words[WORDS * hold.table + 1] = high;
+        }
+    }
+
+    private static final class Hold {
+        private final String bookingId;
+        private final LocalDate date;
+        private final int table;
+        private final int from;
+        private final int to;
+
+        private Hold(String bookingId, LocalDate date, int table, int from, int to) {
+            this.bookingId = bookingId;
+            this.date = date;
+            this.table = table;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
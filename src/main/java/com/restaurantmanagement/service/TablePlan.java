@@ -0,0 +1,103 @@
+package com.restaurantmanagement.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table assignments planned for one day's confirmed bookings.
+ */
+public class TablePlan {
+    private final LocalDate date;
+    private final Map<String, String> assignments;
+    private final int moved;
+    private final List<String> unplaced;
+    private final long wastedSeats;
+    private final int tablesUsed;
+    private boolean applied;
+
+    TablePlan(LocalDate date, Map<String, String> assignments, int moved, List<String> unplaced,
+              long wastedSeats, int tablesUsed) {
+        this.date = date;
+        this.assignments = Collections.unmodifiableMap(assignments);
+        this.moved = moved;
+        this.unplaced = Collections.unmodifiableList(unplaced);
+        this.wastedSeats = wastedSeats;
+        this.tablesUsed = tablesUsed;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Table ID per placed booking ID, in placement order.
+     */
+    public Map<String, String> getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Placed bookings whose table differs from the one they had.
+     */
+    public int getMoved() {
+        return moved;
+    }
+
+    /**
+     * Confirmed bookings no table was free for; they keep their current table.
+     */
+    public List<String> getUnplaced() {
+        return unplaced;
+    }
+
+    /**
+     * Empty seats summed over the placed bookings' sittings.
+     */
+    public long getWastedSeats() {
+        return wastedSeats;
+    }
+
+    /**
+     * Tables seating at least one placed booking.
+     */
+    public int getTablesUsed() {
+        return tablesUsed;
+    }
+
+    /**
+     * Placed bookings per table used.
+     */
+    public double getTurnsPerTable() {
+        return tablesUsed == 0 ? 0 : (double) assignments.size() / tablesUsed;
+    }
+
+    public boolean isComplete() {
+        return unplaced.isEmpty();
+    }
+
+    /**
+     * Whether the assignments were saved; a plan is only applied if it places every booking.
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    void markApplied() {
+        this.applied = true;
+    }
+
+    @Override
+    public String toString() {
+        return "TablePlan{" +
+                "date=" + date +
+                ", placed=" + assignments.size() +
+                ", moved=" + moved +
+                ", unplaced=" + unplaced.size() +
+                ", wastedSeats=" + wastedSeats +
+                ", tablesUsed=" + tablesUsed +
+                ", applied=" + applied +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package com.restaurantmanagement.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.Shift;
+import com.restaurantmanagement.service.BatchResult;
+import com.restaurantmanagement.service.BookingService;
+import com.restaurantmanagement.service.ShiftService;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that rows the sink refuses, or a chunk it fails, end up in the
+ * reject file row by row while the rest of the import carries on.
+ */
+class CsvImporterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void sinkFailureRejectsOnlyTheFailingRows() throws Exception {
+        Path source = directory.resolve("names.csv");
+        Files.write(source, Arrays.asList("name", "ann", "bob", "bad", "cat", "dan", "eve", "x", "fay"),
+                StandardCharsets.UTF_8);
+        Path rejectFile = directory.resolve("names.rejects.csv");
+        List<String> saved = Collections.synchronizedList(new ArrayList<>());
+        CsvImporter<String> importer = new CsvImporter<>(Collections.singletonList("name"),
+                row -> row.get("name"),
+                name -> {
+                    if (name.length() < 2) {
+                        throw new IllegalArgumentException("Name is too short");
+                    }
+                },
+                batch -> {
+                    // Like a service batch method: one bad entity fails the whole batch
+                    if (batch.contains("bad")) {
+                        throw new IllegalArgumentException("Refused bad");
+                    }
+                    saved.addAll(batch);
+                    return BatchResult.allSaved(batch);
+                }, 1, 3);
+
+        ImportResult result = importer.importFile(source, rejectFile, null);
+
+        assertEquals(8, result.getRowsRead());
+        assertEquals(6, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(Arrays.asList("ann", "bob", "cat", "dan", "eve", "fay"), saved);
+        assertNotNull(result.getRejectFile());
+        List<String> rejects = Files.readAllLines(rejectFile, StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("name,rejectLine,rejectReason", "bad,4,Refused bad", "x,8,Name is too short"),
+                rejects);
+    }
+
+    @Test
+    void doubleBookedRowIsRejectedAndTheRestImported() throws Exception {
+        Path source = directory.resolve("bookings.csv");
+        Files.write(source, Arrays.asList(
+                "customerName,phoneNumber,numberOfGuests,date,startTime,tableId,status",
+                "Ann,0900000001,2,2026-10-20,19:30,T1,CONFIRMED",
+                "Bob,0900000002,2,2026-10-20,19:30,T1,CONFIRMED",
+                "Cat,0900000003,4,2026-10-20,19:30,T2,CONFIRMED"), StandardCharsets.UTF_8);
+        Path rejectFile = directory.resolve("bookings.rejects.csv");
+        BookingService service = new BookingService();
+
+        ImportResult result = CsvImporters.bookings(service).importFile(source, rejectFile, null);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(Arrays.asList("Ann", "Cat"), service.getAllBookings().stream()
+                .map(Booking::getCustomerName).sorted().collect(Collectors.toList()));
+        List<String> rejects = Files.readAllLines(rejectFile, StandardCharsets.UTF_8);
+        assertEquals(2, rejects.size());
+        assertTrue(rejects.get(1).startsWith("Bob,0900000002,2,2026-10-20,19:30,T1,CONFIRMED,3,Table T1 is already"),
+                rejects.get(1));
+    }
+
+    @Test
+    void overlappingShiftRowIsRejectedAndTheRestImported() throws Exception {
+        Path source = directory.resolve("shifts.csv");
+        Files.write(source, Arrays.asList(
+                "employeeId,employeeName,date,startTime,endTime,shiftType",
+                "EMP1,Ann,2026-10-20,09:00,13:00,Morning",
+                "EMP1,Ann,2026-10-20,12:00,16:00,Midday",
+                "EMP2,Bob,2026-10-20,09:00,17:00,Day"), StandardCharsets.UTF_8);
+        Path rejectFile = directory.resolve("shifts.rejects.csv");
+        ShiftService service = new ShiftService();
+
+        ImportResult result = CsvImporters.shifts(service).importFile(source, rejectFile, null);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(Arrays.asList("Day", "Morning"), service.getAllShifts().stream()
+                .map(Shift::getShiftType).sorted().collect(Collectors.toList()));
+        List<String> rejects = Files.readAllLines(rejectFile, StandardCharsets.UTF_8);
+        assertEquals(2, rejects.size());
+        assertTrue(rejects.get(1).startsWith("EMP1,Ann,2026-10-20,12:00,16:00,Midday,3,Overlaps shift"),
+                rejects.get(1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.restaurantmanagement.persistence;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.repository.InMemoryBookingRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Times booking saves through the journal under each sync policy, from one
+ * thread and from eight, then reopens the store to check every save came back.
+ * <p>
+ * Not a test; run the main method on the test classpath, e.g.
+ * {@code mvn test-compile} then
+ * {@code java -cp target/classes:target/test-classes com.restaurantmanagement.persistence.JournalBenchmark}.
+ */
+public final class JournalBenchmark {
+    private static final int[] THREADS = {1, 8};
+    private static final int SAVES = 40_000;
+    // Each save waits for its own fsync, so fewer of them keep the run short
+    private static final int ALWAYS_SAVES = 4_000;
+
+    private JournalBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-13s %8s %8s %12s%n", "policy", "threads", "saves", "writes/s");
+        for (SyncPolicy policy : SyncPolicy.values()) {
+            for (int threads : THREADS) {
+                int saves = policy == SyncPolicy.ALWAYS ? ALWAYS_SAVES : SAVES;
+                Path directory = Files.createTempDirectory("journal-benchmark");
+                try {
+                    long nanos = run(directory, policy, threads, saves / threads);
+                    int total = saves / threads * threads;
+                    try (RestaurantDataStore store = RestaurantDataStore.open(directory, policy)) {
+                        int recovered = store.getBookingRepository().findAll().size();
+                        if (recovered != total) {
+                            throw new IllegalStateException(policy + " recovered " + recovered + " of " + total);
+                        }
+                    }
+                    System.out.printf("%-13s %8d %8d %12.0f%n", policy, threads, total, total / (nanos / 1e9));
+                } finally {
+                    delete(directory);
+                }
+            }
+        }
+    }
+
+    private static long run(Path directory, SyncPolicy policy, int threads, int savesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (RestaurantDataStore store = RestaurantDataStore.open(directory, policy)) {
+            InMemoryBookingRepository repository = store.getBookingRepository();
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < savesPerThread; i++) {
+                        repository.save(new Booking(null, "Guest " + thread + "-" + i, "0900000000", 2,
+                                LocalDate.of(2026, 1, 1).plusDays(i % 30), LocalTime.of(18, 0), null, "CONFIRMED"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
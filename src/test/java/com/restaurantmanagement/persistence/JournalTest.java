@@ -0,0 +1,71 @@
+package com.restaurantmanagement.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Damages the tail of a journal segment and checks that reopening replays
+ * only the intact records before it and carries on from there.
+ */
+class JournalTest {
+    // [int length][int crc32][long lsn][long timestamp][byte store][byte op] + 4-byte payload
+    private static final int RECORD_BYTES = 8 + 18 + 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornFinalRecordIsDropped() throws IOException {
+        Path segment = writeRecords(3);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(3 * RECORD_BYTES - 7);
+        }
+
+        List<Long> replayed = new ArrayList<>();
+        try (Journal journal = Journal.open(directory, SyncPolicy.ALWAYS, record -> replayed.add(record.getLsn()))) {
+            assertEquals(List.of(1L, 2L), replayed);
+            assertEquals(2 * RECORD_BYTES, Files.size(segment), "torn tail truncated");
+            assertEquals(3L, journal.append(StoreType.BOOKING, JournalOp.SAVE, new byte[4]));
+        }
+    }
+
+    @Test
+    void corruptChecksumStopsReplay() throws IOException {
+        Path segment = writeRecords(3);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // First payload byte of the second record
+            long offset = RECORD_BYTES + RECORD_BYTES - 4;
+            file.seek(offset);
+            int value = file.read();
+            file.seek(offset);
+            file.write(value ^ 0xFF);
+        }
+
+        List<Long> replayed = new ArrayList<>();
+        try (Journal journal = Journal.open(directory, SyncPolicy.ALWAYS, record -> replayed.add(record.getLsn()))) {
+            assertEquals(List.of(1L), replayed, "the intact third record is not replayed past the corrupt one");
+            assertEquals(RECORD_BYTES, Files.size(segment));
+            assertEquals(2L, journal.append(StoreType.BOOKING, JournalOp.SAVE, new byte[4]));
+        }
+    }
+
+    private Path writeRecords(int count) throws IOException {
+        try (Journal journal = Journal.open(directory, SyncPolicy.ALWAYS, record -> { })) {
+            for (int i = 0; i < count; i++) {
+                journal.append(StoreType.BOOKING, JournalOp.SAVE, new byte[] {1, 2, 3, (byte) i});
+            }
+        }
+        List<Path> segments = Journal.listSegments(directory);
+        assertEquals(1, segments.size());
+        assertEquals(count * RECORD_BYTES, Files.size(segments.get(0)));
+        return segments.get(0);
+    }
+}
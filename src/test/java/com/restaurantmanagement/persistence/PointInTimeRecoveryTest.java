@@ -0,0 +1,58 @@
+package com.restaurantmanagement.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Restores a store to an instant between two commits and checks the reopened
+ * store holds the first commit and none of the second.
+ */
+class PointInTimeRecoveryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoreToReproducesStateBetweenCommits() throws Exception {
+        String firstId;
+        String secondId;
+        LocalDateTime between;
+        try (RestaurantDataStore store = RestaurantDataStore.open(directory, SyncPolicy.ALWAYS)) {
+            Booking first = store.getBookingRepository().save(booking("Ada"));
+            firstId = first.getId();
+            // Journal timestamps are in milliseconds; keep clear of both commits
+            Thread.sleep(50);
+            between = LocalDateTime.now();
+            Thread.sleep(50);
+
+            Booking cancelled = new Booking(first);
+            cancelled.setStatusType(BookingStatus.CANCELLED);
+            store.getBookingRepository().save(cancelled);
+            secondId = store.getBookingRepository().save(booking("Grace")).getId();
+        }
+
+        RecoveryReport report = RestaurantDataStore.restoreTo(directory, between);
+        assertEquals(3, report.getRecordsScanned());
+        assertEquals(1, report.getRecordsReplayed());
+
+        try (RestaurantDataStore store = RestaurantDataStore.open(directory, SyncPolicy.ALWAYS)) {
+            assertEquals(1, store.getBookingRepository().findAll().size());
+            assertEquals(BookingStatus.CONFIRMED.name(),
+                    store.getBookingRepository().findById(firstId).get().getStatus());
+            assertFalse(store.getBookingRepository().findById(secondId).isPresent());
+        }
+    }
+
+    private static Booking booking(String name) {
+        return new Booking(null, name, "0900000000", 2, LocalDate.of(2026, 1, 1), LocalTime.of(18, 0),
+                null, BookingStatus.CONFIRMED.name());
+    }
+}
@@ -0,0 +1,68 @@
+package com.restaurantmanagement.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.Employee;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Takes snapshots while other threads save, then reopens the store and
+ * checks every save came back from the snapshot or the journal after it.
+ */
+class SnapshotConcurrencyTest {
+    private static final int THREADS = 4;
+    private static final int SAVES = 5_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotsTakenDuringWritesLoseNothing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int snapshots = 0;
+        try (RestaurantDataStore store = RestaurantDataStore.open(directory, SyncPolicy.NONE)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < SAVES; i++) {
+                        store.getBookingRepository().save(new Booking(null, "Guest " + thread + "-" + i,
+                                "0900000000", 2, LocalDate.of(2026, 1, 1).plusDays(i % 30), LocalTime.of(18, 0),
+                                null, BookingStatus.CONFIRMED.name()));
+                        if (i % 10 == 0) {
+                            store.getEmployeeRepository().save(new Employee(null, "Worker " + thread + "-" + i,
+                                    "Waiter", "0900000000", "worker@example.com"));
+                        }
+                    }
+                }));
+            }
+            while (!futures.stream().allMatch(Future::isDone)) {
+                store.snapshot();
+                snapshots++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try (RestaurantDataStore store = RestaurantDataStore.open(directory, SyncPolicy.NONE)) {
+            assertEquals(THREADS * SAVES, store.getBookingRepository().findAll().size(),
+                    "bookings lost across " + snapshots + " snapshots");
+            assertEquals(THREADS * SAVES / 10, store.getEmployeeRepository().findAll().size(),
+                    "employees lost across " + snapshots + " snapshots");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.restaurantmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that IDs saved at the old four-digit width seed the counter, so new
+ * eight-digit IDs never reuse their numbers.
+ */
+class IdAllocatorTest {
+    @Test
+    void fourDigitIdsSeedTheCounter() {
+        IdAllocator allocator = new IdAllocator("BK");
+        assertEquals(42, allocator.parse("BK0042"));
+        allocator.observe("BK0042");
+        assertEquals("BK00000043", allocator.nextId());
+        // Lower IDs seen later leave the counter where it is
+        allocator.observe("BK0007");
+        assertEquals("BK00000044", allocator.nextId());
+        assertEquals(-1, allocator.parse("EMP0042"));
+    }
+
+    @Test
+    void repositoryLoadingOldIdsAllocatesAfterThem() {
+        InMemoryBookingRepository repository = new InMemoryBookingRepository();
+        for (String id : new String[] {"BK0001", "BK0002", "BK9999"}) {
+            repository.save(booking(id));
+        }
+        assertEquals("BK00010000", repository.save(booking(null)).getId());
+    }
+
+    @Test
+    void formatPadsToTheWidthAndGrowsPastIt() {
+        IdAllocator allocator = new IdAllocator("BK", 4, new InMemoryIdBlockSource(), 8);
+        assertEquals("BK0042", allocator.format(42));
+        assertEquals("BK12345", allocator.format(12345));
+    }
+
+    private static Booking booking(String id) {
+        return new Booking(id, "Guest", "0900000000", 2, LocalDate.of(2026, 1, 1), LocalTime.of(18, 0),
+                null, BookingStatus.CONFIRMED.name());
+    }
+}
@@ -0,0 +1,72 @@
+package com.restaurantmanagement.repository;
+
+import com.restaurantmanagement.model.Booking;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Times customer name search through the trigram index against the
+ * lower-cased contains() scan it replaced, on 150k bookings.
+ * <p>
+ * Not a test; run the main method on the test classpath, e.g.
+ * {@code mvn test-compile} then
+ * {@code java -cp target/classes:target/test-classes com.restaurantmanagement.repository.NGramIndexBenchmark}.
+ */
+public final class NGramIndexBenchmark {
+    private static final int BOOKINGS = 150_000;
+    private static final int RUNS = 50;
+    private static final String[] FAMILY = {"Nguyen", "Tran", "Le", "Pham", "Hoang", "Huynh", "Phan", "Vu",
+            "Vo", "Dang", "Bui", "Do", "Ho", "Ngo", "Duong", "Ly"};
+    private static final String[] GIVEN = {"Minh", "Anh", "Linh", "Huy", "Trang", "Duc", "Mai", "Nam",
+            "Thao", "Khoa", "Lan", "Quan", "Hoa", "Tuan", "Vy", "Long"};
+    private static final String[] QUERIES = {"xq1", "uyen min", "nguyen", "ng"};
+
+    private NGramIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        InMemoryBookingRepository repository = new InMemoryBookingRepository();
+        Random random = new Random(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            String name = FAMILY[random.nextInt(FAMILY.length)] + " " + GIVEN[random.nextInt(GIVEN.length)]
+                    + (random.nextInt(30_000) == 0 ? " xq1" : "");
+            repository.save(new Booking(null, name, "0900000000", 2, LocalDate.of(2026, 1, 1).plusDays(i % 365),
+                    LocalTime.of(18, 0), null, "Confirmed"));
+        }
+        System.out.printf("%-10s %10s %10s %8s%n", "query", "scan ms", "index ms", "hits");
+        for (String query : QUERIES) {
+            List<Booking> expected = scan(repository, query);
+            List<Booking> actual = repository.findByCustomerName(query);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Index and scan disagree for '" + query + "'");
+            }
+            // Warm both paths up before timing
+            for (int i = 0; i < 5; i++) {
+                scan(repository, query);
+                repository.findByCustomerName(query);
+            }
+            long scanStart = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                scan(repository, query);
+            }
+            long scanNanos = System.nanoTime() - scanStart;
+            long indexStart = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                repository.findByCustomerName(query);
+            }
+            long indexNanos = System.nanoTime() - indexStart;
+            System.out.printf("%-10s %10.2f %10.2f %8d%n", query, scanNanos / 1e6 / RUNS, indexNanos / 1e6 / RUNS,
+                    actual.size());
+        }
+    }
+
+    private static List<Booking> scan(InMemoryBookingRepository repository, String query) {
+        String lowered = query.toLowerCase();
+        return repository.findAll().stream()
+                .filter(booking -> booking.getCustomerName().toLowerCase().contains(lowered))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,118 @@
+package com.restaurantmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.restaurantmanagement.model.Employee;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that trigram search returns exactly what a lower-cased contains() scan returns.
+ */
+class NGramIndexTest {
+    private static final String[] WORDS = {"Nguyen", "Tran", "Le", "PHAM", "hoang", "Vũ", "Đặng", "Bùi",
+            "Anne-Marie", "O'Neil", "ß", "İstanbul", "x", "", "Nguyễn Văn"};
+    private static final String[] QUERIES = {"ng", "NGU", "uyen", "nguyen t", "an", "a", "", "-ma", "o'n",
+            "ß", "vũ", "ĐẶNG", "i̇st", "istanbul", "xq1", "văn", "e n", "zzz"};
+
+    @Test
+    void searchMatchesContainsAcrossPutsRenamesAndRemoves() {
+        Random random = new Random(5);
+        NGramIndex<String> index = new NGramIndex<>(text -> text);
+        // Live entities in insertion order; a rename keeps the original position
+        Map<String, String> live = new LinkedHashMap<>();
+        for (int op = 0; op < 20_000; op++) {
+            String id = "E" + random.nextInt(3_000);
+            int action = random.nextInt(10);
+            if (action < 7) {
+                String name = randomName(random);
+                index.put(id, name);
+                live.put(id, name);
+            } else {
+                index.remove(id);
+                live.remove(id);
+            }
+            if (op % 500 == 0) {
+                for (String query : QUERIES) {
+                    assertEquals(scan(live, query), index.search(query), "query '" + query + "' after " + op);
+                }
+            }
+        }
+        for (String query : QUERIES) {
+            assertEquals(scan(live, query), index.search(query), "query '" + query + "'");
+        }
+        for (int i = 0; i < 200; i++) {
+            String query = randomName(random);
+            int from = random.nextInt(query.length() + 1);
+            query = query.substring(from, from + random.nextInt(query.length() - from + 1));
+            assertEquals(scan(live, query), index.search(query), "query '" + query + "'");
+        }
+    }
+
+    @Test
+    void nullTextsNeverMatch() {
+        NGramIndex<String> index = new NGramIndex<>(text -> text);
+        index.put("a", null);
+        index.put("b", "Anna");
+        index.put("a", "Hanna");
+        index.put("b", null);
+        assertEquals(List.of("Hanna"), index.search("ann"));
+        assertEquals(List.of("Hanna"), index.search("a"));
+    }
+
+    @Test
+    void repositorySearchMatchesContains() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            repository.save(new Employee(null, randomName(random), "Waiter", "", ""));
+        }
+        for (String query : QUERIES) {
+            List<Employee> expected = new ArrayList<>();
+            for (Employee employee : repository.findAll()) {
+                if (employee.getName().toLowerCase().contains(query.toLowerCase())) {
+                    expected.add(employee);
+                }
+            }
+            List<String> expectedIds = ids(expected);
+            expectedIds.sort(null);
+            List<String> actualIds = ids(repository.findByName(query));
+            actualIds.sort(null);
+            assertEquals(expectedIds, actualIds, "query '" + query + "'");
+        }
+    }
+
+    private static List<String> scan(Map<String, String> live, String query) {
+        List<String> result = new ArrayList<>();
+        for (String text : live.values()) {
+            if (text.toLowerCase().contains(query.toLowerCase())) {
+                result.add(text);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        List<String> ids = new ArrayList<>();
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
+        }
+        return ids;
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int words = 1 + random.nextInt(3);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.restaurantmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.Employee;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hammers save, findById and deleteById from many threads and checks that
+ * no ID is handed out twice, no write is lost and the secondary indexes
+ * agree with the stored entities afterwards.
+ */
+class RepositoryConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 20_000;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2026, 1, 1);
+    private static final int DATES = 5;
+
+    @Test
+    void bookingsStayConsistentUnderConcurrentWrites() throws Exception {
+        InMemoryBookingRepository repository = new InMemoryBookingRepository();
+        Set<String> assigned = ConcurrentHashMap.newKeySet();
+        Set<String> survivors = ConcurrentHashMap.newKeySet();
+        runThreads(thread -> {
+            Random random = new Random(thread);
+            List<String> mine = new ArrayList<>();
+            for (int i = 0; i < OPERATIONS; i++) {
+                int op = random.nextInt(10);
+                if (op < 5 || mine.isEmpty()) {
+                    Booking booking = new Booking(null, "Customer " + thread + " " + i, "0900000000", 2,
+                            FIRST_DATE.plusDays(random.nextInt(DATES)), LocalTime.of(random.nextInt(24), 0),
+                            "T1", BookingStatus.CONFIRMED.name());
+                    Booking saved = repository.save(booking);
+                    assertTrue(assigned.add(saved.getId()), "ID handed out twice: " + saved.getId());
+                    mine.add(saved.getId());
+                } else if (op < 7) {
+                    String id = mine.get(random.nextInt(mine.size()));
+                    Optional<Booking> found = repository.findById(id);
+                    assertTrue(found.isPresent(), "Lost booking " + id);
+                    assertEquals(id, found.get().getId());
+                } else if (op < 8) {
+                    // Flip the status of one of our bookings, moving it between status buckets
+                    Booking booking = new Booking(repository.findById(mine.get(random.nextInt(mine.size())))
+                            .orElseThrow());
+                    booking.setStatusType(booking.getStatusType() == BookingStatus.CONFIRMED
+                            ? BookingStatus.SEATED : BookingStatus.CONFIRMED);
+                    repository.save(booking);
+                } else {
+                    String id = mine.remove(random.nextInt(mine.size()));
+                    assertTrue(repository.deleteById(id), "Delete of " + id + " found nothing");
+                    assertTrue(repository.findById(id).isEmpty(), "Deleted booking " + id + " still found");
+                }
+            }
+            survivors.addAll(mine);
+        });
+
+        List<Booking> all = repository.findAll();
+        Set<String> stored = new HashSet<>();
+        for (Booking booking : all) {
+            stored.add(booking.getId());
+        }
+        assertEquals(survivors, stored);
+        assertEquals(all.size(), repository.findByDateRange(FIRST_DATE, FIRST_DATE.plusDays(DATES)).size());
+        int confirmed = 0;
+        for (Booking booking : all) {
+            if (booking.getStatusType() == BookingStatus.CONFIRMED) {
+                confirmed++;
+            }
+        }
+        assertEquals(confirmed, repository.countByStatus(BookingStatus.CONFIRMED));
+        assertEquals(all.size() - confirmed, repository.countByStatus(BookingStatus.SEATED));
+    }
+
+    @Test
+    void employeesGetUniqueIdsUnderConcurrentSaves() throws Exception {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        Set<String> assigned = ConcurrentHashMap.newKeySet();
+        runThreads(thread -> {
+            for (int i = 0; i < OPERATIONS / 4; i++) {
+                Employee saved = repository.save(new Employee(null, "Worker " + thread + "-" + i, "Waiter", "", ""));
+                assertTrue(assigned.add(saved.getId()), "ID handed out twice: " + saved.getId());
+            }
+        });
+        assertEquals(THREADS * (OPERATIONS / 4), repository.findAll().size());
+        assertEquals(OPERATIONS / 4, repository.findByName("Worker 3-").size());
+    }
+
+    private static void runThreads(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,176 @@
+package com.restaurantmanagement.repository.jdbc;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.InventoryTransaction;
+import com.restaurantmanagement.model.Shift;
+import com.restaurantmanagement.repository.BookingRepository;
+import com.restaurantmanagement.repository.InMemoryBookingRepository;
+import com.restaurantmanagement.repository.InMemoryInventoryTransactionRepository;
+import com.restaurantmanagement.repository.InMemoryShiftRepository;
+import com.restaurantmanagement.repository.InventoryTransactionRepository;
+import com.restaurantmanagement.repository.ShiftRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Times the H2-backed repositories against the in-memory ones on the same
+ * writes and indexed lookups, and checks both return the same rows.
+ * <p>
+ * Not a test; run the main method on the test classpath, e.g.
+ * {@code mvn test-compile} then
+ * {@code java -cp target/classes:target/test-classes:<dependency classpath> com.restaurantmanagement.repository.jdbc.JdbcRepositoryBenchmark}.
+ */
+public final class JdbcRepositoryBenchmark {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2026, 1, 1);
+    private static final int BOOKINGS = 10_000;
+    private static final int TRANSACTIONS = 200_000;
+    private static final int SHIFTS = 20_000;
+    private static final int LOOKUPS = 2_000;
+
+    private JdbcRepositoryBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("jdbc-benchmark");
+        try (JdbcDatabase database = JdbcDatabase.open(directory.resolve("restaurant"))) {
+            BookingRepository[] bookings = {new InMemoryBookingRepository(), new JdbcBookingRepository(database)};
+            InventoryTransactionRepository[] transactions = {new InMemoryInventoryTransactionRepository(),
+                    new JdbcInventoryTransactionRepository(database)};
+            ShiftRepository[] shifts = {new InMemoryShiftRepository(), new JdbcShiftRepository(database)};
+            String[] names = {"in-memory", "h2 file"};
+
+            System.out.printf("%-34s %10s %10s%n", "operation (ms)", names[0], names[1]);
+            long[][] millis = new long[8][2];
+            for (int k = 0; k < 2; k++) {
+                BookingRepository bookingRepository = bookings[k];
+                InventoryTransactionRepository transactionRepository = transactions[k];
+                ShiftRepository shiftRepository = shifts[k];
+                List<Booking> newBookings = bookings();
+                List<InventoryTransaction> newTransactions = transactions();
+                List<Shift> newShifts = shifts();
+                millis[0][k] = time(() -> newBookings.forEach(bookingRepository::save));
+                millis[1][k] = time(() -> transactionRepository.saveAll(newTransactions));
+                millis[2][k] = time(() -> shiftRepository.saveAll(newShifts));
+                millis[3][k] = time(() -> {
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        bookingRepository.findByDate(FIRST_DATE.plusDays(i % 365));
+                    }
+                });
+                millis[4][k] = time(() -> {
+                    for (int i = 0; i < LOOKUPS / 10; i++) {
+                        transactionRepository.findByItemId(itemId(i % 500));
+                    }
+                });
+                millis[5][k] = time(() -> {
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        shiftRepository.findByEmployeeId(employeeId(i % 200));
+                    }
+                });
+                millis[6][k] = time(() -> {
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        LocalDateTime from = FIRST_DATE.plusDays(i % 100).atTime(12, 0);
+                        shiftRepository.findOverlapping(from, from.plusHours(1));
+                    }
+                });
+                millis[7][k] = time(() -> {
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        bookingRepository.countByDateAndStatus(FIRST_DATE.plusDays(i % 365), BookingStatus.CONFIRMED);
+                    }
+                });
+            }
+            String[] operations = {"save 10k bookings one by one", "saveAll 200k transactions",
+                    "saveAll 20k shifts", "2,000 bookings findByDate", "200 transactions findByItemId",
+                    "2,000 shifts findByEmployeeId", "2,000 shifts findOverlapping",
+                    "2,000 countByDateAndStatus"};
+            for (int i = 0; i < operations.length; i++) {
+                System.out.printf("%-34s %10d %10d%n", operations[i], millis[i][0], millis[i][1]);
+            }
+
+            LocalDateTime from = FIRST_DATE.plusDays(2).atTime(13, 30);
+            check("findByDate", ids(bookings[0].findByDate(FIRST_DATE.plusDays(4)), Booking::getId),
+                    ids(bookings[1].findByDate(FIRST_DATE.plusDays(4)), Booking::getId));
+            check("findByCustomerName", ids(bookings[0].findByCustomerName("est 12"), Booking::getId),
+                    ids(bookings[1].findByCustomerName("est 12"), Booking::getId));
+            check("findByItemId", ids(transactions[0].findByItemId(itemId(7)), InventoryTransaction::getId),
+                    ids(transactions[1].findByItemId(itemId(7)), InventoryTransaction::getId));
+            check("findOverlapping", ids(shifts[0].findOverlapping(from, from.plusHours(2)), Shift::getId),
+                    ids(shifts[1].findOverlapping(from, from.plusHours(2)), Shift::getId));
+            check("countByStatus", List.of(bookings[0].countByStatus(BookingStatus.CANCELLED)),
+                    List.of(bookings[1].countByStatus(BookingStatus.CANCELLED)));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static List<Booking> bookings() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(new Booking(null, "Guest " + i, "0900000000", 2, FIRST_DATE.plusDays(i % 365),
+                    LocalTime.of(11 + i % 10, (i % 4) * 15), "T" + i % 30,
+                    i % 7 == 0 ? BookingStatus.CANCELLED.name() : BookingStatus.CONFIRMED.name()));
+        }
+        return bookings;
+    }
+
+    private static List<InventoryTransaction> transactions() {
+        List<InventoryTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactions.add(new InventoryTransaction(null, itemId(i % 500), "Item", 1, i % 2 == 0 ? "IN" : "OUT",
+                    "Sale", employeeId(i % 40), "Staff"));
+        }
+        return transactions;
+    }
+
+    private static List<Shift> shifts() {
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = 0; i < SHIFTS; i++) {
+            shifts.add(new Shift(null, employeeId(i % 200), "Staff", FIRST_DATE.plusDays(i / 200),
+                    LocalTime.of(6 + i % 8, 0), LocalTime.of(14 + i % 8, 0), "Morning"));
+        }
+        return shifts;
+    }
+
+    private static String itemId(int index) {
+        return String.format("INV%08d", index + 1);
+    }
+
+    private static String employeeId(int index) {
+        return String.format("EMP%08d", index + 1);
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static <T> List<String> ids(List<T> rows, Function<T, String> id) {
+        return rows.stream().map(id).collect(Collectors.toList());
+    }
+
+    private static void check(String lookup, List<?> inMemory, List<?> jdbc) {
+        if (!inMemory.equals(jdbc)) {
+            throw new IllegalStateException(lookup + " differs between in-memory and H2");
+        }
+        System.out.println(lookup + " matches (" + (inMemory.size() == 1 ? inMemory.get(0) : inMemory.size()) + ")");
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
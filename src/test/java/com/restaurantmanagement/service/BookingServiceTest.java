@@ -0,0 +1,81 @@
+package com.restaurantmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.repository.InMemoryBookingRepository;
+import com.restaurantmanagement.repository.InMemoryRestaurantTableRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks when two sittings on the same table clash, at slot edges and across midnight.
+ */
+class BookingServiceTest {
+    private static final LocalDate DATE = LocalDate.now().plusDays(7);
+
+    private final BookingService service = new BookingService(new InMemoryBookingRepository(),
+            new InMemoryRestaurantTableRepository(), Duration.ofHours(2));
+
+    @Test
+    void touchingSittingsShareATable() {
+        service.addBooking(booking(DATE, LocalTime.of(18, 0)));
+        service.addBooking(booking(DATE, LocalTime.of(20, 0)));
+        service.addBooking(booking(DATE, LocalTime.of(16, 0)));
+        assertEquals(3, service.getAllBookings().size());
+    }
+
+    @Test
+    void sittingsOverlappingByOneSlotClash() {
+        service.addBooking(booking(DATE, LocalTime.of(18, 0)));
+        // 19:59 falls in the 19:45 slot, the last one the first sitting holds
+        assertThrows(IllegalArgumentException.class, () -> service.addBooking(booking(DATE, LocalTime.of(19, 59))));
+        assertThrows(IllegalArgumentException.class, () -> service.addBooking(booking(DATE, LocalTime.of(16, 15))));
+        assertEquals(1, service.getAllBookings().size());
+    }
+
+    @Test
+    void sittingRunningPastMidnightHoldsTheNextDay() {
+        service.addBooking(booking(DATE, LocalTime.of(23, 30)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.addBooking(booking(DATE.plusDays(1), LocalTime.of(0, 0))));
+        service.addBooking(booking(DATE.plusDays(1), LocalTime.of(1, 30)));
+
+        // Same clash when the next day is booked first
+        service.addBooking(booking(DATE.plusDays(3), LocalTime.of(1, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.addBooking(booking(DATE.plusDays(2), LocalTime.of(23, 30))));
+        service.addBooking(booking(DATE.plusDays(2), LocalTime.of(23, 0)));
+    }
+
+    @Test
+    void batchCatchesAClashAcrossMidnight() {
+        BatchResult<Booking> result = service.addBookings(Arrays.asList(
+                booking(DATE, LocalTime.of(23, 30)), booking(DATE.plusDays(1), LocalTime.of(0, 45))));
+        assertEquals(1, result.getSaved().size());
+        assertEquals(1, result.getRejected().size());
+    }
+
+    @Test
+    void evictedDayIsRebuiltWhenAskedAgain() {
+        LocalDate far = LocalDate.now().plusDays(TableAvailability.RETAINED_DAYS + 10);
+        service.addBooking(booking(far, LocalTime.of(19, 0)));
+        // Loading days further out drops the first one from the cache
+        service.addBooking(booking(far.plusDays(5), LocalTime.of(19, 0)));
+        service.addBooking(booking(far.plusDays(10), LocalTime.of(19, 0)));
+
+        assertThrows(IllegalArgumentException.class, () -> service.addBooking(booking(far, LocalTime.of(20, 0))));
+        Booking cancelled = service.getAllBookings().get(0);
+        service.cancelBooking(cancelled.getId());
+        service.addBooking(booking(cancelled.getDate(), LocalTime.of(20, 0)));
+    }
+
+    private static Booking booking(LocalDate date, LocalTime time) {
+        return new Booking(null, "Guest", "0900000000", 2, date, time, "T1", BookingStatus.CONFIRMED.name());
+    }
+}
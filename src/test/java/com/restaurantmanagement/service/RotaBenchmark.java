@@ -0,0 +1,185 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Employee;
+import com.restaurantmanagement.model.Shift;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a four-week rota for 200 employees in five positions at several
+ * time budgets and reports the coverage, surplus and fairness each reaches,
+ * fairness being the widest gap in weekend shifts and in hours within a
+ * position. The last rota is applied and its saved shifts checked against
+ * the rules independently of {@link ShiftTimeline}.
+ * <p>
+ * Not a test; run the main method on the test classpath, e.g.
+ * {@code mvn test-compile} then
+ * {@code java -cp target/classes:target/test-classes com.restaurantmanagement.service.RotaBenchmark}.
+ */
+public final class RotaBenchmark {
+    private static final String[] POSITIONS = {"Chef", "Waiter", "Bartender", "Host", "Dishwasher"};
+    private static final int[] HEADCOUNTS = {40, 70, 25, 20, 45};
+    private static final LocalDate START = LocalDate.of(2026, 11, 2);
+    private static final int DAYS = 28;
+    private static final long[] BUDGETS_MILLIS = {0, 250, 1000, 3000};
+    private static final int[] LANES = {1, 4};
+
+    private RotaBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<Employee> employees = new ArrayList<>();
+        Map<String, String> positions = new HashMap<>();
+        for (int p = 0; p < POSITIONS.length; p++) {
+            for (int i = 0; i < HEADCOUNTS[p]; i++) {
+                String id = "E" + (employees.size() + 1);
+                employees.add(new Employee(id, "Employee " + id, POSITIONS[p].toLowerCase(), "", ""));
+                positions.put(id, POSITIONS[p]);
+            }
+        }
+        // One day in ten off for everyone, at random
+        Random random = new Random(7);
+        Map<String, Set<LocalDate>> unavailable = new HashMap<>();
+        for (Employee employee : employees) {
+            for (int day = 0; day < DAYS; day++) {
+                if (random.nextInt(10) == 0) {
+                    unavailable.computeIfAbsent(employee.getId(), id -> new HashSet<>()).add(START.plusDays(day));
+                }
+            }
+        }
+
+        System.out.printf("%8s %6s %8s %7s %7s %10s %10s %8s %8s%n", "budget", "lanes", "took ms", "builds",
+                "shifts", "uncovered", "surplus", "weekend", "hours");
+        ShiftService service = null;
+        RotaPlan plan = null;
+        for (long budget : BUDGETS_MILLIS) {
+            for (int lanes : LANES) {
+                service = new ShiftService();
+                long start = System.nanoTime();
+                plan = service.planRota(request(unavailable, budget, lanes), employees);
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("%6d ms %6d %8d %7d %7d %9.1fh %9.1fh %8d %7dh%n", budget, lanes, millis,
+                        plan.getRotasTried(), plan.getShifts().size(), plan.getTotalUncoveredMinutes() / 60.0,
+                        plan.getSurplusMinutes() / 60.0, plan.getWeekendShiftSpread(), hoursSpread(plan, positions));
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Shift> saved = service.applyRota(plan);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("applyRota: %d shifts in %d ms (%.1f us/shift)%n", saved.size(), nanos / 1_000_000,
+                nanos / 1e3 / saved.size());
+        verify(service.getAllShifts(), unavailable);
+        System.out.println("Saved shifts keep to availability, rest, daily and weekly hours");
+    }
+
+    private static RotaRequest request(Map<String, Set<LocalDate>> unavailable, long budgetMillis, int lanes) {
+        RotaRequest request = new RotaRequest(START, DAYS);
+        request.addTemplate("Morning", LocalTime.of(7, 0), LocalTime.of(15, 0));
+        request.addTemplate("Midday", LocalTime.of(11, 0), LocalTime.of(19, 0));
+        request.addTemplate("Lunch", LocalTime.of(11, 30), LocalTime.of(15, 30));
+        request.addTemplate("Evening", LocalTime.of(16, 0), LocalTime.of(0, 0));
+        request.addTemplate("Dinner", LocalTime.of(17, 0), LocalTime.of(22, 0));
+        request.addTemplate("Late", LocalTime.of(18, 0), LocalTime.of(2, 0));
+        for (DayOfWeek day : DayOfWeek.values()) {
+            // Friday to Sunday are busier, and the bar stays open late
+            double busy = day.getValue() >= 5 ? 1.4 : 1.0;
+            boolean lateBar = day.getValue() >= 5;
+            demand(request, "Chef", day, busy, new int[][] {{7, 11, 3}, {11, 15, 7}, {15, 17, 3}, {17, 22, 8},
+                    {22, 24, 2}});
+            demand(request, "Waiter", day, busy, new int[][] {{8, 11, 3}, {11, 15, 12}, {15, 17, 4}, {17, 23, 14},
+                    {23, 24, 4}, {0, 1, day.getValue() >= 6 ? 3 : 0}});
+            demand(request, "Bartender", day, busy, new int[][] {{11, 16, 2}, {16, 24, 5}, {0, 2, lateBar ? 3 : 0}});
+            demand(request, "Host", day, busy, new int[][] {{11, 15, 3}, {17, 22, 3}});
+            demand(request, "Dishwasher", day, busy, new int[][] {{9, 16, 6}, {16, 24, 8}});
+        }
+        for (Map.Entry<String, Set<LocalDate>> employee : unavailable.entrySet()) {
+            for (LocalDate date : employee.getValue()) {
+                request.setUnavailable(employee.getKey(), date);
+            }
+        }
+        request.setTimeBudget(Duration.ofMillis(budgetMillis));
+        request.setParallelism(lanes);
+        request.setSeed(42);
+        return request;
+    }
+
+    /**
+     * Set demand for spans of {@code {fromHour, toHour, headcount}}, scaled by {@code busy}.
+     */
+    private static void demand(RotaRequest request, String position, DayOfWeek day, double busy, int[][] spans) {
+        for (int[] span : spans) {
+            if (span[2] > 0) {
+                request.setDemand(position, day, span[0], span[1], (int) Math.round(span[2] * busy));
+            }
+        }
+    }
+
+    /**
+     * The largest gap in hours worked between two employees of the same position.
+     */
+    private static long hoursSpread(RotaPlan plan, Map<String, String> positions) {
+        Map<String, Long> least = new HashMap<>();
+        Map<String, Long> most = new HashMap<>();
+        for (Map.Entry<String, Long> employee : plan.getMinutesByEmployee().entrySet()) {
+            String position = positions.get(employee.getKey());
+            least.merge(position, employee.getValue(), Math::min);
+            most.merge(position, employee.getValue(), Math::max);
+        }
+        long spread = 0;
+        for (String position : most.keySet()) {
+            spread = Math.max(spread, most.get(position) - least.get(position));
+        }
+        return spread / 60;
+    }
+
+    /**
+     * Check each employee's shifts one by one: never on a day off, at least the
+     * default rest apart, and within the daily and weekly hours.
+     */
+    private static void verify(List<Shift> shifts, Map<String, Set<LocalDate>> unavailable) {
+        Map<String, List<Shift>> byEmployee = new HashMap<>();
+        for (Shift shift : shifts) {
+            byEmployee.computeIfAbsent(shift.getEmployeeId(), id -> new ArrayList<>()).add(shift);
+        }
+        for (Map.Entry<String, List<Shift>> employee : byEmployee.entrySet()) {
+            List<Shift> own = employee.getValue();
+            own.sort(Comparator.comparing(Shift::getStartAt));
+            Map<LocalDate, Long> daily = new HashMap<>();
+            Map<Long, Long> weekly = new HashMap<>();
+            for (int i = 0; i < own.size(); i++) {
+                Shift shift = own.get(i);
+                long minutes = Duration.between(shift.getStartAt(), shift.getEndAt()).toMinutes();
+                daily.merge(shift.getDate(), minutes, Long::sum);
+                weekly.merge((shift.getDate().toEpochDay() - START.toEpochDay()) / 7, minutes, Long::sum);
+                if (unavailable.getOrDefault(employee.getKey(), Set.of()).contains(shift.getDate())) {
+                    throw new IllegalStateException("Shift on a day off: " + shift);
+                }
+                if (i > 0 && own.get(i - 1).getEndAt().plus(ShiftService.DEFAULT_MINIMUM_REST)
+                        .isAfter(shift.getStartAt())) {
+                    throw new IllegalStateException("Too little rest before " + shift);
+                }
+            }
+            for (long minutes : daily.values()) {
+                if (minutes > ShiftService.DEFAULT_MAXIMUM_DAILY_HOURS.toMinutes()) {
+                    throw new IllegalStateException("Over the daily hours: " + employee.getKey());
+                }
+            }
+            for (long minutes : weekly.values()) {
+                if (minutes > RotaRequest.DEFAULT_MAXIMUM_WEEKLY_HOURS.toMinutes()) {
+                    throw new IllegalStateException("Over the weekly hours: " + employee.getKey());
+                }
+            }
+        }
+    }
+}
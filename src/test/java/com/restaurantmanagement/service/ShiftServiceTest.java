@@ -0,0 +1,73 @@
+package com.restaurantmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.restaurantmanagement.model.Shift;
+import com.restaurantmanagement.repository.InMemoryShiftRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the rest and daily-hours limits at their edges, and overnight shifts
+ * counting toward the date they start on.
+ */
+class ShiftServiceTest {
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private final InMemoryShiftRepository repository = new InMemoryShiftRepository();
+    // Eight hours' rest and at most twelve hours a day
+    private final ShiftService service = new ShiftService(repository);
+
+    @Test
+    void restOfExactlyTheMinimumIsAllowed() {
+        service.addShift(shift("E1", DATE, 9, 0, 17, 0));
+        service.addShift(shift("E1", DATE.plusDays(1), 1, 0, 6, 0));
+        assertEquals(2, service.getShiftsByEmployeeId("E1").size());
+    }
+
+    @Test
+    void restOneMinuteShortIsRejected() {
+        service.addShift(shift("E1", DATE, 9, 0, 17, 0));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> service.addShift(shift("E1", DATE.plusDays(1), 0, 59, 6, 0)));
+        assertTrue(error.getMessage().contains("rest"), error.getMessage());
+        // And before a later shift
+        assertThrows(IllegalArgumentException.class, () -> service.addShift(shift("E1", DATE, 0, 0, 1, 1)));
+    }
+
+    @Test
+    void overnightShiftCountsTowardTheDateItStartsOn() {
+        service.addShift(shift("E1", DATE, 6, 0, 10, 0));
+        // 18:00 to 02:00 makes exactly twelve hours on the first date
+        service.addShift(shift("E1", DATE, 18, 0, 2, 0));
+        // The two hours after midnight leave the next date's twelve untouched
+        service.addShift(shift("E1", DATE.plusDays(1), 10, 0, 22, 0));
+
+        service.addShift(shift("E2", DATE, 6, 0, 10, 0));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> service.addShift(shift("E2", DATE, 18, 0, 2, 15)));
+        assertTrue(error.getMessage().contains(" on " + DATE), error.getMessage());
+    }
+
+    @Test
+    void overnightShiftIsActiveAfterMidnight() {
+        Shift night = service.addShift(shift("E1", DATE, 22, 0, 6, 0));
+
+        List<Shift> active = repository.findActiveAt(DATE.plusDays(1).atTime(1, 0));
+        assertEquals(1, active.size());
+        assertEquals(night.getId(), active.get(0).getId());
+        assertEquals(1, service.getShiftsAt(DATE.plusDays(1).atTime(1, 0)).size());
+        assertTrue(repository.findActiveAt(DATE.atTime(1, 0)).isEmpty());
+        assertTrue(repository.findActiveAt(DATE.plusDays(1).atTime(7, 0)).isEmpty());
+    }
+
+    private static Shift shift(String employeeId, LocalDate date, int startHour, int startMinute,
+                               int endHour, int endMinute) {
+        return new Shift(null, employeeId, "Worker " + employeeId, date, LocalTime.of(startHour, startMinute),
+                LocalTime.of(endHour, endMinute), "Regular");
+    }
+}
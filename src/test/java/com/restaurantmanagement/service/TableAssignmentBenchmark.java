@@ -0,0 +1,222 @@
+package com.restaurantmanagement.service;
+
+import com.restaurantmanagement.model.Booking;
+import com.restaurantmanagement.model.BookingStatus;
+import com.restaurantmanagement.model.RestaurantTable;
+import com.restaurantmanagement.repository.InMemoryBookingRepository;
+import com.restaurantmanagement.repository.InMemoryRestaurantTableRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Times best-fit table assignment on one day with 150 tables and 2,000
+ * bookings arriving in random order: the lookup, incremental adds, a full
+ * plan of the day and re-planning on every arrival, against a host taking
+ * the first free table by ID. Every result is checked for double-booked
+ * tables and parties larger than their table.
+ * <p>
+ * Not a test; run the main method on the test classpath, e.g.
+ * {@code mvn test-compile} then
+ * {@code java -cp target/classes:target/test-classes com.restaurantmanagement.service.TableAssignmentBenchmark}.
+ */
+public final class TableAssignmentBenchmark {
+    private static final LocalDate DATE = LocalDate.of(2026, 6, 5);
+    private static final Duration SITTING = Duration.ofMinutes(60);
+    private static final int TABLES = 150;
+    private static final int[] CAPACITIES = {2, 2, 4, 4, 4, 6, 8};
+    private static final int BOOKINGS = 2_000;
+    private static final int[] PARTY_SIZES = {1, 2, 2, 2, 2, 3, 3, 4, 4, 4, 5, 6, 6, 7, 8};
+    private static final int SLOTS_PER_DAY = 96;
+    private static final int SLOTS_PER_SITTING = 4;
+    private static final int RUNS = 15;
+
+    private TableAssignmentBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        InMemoryRestaurantTableRepository tableRepository = new InMemoryRestaurantTableRepository();
+        for (int i = 0; i < TABLES; i++) {
+            tableRepository.save(new RestaurantTable(String.format("T%03d", i), CAPACITIES[i % CAPACITIES.length],
+                    "Main"));
+        }
+        List<RestaurantTable> tables = tableRepository.findAll();
+        Map<String, RestaurantTable> tablesById = new HashMap<>();
+        for (RestaurantTable table : tables) {
+            tablesById.put(table.getId(), table);
+        }
+        List<Booking> arrivals = arrivals();
+
+        // Incremental best fit as bookings arrive
+        InMemoryBookingRepository bookingRepository = new InMemoryBookingRepository();
+        BookingService service = new BookingService(bookingRepository, tableRepository, SITTING);
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (Booking booking : arrivals) {
+            try {
+                service.addBookingToBestTable(new Booking(booking));
+            } catch (IllegalArgumentException e) {
+                rejected++;
+            }
+        }
+        long incrementalNanos = System.nanoTime() - start;
+        List<Booking> placed = bookingRepository.findAll();
+        verify(placed, tablesById);
+        System.out.printf("incremental adds:    %5d placed, %4d rejected, %5d empty seats, %8.1f us/arrival%n",
+                placed.size(), rejected, wastedSeats(placed, tablesById), incrementalNanos / 1e3 / BOOKINGS);
+
+        // The best-fit lookup alone, on the full day
+        long lookupNanos = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long runStart = System.nanoTime();
+            for (Booking booking : arrivals) {
+                service.suggestTable(booking);
+            }
+            lookupNanos = Math.min(lookupNanos, System.nanoTime() - runStart);
+        }
+        System.out.printf("suggestTable:        %8.2f us/call%n", lookupNanos / 1e3 / BOOKINGS);
+
+        // A full plan of the day, without saving it
+        List<RestaurantTable> smallestFirst = new ArrayList<>(tables);
+        smallestFirst.sort(Comparator.comparingInt(RestaurantTable::getCapacity).thenComparing(RestaurantTable::getId));
+        long planNanos = Long.MAX_VALUE;
+        TablePlan plan = null;
+        for (int run = 0; run < RUNS; run++) {
+            List<Booking> day = copies(placed);
+            long runStart = System.nanoTime();
+            plan = TableAssigner.plan(DATE, day, smallestFirst, SITTING, true);
+            planNanos = Math.min(planNanos, System.nanoTime() - runStart);
+        }
+        System.out.printf("full plan:           %5d bookings, %d moved, %5d empty seats, %8.2f ms%n",
+                placed.size(), plan.getMoved(), plan.getWastedSeats(), planNanos / 1e6);
+        service.planTables(DATE);
+        verify(bookingRepository.findAll(), tablesById);
+
+        // Re-planning the whole day on every arrival instead
+        List<Booking> soFar = new ArrayList<>();
+        int replanRejected = 0;
+        TablePlan last = null;
+        start = System.nanoTime();
+        for (int i = 0; i < arrivals.size(); i++) {
+            Booking booking = new Booking(arrivals.get(i));
+            booking.setId("B" + i);
+            soFar.add(booking);
+            last = TableAssigner.plan(DATE, soFar, smallestFirst, SITTING, false);
+            if (!last.isComplete()) {
+                soFar.remove(soFar.size() - 1);
+                replanRejected++;
+            }
+        }
+        long replanNanos = System.nanoTime() - start;
+        System.out.printf("re-plan per arrival: %5d placed, %4d rejected, %5d empty seats, %8.1f us/arrival%n",
+                soFar.size(), replanRejected, last.getWastedSeats(), replanNanos / 1e3 / BOOKINGS);
+
+        List<Booking> firstFit = firstFreeTableById(arrivals, tables);
+        verify(firstFit, tablesById);
+        System.out.printf("first free by ID:    %5d placed, %4d rejected, %5d empty seats%n",
+                firstFit.size(), BOOKINGS - firstFit.size(), wastedSeats(firstFit, tablesById));
+    }
+
+    private static List<Booking> arrivals() {
+        Random random = new Random(42);
+        List<Booking> arrivals = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            // Any minute from 08:00 to 22:59
+            int quarter = 8 * 4 + random.nextInt(15 * 4);
+            arrivals.add(new Booking(null, "Guest " + i, "0900000000", PARTY_SIZES[random.nextInt(PARTY_SIZES.length)],
+                    DATE, LocalTime.of(quarter / 4, quarter % 4 * 15 + random.nextInt(15)), "",
+                    BookingStatus.CONFIRMED.name()));
+        }
+        return arrivals;
+    }
+
+    /**
+     * What a host does without help: the first table by ID that seats the party and is free.
+     */
+    private static List<Booking> firstFreeTableById(List<Booking> arrivals, List<RestaurantTable> tables) {
+        List<RestaurantTable> byId = new ArrayList<>(tables);
+        byId.sort(Comparator.comparing(RestaurantTable::getId));
+        Map<String, boolean[]> taken = new HashMap<>();
+        List<Booking> placed = new ArrayList<>();
+        for (Booking arrival : arrivals) {
+            int from = slot(arrival.getStartTime());
+            int to = Math.min(SLOTS_PER_DAY, from + SLOTS_PER_SITTING);
+            for (RestaurantTable table : byId) {
+                if (table.getCapacity() < arrival.getNumberOfGuests()) {
+                    continue;
+                }
+                boolean[] slots = taken.computeIfAbsent(table.getId(), id -> new boolean[SLOTS_PER_DAY]);
+                if (free(slots, from, to)) {
+                    for (int i = from; i < to; i++) {
+                        slots[i] = true;
+                    }
+                    Booking booking = new Booking(arrival);
+                    booking.setTableId(table.getId());
+                    placed.add(booking);
+                    break;
+                }
+            }
+        }
+        return placed;
+    }
+
+    private static boolean free(boolean[] slots, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (slots[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check no table is held by two sittings at once or seats more than its capacity.
+     */
+    private static void verify(List<Booking> bookings, Map<String, RestaurantTable> tablesById) {
+        Map<String, boolean[]> taken = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getStatusType() == BookingStatus.CANCELLED) {
+                continue;
+            }
+            RestaurantTable table = tablesById.get(booking.getTableId());
+            if (table == null || booking.getNumberOfGuests() > table.getCapacity()) {
+                throw new IllegalStateException("Party does not fit its table: " + booking);
+            }
+            boolean[] slots = taken.computeIfAbsent(table.getId(), id -> new boolean[SLOTS_PER_DAY]);
+            int from = slot(booking.getStartTime());
+            int to = Math.min(SLOTS_PER_DAY, from + SLOTS_PER_SITTING);
+            if (!free(slots, from, to)) {
+                throw new IllegalStateException("Table double-booked: " + booking);
+            }
+            for (int i = from; i < to; i++) {
+                slots[i] = true;
+            }
+        }
+    }
+
+    private static long wastedSeats(List<Booking> bookings, Map<String, RestaurantTable> tablesById) {
+        long wasted = 0;
+        for (Booking booking : bookings) {
+            wasted += tablesById.get(booking.getTableId()).getCapacity() - booking.getNumberOfGuests();
+        }
+        return wasted;
+    }
+
+    private static List<Booking> copies(List<Booking> bookings) {
+        List<Booking> copies = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            copies.add(new Booking(booking));
+        }
+        return copies;
+    }
+
+    private static int slot(LocalTime time) {
+        return time.toSecondOfDay() / 900;
+    }
+}